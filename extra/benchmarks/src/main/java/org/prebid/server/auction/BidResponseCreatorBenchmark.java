@@ -0,0 +1,126 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.BidRejectionTracker;
+import org.prebid.server.auction.model.BidRequestCacheInfo;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.TimeoutContext;
+import org.prebid.server.auction.model.debug.DebugContext;
+import org.prebid.server.benchmark.Components;
+import org.prebid.server.benchmark.Fixtures;
+import org.prebid.server.bidder.GenericBidder;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.hooks.execution.HookStageExecutor;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
+import org.prebid.server.proto.openrtb.ext.response.BidType;
+import org.prebid.server.settings.model.Account;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Auction response built from bids of a single bidder for the given number of imps, with targeting keywords.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BidResponseCreatorBenchmark {
+
+    @Param({"1", "10"})
+    public int impsCount;
+
+    private BidResponseCreator bidResponseCreator;
+    private AuctionContext auctionContext;
+    private BidRequestCacheInfo cacheInfo;
+
+    @Setup
+    public void setUp() {
+        // fixed clock keeps the auction timeout from expiring during the run
+        final Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+
+        bidResponseCreator = Components.bidResponseCreator(
+                Components.bidderCatalog(new GenericBidder("http://localhost/generic-exchange", Fixtures.MAPPER)),
+                Components.stub(HookStageExecutor.class),
+                Components.metrics(),
+                clock);
+
+        final BidRequest auctionRequest = Fixtures.auctionRequest();
+        final Imp imp = auctionRequest.getImp().getFirst();
+        final Bid bid = Fixtures.MAPPER.decodeValue(Fixtures.bidderResponse(), BidResponse.class)
+                .getSeatbid().getFirst()
+                .getBid().getFirst();
+
+        final List<Imp> imps = new ArrayList<>(impsCount);
+        final List<BidderBid> bids = new ArrayList<>(impsCount);
+        for (int i = 0; i < impsCount; i++) {
+            final String impId = "imp_id_" + i;
+            imps.add(imp.toBuilder().id(impId).build());
+            bids.add(BidderBid.of(
+                    bid.toBuilder().id("bid_id_" + i).impid(impId).price(BigDecimal.valueOf(i + 1)).build(),
+                    BidType.banner,
+                    "USD"));
+        }
+
+        final BidRequest bidRequest = auctionRequest.toBuilder()
+                .imp(imps)
+                .ext(ExtRequest.of(ExtRequestPrebid.builder().targeting(Fixtures.targeting()).build()))
+                .build();
+        final Set<String> impIds = imps.stream().map(Imp::getId).collect(Collectors.toSet());
+        final BidderResponse bidderResponse = BidderResponse.of(Components.GENERIC, BidderSeatBid.of(bids), 100);
+
+        auctionContext = AuctionContext.builder()
+                .account(Account.empty("accountId"))
+                .bidRequest(bidRequest)
+                .timeoutContext(TimeoutContext.of(clock.millis(), new TimeoutFactory(clock).create(1000L), 90))
+                .debugContext(DebugContext.empty())
+                .debugHttpCalls(new HashMap<>())
+                .debugWarnings(new ArrayList<>())
+                .prebidErrors(new ArrayList<>())
+                .bidRejectionTrackers(new HashMap<>(Map.of(
+                        Components.GENERIC, new BidRejectionTracker(Components.GENERIC, impIds, 0.0))))
+                .auctionParticipations(List.of(AuctionParticipation.builder()
+                        .bidder(Components.GENERIC)
+                        .bidderResponse(bidderResponse)
+                        .build()))
+                .build()
+                .withImpIndex();
+        cacheInfo = BidRequestCacheInfo.builder().build();
+    }
+
+    @Benchmark
+    public BidResponse create() {
+        return bidResponseCreator.create(auctionContext, cacheInfo, Collections.emptyMap()).result();
+    }
+}
@@ -0,0 +1,260 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import io.vertx.core.Future;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
+import org.prebid.server.auction.externalortb.StoredResponseProcessor;
+import org.prebid.server.auction.mediatypeprocessor.MediaTypeProcessingResult;
+import org.prebid.server.auction.mediatypeprocessor.MediaTypeProcessor;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidderRequest;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.TimeoutContext;
+import org.prebid.server.auction.model.debug.DebugContext;
+import org.prebid.server.auction.privacy.enforcement.PrivacyEnforcementService;
+import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversionManager;
+import org.prebid.server.benchmark.Components;
+import org.prebid.server.benchmark.Fixtures;
+import org.prebid.server.benchmark.StubHttpClient;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.GenericBidder;
+import org.prebid.server.cookie.UidsCookie;
+import org.prebid.server.cookie.proto.Uids;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.floors.PriceFloorAdjuster;
+import org.prebid.server.floors.PriceFloorProcessor;
+import org.prebid.server.hooks.execution.HookStageExecutor;
+import org.prebid.server.hooks.execution.model.HookExecutionContext;
+import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.auction.AuctionResponsePayloadImpl;
+import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
+import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
+import org.prebid.server.json.JsonMerger;
+import org.prebid.server.log.CriteriaLogManager;
+import org.prebid.server.log.HttpInteractionLogger;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.model.CaseInsensitiveMultiMap;
+import org.prebid.server.model.Endpoint;
+import org.prebid.server.model.HttpRequestContext;
+import org.prebid.server.model.UpdateResult;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.model.Account;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Whole auction of {@link ExchangeService} for the given number of imps: splitting the request by bidders, calling
+ * the generic bidder answered by {@link StubHttpClient} and building the auction response with targeting.
+ * <p>
+ * Hooks, media type processing, bids validation and uids update are stubs passing their input through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExchangeServiceBenchmark {
+
+    @Param({"1", "10"})
+    public int impsCount;
+
+    private ExchangeService exchangeService;
+    private Clock clock;
+    private TimeoutFactory timeoutFactory;
+    private ActivityInfrastructure activityInfrastructure;
+    private UidsCookie uidsCookie;
+    private BidRequest bidRequest;
+
+    @Setup
+    public void setUp() {
+        // fixed clock keeps the auction timeout from expiring during the run
+        clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+        timeoutFactory = new TimeoutFactory(clock);
+
+        final Metrics metrics = Components.metrics();
+        final BidderCatalog bidderCatalog = Components.bidderCatalog(
+                new GenericBidder("http://localhost/generic-exchange", Fixtures.MAPPER));
+        final HookStageExecutor hookStageExecutor = hookStageExecutor();
+        final AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver =
+                new AdaptiveBidderTimeoutResolver(false, 0.0, 0L, 1, 1, 0L, 0L, clock);
+
+        exchangeService = new ExchangeService(
+                0.0,
+                bidderCatalog,
+                new StoredResponseProcessor(Components.stub(ApplicationSettings.class), Fixtures.MAPPER),
+                new PrivacyEnforcementService(Collections.emptyList()),
+                new FpdResolver(Fixtures.MAPPER, new JsonMerger(Fixtures.MAPPER)),
+                impAdjuster(),
+                SupplyChainResolver.create(null, Fixtures.MAPPER),
+                new DebugResolver(bidderCatalog, null),
+                mediaTypeProcessor(),
+                uidUpdater(),
+                new TimeoutResolver(50L, 5000L, 0L),
+                adaptiveBidderTimeoutResolver,
+                timeoutFactory,
+                ortbVersionConversionManager(),
+                Components.httpBidderRequester(
+                        new StubHttpClient(200, Fixtures.bidderResponse()),
+                        bidderCatalog,
+                        adaptiveBidderTimeoutResolver,
+                        metrics,
+                        clock),
+                Components.bidResponseCreator(bidderCatalog, hookStageExecutor, metrics, clock),
+                BidResponsePostProcessor.noOp(),
+                hookStageExecutor,
+                Components.stub(HttpInteractionLogger.class),
+                PriceFloorAdjuster.noOp(),
+                PriceFloorProcessor.noOp(),
+                bidsAdjuster(),
+                metrics,
+                clock,
+                Fixtures.MAPPER,
+                criteriaLogManager(),
+                false);
+
+        activityInfrastructure = Components.stub(ActivityInfrastructure.class);
+        given(activityInfrastructure.isAllowed(any(), any())).willReturn(true);
+
+        uidsCookie = new UidsCookie(Uids.builder().uids(Collections.emptyMap()).build(), Fixtures.MAPPER);
+        bidRequest = bidRequest(impsCount);
+    }
+
+    @Benchmark
+    public AuctionContext holdAuction() {
+        return exchangeService.holdAuction(auctionContext()).result();
+    }
+
+    // context holds collections filled and imp exts modified during the auction, so each auction gets its own
+    private AuctionContext auctionContext() {
+        final List<Imp> imps = bidRequest.getImp().stream()
+                .map(imp -> imp.toBuilder().ext(imp.getExt().deepCopy()).build())
+                .toList();
+
+        return AuctionContext.builder()
+                .httpRequest(HttpRequestContext.builder().headers(CaseInsensitiveMultiMap.empty()).build())
+                .uidsCookie(uidsCookie)
+                .bidRequest(bidRequest.toBuilder().imp(imps).build())
+                .account(Account.empty("accountId"))
+                .requestTypeMetric(MetricName.openrtb2web)
+                .timeoutContext(TimeoutContext.of(clock.millis(), timeoutFactory.create(1000L), 90))
+                .debugWarnings(new ArrayList<>())
+                .prebidErrors(new ArrayList<>())
+                .debugHttpCalls(new HashMap<>())
+                .bidRejectionTrackers(new HashMap<>())
+                .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                .debugContext(DebugContext.empty())
+                .activityInfrastructure(activityInfrastructure)
+                .build();
+    }
+
+    /**
+     * Recorded generic auction request with its imp repeated and targeting requested. Bidder params are moved
+     * to imp.ext.prebid.bidder as the request factory does.
+     */
+    private static BidRequest bidRequest(int impsCount) {
+        final BidRequest auctionRequest = Fixtures.auctionRequest();
+        final Imp imp = auctionRequest.getImp().getFirst();
+
+        final ObjectNode impExt = Fixtures.MAPPER.mapper().createObjectNode();
+        impExt.putObject("prebid").set("bidder", imp.getExt());
+
+        final List<Imp> imps = new ArrayList<>(impsCount);
+        for (int i = 0; i < impsCount; i++) {
+            // the recorded bidder response bids on the first imp only
+            imps.add(imp.toBuilder().id(i == 0 ? imp.getId() : imp.getId() + "_" + i).ext(impExt).build());
+        }
+
+        return auctionRequest.toBuilder()
+                .imp(imps)
+                .ext(ExtRequest.of(ExtRequestPrebid.builder().targeting(Fixtures.targeting()).build()))
+                .build();
+    }
+
+    private static HookStageExecutor hookStageExecutor() {
+        final HookStageExecutor hookStageExecutor = Components.stub(HookStageExecutor.class);
+        given(hookStageExecutor.executeBidderRequestStage(any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.success(
+                        BidderRequestPayloadImpl.of(invocation.<BidderRequest>getArgument(0).getBidRequest()))));
+        given(hookStageExecutor.executeRawBidderResponseStage(any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.success(
+                        BidderResponsePayloadImpl.of(invocation.<BidderResponse>getArgument(0)
+                                .getSeatBid()
+                                .getBids()))));
+        given(hookStageExecutor.executeAuctionResponseStage(any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.success(
+                        AuctionResponsePayloadImpl.of(invocation.getArgument(0)))));
+
+        return hookStageExecutor;
+    }
+
+    private static ImpAdjuster impAdjuster() {
+        final ImpAdjuster impAdjuster = Components.stub(ImpAdjuster.class);
+        given(impAdjuster.adjust(any(), any(), any(), any())).willAnswer(invocation -> invocation.getArgument(0));
+        return impAdjuster;
+    }
+
+    private static MediaTypeProcessor mediaTypeProcessor() {
+        final MediaTypeProcessor mediaTypeProcessor = Components.stub(MediaTypeProcessor.class);
+        given(mediaTypeProcessor.process(any(), anyString(), any(), any()))
+                .willAnswer(invocation -> MediaTypeProcessingResult.succeeded(
+                        invocation.getArgument(0), Collections.emptyList()));
+        return mediaTypeProcessor;
+    }
+
+    private static UidUpdater uidUpdater() {
+        final UidUpdater uidUpdater = Components.stub(UidUpdater.class);
+        given(uidUpdater.updateUid(any(), any(), any())).willReturn(UpdateResult.unaltered(null));
+        return uidUpdater;
+    }
+
+    private static BidRequestOrtbVersionConversionManager ortbVersionConversionManager() {
+        final BidRequestOrtbVersionConversionManager conversionManager =
+                Components.stub(BidRequestOrtbVersionConversionManager.class);
+        given(conversionManager.convertFromAuctionSupportedVersion(any(), any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        return conversionManager;
+    }
+
+    private static BidsAdjuster bidsAdjuster() {
+        final BidsAdjuster bidsAdjuster = Components.stub(BidsAdjuster.class);
+        given(bidsAdjuster.validateAndAdjustBids(any(), any(), any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        return bidsAdjuster;
+    }
+
+    private static CriteriaLogManager criteriaLogManager() {
+        final CriteriaLogManager criteriaLogManager = Components.stub(CriteriaLogManager.class);
+        given(criteriaLogManager.traceResponse(any(), any(), any(), anyBoolean()))
+                .willAnswer(invocation -> invocation.getArgument(1));
+        return criteriaLogManager;
+    }
+}
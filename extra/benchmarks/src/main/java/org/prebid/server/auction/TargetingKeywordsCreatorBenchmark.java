@@ -0,0 +1,73 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.Fixtures;
+import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
+import org.prebid.server.settings.model.Account;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Targeting keywords of a winning bid for the given price granularity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TargetingKeywordsCreatorBenchmark {
+
+    @Param({"low", "med", "dense"})
+    public String priceGranularity;
+
+    private TargetingKeywordsCreator keywordsCreator;
+    private Bid bid;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        keywordsCreator = TargetingKeywordsCreator.create(
+                ExtPriceGranularity.from(PriceGranularity.createFromString(priceGranularity)),
+                true,
+                true,
+                true,
+                true,
+                null,
+                0,
+                "cache.host",
+                "/cache",
+                TargetingKeywordsResolver.create(Fixtures.auctionRequest(), Fixtures.MAPPER),
+                null);
+
+        bid = Fixtures.MAPPER.decodeValue(Fixtures.bidderResponse(), BidResponse.class)
+                .getSeatbid().getFirst()
+                .getBid().getFirst()
+                .toBuilder()
+                .price(new BigDecimal("3.33"))
+                .w(300)
+                .h(250)
+                .dealid("dealId")
+                .build();
+        account = Account.empty("accountId");
+    }
+
+    @Benchmark
+    public Map<String, String> makeFor() {
+        return keywordsCreator.makeFor(bid, "generic", true, "cacheId", "300x250", "vastCacheId", null, account);
+    }
+}
@@ -0,0 +1,74 @@
+package org.prebid.server.auction.requestfactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.OrtbTypesResolver;
+import org.prebid.server.benchmark.Fixtures;
+import org.prebid.server.json.JsonMerger;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Decoding of incoming auction request with the given number of imps: single pass decoding compared to
+ * normalizing and binding the whole request tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BidRequestDecoderBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int impsCount;
+
+    private OrtbTypesResolver ortbTypesResolver;
+    private BidRequestDecoder bidRequestDecoder;
+    private String body;
+
+    @Setup
+    public void setUp() {
+        ortbTypesResolver = new OrtbTypesResolver(0, Fixtures.MAPPER, new JsonMerger(Fixtures.MAPPER));
+        bidRequestDecoder = new BidRequestDecoder(ortbTypesResolver, Fixtures.MAPPER);
+
+        final BidRequest bidRequest = Fixtures.auctionRequest();
+        final Imp imp = bidRequest.getImp().getFirst();
+        body = Fixtures.MAPPER.encodeToString(bidRequest.toBuilder()
+                .imp(IntStream.range(0, impsCount)
+                        .mapToObj(i -> imp.toBuilder().id("imp_id_" + i).build())
+                        .toList())
+                .site(Site.builder().page("https://example.com").domain("example.com").build())
+                .user(User.builder().keywords("keyword1,keyword2").build())
+                .build());
+    }
+
+    @Benchmark
+    public BidRequest singlePass() {
+        return bidRequestDecoder.decode(body, new ArrayList<>(), null);
+    }
+
+    @Benchmark
+    public BidRequest wholeTree() throws JsonProcessingException {
+        final JsonNode bidRequestNode = Fixtures.MAPPER.mapper().readTree(body);
+        ortbTypesResolver.normalizeBidRequest(bidRequestNode, new ArrayList<>(), null);
+        return Fixtures.MAPPER.mapper().treeToValue(bidRequestNode, BidRequest.class);
+    }
+}
@@ -0,0 +1,182 @@
+package org.prebid.server.benchmark;
+
+import io.vertx.core.Future;
+import org.mockito.Mockito;
+import org.prebid.server.auction.AdaptiveBidderTimeoutResolver;
+import org.prebid.server.auction.BidResponseCreator;
+import org.prebid.server.auction.WinningBidComparatorFactory;
+import org.prebid.server.auction.categorymapping.CategoryMappingService;
+import org.prebid.server.auction.externalortb.StoredRequestProcessor;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.CategoryMappingResult;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.bidder.BidderErrorNotifier;
+import org.prebid.server.bidder.BidderInfo;
+import org.prebid.server.bidder.BidderInstanceDeps;
+import org.prebid.server.bidder.HttpBidderRequestEnricher;
+import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.ProtobufBidderCodec;
+import org.prebid.server.bidder.Usersyncer;
+import org.prebid.server.cache.CoreCacheService;
+import org.prebid.server.cache.model.CacheTtl;
+import org.prebid.server.events.EventsService;
+import org.prebid.server.hooks.execution.HookStageExecutor;
+import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.bidder.AllProcessedBidResponsesPayloadImpl;
+import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
+import org.prebid.server.identity.NoneIdGenerator;
+import org.prebid.server.metric.AccountMetricsVerbosityResolver;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.PrebidMetricRegistry;
+import org.prebid.server.metric.ReservoirType;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.protobuf.request.RequestExtensionMappersSpecification;
+import org.prebid.server.protobuf.response.ResponseExtensionMappersSpecification;
+import org.prebid.server.settings.model.VideoStoredDataResult;
+import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.Ortb;
+import org.prebid.server.spring.config.model.CacheDefaultTtlProperties;
+import org.prebid.server.vast.VastModifier;
+import org.prebid.server.version.PrebidVersionProvider;
+import org.prebid.server.vertx.httpclient.HttpClient;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Services of an auction wired the same way as in the application, but without Spring context.
+ * <p>
+ * Collaborators outside the measured code path (hooks, stored data, cache, events) are replaced by stubs
+ * passing their input through, as unit tests do.
+ */
+public final class Components {
+
+    public static final String GENERIC = "generic";
+
+    private static final int GENERIC_VENDOR_ID = 1;
+
+    private Components() {
+    }
+
+    /**
+     * Returns a mock which doesn't record its invocations, so it doesn't grow between benchmark iterations.
+     */
+    public static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    public static Metrics metrics() {
+        return new Metrics(
+                new PrebidMetricRegistry(ReservoirType.exponentiallyDecaying),
+                CounterType.counter,
+                new AccountMetricsVerbosityResolver(
+                        AccountMetricsVerbosityLevel.basic, Collections.emptyList(), Collections.emptyList()));
+    }
+
+    public static BidderCatalog bidderCatalog(Bidder<?> genericBidder) {
+        final BidderInfo bidderInfo = BidderInfo.create(
+                true,
+                null,
+                true,
+                "http://localhost/generic-exchange",
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                GENERIC_VENDOR_ID,
+                null,
+                true,
+                false,
+                CompressionType.NONE,
+                Ortb.of(false),
+                0L);
+
+        return new BidderCatalog(List.of(BidderDeps.of(List.of(BidderInstanceDeps.builder()
+                .name(GENERIC)
+                .deprecatedNames(Collections.emptyList())
+                .bidderInfo(bidderInfo)
+                .usersyncer(Usersyncer.of(GENERIC, null, null, false, null))
+                .bidder(genericBidder)
+                .build()))));
+    }
+
+    public static HttpBidderRequester httpBidderRequester(HttpClient httpClient,
+                                                          BidderCatalog bidderCatalog,
+                                                          AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver,
+                                                          Metrics metrics,
+                                                          Clock clock) {
+
+        return new HttpBidderRequester(
+                httpClient,
+                null,
+                new BidderErrorNotifier(200, false, false, 0.0, httpClient, metrics),
+                new HttpBidderRequestEnricher(new PrebidVersionProvider("benchmark"), bidderCatalog),
+                Fixtures.MAPPER,
+                new ProtobufBidderCodec(
+                        RequestExtensionMappersSpecification.builder(Fixtures.MAPPER.mapper()).build(),
+                        ResponseExtensionMappersSpecification.builder(Fixtures.MAPPER.mapper()).build(),
+                        Fixtures.MAPPER),
+                adaptiveBidderTimeoutResolver,
+                clock,
+                0.0);
+    }
+
+    public static BidResponseCreator bidResponseCreator(BidderCatalog bidderCatalog,
+                                                        HookStageExecutor hookStageExecutor,
+                                                        Metrics metrics,
+                                                        Clock clock) {
+
+        final CoreCacheService coreCacheService = stub(CoreCacheService.class);
+        given(coreCacheService.getEndpointHost()).willReturn("cache.host");
+        given(coreCacheService.getEndpointPath()).willReturn("/cache");
+        given(coreCacheService.getCachedAssetURLTemplate()).willReturn("uuid=");
+
+        final StoredRequestProcessor storedRequestProcessor = stub(StoredRequestProcessor.class);
+        given(storedRequestProcessor.videoStoredDataResult(any(), anyList(), anyList(), any()))
+                .willReturn(Future.succeededFuture(VideoStoredDataResult.empty()));
+
+        final CategoryMappingService categoryMappingService = stub(CategoryMappingService.class);
+        given(categoryMappingService.createCategoryMapping(any(), any(), any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(
+                        CategoryMappingResult.of(invocation.<List<BidderResponse>>getArgument(0))));
+
+        given(hookStageExecutor.executeProcessedBidderResponseStage(any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.success(
+                        BidderResponsePayloadImpl.of(invocation.<BidderResponse>getArgument(0)
+                                .getSeatBid()
+                                .getBids()))));
+        given(hookStageExecutor.executeAllProcessedBidResponsesStage(any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.success(
+                        AllProcessedBidResponsesPayloadImpl.of(invocation.getArgument(0)))));
+
+        return new BidResponseCreator(
+                0.0,
+                coreCacheService,
+                bidderCatalog,
+                stub(VastModifier.class),
+                stub(EventsService.class),
+                storedRequestProcessor,
+                new WinningBidComparatorFactory(),
+                new NoneIdGenerator(),
+                new NoneIdGenerator(),
+                hookStageExecutor,
+                categoryMappingService,
+                0,
+                false,
+                clock,
+                Fixtures.MAPPER,
+                metrics,
+                CacheTtl.of(null, null),
+                CacheDefaultTtlProperties.of(null, null, null, null));
+    }
+}
@@ -0,0 +1,73 @@
+package org.prebid.server.benchmark;
+
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.auction.PriceGranularity;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorList;
+import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestTargeting;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recorded OpenRTB requests and bidder responses shared with functional tests.
+ */
+public final class Fixtures {
+
+    public static final JacksonMapper MAPPER = new JacksonMapper(ObjectMapperProvider.mapper());
+
+    /**
+     * TCF 2.0 consent of the functional tests, issued for the vendor list version 52.
+     */
+    public static final String TCF_CONSENT = "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA";
+
+    private static final String GENERIC_FIXTURES = "/org/prebid/server/it/openrtb2/generic/";
+    private static final String VENDOR_LIST_FIXTURES = "/org/prebid/server/it/gdpr-vendorlist2/";
+
+    private Fixtures() {
+    }
+
+    public static BidRequest auctionRequest() {
+        return MAPPER.decodeValue(read(GENERIC_FIXTURES + "test-auction-generic-request.json"), BidRequest.class);
+    }
+
+    public static BidRequest bidderRequest() {
+        return MAPPER.decodeValue(read(GENERIC_FIXTURES + "test-generic-bid-request.json"), BidRequest.class);
+    }
+
+    public static String bidderResponse() {
+        return read(GENERIC_FIXTURES + "test-generic-bid-response.json");
+    }
+
+    public static ExtRequestTargeting targeting() {
+        return ExtRequestTargeting.builder()
+                .pricegranularity(MAPPER.mapper().valueToTree(
+                        ExtPriceGranularity.from(PriceGranularity.createFromString("med"))))
+                .includewinners(true)
+                .includebidderkeys(true)
+                .includeformat(false)
+                .build();
+    }
+
+    public static VendorList vendorList() {
+        return MAPPER.decodeValue(read(VENDOR_LIST_FIXTURES + "52.json"), VendorList.class);
+    }
+
+    public static String read(String path) {
+        try (InputStream inputStream = Fixtures.class.getResourceAsStream(path)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Fixture not found: " + path);
+            }
+
+            // json-unit placeholders of expected requests are not valid values for numeric fields
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("\"${json-unit.any-number}\"", "1000");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.prebid.server.benchmark;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.util.Objects;
+
+/**
+ * {@link HttpClient} answering every request with the same recorded response, so benchmarks run offline
+ * and measure only the code around the network call.
+ */
+public class StubHttpClient implements HttpClient {
+
+    private final Future<HttpClientResponse> response;
+
+    public StubHttpClient(int statusCode, String body) {
+        response = Future.succeededFuture(HttpClientResponse.of(
+                statusCode,
+                MultiMap.caseInsensitiveMultiMap(),
+                Buffer.buffer(Objects.requireNonNull(body))));
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
+                                              long timeoutMs, long maxResponseSize) {
+
+        return response;
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, byte[] body,
+                                              long timeoutMs, long maxResponseSize) {
+
+        return response;
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                              long timeoutMs, long maxResponseSize) {
+
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package org.prebid.server.bidder;
+
+import com.iab.openrtb.request.BidRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.Fixtures;
+import org.prebid.server.benchmark.StubHttpClient;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderCall;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.bidder.model.HttpResponse;
+import org.prebid.server.bidder.model.Result;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bidder adapter stages around the network call: building outgoing requests and parsing recorded responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GenericBidderBenchmark {
+
+    private GenericBidder bidder;
+    private HttpClient httpClient;
+    private BidRequest bidRequest;
+    private HttpRequest<BidRequest> httpRequest;
+
+    @Setup
+    public void setUp() {
+        bidder = new GenericBidder("http://localhost/generic-exchange", Fixtures.MAPPER);
+        httpClient = new StubHttpClient(200, Fixtures.bidderResponse());
+        bidRequest = Fixtures.bidderRequest();
+        httpRequest = bidder.makeHttpRequests(bidRequest).getValue().getFirst();
+    }
+
+    @Benchmark
+    public Result<List<HttpRequest<BidRequest>>> makeHttpRequests() {
+        return bidder.makeHttpRequests(bidRequest);
+    }
+
+    @Benchmark
+    public Result<List<BidderBid>> makeBids() {
+        final HttpClientResponse response = httpClient.request(
+                httpRequest.getMethod(),
+                httpRequest.getUri(),
+                httpRequest.getHeaders(),
+                httpRequest.getBody(),
+                1000L).result();
+
+        return bidder.makeBids(
+                BidderCall.succeededHttp(
+                        httpRequest,
+                        HttpResponse.ofBuffer(
+                                response.getStatusCode(), response.getHeaders(), response.getBodyBuffer()),
+                        null),
+                bidRequest);
+    }
+}
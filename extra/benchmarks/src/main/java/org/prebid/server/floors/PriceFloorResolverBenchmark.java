@@ -0,0 +1,99 @@
+package org.prebid.server.floors;
+
+import com.codahale.metrics.MetricRegistry;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.Fixtures;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.floors.model.PriceFloorData;
+import org.prebid.server.floors.model.PriceFloorField;
+import org.prebid.server.floors.model.PriceFloorModelGroup;
+import org.prebid.server.floors.model.PriceFloorResult;
+import org.prebid.server.floors.model.PriceFloorRules;
+import org.prebid.server.floors.model.PriceFloorSchema;
+import org.prebid.server.geolocation.CountryCodeMapper;
+import org.prebid.server.metric.AccountMetricsVerbosityResolver;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.proto.openrtb.ext.request.ImpMediaType;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Floor resolution for a single imp, media type and bidder against a model group of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PriceFloorResolverBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int rulesCount;
+
+    private BasicPriceFloorResolver resolver;
+    private BidRequest bidRequest;
+    private Imp imp;
+    private PriceFloorRules floorRules;
+
+    @Setup
+    public void setUp() {
+        resolver = new BasicPriceFloorResolver(
+                new CurrencyConversionService(null),
+                new CountryCodeMapper(
+                        Fixtures.read("/country-codes.csv"),
+                        Fixtures.read("/mcc-country-codes.csv")),
+                new Metrics(
+                        new MetricRegistry(),
+                        CounterType.counter,
+                        new AccountMetricsVerbosityResolver(
+                                AccountMetricsVerbosityLevel.none, Collections.emptyList(), Collections.emptyList())),
+                Fixtures.MAPPER);
+
+        bidRequest = Fixtures.bidderRequest();
+        imp = bidRequest.getImp().getFirst();
+
+        // rules of the same shape as fetched floors: domain|mediaType|bidder, matching one is the last
+        final Map<String, BigDecimal> values = IntStream.range(0, rulesCount)
+                .boxed()
+                .collect(Collectors.toMap(
+                        i -> i < rulesCount - 1 ? "domain%d.com|banner|generic".formatted(i) : "*|banner|generic",
+                        i -> BigDecimal.valueOf(i, 2)));
+
+        floorRules = PriceFloorRules.builder()
+                .data(PriceFloorData.builder()
+                        .currency("USD")
+                        .modelGroups(List.of(PriceFloorModelGroup.builder()
+                                .schema(PriceFloorSchema.of("|", List.of(
+                                        PriceFloorField.domain, PriceFloorField.mediaType, PriceFloorField.bidder)))
+                                .values(values)
+                                .build()))
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public PriceFloorResult resolve() {
+        return resolver.resolve(bidRequest, floorRules, imp, ImpMediaType.banner, null, "generic", null);
+    }
+}
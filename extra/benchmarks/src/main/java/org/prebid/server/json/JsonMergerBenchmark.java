@@ -0,0 +1,56 @@
+package org.prebid.server.json;
+
+import com.iab.openrtb.request.BidRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.Fixtures;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merge of stored request into incoming request, with and without the parsed stored data cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonMergerBenchmark {
+
+    @Param({"0", "10000"})
+    public int parsedStoredDataCacheSize;
+
+    private JsonMerger jsonMerger;
+    private BidRequest bidRequest;
+    private BidRequest storedBidRequest;
+    private String storedRequest;
+
+    @Setup
+    public void setUp() {
+        jsonMerger = new JsonMerger(Fixtures.MAPPER, parsedStoredDataCacheSize);
+        bidRequest = Fixtures.auctionRequest();
+        // the same string instance comes from settings cache for every request
+        storedBidRequest = Fixtures.bidderRequest();
+        storedRequest = Fixtures.MAPPER.encodeToString(storedBidRequest);
+    }
+
+    @Benchmark
+    public BidRequest mergeStoredRequest() {
+        return jsonMerger.merge(bidRequest, storedRequest, "storedRequestId", BidRequest.class);
+    }
+
+    @Benchmark
+    public BidRequest mergeObjects() {
+        return jsonMerger.merge(bidRequest, storedBidRequest, BidRequest.class);
+    }
+}
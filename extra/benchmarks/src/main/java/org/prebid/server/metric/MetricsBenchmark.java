@@ -0,0 +1,63 @@
+package org.prebid.server.metric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.settings.model.Account;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metric updates done for a single auction with one bidder, contended by several threads the same way
+ * event loops update shared metrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class MetricsBenchmark {
+
+    @Param({"exponentiallyDecaying", "lockFreeExponentiallyDecaying", "slidingTimeWindow"})
+    public ReservoirType reservoirType;
+
+    @Param({"counter", "flushingCounter"})
+    public CounterType counterType;
+
+    private Metrics metrics;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        metrics = new Metrics(
+                new PrebidMetricRegistry(reservoirType),
+                counterType,
+                new AccountMetricsVerbosityResolver(
+                        AccountMetricsVerbosityLevel.basic, Collections.emptyList(), Collections.emptyList()));
+        account = Account.empty("accountId");
+    }
+
+    @Benchmark
+    public void updateAuctionMetrics() {
+        metrics.updateAppAndNoCookieAndImpsRequestedMetrics(false, true, 1);
+        metrics.updateAccountRequestMetrics(account, MetricName.openrtb2web);
+        metrics.updateAdapterRequestTypeAndNoCookieMetrics("generic", MetricName.openrtb2web, false);
+        metrics.updateAdapterResponseTime("generic", account, 120);
+        metrics.updateAdapterBidMetrics("generic", account, 1500L, true, "banner");
+        metrics.updateRequestTypeMetric(MetricName.openrtb2web, MetricName.ok);
+        metrics.updateRequestTimeMetric(MetricName.request_time, 150L);
+    }
+}
@@ -0,0 +1,138 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.iabtcf.decoder.TCString;
+import io.vertx.core.Future;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.Components;
+import org.prebid.server.benchmark.Fixtures;
+import org.prebid.server.bidder.GenericBidder;
+import org.prebid.server.privacy.gdpr.model.VendorPermission;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose01Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose02Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose03Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose04Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose05Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose06Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose07Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose08Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose09Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.Purpose10Strategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.BasicEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.FullEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.NoEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.PurposeTwoBasicEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.specialfeature.SpecialFeaturesOneStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.VersionedVendorListService;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+import org.prebid.server.settings.model.EnforcePurpose;
+import org.prebid.server.settings.model.GdprConfig;
+import org.prebid.server.settings.model.Purpose;
+import org.prebid.server.settings.model.PurposeOneTreatmentInterpretation;
+import org.prebid.server.settings.model.Purposes;
+import org.prebid.server.settings.model.SpecialFeature;
+import org.prebid.server.settings.model.SpecialFeatures;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * TCF 2 purposes and special features enforcement for the given number of vendors, with the default host config
+ * enforcing all purposes in full.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Tcf2ServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int vendorsCount;
+
+    private Tcf2Service tcf2Service;
+    private Set<Integer> vendorIds;
+    private TCString tcfConsent;
+
+    @Setup
+    public void setUp() {
+        final Map<Integer, Vendor> vendors = Fixtures.vendorList().getVendors();
+        final VersionedVendorListService versionedVendorListService =
+                Components.stub(VersionedVendorListService.class);
+        given(versionedVendorListService.forConsent(any())).willReturn(Future.succeededFuture(vendors));
+
+        final FullEnforcePurposeStrategy full = new FullEnforcePurposeStrategy();
+        final BasicEnforcePurposeStrategy basic = new BasicEnforcePurposeStrategy();
+        final NoEnforcePurposeStrategy no = new NoEnforcePurposeStrategy();
+
+        tcf2Service = new Tcf2Service(
+                gdprConfig(),
+                List.of(
+                        new Purpose01Strategy(full, basic, no),
+                        new Purpose02Strategy(full, new PurposeTwoBasicEnforcePurposeStrategy(), no),
+                        new Purpose03Strategy(full, basic, no),
+                        new Purpose04Strategy(full, basic, no),
+                        new Purpose05Strategy(full, basic, no),
+                        new Purpose06Strategy(full, basic, no),
+                        new Purpose07Strategy(full, basic, no),
+                        new Purpose08Strategy(full, basic, no),
+                        new Purpose09Strategy(full, basic, no),
+                        new Purpose10Strategy(full, basic, no)),
+                List.of(new SpecialFeaturesOneStrategy()),
+                versionedVendorListService,
+                Components.bidderCatalog(new GenericBidder("http://localhost/generic-exchange", Fixtures.MAPPER)));
+
+        vendorIds = vendors.keySet().stream()
+                .sorted()
+                .limit(vendorsCount)
+                .collect(Collectors.toSet());
+        tcfConsent = TCString.decode(Fixtures.TCF_CONSENT);
+    }
+
+    @Benchmark
+    public Collection<VendorPermission> permissionsFor() {
+        return tcf2Service.permissionsFor(vendorIds, tcfConsent).result();
+    }
+
+    private static GdprConfig gdprConfig() {
+        final Purpose purpose = Purpose.of(EnforcePurpose.full, true, Collections.emptyList(), null);
+
+        return GdprConfig.builder()
+                .purposes(Purposes.builder()
+                        .p1(purpose)
+                        .p2(purpose)
+                        .p3(purpose)
+                        .p4(purpose)
+                        .p5(purpose)
+                        .p6(purpose)
+                        .p7(purpose)
+                        .p8(purpose)
+                        .p9(purpose)
+                        .p10(purpose)
+                        .build())
+                .specialFeatures(SpecialFeatures.builder()
+                        .sf1(SpecialFeature.of(true, Collections.emptyList()))
+                        .sf2(SpecialFeature.of(true, Collections.emptyList()))
+                        .build())
+                .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.ignore)
+                .build();
+    }
+}
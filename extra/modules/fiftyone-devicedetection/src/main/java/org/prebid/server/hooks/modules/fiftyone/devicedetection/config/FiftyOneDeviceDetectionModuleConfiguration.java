@@ -1,9 +1,16 @@
 package org.prebid.server.hooks.modules.fiftyone.devicedetection.config;
 
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import fiftyone.devicedetection.DeviceDetectionPipelineBuilder;
 import fiftyone.pipeline.core.flowelements.Pipeline;
+import io.vertx.core.Vertx;
+import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.hooks.modules.fiftyone.devicedetection.model.config.DetectionCacheConfig;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.model.config.ModuleConfig;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.FiftyOneDeviceDetectionModule;
+import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.core.DetectedDeviceData;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.core.DeviceEnricher;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.core.PipelineBuilder;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.hooks.FiftyOneDeviceDetectionEntrypointHook;
@@ -17,11 +24,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @ConditionalOnProperty(prefix = "hooks." + FiftyOneDeviceDetectionModule.CODE, name = "enabled", havingValue = "true")
 public class FiftyOneDeviceDetectionModuleConfiguration {
 
+    private static final int DEFAULT_DETECTION_CACHE_SIZE = 10000;
+    private static final int DEFAULT_DETECTION_CACHE_TTL_SECONDS = 3600;
+
     @Bean
     @ConfigurationProperties(prefix = "hooks.modules." + FiftyOneDeviceDetectionModule.CODE)
     ModuleConfig moduleConfig() {
@@ -34,8 +45,32 @@ public class FiftyOneDeviceDetectionModuleConfiguration {
     }
 
     @Bean
-    DeviceEnricher deviceEnricher(Pipeline pipeline) {
-        return new DeviceEnricher(pipeline);
+    DeviceEnricher deviceEnricher(Pipeline pipeline,
+                                  ModuleConfig moduleConfig,
+                                  Vertx vertx,
+                                  MetricRegistry metricRegistry) {
+
+        final DetectionCacheConfig cacheConfig = moduleConfig.getDetectionCache();
+        final int size = ObjectUtils.defaultIfNull(
+                cacheConfig != null ? cacheConfig.getSize() : null, DEFAULT_DETECTION_CACHE_SIZE);
+        if (size <= 0) {
+            return new DeviceEnricher(pipeline);
+        }
+
+        final int ttlSeconds = ObjectUtils.defaultIfNull(
+                cacheConfig != null ? cacheConfig.getTtlSeconds() : null, DEFAULT_DETECTION_CACHE_TTL_SECONDS);
+        final Cache<String, DetectedDeviceData> detectionCache = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        final String metricPrefix = "modules.module." + FiftyOneDeviceDetectionModule.CODE + ".detection-cache.";
+        metricRegistry.gauge(metricPrefix + "hit", () -> () -> detectionCache.stats().hitCount());
+        metricRegistry.gauge(metricPrefix + "miss", () -> () -> detectionCache.stats().missCount());
+        metricRegistry.gauge(metricPrefix + "eviction", () -> () -> detectionCache.stats().evictionCount());
+
+        return new DeviceEnricher(pipeline, detectionCache, vertx);
     }
 
     @Bean
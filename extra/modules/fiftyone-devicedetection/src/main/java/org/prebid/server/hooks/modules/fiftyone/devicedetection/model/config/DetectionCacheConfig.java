@@ -0,0 +1,11 @@
+package org.prebid.server.hooks.modules.fiftyone.devicedetection.model.config;
+
+import lombok.Data;
+
+@Data
+public final class DetectionCacheConfig {
+
+    Integer size;
+
+    Integer ttlSeconds;
+}
@@ -10,4 +10,6 @@ public final class ModuleConfig {
     DataFile dataFile;
 
     PerformanceConfig performance;
+
+    DetectionCacheConfig detectionCache;
 }
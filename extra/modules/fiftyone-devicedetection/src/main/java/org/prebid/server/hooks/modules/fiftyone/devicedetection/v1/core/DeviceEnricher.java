@@ -2,11 +2,14 @@ package org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.core;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.iab.openrtb.request.Device;
 import fiftyone.devicedetection.shared.DeviceData;
 import fiftyone.pipeline.core.data.FlowData;
 import fiftyone.pipeline.core.flowelements.Pipeline;
 import fiftyone.pipeline.engines.data.AspectPropertyValue;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -23,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -30,31 +34,118 @@ public class DeviceEnricher {
 
     private static final String EXT_DEVICE_ID_KEY = "fiftyonedegrees_deviceId";
 
+    // marks evidence for which pipeline provided no device data, as cache can not hold nulls
+    private static final DetectedDeviceData UNDETECTED = DetectedDeviceData.builder().build();
+
     private final Pipeline pipeline;
+    private final Cache<String, DetectedDeviceData> detectionCache;
+    private final Vertx vertx;
 
     public DeviceEnricher(@Nonnull Pipeline pipeline) {
+        this(pipeline, null, null);
+    }
+
+    /**
+     * Creates enricher which keeps detection results for the same evidence in the given cache. Evidence missed
+     * in cache can be resolved in advance off the event loop by {@link #prepare(CollectedEvidence)}.
+     */
+    public DeviceEnricher(@Nonnull Pipeline pipeline, Cache<String, DetectedDeviceData> detectionCache, Vertx vertx) {
         this.pipeline = Objects.requireNonNull(pipeline);
+        this.detectionCache = detectionCache;
+        this.vertx = vertx;
     }
 
     public static boolean shouldSkipEnriching(Device device) {
         return StringUtils.isNotEmpty(getDeviceId(device));
     }
 
+    /**
+     * Runs detection for the given evidence on a worker thread if its result is not cached yet, so that following
+     * {@link #populateDeviceInfo(Device, CollectedEvidence)} is served from cache.
+     */
+    public Future<Void> prepare(CollectedEvidence collectedEvidence) {
+        if (detectionCache == null) {
+            return Future.succeededFuture();
+        }
+
+        final Map<String, String> evidence = pickRelevantFrom(collectedEvidence);
+        final String fingerprint = fingerprint(evidence);
+        if (detectionCache.getIfPresent(fingerprint) != null) {
+            return Future.succeededFuture();
+        }
+
+        return vertx.executeBlocking(() -> {
+            detectionCache.put(fingerprint, detect(evidence));
+            return null;
+        }, false);
+    }
+
     public EnrichmentResult populateDeviceInfo(Device device, CollectedEvidence collectedEvidence) throws Exception {
+        final DetectedDeviceData deviceData = detectCached(pickRelevantFrom(collectedEvidence));
+        if (deviceData == UNDETECTED) {
+            return null;
+        }
+        final Device properDevice = Optional.ofNullable(device).orElseGet(() -> Device.builder().build());
+        return patchDevice(properDevice, deviceData);
+    }
+
+    private DetectedDeviceData detectCached(Map<String, String> evidence) throws Exception {
+        if (detectionCache == null) {
+            return detect(evidence);
+        }
+
+        final String fingerprint = fingerprint(evidence);
+        final DetectedDeviceData cachedDeviceData = detectionCache.getIfPresent(fingerprint);
+        if (cachedDeviceData != null) {
+            return cachedDeviceData;
+        }
+
+        final DetectedDeviceData deviceData = detect(evidence);
+        detectionCache.put(fingerprint, deviceData);
+        return deviceData;
+    }
+
+    private DetectedDeviceData detect(Map<String, String> evidence) throws Exception {
         try (FlowData data = pipeline.createFlowData()) {
-            data.addEvidence(pickRelevantFrom(collectedEvidence));
+            data.addEvidence(evidence);
             data.process();
             final DeviceData deviceData = data.get(DeviceData.class);
-            if (deviceData == null) {
-                return null;
-            }
-            final Device properDevice = Optional.ofNullable(device).orElseGet(() -> Device.builder().build());
-            return patchDevice(properDevice, deviceData);
+            return deviceData != null ? toDetectedDeviceData(deviceData) : UNDETECTED;
         }
     }
 
+    /**
+     * Evidence keys are case-insensitive header names, so they are lower-cased and sorted to get the same
+     * fingerprint regardless of the header order and case.
+     */
+    private static String fingerprint(Map<String, String> evidence) {
+        final Map<String, String> normalizedEvidence = new TreeMap<>();
+        evidence.forEach((key, value) -> normalizedEvidence.put(
+                StringUtils.lowerCase(key), StringUtils.trimToEmpty(value)));
+        return normalizedEvidence.toString();
+    }
+
+    private DetectedDeviceData toDetectedDeviceData(DeviceData deviceData) {
+        return DetectedDeviceData.builder()
+                .deviceType(getSafe(deviceData, DeviceData::getDeviceType))
+                .hardwareVendor(getSafe(deviceData, DeviceData::getHardwareVendor))
+                .hardwareModel(getSafe(deviceData, DeviceData::getHardwareModel))
+                .hardwareName(getSafe(deviceData, DeviceData::getHardwareName))
+                .platformName(getSafe(deviceData, DeviceData::getPlatformName))
+                .platformVersion(getSafe(deviceData, DeviceData::getPlatformVersion))
+                .screenPixelsHeight(getSafe(deviceData, DeviceData::getScreenPixelsHeight))
+                .screenPixelsWidth(getSafe(deviceData, DeviceData::getScreenPixelsWidth))
+                .screenInchesHeight(getSafe(deviceData, DeviceData::getScreenInchesHeight))
+                .pixelRatio(getSafe(deviceData, DeviceData::getPixelRatio))
+                .deviceId(getSafe(deviceData, DeviceData::getDeviceId))
+                .build();
+    }
+
     private Map<String, String> pickRelevantFrom(CollectedEvidence collectedEvidence) {
         final Map<String, String> evidence = new HashMap<>();
+        if (collectedEvidence == null) {
+            return evidence;
+        }
 
         final String ua = collectedEvidence.deviceUA();
         if (StringUtils.isNotBlank(ua)) {
@@ -75,7 +166,7 @@ public class DeviceEnricher {
         return evidence;
     }
 
-    private EnrichmentResult patchDevice(Device device, DeviceData deviceData) {
+    private EnrichmentResult patchDevice(Device device, DetectedDeviceData deviceData) {
         final List<String> updatedFields = new ArrayList<>();
         final Device.DeviceBuilder deviceBuilder = device.toBuilder();
 
@@ -149,13 +240,13 @@ public class DeviceEnricher {
                 .build();
     }
 
-    private UpdateResult<Integer> resolveDeviceType(Device device, DeviceData deviceData) {
+    private UpdateResult<Integer> resolveDeviceType(Device device, DetectedDeviceData deviceData) {
         final Integer currentDeviceType = device.getDevicetype();
         if (isPositive(currentDeviceType)) {
             return UpdateResult.unaltered(currentDeviceType);
         }
 
-        final String rawDeviceType = getSafe(deviceData, DeviceData::getDeviceType);
+        final String rawDeviceType = deviceData.deviceType();
         if (rawDeviceType == null) {
             return UpdateResult.unaltered(currentDeviceType);
         }
@@ -166,119 +257,119 @@ public class DeviceEnricher {
                 : UpdateResult.unaltered(currentDeviceType);
     }
 
-    private UpdateResult<String> resolveMake(Device device, DeviceData deviceData) {
+    private UpdateResult<String> resolveMake(Device device, DetectedDeviceData deviceData) {
         final String currentMake = device.getMake();
         if (StringUtils.isNotBlank(currentMake)) {
             return UpdateResult.unaltered(currentMake);
         }
 
-        final String make = getSafe(deviceData, DeviceData::getHardwareVendor);
+        final String make = deviceData.hardwareVendor();
         return StringUtils.isNotBlank(make)
                 ? UpdateResult.updated(make)
                 : UpdateResult.unaltered(currentMake);
     }
 
-    private UpdateResult<String> resolveModel(Device device, DeviceData deviceData) {
+    private UpdateResult<String> resolveModel(Device device, DetectedDeviceData deviceData) {
         final String currentModel = device.getModel();
         if (StringUtils.isNotBlank(currentModel)) {
             return UpdateResult.unaltered(currentModel);
         }
 
-        final String model = getSafe(deviceData, DeviceData::getHardwareModel);
+        final String model = deviceData.hardwareModel();
         if (StringUtils.isNotBlank(model)) {
             return UpdateResult.updated(model);
         }
 
-        final List<String> names = getSafe(deviceData, DeviceData::getHardwareName);
+        final List<String> names = deviceData.hardwareName();
         return CollectionUtils.isNotEmpty(names)
                 ? UpdateResult.updated(String.join(",", names))
                 : UpdateResult.unaltered(currentModel);
     }
 
-    private UpdateResult<String> resolveOs(Device device, DeviceData deviceData) {
+    private UpdateResult<String> resolveOs(Device device, DetectedDeviceData deviceData) {
         final String currentOs = device.getOs();
         if (StringUtils.isNotBlank(currentOs)) {
             return UpdateResult.unaltered(currentOs);
         }
 
-        final String os = getSafe(deviceData, DeviceData::getPlatformName);
+        final String os = deviceData.platformName();
         return StringUtils.isNotBlank(os)
                 ? UpdateResult.updated(os)
                 : UpdateResult.unaltered(currentOs);
     }
 
-    private UpdateResult<String> resolveOsv(Device device, DeviceData deviceData) {
+    private UpdateResult<String> resolveOsv(Device device, DetectedDeviceData deviceData) {
         final String currentOsv = device.getOsv();
         if (StringUtils.isNotBlank(currentOsv)) {
             return UpdateResult.unaltered(currentOsv);
         }
 
-        final String osv = getSafe(deviceData, DeviceData::getPlatformVersion);
+        final String osv = deviceData.platformVersion();
         return StringUtils.isNotBlank(osv)
                 ? UpdateResult.updated(osv)
                 : UpdateResult.unaltered(currentOsv);
     }
 
-    private UpdateResult<Integer> resolveH(Device device, DeviceData deviceData) {
+    private UpdateResult<Integer> resolveH(Device device, DetectedDeviceData deviceData) {
         final Integer currentH = device.getH();
         if (isPositive(currentH)) {
             return UpdateResult.unaltered(currentH);
         }
 
-        final Integer h = getSafe(deviceData, DeviceData::getScreenPixelsHeight);
+        final Integer h = deviceData.screenPixelsHeight();
         return isPositive(h)
                 ? UpdateResult.updated(h)
                 : UpdateResult.unaltered(currentH);
     }
 
-    private UpdateResult<Integer> resolveW(Device device, DeviceData deviceData) {
+    private UpdateResult<Integer> resolveW(Device device, DetectedDeviceData deviceData) {
         final Integer currentW = device.getW();
         if (isPositive(currentW)) {
             return UpdateResult.unaltered(currentW);
         }
 
-        final Integer w = getSafe(deviceData, DeviceData::getScreenPixelsWidth);
+        final Integer w = deviceData.screenPixelsWidth();
         return isPositive(w)
                 ? UpdateResult.updated(w)
                 : UpdateResult.unaltered(currentW);
     }
 
-    private UpdateResult<Integer> resolvePpi(Device device, DeviceData deviceData) {
+    private UpdateResult<Integer> resolvePpi(Device device, DetectedDeviceData deviceData) {
         final Integer currentPpi = device.getPpi();
         if (isPositive(currentPpi)) {
             return UpdateResult.unaltered(currentPpi);
         }
 
-        final Integer pixelsHeight = getSafe(deviceData, DeviceData::getScreenPixelsHeight);
+        final Integer pixelsHeight = deviceData.screenPixelsHeight();
         if (pixelsHeight == null) {
             return UpdateResult.unaltered(currentPpi);
         }
 
-        final Double inchesHeight = getSafe(deviceData, DeviceData::getScreenInchesHeight);
+        final Double inchesHeight = deviceData.screenInchesHeight();
         return isPositive(inchesHeight)
                 ? UpdateResult.updated((int) Math.round(pixelsHeight / inchesHeight))
                 : UpdateResult.unaltered(currentPpi);
     }
 
-    private UpdateResult<BigDecimal> resolvePixelRatio(Device device, DeviceData deviceData) {
+    private UpdateResult<BigDecimal> resolvePixelRatio(Device device, DetectedDeviceData deviceData) {
         final BigDecimal currentPixelRatio = device.getPxratio();
         if (currentPixelRatio != null && currentPixelRatio.intValue() > 0) {
             return UpdateResult.unaltered(currentPixelRatio);
         }
 
-        final Double rawRatio = getSafe(deviceData, DeviceData::getPixelRatio);
+        final Double rawRatio = deviceData.pixelRatio();
         return isPositive(rawRatio)
                 ? UpdateResult.updated(BigDecimal.valueOf(rawRatio))
                 : UpdateResult.unaltered(currentPixelRatio);
     }
 
-    private UpdateResult<String> resolveDeviceId(Device device, DeviceData deviceData) {
+    private UpdateResult<String> resolveDeviceId(Device device, DetectedDeviceData deviceData) {
         final String currentDeviceId = getDeviceId(device);
         if (StringUtils.isNotBlank(currentDeviceId)) {
             return UpdateResult.unaltered(currentDeviceId);
         }
 
-        final String deviceID = getSafe(deviceData, DeviceData::getDeviceId);
+        final String deviceID = deviceData.deviceId();
         return StringUtils.isNotBlank(deviceID)
                 ? UpdateResult.updated(deviceID)
                 : UpdateResult.unaltered(currentDeviceId);
@@ -62,14 +62,18 @@ public class FiftyOneDeviceDetectionRawAuctionRequestHook implements RawAuctionR
                 oldModuleContext,
                 payload.bidRequest());
 
-        return Future.succeededFuture(
+        final InvocationResult<AuctionRequestPayload> invocationResult =
                 InvocationResultImpl.<AuctionRequestPayload>builder()
                         .status(InvocationStatus.success)
                         .action(InvocationAction.update)
                         .payloadUpdate(freshPayload -> updatePayload(freshPayload, moduleContext.collectedEvidence()))
                         .moduleContext(moduleContext)
-                        .build()
-        );
+                        .build();
+
+        // detection missed in cache runs on a worker, so payload update is served from cache
+        return deviceEnricher.prepare(moduleContext.collectedEvidence())
+                .map(ignored -> invocationResult)
+                .otherwise(invocationResult);
     }
 
     private boolean shouldSkipEnriching(AuctionRequestPayload payload, AuctionInvocationContext invocationContext) {
@@ -1,12 +1,15 @@
 package org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.core;
 
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.Device;
 import fiftyone.devicedetection.shared.DeviceData;
 import fiftyone.pipeline.core.data.FlowData;
 import fiftyone.pipeline.core.flowelements.Pipeline;
 import fiftyone.pipeline.engines.data.AspectPropertyValue;
 import fiftyone.pipeline.engines.exceptions.NoValueException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,13 +24,18 @@ import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -118,6 +126,68 @@ public class DeviceEnricherTest {
         verify(flowData, times(1)).get(DeviceData.class);
     }
 
+    @Test
+    public void populateDeviceInfoShouldReuseCachedDetectionForSameEvidence() throws Exception {
+        // given
+        target = new DeviceEnricher(pipeline, Caffeine.newBuilder().build(), null);
+        final CollectedEvidence collectedEvidence = CollectedEvidence.builder().deviceUA("dummy-ua").build();
+
+        // when
+        target.populateDeviceInfo(null, collectedEvidence);
+        target.populateDeviceInfo(null, collectedEvidence.toBuilder().deviceUA(" dummy-ua ").build());
+
+        // then
+        verify(pipeline, times(1)).createFlowData();
+    }
+
+    @Test
+    public void populateDeviceInfoShouldCacheMissingDeviceData() throws Exception {
+        // given
+        when(flowData.get(DeviceData.class)).thenReturn(null);
+        target = new DeviceEnricher(pipeline, Caffeine.newBuilder().build(), null);
+        final CollectedEvidence collectedEvidence = CollectedEvidence.builder().deviceUA("dummy-ua").build();
+
+        // when
+        final EnrichmentResult firstResult = target.populateDeviceInfo(null, collectedEvidence);
+        final EnrichmentResult secondResult = target.populateDeviceInfo(null, collectedEvidence);
+
+        // then
+        assertThat(firstResult).isNull();
+        assertThat(secondResult).isNull();
+        verify(pipeline, times(1)).createFlowData();
+    }
+
+    @Test
+    public void prepareShouldSucceedWithoutDetectionWhenCacheIsAbsent() {
+        // when
+        final Future<Void> result = target.prepare(CollectedEvidence.builder().deviceUA("dummy-ua").build());
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        verifyNoInteractions(pipeline);
+    }
+
+    @Test
+    public void prepareShouldResolveMissedEvidenceOnWorkerAndCacheResult() throws Exception {
+        // given
+        final Vertx vertx = mock(Vertx.class);
+        when(vertx.executeBlocking(any(Callable.class), eq(false))).thenAnswer(invocation ->
+                Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call()));
+        target = new DeviceEnricher(pipeline, Caffeine.newBuilder().build(), vertx);
+        final CollectedEvidence collectedEvidence = CollectedEvidence.builder().deviceUA("dummy-ua").build();
+
+        // when
+        final Future<Void> firstResult = target.prepare(collectedEvidence);
+        final Future<Void> secondResult = target.prepare(collectedEvidence);
+        target.populateDeviceInfo(null, collectedEvidence);
+
+        // then
+        assertThat(firstResult.succeeded()).isTrue();
+        assertThat(secondResult.succeeded()).isTrue();
+        verify(vertx, times(1)).executeBlocking(any(Callable.class), eq(false));
+        verify(pipeline, times(1)).createFlowData();
+    }
+
     @Test
     public void populateDeviceInfoShouldPassToFlowDataHeadersMadeFromSuaWhenPresent() throws Exception {
         // given
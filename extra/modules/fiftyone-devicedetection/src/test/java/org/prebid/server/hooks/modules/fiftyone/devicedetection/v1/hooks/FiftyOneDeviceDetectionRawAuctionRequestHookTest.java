@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Device;
 import com.iab.openrtb.request.UserAgent;
+import io.vertx.core.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,7 +41,7 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 public class FiftyOneDeviceDetectionRawAuctionRequestHookTest {
 
-    @Mock
+    @Mock(strictness = LENIENT)
     private DeviceEnricher deviceEnricher;
     private AccountFilter accountFilter;
 
@@ -48,6 +50,7 @@ public class FiftyOneDeviceDetectionRawAuctionRequestHookTest {
     @BeforeEach
     public void setUp() {
         accountFilter = new AccountFilter();
+        when(deviceEnricher.prepare(any())).thenReturn(Future.succeededFuture());
         target = new FiftyOneDeviceDetectionRawAuctionRequestHook(accountFilter, deviceEnricher);
     }
 
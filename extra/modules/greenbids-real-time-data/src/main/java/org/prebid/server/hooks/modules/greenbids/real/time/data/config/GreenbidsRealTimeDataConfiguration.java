@@ -1,14 +1,17 @@
 package org.prebid.server.hooks.modules.greenbids.real.time.data.config;
 
+import com.codahale.metrics.MetricRegistry;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import org.prebid.server.geolocation.CountryCodeMapper;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.FilterService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInferenceDataService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.ModelCache;
+import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxInferenceEngine;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunner;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerFactory;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerWithThresholds;
@@ -58,8 +61,26 @@ public class GreenbidsRealTimeDataConfiguration {
     }
 
     @Bean
-    FilterService filterService() {
-        return new FilterService();
+    OnnxInferenceEngine onnxInferenceEngine(GreenbidsRealTimeDataProperties properties,
+                                            Vertx vertx,
+                                            MetricRegistry metricRegistry) {
+
+        final WorkerExecutor workerExecutor = vertx.createSharedWorkerExecutor(
+                "greenbids-inference", properties.getInferenceWorkerPoolSize());
+
+        return new OnnxInferenceEngine(
+                task -> workerExecutor.executeBlocking(() -> {
+                    task.run();
+                    return null;
+                }, false),
+                properties.getInferenceMaxBatchSize(),
+                properties.getInferenceLingerMicros(),
+                metricRegistry);
+    }
+
+    @Bean
+    FilterService filterService(OnnxInferenceEngine onnxInferenceEngine) {
+        return new FilterService(onnxInferenceEngine);
     }
 
     @Bean
@@ -24,4 +24,10 @@ public class GreenbidsRealTimeDataProperties {
     Long timeoutMs;
 
     Integer maxRedirects;
+
+    Integer inferenceMaxBatchSize = 64;
+
+    Long inferenceLingerMicros = 500L;
+
+    Integer inferenceWorkerPoolSize = 2;
 }
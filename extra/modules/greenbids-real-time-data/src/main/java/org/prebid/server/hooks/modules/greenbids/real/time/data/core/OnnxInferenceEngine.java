@@ -0,0 +1,252 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.exception.PreBidException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs model inference off the event loop.
+ * <p>
+ * Rows submitted by concurrent auctions for the same model are queued and run as a single micro-batch, bounded by
+ * max batch size and linger time, which is much cheaper per row than a model run per auction. At most one batch
+ * per model is in flight, batches of different models run in parallel on the given executor. Native input tensors
+ * and model results are closed as soon as probabilities are copied out.
+ */
+public class OnnxInferenceEngine {
+
+    private static final String METRIC_PREFIX = "modules.module.greenbids-real-time-data.inference.";
+    private static final String PROBABILITIES = "probabilities";
+
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+
+    private final Map<OnnxModelRunner, ModelQueue> modelQueues =
+            Caffeine.newBuilder().weakKeys().<OnnxModelRunner, ModelQueue>build().asMap();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Histogram batchSizeHistogram;
+    private final Timer batchTimer;
+
+    public OnnxInferenceEngine(Executor executor,
+                               int maxBatchSize,
+                               long lingerMicros,
+                               MetricRegistry metricRegistry) {
+
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("max batch size must be positive");
+        }
+        if (lingerMicros < 0) {
+            throw new IllegalArgumentException("linger must not be negative");
+        }
+
+        this.executor = Objects.requireNonNull(executor);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+
+        metricRegistry.gauge(METRIC_PREFIX + "queue-depth", () -> queueDepth::get);
+        batchSizeHistogram = metricRegistry.histogram(METRIC_PREFIX + "batch-size");
+        batchTimer = metricRegistry.timer(METRIC_PREFIX + "batch-time");
+    }
+
+    /**
+     * Returns probabilities predicted by the model for each of the given rows, in the same order.
+     */
+    public Future<float[][]> infer(OnnxModelRunner onnxModelRunner, String[][] rows) {
+        final ModelQueue modelQueue = modelQueues.computeIfAbsent(onnxModelRunner, ModelQueue::new);
+        final PendingInference pendingInference = new PendingInference(rows, Vertx.currentContext());
+
+        modelQueue.pending.add(pendingInference);
+        modelQueue.pendingRows.addAndGet(rows.length);
+        queueDepth.addAndGet(rows.length);
+
+        scheduleDrain(modelQueue);
+
+        return pendingInference.promise.future();
+    }
+
+    private void scheduleDrain(ModelQueue modelQueue) {
+        if (modelQueue.pending.isEmpty() || !modelQueue.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> drain(modelQueue));
+        } catch (Exception e) {
+            modelQueue.draining.set(false);
+            failAll(modelQueue, e);
+        }
+    }
+
+    private void drain(ModelQueue modelQueue) {
+        try {
+            lingerUntilFull(modelQueue);
+            runBatch(modelQueue.runner, pollBatch(modelQueue));
+        } finally {
+            modelQueue.draining.set(false);
+            // rows could be added after batch was polled, but before draining flag was released
+            scheduleDrain(modelQueue);
+        }
+    }
+
+    private void lingerUntilFull(ModelQueue modelQueue) {
+        final long deadline = System.nanoTime() + lingerNanos;
+        long remaining = lingerNanos;
+        while (remaining > 0 && modelQueue.pendingRows.get() < maxBatchSize) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    private List<PendingInference> pollBatch(ModelQueue modelQueue) {
+        final List<PendingInference> batch = new ArrayList<>();
+
+        int batchRows = 0;
+        PendingInference next = modelQueue.pending.peek();
+        // single consumer, so polled element is always the peeked one
+        while (next != null && (batch.isEmpty() || batchRows + next.rows.length <= maxBatchSize)) {
+            modelQueue.pending.poll();
+            batch.add(next);
+            batchRows += next.rows.length;
+            next = modelQueue.pending.peek();
+        }
+
+        modelQueue.pendingRows.addAndGet(-batchRows);
+        queueDepth.addAndGet(-batchRows);
+
+        return batch;
+    }
+
+    private void runBatch(OnnxModelRunner onnxModelRunner, List<PendingInference> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        final String[][] batchRows = batch.stream()
+                .map(PendingInference::rows)
+                .flatMap(Arrays::stream)
+                .toArray(String[][]::new);
+
+        batchSizeHistogram.update(batchRows.length);
+        final long startTime = System.nanoTime();
+
+        final float[][] probabilities;
+        try {
+            probabilities = predict(onnxModelRunner, batchRows);
+        } catch (PreBidException e) {
+            batch.forEach(pendingInference -> pendingInference.fail(e));
+            return;
+        } catch (Exception e) {
+            final PreBidException exception = new PreBidException("Exception during model inference: ", e);
+            batch.forEach(pendingInference -> pendingInference.fail(exception));
+            return;
+        } finally {
+            batchTimer.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        int offset = 0;
+        for (PendingInference pendingInference : batch) {
+            final int rowsCount = pendingInference.rows.length;
+            final float[][] rowsProbabilities = new float[rowsCount][];
+            System.arraycopy(probabilities, offset, rowsProbabilities, 0, rowsCount);
+            offset += rowsCount;
+
+            pendingInference.complete(rowsProbabilities);
+        }
+    }
+
+    private static float[][] predict(OnnxModelRunner onnxModelRunner, String[][] rows) throws OrtException {
+        try (OrtSession.Result results = onnxModelRunner.runModel(rows)) {
+            for (Map.Entry<String, OnnxValue> onnxItem : results) {
+                final OnnxValue value = onnxItem.getValue();
+                if (!(value instanceof OnnxTensor tensor)) {
+                    throw new PreBidException("Expected OnnxTensor for 'probabilities', but found: "
+                            + value.getClass().getName());
+                }
+
+                if (Objects.equals(onnxItem.getKey(), PROBABILITIES)) {
+                    validateTensorSize(tensor, rows.length);
+                    return (float[][]) tensor.getValue();
+                }
+            }
+        }
+
+        throw new PreBidException("Model results do not contain probabilities");
+    }
+
+    private static void validateTensorSize(OnnxTensor tensor, int expectedSize) {
+        final long[] tensorShape = tensor.getInfo().getShape();
+        if (tensorShape.length == 0 || tensorShape[0] != expectedSize) {
+            throw new PreBidException("Mismatch between tensor size and throttlingMessages size");
+        }
+    }
+
+    private void failAll(ModelQueue modelQueue, Exception exception) {
+        final List<PendingInference> batch = pollBatch(modelQueue);
+        batch.forEach(pendingInference -> pendingInference.fail(exception));
+        if (!modelQueue.pending.isEmpty()) {
+            failAll(modelQueue, exception);
+        }
+    }
+
+    private static class ModelQueue {
+
+        private final OnnxModelRunner runner;
+
+        private final Queue<PendingInference> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger pendingRows = new AtomicInteger();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        ModelQueue(OnnxModelRunner runner) {
+            this.runner = runner;
+        }
+    }
+
+    private record PendingInference(String[][] rows, Context context, Promise<float[][]> promise) {
+
+        PendingInference(String[][] rows, Context context) {
+            this(rows, context, Promise.promise());
+        }
+
+        void complete(float[][] probabilities) {
+            onContext(() -> promise.complete(probabilities));
+        }
+
+        void fail(Throwable throwable) {
+            onContext(() -> promise.fail(throwable));
+        }
+
+        // callers continue on their own event loop rather than on the inference worker
+        private void onContext(Runnable action) {
+            if (context != null) {
+                context.runOnContext(ignored -> action.run());
+            } else {
+                action.run();
+            }
+        }
+    }
+}
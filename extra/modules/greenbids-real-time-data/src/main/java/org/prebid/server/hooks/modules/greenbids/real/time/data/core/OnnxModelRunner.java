@@ -17,8 +17,12 @@ public class OnnxModelRunner {
         session = ENVIRONMENT.createSession(onnxModelBytes, new OrtSession.SessionOptions());
     }
 
+    /**
+     * Runs the model over the given rows. Returned result holds native memory and must be closed by the caller.
+     */
     public OrtSession.Result runModel(String[][] throttlingInferenceRow) throws OrtException {
-        final OnnxTensor inputTensor = OnnxTensor.createTensor(ENVIRONMENT, throttlingInferenceRow);
-        return session.run(Collections.singletonMap("input", inputTensor));
+        try (OnnxTensor inputTensor = OnnxTensor.createTensor(ENVIRONMENT, throttlingInferenceRow)) {
+            return session.run(Collections.singletonMap("input", inputTensor));
+        }
     }
 }
@@ -5,6 +5,8 @@ import ai.onnxruntime.OnnxValue;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
 import ai.onnxruntime.TensorInfo;
+import com.codahale.metrics.MetricRegistry;
+import io.vertx.core.Future;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -22,8 +24,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,7 +46,8 @@ public class FilterServiceTest {
     @Mock
     private OnnxValue onnxValue;
 
-    private final FilterService target = new FilterService();
+    private final FilterService target = new FilterService(
+            new OnnxInferenceEngine(Runnable::run, 64, 0, new MetricRegistry()));
 
     @Test
     public void filterBiddersShouldReturnFilteredBiddersWhenValidThrottlingMessagesProvided()
@@ -56,7 +59,7 @@ public class FilterServiceTest {
 
         // when
         final Map<String, Map<String, Boolean>> impsBiddersFilterMap = target.filterBidders(
-                onnxModelRunner, throttlingMessages, threshold);
+                onnxModelRunner, throttlingMessages, threshold).result();
 
         // then
         assertThat(impsBiddersFilterMap).isNotNull();
@@ -66,22 +69,27 @@ public class FilterServiceTest {
     }
 
     @Test
-    public void validateOnnxTensorShouldThrowPreBidExceptionWhenOnnxValueIsNotTensor() throws OrtException {
+    public void validateOnnxTensorShouldFailWithPreBidExceptionWhenOnnxValueIsNotTensor() throws OrtException {
         // given
         final List<ThrottlingMessage> throttlingMessages = createThrottlingMessages();
         final Double threshold = 0.5;
 
         when(onnxModelRunnerMock.runModel(any(String[][].class))).thenReturn(results);
-        when(results.spliterator()).thenReturn(Arrays.asList(createInvalidOnnxItem()).spliterator());
+        when(results.iterator()).thenReturn(Arrays.asList(createInvalidOnnxItem()).iterator());
 
-        // when & then
-        assertThatThrownBy(() -> target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold))
+        // when
+        final Future<Map<String, Map<String, Boolean>>> result =
+                target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause())
                 .isInstanceOf(PreBidException.class)
                 .hasMessageContaining("Expected OnnxTensor for 'probabilities', but found");
     }
 
     @Test
-    public void filterBiddersShouldThrowPreBidExceptionWhenOrtExceptionOccurs() throws OrtException {
+    public void filterBiddersShouldFailWithPreBidExceptionWhenOrtExceptionOccurs() throws OrtException {
         // given
         final List<ThrottlingMessage> throttlingMessages = createThrottlingMessages();
         final Double threshold = 0.5;
@@ -89,39 +97,55 @@ public class FilterServiceTest {
         when(onnxModelRunnerMock.runModel(any(String[][].class)))
                 .thenThrow(new OrtException("Exception during runModel"));
 
-        // when & then
-        assertThatThrownBy(() -> target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold))
+        // when
+        final Future<Map<String, Map<String, Boolean>>> result =
+                target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause())
                 .isInstanceOf(PreBidException.class)
                 .hasMessageContaining("Exception during model inference");
     }
 
     @Test
-    public void filterBiddersShouldThrowPreBidExceptionWhenThrottlingMessagesIsEmpty() {
+    public void filterBiddersShouldFailWithPreBidExceptionWhenThrottlingMessagesIsEmpty() {
         // given
         final List<ThrottlingMessage> throttlingMessages = Collections.emptyList();
         final Double threshold = 0.5;
 
-        // when & then
-        assertThatThrownBy(() -> target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold))
+        // when
+        final Future<Map<String, Map<String, Boolean>>> result =
+                target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause())
                 .isInstanceOf(PreBidException.class)
                 .hasMessageContaining("throttlingMessages cannot be null or empty");
     }
 
     @Test
-    public void filterBiddersShouldThrowPreBidExceptionWhenTensorSizeMismatchOccurs() throws OrtException {
+    public void filterBiddersShouldFailWithPreBidExceptionWhenTensorSizeMismatchOccurs() throws OrtException {
         // given
         final List<ThrottlingMessage> throttlingMessages = createThrottlingMessages();
         final Double threshold = 0.5;
 
         when(onnxModelRunnerMock.runModel(any(String[][].class))).thenReturn(results);
-        when(results.spliterator()).thenReturn(Arrays.asList(createOnnxItem()).spliterator());
+        when(results.iterator()).thenReturn(Arrays.asList(createOnnxItem()).iterator());
         when(onnxTensor.getInfo()).thenReturn(tensorInfo);
         when(tensorInfo.getShape()).thenReturn(new long[]{0});
 
-        // when & then
-        assertThatThrownBy(() -> target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold))
+        // when
+        final Future<Map<String, Map<String, Boolean>>> result =
+                target.filterBidders(onnxModelRunnerMock, throttlingMessages, threshold);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause())
                 .isInstanceOf(PreBidException.class)
                 .hasMessageContaining("Mismatch between tensor size and throttlingMessages size");
+        verify(results).close();
     }
 
     private OnnxModelRunner givenOnnxModelRunner() throws OrtException, IOException {
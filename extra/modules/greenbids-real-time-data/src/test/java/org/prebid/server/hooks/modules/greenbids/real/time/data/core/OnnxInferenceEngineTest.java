@@ -0,0 +1,135 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import ai.onnxruntime.TensorInfo;
+import com.codahale.metrics.MetricRegistry;
+import io.vertx.core.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class OnnxInferenceEngineTest {
+
+    @Mock
+    private OnnxModelRunner onnxModelRunner;
+
+    @Mock
+    private OrtSession.Result results;
+
+    @Mock
+    private OnnxTensor onnxTensor;
+
+    @Mock
+    private TensorInfo tensorInfo;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private MetricRegistry metricRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxBatchSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new OnnxInferenceEngine(tasks::add, 0, 0, metricRegistry))
+                .withMessage("max batch size must be positive");
+    }
+
+    @Test
+    public void inferShouldRunRowsOfConcurrentCallsAsSingleBatch() throws OrtException {
+        // given
+        final OnnxInferenceEngine target = new OnnxInferenceEngine(tasks::add, 64, 0, metricRegistry);
+        givenProbabilities(new float[][]{{0.1f, 0.9f}, {0.2f, 0.8f}, {0.3f, 0.7f}});
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, new String[][]{{"a"}, {"b"}});
+        final Future<float[][]> second = target.infer(onnxModelRunner, new String[][]{{"c"}});
+
+        assertThat(metricRegistry.getGauges().get("modules.module.greenbids-real-time-data.inference.queue-depth")
+                .getValue()).isEqualTo(3);
+        tasks.forEach(Runnable::run);
+
+        // then
+        final ArgumentCaptor<String[][]> rowsCaptor = ArgumentCaptor.forClass(String[][].class);
+        verify(onnxModelRunner).runModel(rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue()).isEqualTo(new String[][]{{"a"}, {"b"}, {"c"}});
+        verify(results).close();
+
+        assertThat(first.result()).isEqualTo(new float[][]{{0.1f, 0.9f}, {0.2f, 0.8f}});
+        assertThat(second.result()).isEqualTo(new float[][]{{0.3f, 0.7f}});
+        assertThat(metricRegistry.histogram("modules.module.greenbids-real-time-data.inference.batch-size")
+                .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void inferShouldNotExceedMaxBatchSize() throws OrtException {
+        // given
+        final OnnxInferenceEngine target = new OnnxInferenceEngine(tasks::add, 2, 0, metricRegistry);
+        given(onnxModelRunner.runModel(any())).willReturn(results);
+        given(results.iterator()).willAnswer(invocation -> List.<Map.Entry<String, OnnxValue>>of(
+                new AbstractMap.SimpleEntry<>("probabilities", onnxTensor)).iterator());
+        given(onnxTensor.getInfo()).willReturn(tensorInfo);
+        given(tensorInfo.getShape()).willReturn(new long[]{2}, new long[]{1});
+        given(onnxTensor.getValue()).willReturn(new float[][]{{0.1f, 0.9f}, {0.2f, 0.8f}}, new float[][]{{0.3f, 0.7f}});
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, new String[][]{{"a"}, {"b"}});
+        final Future<float[][]> second = target.infer(onnxModelRunner, new String[][]{{"c"}});
+
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).run();
+        }
+
+        // then
+        verify(onnxModelRunner, times(2)).runModel(any());
+        assertThat(first.result()).hasNumberOfRows(2);
+        assertThat(second.result()).hasNumberOfRows(1);
+    }
+
+    @Test
+    public void inferShouldFailAllCallsOfFailedBatch() throws OrtException {
+        // given
+        final OnnxInferenceEngine target = new OnnxInferenceEngine(tasks::add, 64, 0, metricRegistry);
+        given(onnxModelRunner.runModel(any())).willThrow(new OrtException("error"));
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, new String[][]{{"a"}});
+        final Future<float[][]> second = target.infer(onnxModelRunner, new String[][]{{"b"}});
+        tasks.forEach(Runnable::run);
+
+        // then
+        assertThat(first.cause()).hasMessage("Exception during model inference: ");
+        assertThat(second.cause()).isSameAs(first.cause());
+    }
+
+    private void givenProbabilities(float[][] probabilities) throws OrtException {
+        given(onnxModelRunner.runModel(any())).willReturn(results);
+        given(results.iterator()).willReturn(List.<Map.Entry<String, OnnxValue>>of(
+                new AbstractMap.SimpleEntry<>("probabilities", onnxTensor)).iterator());
+        given(onnxTensor.getInfo()).willReturn(tensorInfo);
+        given(tensorInfo.getShape()).willReturn(new long[]{probabilities.length, 2});
+        given(onnxTensor.getValue()).willReturn(probabilities);
+    }
+}
@@ -1,8 +1,10 @@
 package org.prebid.server.hooks.modules.optable.targeting.config;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
 import org.prebid.server.cache.PbcStorageService;
+import org.prebid.server.hooks.modules.optable.targeting.model.config.CacheProperties;
 import org.prebid.server.hooks.modules.optable.targeting.model.config.OptableTargetingProperties;
 import org.prebid.server.hooks.modules.optable.targeting.v1.OptableTargetingAuctionResponseHook;
 import org.prebid.server.hooks.modules.optable.targeting.v1.OptableTargetingModule;
@@ -67,8 +69,19 @@ public class OptableTargetingConfig {
 
     @Bean
     @ConditionalOnProperty(name = {"storage.pbc.enabled", "cache.module.enabled"}, havingValue = "true")
-    Cache cache(PbcStorageService cacheService, JacksonMapper jacksonMapper) {
-        return new Cache(cacheService, jacksonMapper);
+    Cache cache(PbcStorageService cacheService,
+                JacksonMapper jacksonMapper,
+                OptableTargetingProperties properties,
+                MetricRegistry metricRegistry) {
+
+        final CacheProperties cacheProperties = properties.getCache();
+        return new Cache(
+                cacheService,
+                jacksonMapper,
+                cacheProperties.getLocalSize(),
+                cacheProperties.getLocalTtlseconds(),
+                cacheProperties.getLocalNegativeTtlseconds(),
+                metricRegistry);
     }
 
     @Bean
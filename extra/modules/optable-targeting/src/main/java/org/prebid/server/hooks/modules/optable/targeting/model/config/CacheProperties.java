@@ -10,4 +10,10 @@ public class CacheProperties {
     private boolean enabled = false;
 
     private int ttlseconds = 86400;
+
+    private int localSize = 10000;
+
+    private int localTtlseconds = 300;
+
+    private int localNegativeTtlseconds = 60;
 }
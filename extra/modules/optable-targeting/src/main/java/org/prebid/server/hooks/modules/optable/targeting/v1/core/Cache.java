@@ -1,44 +1,156 @@
 package org.prebid.server.hooks.modules.optable.targeting.v1.core;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.vertx.core.Future;
+import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.cache.PbcStorageService;
 import org.prebid.server.cache.proto.request.module.StorageDataType;
 import org.prebid.server.cache.proto.response.module.ModuleCacheResponse;
 import org.prebid.server.hooks.modules.optable.targeting.model.openrtb.TargetingResult;
+import org.prebid.server.hooks.modules.optable.targeting.v1.OptableTargetingModule;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Two-level cache of targeting results.
+ * <p>
+ * Optional in-heap tier keeps decoded results, so most lookups need neither a Prebid Cache round trip nor JSON
+ * decoding. Results without audiences are kept in-heap for a shorter negative TTL. Writes are applied to the
+ * in-heap tier immediately and to Prebid Cache in background.
+ */
 public class Cache {
 
+    private static final Logger logger = LoggerFactory.getLogger(Cache.class);
+
     private static final String APP_CODE = "prebid-Java";
     private static final String APPLICATION = "optable-targeting";
+    private static final String METRIC_PREFIX = "modules.module." + OptableTargetingModule.CODE + ".cache.";
 
     private final PbcStorageService cacheService;
     private final JacksonMapper mapper;
+    private final com.github.benmanes.caffeine.cache.Cache<String, LocalEntry> localCache;
+    private final long localTtlNanos;
+    private final long negativeTtlNanos;
+
+    private final Counter localHitCounter;
+    private final Counter pbcHitCounter;
+    private final Counter missCounter;
 
     public Cache(PbcStorageService cacheService, JacksonMapper mapper) {
+        this(cacheService, mapper, 0, 0, 0, new MetricRegistry());
+    }
+
+    public Cache(PbcStorageService cacheService,
+                 JacksonMapper mapper,
+                 int localSize,
+                 int localTtlSeconds,
+                 int negativeTtlSeconds,
+                 MetricRegistry metricRegistry) {
+
         this.cacheService = Objects.requireNonNull(cacheService);
         this.mapper = Objects.requireNonNull(mapper);
+        this.localCache = localSize > 0 && localTtlSeconds > 0
+                ? Caffeine.newBuilder().maximumSize(localSize).expireAfter(new LocalEntryExpiry()).build()
+                : null;
+        this.localTtlNanos = TimeUnit.SECONDS.toNanos(localTtlSeconds);
+        this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+
+        localHitCounter = metricRegistry.counter(METRIC_PREFIX + "local.hit");
+        pbcHitCounter = metricRegistry.counter(METRIC_PREFIX + "pbc.hit");
+        missCounter = metricRegistry.counter(METRIC_PREFIX + "miss");
     }
 
-    public Future<TargetingResult> get(String query) {
-        return cacheService.retrieveEntry(query, APP_CODE, APPLICATION)
+    public Future<TargetingResult> get(String key) {
+        final LocalEntry localEntry = localCache != null ? localCache.getIfPresent(key) : null;
+        if (localEntry != null) {
+            localHitCounter.inc();
+            return Future.succeededFuture(localEntry.result());
+        }
+
+        return cacheService.retrieveEntry(URLEncoder.encode(key, StandardCharsets.UTF_8), APP_CODE, APPLICATION)
                 .map(ModuleCacheResponse::getValue)
-                .map(body -> body != null ? mapper.decodeValue(body, TargetingResult.class) : null);
+                .map(body -> body != null ? mapper.decodeValue(body, TargetingResult.class) : null)
+                .onSuccess(result -> onPbcResult(key, result))
+                .onFailure(ignored -> missCounter.inc());
     }
 
-    public Future<Void> put(String query, TargetingResult value, int ttlSeconds) {
+    private void onPbcResult(String key, TargetingResult result) {
+        if (result == null) {
+            missCounter.inc();
+            return;
+        }
+
+        pbcHitCounter.inc();
+        putLocal(key, result, localTtlNanos);
+    }
+
+    public Future<Void> put(String key, TargetingResult value, int ttlSeconds) {
+        putLocal(key, value, Math.min(localTtlNanos, TimeUnit.SECONDS.toNanos(ttlSeconds)));
+
         if (value == null) {
             return Future.succeededFuture();
         }
 
-        return cacheService.storeEntry(
-                query,
+        final Future<Void> pbcStore = cacheService.storeEntry(
+                key,
                 mapper.encodeToString(value),
                 StorageDataType.TEXT,
                 ttlSeconds,
                 APPLICATION,
                 APP_CODE);
+
+        if (localCache == null) {
+            return pbcStore;
+        }
+
+        // write-behind: result is already served from in-heap tier, so caller doesn't wait for Prebid Cache
+        pbcStore.onFailure(throwable -> logger.warn("Failed to store targeting result in Prebid Cache: "
+                + throwable.getMessage()));
+        return Future.succeededFuture();
+    }
+
+    private void putLocal(String key, TargetingResult value, long ttlNanos) {
+        if (localCache == null) {
+            return;
+        }
+
+        final long entryTtlNanos = isEmpty(value) ? Math.min(ttlNanos, negativeTtlNanos) : ttlNanos;
+        if (entryTtlNanos > 0) {
+            localCache.put(key, new LocalEntry(value, entryTtlNanos));
+        }
+    }
+
+    private static boolean isEmpty(TargetingResult result) {
+        return result == null || CollectionUtils.isEmpty(result.getAudience());
+    }
+
+    private record LocalEntry(TargetingResult result, long ttlNanos) {
+    }
+
+    private static class LocalEntryExpiry implements Expiry<String, LocalEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalEntry value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LocalEntry value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, LocalEntry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
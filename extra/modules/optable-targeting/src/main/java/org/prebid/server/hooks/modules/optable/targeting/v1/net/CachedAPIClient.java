@@ -8,8 +8,6 @@ import org.prebid.server.hooks.modules.optable.targeting.model.config.OptableTar
 import org.prebid.server.hooks.modules.optable.targeting.model.openrtb.TargetingResult;
 import org.prebid.server.hooks.modules.optable.targeting.v1.core.Cache;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 
@@ -35,29 +33,19 @@ public class CachedAPIClient implements APIClient {
             return apiClient.getTargeting(properties, query, ips, timeout);
         }
 
-        final String tenant = properties.getTenant();
-        final String origin = properties.getOrigin();
+        final String cachingKey = createCachingKey(properties.getTenant(), properties.getOrigin(), ips, query);
 
-        return cache.get(createCachingKey(tenant, origin, ips, query, true))
+        return cache.get(cachingKey)
                 .recover(ignore -> apiClient.getTargeting(properties, query, ips, timeout)
                         .recover(throwable -> isCircuitBreakerEnabled
                                 ? Future.succeededFuture(new TargetingResult(null, null))
                                 : Future.failedFuture(throwable))
-                        .compose(result -> cache.put(
-                                        createCachingKey(tenant, origin, ips, query, false),
-                                        result,
-                                        cacheProperties.getTtlseconds())
+                        .compose(result -> cache.put(cachingKey, result, cacheProperties.getTtlseconds())
                                 .otherwiseEmpty()
                                 .map(result)));
     }
 
-    private String createCachingKey(String tenant, String origin, List<String> ips, Query query, boolean encodeQuery) {
-        return "%s:%s:%s:%s".formatted(
-                tenant,
-                origin,
-                ips.getFirst(),
-                encodeQuery
-                        ? URLEncoder.encode(query.getIds(), StandardCharsets.UTF_8)
-                        : query.getIds());
+    private String createCachingKey(String tenant, String origin, List<String> ips, Query query) {
+        return "%s:%s:%s:%s".formatted(tenant, origin, ips.getFirst(), query.getIds());
     }
 }
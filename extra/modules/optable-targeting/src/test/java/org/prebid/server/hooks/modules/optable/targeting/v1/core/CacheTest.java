@@ -1,6 +1,8 @@
 package org.prebid.server.hooks.modules.optable.targeting.v1.core;
 
+import com.codahale.metrics.MetricRegistry;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -102,6 +104,80 @@ public class CacheTest {
                 any());
     }
 
+    @Test
+    public void cacheShouldServeEntryFromLocalTierAfterPbcHit() {
+        // given
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        target = new Cache(pbcStorageService, jacksonMapper, 100, 300, 60, metricRegistry);
+        final TargetingResult targetingResult = givenTargetingResult();
+        when(pbcStorageService.retrieveEntry(any(), any(), any()))
+                .thenReturn(Future.succeededFuture(ModuleCacheResponse.of(
+                        "key",
+                        StorageDataType.TEXT,
+                        mapper.encodeToString(targetingResult))));
+
+        // when
+        target.get("key");
+        final TargetingResult result = target.get("key").result();
+
+        // then
+        Assertions.assertThat(result).isEqualTo(targetingResult);
+        verify(pbcStorageService, times(1)).retrieveEntry(any(), any(), any());
+        verify(jacksonMapper, times(1)).decodeValue(anyString(), eq(TargetingResult.class));
+        Assertions.assertThat(metricRegistry.counter("modules.module.optable-targeting.cache.pbc.hit").getCount())
+                .isEqualTo(1);
+        Assertions.assertThat(metricRegistry.counter("modules.module.optable-targeting.cache.local.hit").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void cacheShouldRetrieveEntryFromPbcByEncodedKey() {
+        // given
+        when(pbcStorageService.retrieveEntry(any(), any(), any()))
+                .thenReturn(Future.succeededFuture(ModuleCacheResponse.empty()));
+
+        // when
+        target.get("tenant:origin:ip:e:id&c:id");
+
+        // then
+        verify(pbcStorageService).retrieveEntry(eq("tenant%3Aorigin%3Aip%3Ae%3Aid%26c%3Aid"), any(), any());
+    }
+
+    @Test
+    public void cacheShouldServeStoredEntryLocallyWithoutWaitingForPbc() {
+        // given
+        target = new Cache(pbcStorageService, jacksonMapper, 100, 300, 60, new MetricRegistry());
+        final TargetingResult targetingResult = givenTargetingResult();
+        when(pbcStorageService.storeEntry(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Promise.<Void>promise().future());
+
+        // when
+        final Future<Void> putResult = target.put("key", targetingResult, 86400);
+        final TargetingResult result = target.get("key").result();
+
+        // then
+        Assertions.assertThat(putResult.succeeded()).isTrue();
+        Assertions.assertThat(result).isEqualTo(targetingResult);
+        verify(pbcStorageService, times(0)).retrieveEntry(any(), any(), any());
+    }
+
+    @Test
+    public void cacheShouldKeepEmptyEntryLocallyNoLongerThanNegativeTtl() {
+        // given
+        target = new Cache(pbcStorageService, jacksonMapper, 100, 300, 0, new MetricRegistry());
+        when(pbcStorageService.storeEntry(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Future.succeededFuture());
+        when(pbcStorageService.retrieveEntry(any(), any(), any()))
+                .thenReturn(Future.succeededFuture(ModuleCacheResponse.empty()));
+
+        // when
+        target.put("key", new TargetingResult(null, null), 86400);
+        target.get("key");
+
+        // then
+        verify(pbcStorageService, times(1)).retrieveEntry(any(), any(), any());
+    }
+
     private TargetingResult givenTargetingResult() {
         return new TargetingResult(
                 List.of(new Audience(
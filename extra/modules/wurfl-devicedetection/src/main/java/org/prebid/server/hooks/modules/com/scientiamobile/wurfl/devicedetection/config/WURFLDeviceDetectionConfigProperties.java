@@ -11,6 +11,8 @@ public class WURFLDeviceDetectionConfigProperties {
     private static final int DEFAULT_UPDATE_TIMEOUT = 5000;
     private static final long DEFAULT_RETRY_INTERVAL = 200L;
     private static final int DEFAULT_UPDATE_RETRIES = 3;
+    private static final int DEFAULT_DETECTION_CACHE_SIZE = 10000;
+    private static final int DEFAULT_DETECTION_CACHE_TTL_SECONDS = 3600;
 
     int cacheSize;
 
@@ -29,4 +31,8 @@ public class WURFLDeviceDetectionConfigProperties {
     int updateRetries = DEFAULT_UPDATE_RETRIES;
 
     long retryIntervalMs = DEFAULT_RETRY_INTERVAL;
+
+    int detectionCacheSize = DEFAULT_DETECTION_CACHE_SIZE;
+
+    int detectionCacheTtlSeconds = DEFAULT_DETECTION_CACHE_TTL_SECONDS;
 }
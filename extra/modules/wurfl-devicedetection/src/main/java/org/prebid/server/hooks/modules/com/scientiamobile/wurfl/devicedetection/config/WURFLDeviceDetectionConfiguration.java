@@ -1,5 +1,9 @@
 package org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.config;
 
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scientiamobile.wurfl.core.Device;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.model.WURFLEngineUtils;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.v1.WURFLDeviceDetectionEntrypointHook;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.v1.WURFLDeviceDetectionModule;
@@ -18,6 +22,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @ConditionalOnProperty(prefix = "hooks." + WURFLDeviceDetectionModule.CODE, name = "enabled", havingValue = "true")
 @Configuration
@@ -35,9 +40,11 @@ public class WURFLDeviceDetectionConfiguration {
     @Bean
     public WURFLDeviceDetectionModule wurflDeviceDetectionModule(WURFLDeviceDetectionConfigProperties configProperties,
                                                                  JacksonMapper mapper,
-                                                                 Vertx vertx) {
+                                                                 Vertx vertx,
+                                                                 MetricRegistry metricRegistry) {
 
-        final WURFLService wurflService = new WURFLService(null, configProperties);
+        final WURFLService wurflService = new WURFLService(
+                null, configProperties, createDeviceCache(configProperties, metricRegistry), vertx);
         final FileSyncer fileSyncer = createFileSyncer(configProperties, wurflService, vertx);
         fileSyncer.sync();
 
@@ -46,6 +53,28 @@ public class WURFLDeviceDetectionConfiguration {
                 new WURFLDeviceDetectionRawAuctionRequestHook(wurflService, configProperties, mapper)));
     }
 
+    private static Cache<String, Device> createDeviceCache(WURFLDeviceDetectionConfigProperties configProperties,
+                                                           MetricRegistry metricRegistry) {
+
+        final int size = configProperties.getDetectionCacheSize();
+        if (size <= 0) {
+            return null;
+        }
+
+        final Cache<String, Device> deviceCache = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(configProperties.getDetectionCacheTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        final String metricPrefix = "modules.module." + WURFLDeviceDetectionModule.CODE + ".detection-cache.";
+        metricRegistry.gauge(metricPrefix + "hit", () -> () -> deviceCache.stats().hitCount());
+        metricRegistry.gauge(metricPrefix + "miss", () -> () -> deviceCache.stats().missCount());
+        metricRegistry.gauge(metricPrefix + "eviction", () -> () -> deviceCache.stats().evictionCount());
+
+        return deviceCache;
+    }
+
     private FileSyncer createFileSyncer(WURFLDeviceDetectionConfigProperties configProperties,
                                         WURFLService wurflService,
                                         Vertx vertx) {
@@ -68,23 +68,32 @@ public class WURFLDeviceDetectionRawAuctionRequestHook implements RawAuctionRequ
                         : null;
 
         final Map<String, String> headers = HeadersResolver.resolve(device, requestHeaders);
-        final Optional<com.scientiamobile.wurfl.core.Device> wurflDevice = wurflService.lookupDevice(headers);
+        return wurflService.resolveDevice(headers)
+                .map(this::toInvocationResult)
+                .otherwise(throwable -> {
+                    logger.warn("WURFL device detection failed: " + throwable.getMessage());
+                    return noActionInvocationResult();
+                });
+    }
+
+    private InvocationResult<AuctionRequestPayload> toInvocationResult(
+            Optional<com.scientiamobile.wurfl.core.Device> wurflDevice) {
+
         if (wurflDevice.isEmpty()) {
             logger.info("No WURFL device found, returning original bid request");
-            return noActionResult();
+            return noActionInvocationResult();
         }
 
-        return Future.succeededFuture(
-                InvocationResultImpl.<AuctionRequestPayload>builder()
-                        .status(InvocationStatus.success)
-                        .action(InvocationAction.update)
-                        .payloadUpdate(new OrtbDeviceUpdater(
-                                wurflDevice.get(),
-                                wurflService.getAllCapabilities(),
-                                wurflService.getAllVirtualCapabilities(),
-                                addExtCaps,
-                                mapper))
-                        .build());
+        return InvocationResultImpl.<AuctionRequestPayload>builder()
+                .status(InvocationStatus.success)
+                .action(InvocationAction.update)
+                .payloadUpdate(new OrtbDeviceUpdater(
+                        wurflDevice.get(),
+                        wurflService.getAllCapabilities(),
+                        wurflService.getAllVirtualCapabilities(),
+                        addExtCaps,
+                        mapper))
+                .build();
     }
 
     private boolean shouldEnrichDevice(AuctionInvocationContext invocationContext) {
@@ -100,11 +109,14 @@ public class WURFLDeviceDetectionRawAuctionRequestHook implements RawAuctionRequ
     }
 
     private static Future<InvocationResult<AuctionRequestPayload>> noActionResult() {
-        return Future.succeededFuture(
-                InvocationResultImpl.<AuctionRequestPayload>builder()
-                        .status(InvocationStatus.success)
-                        .action(InvocationAction.no_action)
-                        .build());
+        return Future.succeededFuture(noActionInvocationResult());
+    }
+
+    private static InvocationResult<AuctionRequestPayload> noActionInvocationResult() {
+        return InvocationResultImpl.<AuctionRequestPayload>builder()
+                .status(InvocationStatus.success)
+                .action(InvocationAction.no_action)
+                .build();
     }
 
     @Override
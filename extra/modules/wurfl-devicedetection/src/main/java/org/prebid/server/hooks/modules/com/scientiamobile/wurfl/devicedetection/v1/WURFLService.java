@@ -1,8 +1,11 @@
 package org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.v1;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.scientiamobile.wurfl.core.Device;
 import com.scientiamobile.wurfl.core.WURFLEngine;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.execution.file.FileProcessor;
@@ -14,6 +17,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class WURFLService implements FileProcessor {
@@ -22,16 +26,35 @@ public class WURFLService implements FileProcessor {
 
     private final AtomicReference<WURFLEngine> wurflEngine;
     private final WURFLDeviceDetectionConfigProperties configProperties;
+    private final Cache<String, Device> deviceCache;
+    private final Vertx vertx;
 
     public WURFLService(WURFLEngine wurflEngine, WURFLDeviceDetectionConfigProperties configProperties) {
+        this(wurflEngine, configProperties, null, null);
+    }
+
+    /**
+     * Creates service which keeps devices detected for the same headers in the given cache. Headers missed in cache
+     * are resolved off the event loop by {@link #resolveDevice(Map)}.
+     */
+    public WURFLService(WURFLEngine wurflEngine,
+                        WURFLDeviceDetectionConfigProperties configProperties,
+                        Cache<String, Device> deviceCache,
+                        Vertx vertx) {
+
         this.wurflEngine = new AtomicReference<>(wurflEngine);
         this.configProperties = Objects.requireNonNull(configProperties);
+        this.deviceCache = deviceCache;
+        this.vertx = vertx;
     }
 
     public Future<?> setDataPath(String dataFilePath) {
         try {
             final WURFLEngine engine = createEngine(dataFilePath);
             this.wurflEngine.set(engine);
+            if (deviceCache != null) {
+                deviceCache.invalidateAll();
+            }
         } catch (Exception e) {
             return Future.failedFuture(e);
         }
@@ -47,8 +70,51 @@ public class WURFLService implements FileProcessor {
     }
 
     public Optional<Device> lookupDevice(Map<String, String> headers) {
-        return Optional.ofNullable(wurflEngine.get())
-                .map(engine -> engine.getDeviceForRequest(headers));
+        final WURFLEngine engine = wurflEngine.get();
+        if (engine == null) {
+            return Optional.empty();
+        }
+        if (deviceCache == null) {
+            return Optional.ofNullable(engine.getDeviceForRequest(headers));
+        }
+
+        final String fingerprint = fingerprint(headers);
+        final Device cachedDevice = deviceCache.getIfPresent(fingerprint);
+        if (cachedDevice != null) {
+            return Optional.of(cachedDevice);
+        }
+
+        final Device device = engine.getDeviceForRequest(headers);
+        // device detected by engine replaced in the meantime must not survive cache invalidation
+        if (device != null && wurflEngine.get() == engine) {
+            deviceCache.put(fingerprint, device);
+        }
+        return Optional.ofNullable(device);
+    }
+
+    /**
+     * Same as {@link #lookupDevice(Map)}, but runs detection on a worker thread if headers are not cached yet.
+     */
+    public Future<Optional<Device>> resolveDevice(Map<String, String> headers) {
+        if (deviceCache == null || wurflEngine.get() == null) {
+            return Future.succeededFuture(lookupDevice(headers));
+        }
+
+        final Device cachedDevice = deviceCache.getIfPresent(fingerprint(headers));
+        return cachedDevice != null
+                ? Future.succeededFuture(Optional.of(cachedDevice))
+                : vertx.executeBlocking(() -> lookupDevice(headers), false);
+    }
+
+    /**
+     * Header names are case-insensitive, so they are lower-cased and sorted to get the same fingerprint regardless
+     * of the header order and case.
+     */
+    private static String fingerprint(Map<String, String> headers) {
+        final Map<String, String> normalizedHeaders = new TreeMap<>();
+        headers.forEach((name, value) -> normalizedHeaders.put(
+                StringUtils.lowerCase(name), StringUtils.trimToEmpty(value)));
+        return normalizedHeaders.toString();
     }
 
     public Set<String> getAllCapabilities() {
@@ -1,8 +1,11 @@
 package org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.v1;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.scientiamobile.wurfl.core.Device;
 import com.scientiamobile.wurfl.core.WURFLEngine;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,11 +17,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.spy;
@@ -110,6 +117,61 @@ public class WURFLServiceTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    public void lookupDeviceShouldReuseCachedDeviceForSameHeaders() {
+        // given
+        wurflService = new WURFLService(wurflEngine, configProperties, Caffeine.newBuilder().build(), null);
+        final Device expectedDevice = mock(Device.class);
+        given(wurflEngine.getDeviceForRequest(any())).willReturn(expectedDevice);
+
+        // when
+        wurflService.lookupDevice(Map.of("User-Agent", "test-user-agent", "Accept", "*/*"));
+        final Optional<Device> result = wurflService.lookupDevice(
+                Map.of("accept", "*/*", "user-agent", " test-user-agent"));
+
+        // then
+        assertThat(result).containsSame(expectedDevice);
+        verify(wurflEngine, times(1)).getDeviceForRequest(any());
+    }
+
+    @Test
+    public void setDataPathShouldInvalidateCachedDevices() {
+        // given
+        final Cache<String, Device> deviceCache = Caffeine.newBuilder().build();
+        wurflService = spy(new WURFLService(wurflEngine, configProperties, deviceCache, null));
+        doReturn(wurflEngine).when(wurflService).createEngine("test-data-path");
+        given(wurflEngine.getDeviceForRequest(any())).willReturn(mock(Device.class));
+        wurflService.lookupDevice(Map.of("User-Agent", "test-user-agent"));
+
+        // when
+        wurflService.setDataPath("test-data-path");
+
+        // then
+        assertThat(deviceCache.asMap()).isEmpty();
+    }
+
+    @Test
+    public void resolveDeviceShouldLookupMissedHeadersOnWorkerAndServeHitsDirectly() throws Exception {
+        // given
+        final Vertx vertx = mock(Vertx.class);
+        given(vertx.executeBlocking(any(Callable.class), eq(false))).willAnswer(invocation ->
+                Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call()));
+        wurflService = new WURFLService(wurflEngine, configProperties, Caffeine.newBuilder().build(), vertx);
+        final Device expectedDevice = mock(Device.class);
+        given(wurflEngine.getDeviceForRequest(any())).willReturn(expectedDevice);
+        final Map<String, String> headers = Map.of("User-Agent", "test-user-agent");
+
+        // when
+        final Future<Optional<Device>> firstResult = wurflService.resolveDevice(headers);
+        final Future<Optional<Device>> secondResult = wurflService.resolveDevice(headers);
+
+        // then
+        assertThat(firstResult.result()).containsSame(expectedDevice);
+        assertThat(secondResult.result()).containsSame(expectedDevice);
+        verify(vertx, times(1)).executeBlocking(any(Callable.class), eq(false));
+        verify(wurflEngine, times(1)).getDeviceForRequest(any());
+    }
+
     @Test
     public void getAllCapabilitiesShouldReturnCapabilitiesWhenEngineIsNotNull() {
         // given
@@ -1,5 +1,6 @@
 package org.prebid.server.activity.infrastructure.creator;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.collections4.ListUtils;
 import org.prebid.server.activity.Activity;
 import org.prebid.server.activity.infrastructure.ActivityController;
@@ -36,7 +37,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BinaryOperator;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -52,6 +52,10 @@ public class ActivityInfrastructureCreator {
     private final Metrics metrics;
     private final JacksonMapper jacksonMapper;
 
+    private final CompiledPrivacyConfig emptyPrivacyConfig;
+    private final Map<AccountPrivacyConfig, CompiledPrivacyConfig> compiledPrivacyConfigs =
+            Caffeine.newBuilder().weakKeys().<AccountPrivacyConfig, CompiledPrivacyConfig>build().asMap();
+
     public ActivityInfrastructureCreator(ActivityRuleFactory activityRuleFactory,
                                          GdprConfig gdprConfig,
                                          Metrics metrics,
@@ -64,6 +68,8 @@ public class ActivityInfrastructureCreator {
                 .orElse(null);
         this.metrics = Objects.requireNonNull(metrics);
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
+
+        this.emptyPrivacyConfig = compile(Optional.empty(), null);
     }
 
     public ActivityInfrastructure create(Account account, GppContext gppContext, TraceLevel traceLevel) {
@@ -76,8 +82,36 @@ public class ActivityInfrastructureCreator {
     }
 
     Map<Activity, ActivityController> parse(Account account, GppContext gppContext, ActivityInfrastructureDebug debug) {
-        final Optional<AccountPrivacyConfig> accountPrivacyConfig = Optional.ofNullable(account.getPrivacy());
+        final AccountPrivacyConfig accountPrivacyConfig = account.getPrivacy();
+        final CompiledPrivacyConfig privacyConfig = accountPrivacyConfig != null
+                ? compiledPrivacyConfigs.computeIfAbsent(
+                accountPrivacyConfig, config -> compile(Optional.of(config), account.getId()))
+                : emptyPrivacyConfig;
+
+        final Map<PrivacyModuleQualifier, AccountPrivacyModuleConfig> modulesConfigs = privacyConfig.modulesConfigs();
+        final Set<PrivacyModuleQualifier> skipPrivacyModules = modulesConfigs.entrySet().stream()
+                .filter(entry -> shouldSkipPrivacyModule(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PrivacyModuleQualifier.class)));
 
+        return Arrays.stream(Activity.values()).collect(Collectors.toMap(
+                UnaryOperator.identity(),
+                activity -> from(
+                        privacyConfig.configuredActivity(activity),
+                        privacyConfig.activitiesConfiguration().get(privacyConfig.configuredActivity(activity)),
+                        modulesConfigs,
+                        skipPrivacyModules,
+                        gppContext,
+                        debug),
+                (oldValue, newValue) -> oldValue,
+                enumMapFactory()));
+    }
+
+    /**
+     * Resolves the request independent part of account privacy config. Account configs are cached by settings,
+     * so this is done once per account config revision.
+     */
+    private CompiledPrivacyConfig compile(Optional<AccountPrivacyConfig> accountPrivacyConfig, String accountId) {
         final Map<Activity, AccountActivityConfiguration> activitiesConfiguration = accountPrivacyConfig
                 .map(AccountPrivacyConfig::getActivities)
                 .orElseGet(Collections::emptyMap);
@@ -90,27 +124,13 @@ public class ActivityInfrastructureCreator {
                 .collect(Collectors.toMap(
                         AccountPrivacyModuleConfig::getCode,
                         UnaryOperator.identity(),
-                        takeFirstAndLogDuplicates(account.getId())));
-
-        final Set<PrivacyModuleQualifier> skipPrivacyModules = modulesConfigs.entrySet().stream()
-                .filter(entry -> shouldSkipPrivacyModule(entry.getValue()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PrivacyModuleQualifier.class)));
+                        takeFirstAndLogDuplicates(accountId),
+                        () -> new EnumMap<>(PrivacyModuleQualifier.class)));
 
-        return Arrays.stream(Activity.values()).collect(Collectors.toMap(
-                UnaryOperator.identity(),
-                fallbackActivity(
-                        activitiesConfiguration,
-                        accountPrivacyConfig,
-                        activity -> from(
-                                activity,
-                                activitiesConfiguration.get(activity),
-                                modulesConfigs,
-                                skipPrivacyModules,
-                                gppContext,
-                                debug)),
-                (oldValue, newValue) -> oldValue,
-                enumMapFactory()));
+        return new CompiledPrivacyConfig(
+                activitiesConfiguration,
+                modulesConfigs,
+                imitateTransmitEids(activitiesConfiguration, accountPrivacyConfig));
     }
 
     private BinaryOperator<AccountPrivacyModuleConfig> takeFirstAndLogDuplicates(String accountId) {
@@ -123,13 +143,11 @@ public class ActivityInfrastructureCreator {
         };
     }
 
-    // TODO: remove this wrapper after transition period
-    private Function<Activity, ActivityController> fallbackActivity(
-            Map<Activity, AccountActivityConfiguration> activitiesConfiguration,
-            Optional<AccountPrivacyConfig> accountPrivacyConfig,
-            Function<Activity, ActivityController> activityControllerCreator) {
+    // TODO: remove this fallback after transition period
+    private boolean imitateTransmitEids(Map<Activity, AccountActivityConfiguration> activitiesConfiguration,
+                                        Optional<AccountPrivacyConfig> accountPrivacyConfig) {
 
-        final boolean imitateTransmitEids = !activitiesConfiguration.containsKey(Activity.TRANSMIT_EIDS)
+        return !activitiesConfiguration.containsKey(Activity.TRANSMIT_EIDS)
                 && activitiesConfiguration.containsKey(Activity.TRANSMIT_UFPD)
                 && accountPrivacyConfig
                 .map(AccountPrivacyConfig::getGdpr)
@@ -139,10 +157,6 @@ public class ActivityInfrastructureCreator {
                 .map(Purpose::getEid)
                 .map(PurposeEid::getActivityTransition)
                 .orElse(false);
-
-        return originalActivity -> originalActivity == Activity.TRANSMIT_EIDS && imitateTransmitEids
-                ? activityControllerCreator.apply(Activity.TRANSMIT_UFPD)
-                : activityControllerCreator.apply(originalActivity);
     }
 
     private static boolean shouldSkipPrivacyModule(AccountPrivacyModuleConfig config) {
@@ -200,4 +214,13 @@ public class ActivityInfrastructureCreator {
     private static Supplier<Map<Activity, ActivityController>> enumMapFactory() {
         return () -> new EnumMap<>(Activity.class);
     }
+
+    private record CompiledPrivacyConfig(Map<Activity, AccountActivityConfiguration> activitiesConfiguration,
+                                         Map<PrivacyModuleQualifier, AccountPrivacyModuleConfig> modulesConfigs,
+                                         boolean imitateTransmitEids) {
+
+        Activity configuredActivity(Activity activity) {
+            return activity == Activity.TRANSMIT_EIDS && imitateTransmitEids ? Activity.TRANSMIT_UFPD : activity;
+        }
+    }
 }
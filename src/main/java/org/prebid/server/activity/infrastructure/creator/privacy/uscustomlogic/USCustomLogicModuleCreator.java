@@ -1,6 +1,7 @@
 package org.prebid.server.activity.infrastructure.creator.privacy.uscustomlogic;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.gpp.encoder.GppModel;
 import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
 import org.apache.commons.collections4.SetUtils;
@@ -46,6 +47,8 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
     private final USCustomLogicGppReaderFactory gppReaderFactory;
     private final JsonLogic jsonLogic;
     private final Map<String, JsonLogicNode> jsonLogicNodesCache;
+    private final Map<ObjectNode, JsonLogicNode> jsonLogicConfigToNode =
+            Caffeine.newBuilder().weakKeys().<ObjectNode, JsonLogicNode>build().asMap();
     private final Metrics metrics;
     private final double samplingRate;
 
@@ -146,7 +149,15 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
         }
     }
 
+    /**
+     * Account configs are cached by settings, so the parsed node is looked up by identity of the config first,
+     * which spares serializing it to string on every request.
+     */
     private JsonLogicNode jsonLogicNode(ObjectNode jsonLogicConfig) {
+        return jsonLogicConfigToNode.computeIfAbsent(jsonLogicConfig, this::parseJsonLogicNode);
+    }
+
+    private JsonLogicNode parseJsonLogicNode(ObjectNode jsonLogicConfig) {
         final String jsonAsString = jsonLogicConfig.toString();
         return jsonLogicNodesCache != null
                 ? jsonLogicNodesCache.computeIfAbsent(jsonAsString, jsonLogic::parse)
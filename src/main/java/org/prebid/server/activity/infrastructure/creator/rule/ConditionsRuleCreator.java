@@ -1,5 +1,6 @@
 package org.prebid.server.activity.infrastructure.creator.rule;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.ComponentType;
@@ -12,12 +13,17 @@ import org.prebid.server.settings.model.activity.rule.AccountActivityConditionsR
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 
 public class ConditionsRuleCreator extends AbstractRuleCreator<AccountActivityConditionsRuleConfig> {
 
+    // account configs are cached by settings, so rules are compiled once per account config revision
+    private final Map<AccountActivityConditionsRuleConfig, CompiledRule> compiledRules =
+            Caffeine.newBuilder().weakKeys().<AccountActivityConditionsRuleConfig, CompiledRule>build().asMap();
+
     public ConditionsRuleCreator() {
         super(AccountActivityConditionsRuleConfig.class);
     }
@@ -26,16 +32,25 @@ public class ConditionsRuleCreator extends AbstractRuleCreator<AccountActivityCo
     protected Rule fromConfiguration(AccountActivityConditionsRuleConfig ruleConfiguration,
                                      ActivityControllerCreationContext creationContext) {
 
+        return compiledRules.computeIfAbsent(ruleConfiguration, ConditionsRuleCreator::compile)
+                .forSids(creationContext.getGppContext().scope().getSectionsIds());
+    }
+
+    private static CompiledRule compile(AccountActivityConditionsRuleConfig ruleConfiguration) {
         final boolean allow = allowFromConfig(ruleConfiguration.getAllow());
         final AccountActivityConditionsRuleConfig.Condition condition = ruleConfiguration.getCondition();
 
-        return new ConditionsRule(
-                condition != null ? setOf(condition.getComponentTypes()) : null,
-                condition != null ? caseInsensitiveSetOf(condition.getComponentNames()) : null,
-                sidsMatched(condition, creationContext.getGppContext().scope().getSectionsIds()),
-                condition != null ? geoCodes(condition.getGeoCodes()) : null,
-                condition != null ? condition.getGpc() : null,
-                allow);
+        final Set<ComponentType> componentTypes = condition != null ? setOf(condition.getComponentTypes()) : null;
+        final Set<String> componentNames = condition != null
+                ? caseInsensitiveSetOf(condition.getComponentNames())
+                : null;
+        final List<ConditionsRule.GeoCode> geoCodes = condition != null ? geoCodes(condition.getGeoCodes()) : null;
+        final String gpc = condition != null ? condition.getGpc() : null;
+
+        return new CompiledRule(
+                condition != null ? condition.getSids() : null,
+                new ConditionsRule(componentTypes, componentNames, true, geoCodes, gpc, allow),
+                new ConditionsRule(componentTypes, componentNames, false, geoCodes, gpc, allow));
     }
 
     private static boolean allowFromConfig(Boolean configValue) {
@@ -56,11 +71,6 @@ public class ConditionsRuleCreator extends AbstractRuleCreator<AccountActivityCo
         return caseInsensitiveSet;
     }
 
-    private static boolean sidsMatched(AccountActivityConditionsRuleConfig.Condition condition, Set<Integer> gppSids) {
-        final List<Integer> sids = condition != null ? condition.getSids() : null;
-        return sids == null || intersects(sids, gppSids);
-    }
-
     private static boolean intersects(Collection<Integer> configurationSids, Collection<Integer> gppSids) {
         return CollectionUtils.isNotEmpty(configurationSids) && CollectionUtils.isNotEmpty(gppSids)
                 && !CollectionUtils.intersection(configurationSids, gppSids).isEmpty();
@@ -91,4 +101,11 @@ public class ConditionsRuleCreator extends AbstractRuleCreator<AccountActivityCo
                 stringGeoCode.substring(0, firstDot),
                 stringGeoCode.substring(firstDot + 1));
     }
+
+    private record CompiledRule(List<Integer> sids, ConditionsRule sidsMatchedRule, ConditionsRule sidsNotMatchedRule) {
+
+        ConditionsRule forSids(Set<Integer> gppSids) {
+            return sids == null || intersects(sids, gppSids) ? sidsMatchedRule : sidsNotMatchedRule;
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package org.prebid.server.analytics.reporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded buffer of analytics events shared by all event loops, without locking on either put or poll.
+ * <p>
+ * Events are meant to be put already encoded (e.g. as JSON bytes) along with their size. Concurrent polls
+ * never return the same event twice, so each event is reported exactly once even if several producers
+ * observe reached limits at the same time.
+ * <p>
+ * Each non-empty poll starts a batch, which must be reported back by {@link #batchCompleted()} once it is sent.
+ * While maxPendingBatches batches are in flight, polls return nothing and events stay buffered. The buffer holds
+ * at most maxPendingBatches + 1 batches worth of events, newer events are rejected by {@link #put} after that.
+ */
+public class EventBuffer<T> {
+
+    private final Queue<SizedEvent<T>> events = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong eventsCount = new AtomicLong();
+
+    private final AtomicLong byteSize = new AtomicLong();
+
+    private final AtomicInteger pendingBatches = new AtomicInteger();
+
+    private final long maxEvents;
+
+    private final long maxBytes;
+
+    private final int maxPendingBatches;
+
+    private final long capacityEvents;
+
+    private final long capacityBytes;
+
+    public EventBuffer(long maxEvents, long maxBytes, int maxPendingBatches) {
+        if (maxPendingBatches < 1) {
+            throw new IllegalArgumentException("Max pending batches should be positive: " + maxPendingBatches);
+        }
+
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+        this.maxPendingBatches = maxPendingBatches;
+
+        capacityEvents = saturatedMultiply(Math.max(maxEvents, 1), maxPendingBatches + 1);
+        capacityBytes = saturatedMultiply(Math.max(maxBytes, 1), maxPendingBatches + 1);
+    }
+
+    /**
+     * Returns false if the buffer is full and the event is dropped.
+     */
+    public boolean put(T event, long eventSize) {
+        // checked before adding, so concurrent producers may overshoot the capacity by a few events at most
+        if (eventsCount.get() >= capacityEvents || byteSize.get() + eventSize > capacityBytes) {
+            return false;
+        }
+
+        byteSize.addAndGet(eventSize);
+        eventsCount.incrementAndGet();
+        events.add(new SizedEvent<>(event, eventSize));
+        return true;
+    }
+
+    public List<T> pollToFlush() {
+        return eventsCount.get() >= maxEvents || byteSize.get() >= maxBytes
+                ? pollAll()
+                : Collections.emptyList();
+    }
+
+    public List<T> pollAll() {
+        if (eventsCount.get() <= 0 || !tryStartBatch()) {
+            return Collections.emptyList();
+        }
+
+        final List<T> polled = poll();
+        if (polled.isEmpty()) {
+            batchCompleted();
+        }
+
+        return polled;
+    }
+
+    public void batchCompleted() {
+        pendingBatches.decrementAndGet();
+    }
+
+    private boolean tryStartBatch() {
+        int pending;
+        do {
+            pending = pendingBatches.get();
+            if (pending >= maxPendingBatches) {
+                return false;
+            }
+        } while (!pendingBatches.compareAndSet(pending, pending + 1));
+
+        return true;
+    }
+
+    private List<T> poll() {
+        // bounded by the count observed at the start, so steady stream of new events can't keep poller busy
+        final long toPoll = eventsCount.get();
+        if (toPoll <= 0) {
+            return Collections.emptyList();
+        }
+
+        final List<T> polled = new ArrayList<>((int) Math.min(toPoll, Integer.MAX_VALUE));
+        SizedEvent<T> sizedEvent;
+        while (polled.size() < toPoll && (sizedEvent = events.poll()) != null) {
+            polled.add(sizedEvent.event());
+            byteSize.addAndGet(-sizedEvent.size());
+            eventsCount.decrementAndGet();
+        }
+
+        return polled;
+    }
+
+    public long size() {
+        return eventsCount.get();
+    }
+
+    public long byteSize() {
+        return byteSize.get();
+    }
+
+    public int pendingBatches() {
+        return pendingBatches.get();
+    }
+
+    private static long saturatedMultiply(long value, int multiplier) {
+        return value > Long.MAX_VALUE / multiplier ? Long.MAX_VALUE : value * multiplier;
+    }
+
+    private record SizedEvent<T>(T event, long size) {
+    }
+}
@@ -16,9 +16,11 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.prebid.server.analytics.AnalyticsReporter;
+import org.prebid.server.analytics.reporter.EventBuffer;
 import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.VideoEvent;
@@ -26,23 +28,22 @@ import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
 import org.prebid.server.analytics.reporter.agma.model.AgmaEvent;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
-import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.model.PrivacyContext;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.util.GzipUtil;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.version.PrebidVersionProvider;
 import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZonedDateTime;
@@ -50,18 +51,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.zip.GZIPOutputStream;
 
 public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
 
     private static final Logger logger = LoggerFactory.getLogger(AgmaAnalyticsReporter.class);
 
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_DELIMITER = {','};
+    private static final byte[] ARRAY_END = {']'};
+    private static final int DEFAULT_MAX_PENDING_BATCHES = 4;
+
     private final String url;
     private final boolean compressToGzip;
     private final long bufferTimeoutMs;
     private final long httpTimeoutMs;
 
-    private final EventBuffer<String> buffer;
+    private final EventBuffer<byte[]> buffer;
 
     private final Map<String, String> accounts;
 
@@ -69,6 +74,7 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
     private final JacksonMapper jacksonMapper;
     private final HttpClient httpClient;
     private final Clock clock;
+    private final Metrics metrics;
     private final MultiMap headers;
 
     public AgmaAnalyticsReporter(AgmaAnalyticsProperties agmaAnalyticsProperties,
@@ -76,6 +82,7 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                                  JacksonMapper jacksonMapper,
                                  Clock clock,
                                  HttpClient httpClient,
+                                 Metrics metrics,
                                  Vertx vertx) {
 
         this.accounts = agmaAnalyticsProperties.getAccounts();
@@ -87,12 +94,14 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
 
         this.buffer = new EventBuffer<>(
                 agmaAnalyticsProperties.getMaxEventsCount(),
-                agmaAnalyticsProperties.getBufferSize());
+                agmaAnalyticsProperties.getBufferSize(),
+                ObjectUtils.defaultIfNull(agmaAnalyticsProperties.getMaxPendingBatches(), DEFAULT_MAX_PENDING_BATCHES));
 
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.httpClient = Objects.requireNonNull(httpClient);
         this.vertx = Objects.requireNonNull(vertx);
         this.clock = Objects.requireNonNull(clock);
+        this.metrics = Objects.requireNonNull(metrics);
         this.headers = makeHeaders(Objects.requireNonNull(prebidVersionProvider));
     }
 
@@ -150,8 +159,10 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                         Instant.ofEpochMilli(timeoutContext.getStartTime()), clock.getZone()))
                 .build();
 
-        final String eventString = jacksonMapper.encodeToString(agmaEvent);
-        buffer.put(eventString, eventString.length());
+        final byte[] encodedEvent = jacksonMapper.encodeToBytes(agmaEvent);
+        if (!buffer.put(encodedEvent, encodedEvent.length)) {
+            metrics.updateAnalyticDroppedEventsMetric(name());
+        }
         sendEvents(buffer.pollToFlush());
         return Future.succeededFuture();
     }
@@ -207,33 +218,43 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                 : publisherId;
     }
 
-    private void sendEvents(List<String> events) {
+    /**
+     * Builds and compresses the payload on a worker, so large batches don't stall the event loop.
+     */
+    private void sendEvents(List<byte[]> events) {
         if (events.isEmpty()) {
             return;
         }
-        final String payload = preparePayload(events);
-        final Future<HttpClientResponse> responseFuture = compressToGzip
-                ? httpClient.request(HttpMethod.POST, url, headers, gzip(payload), httpTimeoutMs)
-                : httpClient.request(HttpMethod.POST, url, headers, payload, httpTimeoutMs);
 
-        responseFuture.onComplete(this::handleReportResponse);
+        vertx.executeBlocking(() -> preparePayload(events), false)
+                .compose(payload -> httpClient.request(HttpMethod.POST, url, headers, payload, httpTimeoutMs))
+                .onComplete(result -> {
+                    buffer.batchCompleted();
+                    handleReportResponse(result);
+                });
     }
 
-    private static String preparePayload(List<String> events) {
-        return "[" + String.join(",", events) + "]";
+    private byte[] preparePayload(List<byte[]> events) {
+        return compressToGzip
+                ? GzipUtil.gzip(events, ARRAY_START, ARRAY_DELIMITER, ARRAY_END)
+                : joinEvents(events);
     }
 
-    private static byte[] gzip(String value) {
-        try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
+    private static byte[] joinEvents(List<byte[]> events) {
+        int size = ARRAY_START.length + ARRAY_END.length + ARRAY_DELIMITER.length * (events.size() - 1);
+        for (byte[] event : events) {
+            size += event.length;
+        }
 
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("[agmaAnalytics] failed to compress, skip the events : " + e.getMessage());
+        final ByteBuffer payload = ByteBuffer.allocate(size).put(ARRAY_START);
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                payload.put(ARRAY_DELIMITER);
+            }
+            payload.put(events.get(i));
         }
+
+        return payload.put(ARRAY_END).array();
     }
 
     private void handleReportResponse(AsyncResult<HttpClientResponse> result) {
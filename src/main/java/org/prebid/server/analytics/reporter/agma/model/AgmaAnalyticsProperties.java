@@ -17,6 +17,8 @@ public class AgmaAnalyticsProperties {
 
     Integer maxEventsCount;
 
+    Integer maxPendingBatches;
+
     Long bufferTimeoutMs;
 
     Long httpTimeoutMs;
@@ -7,34 +7,33 @@ import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.analytics.reporter.EventBuffer;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
-import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.util.GzipUtil;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
-import java.util.zip.GZIPOutputStream;
 
 public class PubstackEventHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(PubstackEventHandler.class);
+    private static final String REPORTER_NAME = "pubstack";
     private static final String SCOPE_FIELD_NAME = "scope";
     private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
     private static final String GZIP = "gzip";
-    private static final String NEW_LINE = "\n";
+    private static final byte[] NEW_LINE = {'\n'};
+    private static final byte[] EMPTY = {};
+    private static final int DEFAULT_MAX_PENDING_BATCHES = 4;
 
     private volatile boolean enabled;
     private volatile String endpoint;
@@ -46,11 +45,11 @@ public class PubstackEventHandler {
     private final Vertx vertx;
     private final JacksonMapper jacksonMapper;
     private final HttpClient httpClient;
+    private final Metrics metrics;
 
     private final ReentrantLock lockOnSend;
-    private final AtomicReference<Queue<String>> events;
+    private final EventBuffer<byte[]> buffer;
     private final MultiMap headers;
-    private final AtomicLong byteSize;
     private volatile long reportTimerId;
 
     public PubstackEventHandler(PubstackAnalyticsProperties pubstackAnalyticsProperties,
@@ -58,6 +57,7 @@ public class PubstackEventHandler {
                                 String endpoint,
                                 JacksonMapper jacksonMapper,
                                 HttpClient httpClient,
+                                Metrics metrics,
                                 Vertx vertx) {
         this.enabled = enabled;
         this.endpoint = HttpUtil.validateUrl(endpoint);
@@ -68,12 +68,16 @@ public class PubstackEventHandler {
         this.timeoutMs = pubstackAnalyticsProperties.getTimeoutMs();
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.metrics = Objects.requireNonNull(metrics);
         this.vertx = Objects.requireNonNull(vertx);
 
         this.lockOnSend = new ReentrantLock();
-        this.events = new AtomicReference<>(new ConcurrentLinkedQueue<>());
+        this.buffer = new EventBuffer<>(
+                maxEventCount,
+                maxByteSize,
+                ObjectUtils.defaultIfNull(
+                        pubstackAnalyticsProperties.getMaxPendingBatches(), DEFAULT_MAX_PENDING_BATCHES));
         this.headers = makeHeaders();
-        this.byteSize = new AtomicLong();
         if (enabled) {
             this.reportTimerId = setReportTtlTimer();
         }
@@ -82,14 +86,13 @@ public class PubstackEventHandler {
     public <T> void handle(T event) {
         if (enabled) {
             buffer(event);
-            reportEventsOnCondition(byteSize -> byteSize.get() > maxByteSize, byteSize);
-            reportEventsOnCondition(eventsReference -> eventsReference.get().size() > maxEventCount, events);
+            reportEventsOnCondition(buffer -> buffer.byteSize() > maxByteSize || buffer.size() > maxEventCount);
         }
     }
 
     public void reportEvents() {
         if (enabled) {
-            reportEventsOnCondition(events -> !events.get().isEmpty(), events);
+            reportEventsOnCondition(PubstackEventHandler::isNotEmpty);
         }
     }
 
@@ -103,19 +106,23 @@ public class PubstackEventHandler {
     private <T> void buffer(T event) {
         final ObjectNode eventNode = jacksonMapper.mapper().valueToTree(event);
         eventNode.put(SCOPE_FIELD_NAME, scopeId);
-        final String jsonEvent = jacksonMapper.encodeToString(eventNode);
-        events.get().add(jsonEvent);
-        byteSize.getAndAdd(jsonEvent.getBytes().length);
+        final byte[] jsonEvent = jacksonMapper.encodeToBytes(eventNode);
+        if (!buffer.put(jsonEvent, jsonEvent.length)) {
+            metrics.updateAnalyticDroppedEventsMetric(REPORTER_NAME);
+        }
+    }
+
+    private static boolean isNotEmpty(EventBuffer<byte[]> buffer) {
+        return buffer.size() > 0;
     }
 
-    private <T> boolean reportEventsOnCondition(Predicate<T> conditionToSend, T conditionValue) {
+    private boolean reportEventsOnCondition(Predicate<EventBuffer<byte[]>> conditionToSend) {
         boolean requestWasSent = false;
-        if (conditionToSend.test(conditionValue)) {
+        if (conditionToSend.test(buffer)) {
             lockOnSend.lock();
             try {
-                if (conditionToSend.test(conditionValue)) {
-                    requestWasSent = true;
-                    sendEvents(events);
+                if (conditionToSend.test(buffer)) {
+                    requestWasSent = sendEvents();
                 }
             } catch (Exception exception) {
                 logger.error("[pubstack] Failed to send analytics report to endpoint {} with a reason {}",
@@ -127,40 +134,35 @@ public class PubstackEventHandler {
         return requestWasSent;
     }
 
-    private void sendEvents(AtomicReference<Queue<String>> events) {
+    /**
+     * Compresses the batch on a worker, so large batches don't stall the event loop.
+     * <p>
+     * Returns false if nothing was polled, e.g. because too many batches are still being sent.
+     */
+    private boolean sendEvents() {
         final String url = HttpUtil.validateUrl(endpoint);
-        final Queue<String> copyToSend = events.getAndSet(new ConcurrentLinkedQueue<>());
+        final List<byte[]> copyToSend = buffer.pollAll();
+        if (copyToSend.isEmpty()) {
+            return false;
+        }
+
+        resetReportTimer();
 
-        resetReportEventsConditions();
+        vertx.executeBlocking(() -> GzipUtil.gzip(copyToSend, EMPTY, NEW_LINE, EMPTY), false)
+                .compose(payload -> httpClient.request(HttpMethod.POST, url, headers, payload, timeoutMs))
+                .onComplete(result -> {
+                    buffer.batchCompleted();
+                    handleReportResponse(result);
+                });
 
-        httpClient.request(HttpMethod.POST, url, headers, toGzippedBytes(copyToSend), timeoutMs)
-                .onComplete(this::handleReportResponse);
+        return true;
     }
 
-    private void resetReportEventsConditions() {
-        byteSize.set(0);
+    private void resetReportTimer() {
         vertx.cancelTimer(reportTimerId);
         reportTimerId = setReportTtlTimer();
     }
 
-    private static byte[] toGzippedBytes(Queue<String> events) {
-        return gzip(String.join(NEW_LINE, events));
-    }
-
-    private static byte[] gzip(String value) {
-        try (
-                ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("[pubstack] failed to compress, skip the events : " + e.getMessage());
-        }
-    }
-
     private void handleReportResponse(AsyncResult<HttpClientResponse> result) {
         if (result.failed()) {
             logger.error("[pubstack] Failed to send events to endpoint {} with a reason: {}",
@@ -179,7 +181,7 @@ public class PubstackEventHandler {
     }
 
     private void sendOnTimer() {
-        final boolean requestWasSent = reportEventsOnCondition(events -> !events.get().isEmpty(), events);
+        final boolean requestWasSent = reportEventsOnCondition(PubstackEventHandler::isNotEmpty);
         if (!requestWasSent) {
             setReportTtlTimer();
         }
@@ -19,6 +19,8 @@ public class PubstackAnalyticsProperties {
 
     Integer count;
 
+    Integer maxPendingBatches;
+
     Long reportTtlMs;
 
     Long timeoutMs;
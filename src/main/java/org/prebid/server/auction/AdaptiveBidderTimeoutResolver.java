@@ -0,0 +1,143 @@
+package org.prebid.server.auction;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.Snapshot;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits bidder timeouts by the observed response times of bidders.
+ * <p>
+ * Keeps response times of the last windowSize requests per bidder and caps the bidder timeout by the configured
+ * percentile of them plus headroom, so a bidder that usually answers fast doesn't hold the auction open for the
+ * whole auction budget when it doesn't answer at all. Timeouts are never increased, never limited below minTimeout
+ * and are not limited until the bidder has minSamples response times recorded.
+ * <p>
+ * Calls that timed out are recorded as censored samples: their real response time is only known to be longer than
+ * the timeout they were cut by, so they are never taken for the truncated duration. While the percentile falls on
+ * such samples, the bidder timeout is not limited at all, otherwise a limit would keep confirming itself.
+ * <p>
+ * The percentile is recalculated at most once per refreshPeriodMs for each bidder.
+ */
+public class AdaptiveBidderTimeoutResolver {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+    private static final long TIMED_OUT = Long.MAX_VALUE;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long headroomMs;
+    private final int windowSize;
+    private final int minSamples;
+    private final long refreshPeriodMs;
+    private final long minTimeout;
+    private final Clock clock;
+
+    private final Map<String, ResponseTimes> bidderToResponseTimes = new ConcurrentHashMap<>();
+
+    public AdaptiveBidderTimeoutResolver(boolean enabled,
+                                         double percentile,
+                                         long headroomMs,
+                                         int windowSize,
+                                         int minSamples,
+                                         long refreshPeriodMs,
+                                         long minTimeout,
+                                         Clock clock) {
+
+        if (enabled && (percentile <= 0 || percentile > 100)) {
+            throw new IllegalArgumentException("Percentile should be in range (0, 100]: " + percentile);
+        }
+
+        this.enabled = enabled;
+        this.percentile = percentile / 100.0;
+        this.headroomMs = headroomMs;
+        this.windowSize = Math.max(windowSize, 1);
+        this.minSamples = Math.max(Math.min(minSamples, this.windowSize), 1);
+        this.refreshPeriodMs = refreshPeriodMs;
+        this.minTimeout = minTimeout;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    public void recordResponseTime(String bidder, long responseTime) {
+        update(bidder, responseTime);
+    }
+
+    /**
+     * Records a call of the bidder which was cut by timeout before the bidder has answered.
+     */
+    public void recordTimeout(String bidder) {
+        update(bidder, TIMED_OUT);
+    }
+
+    private void update(String bidder, long responseTime) {
+        if (enabled) {
+            bidderToResponseTimes.computeIfAbsent(bidder, ignored -> new ResponseTimes())
+                    .update(responseTime);
+        }
+    }
+
+    /**
+     * Returns the given timeout limited by the observed response times of the bidder.
+     */
+    public long resolve(String bidder, long timeout) {
+        if (!enabled) {
+            return timeout;
+        }
+
+        final ResponseTimes responseTimes = bidderToResponseTimes.get(bidder);
+        final long limit = responseTimes != null ? responseTimes.limit(clock.millis()) : NO_LIMIT;
+        return Math.min(timeout, Math.max(limit, minTimeout));
+    }
+
+    private class ResponseTimes {
+
+        private final Histogram histogram;
+
+        private volatile long limit = NO_LIMIT;
+        private volatile long limitExpiresAt;
+
+        ResponseTimes() {
+            histogram = new Histogram(new SlidingWindowReservoir(windowSize));
+        }
+
+        void update(long responseTime) {
+            histogram.update(responseTime);
+        }
+
+        long limit(long now) {
+            if (now >= limitExpiresAt) {
+                // racing recalculations are harmless, the latest one wins
+                limitExpiresAt = now + refreshPeriodMs;
+                limit = calculateLimit();
+            }
+
+            return limit;
+        }
+
+        private long calculateLimit() {
+            final Snapshot snapshot = histogram.getSnapshot();
+            if (snapshot.size() < minSamples) {
+                return NO_LIMIT;
+            }
+
+            // percentile above the longest answered call depends on timed out calls, whose real time is unknown
+            final double responseTime = snapshot.getValue(percentile);
+            return responseTime <= longestAnswered(snapshot.getValues())
+                    ? (long) Math.ceil(responseTime) + headroomMs
+                    : NO_LIMIT;
+        }
+
+        private static long longestAnswered(long[] sortedResponseTimes) {
+            for (int i = sortedResponseTimes.length - 1; i >= 0; i--) {
+                if (sortedResponseTimes[i] != TIMED_OUT) {
+                    return sortedResponseTimes[i];
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.model.BidderResponseInfo;
 import org.prebid.server.auction.model.CachedDebugLog;
 import org.prebid.server.auction.model.CategoryMappingResult;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.auction.model.MultiBidConfig;
 import org.prebid.server.auction.model.PaaFormat;
 import org.prebid.server.auction.model.Rejection;
@@ -410,7 +411,7 @@ public class BidResponseCreator {
                                                            BidRequestCacheInfo cacheInfo,
                                                            AuctionContext auctionContext) {
 
-        final List<Imp> imps = auctionContext.getBidRequest().getImp();
+        final ImpIndex impIndex = auctionContext.impIndex();
         final Account account = auctionContext.getAccount();
         final List<BidderResponseInfo> result = new ArrayList<>();
         final List<BidderResponse> bidderResponses = categoryMappingResult.getBidderResponses();
@@ -460,7 +461,7 @@ public class BidResponseCreator {
                             bidderBid.getBid(),
                             bidderBid.getType(),
                             seat,
-                            imps,
+                            impIndex,
                             bidder,
                             categoryMappingResult,
                             cacheInfo,
@@ -490,13 +491,13 @@ public class BidResponseCreator {
     private BidInfo toBidInfo(Bid bid,
                               BidType type,
                               String seat,
-                              List<Imp> imps,
+                              ImpIndex impIndex,
                               String bidder,
                               CategoryMappingResult categoryMappingResult,
                               BidRequestCacheInfo cacheInfo,
                               Account account) {
 
-        final Imp correspondingImp = correspondingImp(bid, imps);
+        final Imp correspondingImp = correspondingImp(bid, impIndex);
         return BidInfo.builder()
                 .bid(bid)
                 .bidType(type)
@@ -510,20 +511,14 @@ public class BidResponseCreator {
                 .build();
     }
 
-    private static Imp correspondingImp(Bid bid, List<Imp> imps) {
+    private static Imp correspondingImp(Bid bid, ImpIndex impIndex) {
         final String impId = bid.getImpid();
-        return correspondingImp(impId, imps)
+        return Optional.ofNullable(impIndex.getImp(impId))
                 // Should never occur. See ResponseBidValidator
                 .orElseThrow(
                         () -> new PreBidException("Bid with impId %s doesn't have matched imp".formatted(impId)));
     }
 
-    private static Optional<Imp> correspondingImp(String impId, List<Imp> imps) {
-        return imps.stream()
-                .filter(imp -> Objects.equals(impId, imp.getId()))
-                .findFirst();
-    }
-
     private Integer resolveTtl(Bid bid, BidType type, Imp imp, BidRequestCacheInfo cacheInfo, Account account) {
         final Integer bidTtl = bid.getExp();
         final Integer impTtl = imp != null ? imp.getExp() : null;
@@ -892,9 +887,9 @@ public class BidResponseCreator {
                 : Collections.emptyList();
 
         // TODO: Remove after transition period
-        final List<Imp> imps = auctionContext.getBidRequest().getImp();
+        final ImpIndex impIndex = auctionContext.impIndex();
         final List<FledgeAuctionConfig> deprecatedFledgeConfigs = bidderResponseInfos.stream()
-                .flatMap(bidderResponseInfo -> toDeprecatedFledgeConfigs(bidderResponseInfo, imps))
+                .flatMap(bidderResponseInfo -> toDeprecatedFledgeConfigs(bidderResponseInfo, impIndex))
                 .toList();
 
         final List<FledgeAuctionConfig> combinedFledgeConfigs = ListUtils.union(deprecatedFledgeConfigs, fledgeConfigs);
@@ -1008,20 +1003,21 @@ public class BidResponseCreator {
     }
 
     private Stream<FledgeAuctionConfig> toDeprecatedFledgeConfigs(BidderResponseInfo bidderResponseInfo,
-                                                                  List<Imp> imps) {
+                                                                  ImpIndex impIndex) {
 
         return Optional.ofNullable(bidderResponseInfo.getSeatBid().getFledgeAuctionConfigs())
                 .stream()
                 .flatMap(Collection::stream)
-                .filter(fledgeConfig -> validateFledgeConfig(fledgeConfig, imps))
+                .filter(fledgeConfig -> validateFledgeConfig(fledgeConfig, impIndex))
                 .map(fledgeConfig -> fledgeConfigWithBidder(
                         fledgeConfig,
                         bidderResponseInfo.getSeat(),
                         bidderResponseInfo.getAdapterCode()));
     }
 
-    private boolean validateFledgeConfig(FledgeAuctionConfig fledgeAuctionConfig, List<Imp> imps) {
-        final ExtImpAuctionEnvironment fledgeEnabled = correspondingImp(fledgeAuctionConfig.getImpId(), imps)
+    private boolean validateFledgeConfig(FledgeAuctionConfig fledgeAuctionConfig, ImpIndex impIndex) {
+        final Imp correspondingImp = impIndex.getImp(fledgeAuctionConfig.getImpId());
+        final ExtImpAuctionEnvironment fledgeEnabled = Optional.ofNullable(correspondingImp)
                 .map(Imp::getExt)
                 .map(ext -> convertValue(ext, "ae", ExtImpAuctionEnvironment.class))
                 .orElse(ExtImpAuctionEnvironment.SERVER_SIDE_AUCTION);
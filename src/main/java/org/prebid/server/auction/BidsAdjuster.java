@@ -6,6 +6,7 @@ import org.prebid.server.auction.aliases.BidderAliases;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.AuctionParticipation;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.bidadjustments.BidAdjustmentsProcessor;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderError;
@@ -44,11 +45,13 @@ public class BidsAdjuster {
                                                             BidderAliases aliases) {
 
         final BidRequest bidRequest = auctionContext.getBidRequest();
+        final ImpIndex impIndex = auctionContext.impIndex();
         return auctionParticipations.stream()
                 .map(auctionParticipation -> validBidderResponse(auctionParticipation, auctionContext, aliases))
                 .map(auctionParticipation -> bidAdjustmentsProcessor.enrichWithAdjustedBids(
                         auctionParticipation,
-                        bidRequest))
+                        bidRequest,
+                        impIndex))
 
                 .map(auctionParticipation -> priceFloorEnforcer.enforce(
                         bidRequest,
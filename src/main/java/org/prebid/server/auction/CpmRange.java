@@ -10,7 +10,9 @@ import org.prebid.server.settings.model.AccountAuctionBidRoundingMode;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.NumberFormat;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -21,6 +23,8 @@ public class CpmRange {
 
     private static final Locale LOCALE = Locale.US;
     private static final int DEFAULT_PRECISION = 2;
+    private static final ThreadLocal<Map<Integer, NumberFormat>> NUMBER_FORMATS =
+            ThreadLocal.withInitial(HashMap::new);
 
     private CpmRange() {
     }
@@ -29,7 +33,14 @@ public class CpmRange {
      * Rounding price by specified rules defined in {@link PriceGranularity} object and returns it in string format
      */
     public static String fromCpm(BigDecimal cpm, PriceGranularity priceGranularity, Account account) {
-        final BigDecimal value = fromCpmAsNumber(cpm, priceGranularity, account);
+        final RoundingMode roundingMode = resolveRoundingMode(account);
+
+        final PriceBucketTable bucketTable = priceGranularity.getBucketTable();
+        if (bucketTable.isCompiled()) {
+            return StringUtils.defaultString(bucketTable.bucketFor(cpm, roundingMode));
+        }
+
+        final BigDecimal value = fromCpmAsNumber(cpm, priceGranularity, roundingMode);
         return value != null ? format(value, priceGranularity.getPrecision()) : StringUtils.EMPTY;
     }
 
@@ -41,6 +52,11 @@ public class CpmRange {
     }
 
     private static NumberFormat numberFormat(int precision) {
+        // NumberFormat is not thread-safe and expensive to create, so instances are reused per thread
+        return NUMBER_FORMATS.get().computeIfAbsent(precision, CpmRange::createNumberFormat);
+    }
+
+    private static NumberFormat createNumberFormat(int precision) {
         final NumberFormat numberFormat = NumberFormat.getInstance(LOCALE);
         numberFormat.setRoundingMode(RoundingMode.FLOOR);
         numberFormat.setMaximumFractionDigits(precision);
@@ -53,6 +69,13 @@ public class CpmRange {
      * format
      */
     public static BigDecimal fromCpmAsNumber(BigDecimal cpm, PriceGranularity priceGranularity, Account account) {
+        return fromCpmAsNumber(cpm, priceGranularity, resolveRoundingMode(account));
+    }
+
+    private static BigDecimal fromCpmAsNumber(BigDecimal cpm,
+                                              PriceGranularity priceGranularity,
+                                              RoundingMode roundingMode) {
+
         if (cpm.compareTo(BigDecimal.ZERO) <= 0) {
             return null;
         }
@@ -74,7 +97,7 @@ public class CpmRange {
             min = max;
         }
 
-        return increment != null ? calculate(cpm, min, increment, resolveRoundingMode(account)) : null;
+        return increment != null ? calculate(cpm, min, increment, roundingMode) : null;
     }
 
     private static BigDecimal calculate(BigDecimal cpm,
@@ -147,6 +147,7 @@ public class ExchangeService {
     private final MediaTypeProcessor mediaTypeProcessor;
     private final UidUpdater uidUpdater;
     private final TimeoutResolver timeoutResolver;
+    private final AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver;
     private final TimeoutFactory timeoutFactory;
     private final BidRequestOrtbVersionConversionManager ortbVersionConversionManager;
     private final HttpBidderRequester httpBidderRequester;
@@ -174,6 +175,7 @@ public class ExchangeService {
                            MediaTypeProcessor mediaTypeProcessor,
                            UidUpdater uidUpdater,
                            TimeoutResolver timeoutResolver,
+                           AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver,
                            TimeoutFactory timeoutFactory,
                            BidRequestOrtbVersionConversionManager ortbVersionConversionManager,
                            HttpBidderRequester httpBidderRequester,
@@ -201,6 +203,7 @@ public class ExchangeService {
         this.mediaTypeProcessor = Objects.requireNonNull(mediaTypeProcessor);
         this.uidUpdater = Objects.requireNonNull(uidUpdater);
         this.timeoutResolver = Objects.requireNonNull(timeoutResolver);
+        this.adaptiveBidderTimeoutResolver = Objects.requireNonNull(adaptiveBidderTimeoutResolver);
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
         this.ortbVersionConversionManager = Objects.requireNonNull(ortbVersionConversionManager);
         this.httpBidderRequester = Objects.requireNonNull(httpBidderRequester);
@@ -235,7 +238,9 @@ public class ExchangeService {
         return BidResponse.builder().seatbid(Collections.emptyList()).build();
     }
 
-    private Future<AuctionContext> runAuction(AuctionContext receivedContext) {
+    private Future<AuctionContext> runAuction(AuctionContext processedContext) {
+        // request is not changed by the following stages, so imps are indexed once for all of them
+        final AuctionContext receivedContext = processedContext.withImpIndex();
         final UidsCookie uidsCookie = receivedContext.getUidsCookie();
         final BidRequest bidRequest = receivedContext.getBidRequest();
         final Timeout timeout = receivedContext.getTimeoutContext().getTimeout();
@@ -715,7 +720,7 @@ public class ExchangeService {
                 .collect(Collectors.toCollection(ArrayList::new));
 
         Collections.shuffle(bidderRequests);
-        return bidderRequests;
+        return SharedBidRequestParts.share(bidderRequests);
     }
 
     /**
@@ -912,12 +917,22 @@ public class ExchangeService {
 
         return bidRequest.getImp().stream()
                 .filter(imp -> bidderParamsFromImpExt(imp.getExt()).hasNonNull(bidder))
-                .map(imp -> imp.toBuilder().ext(imp.getExt().deepCopy()).build())
+                .map(this::withShallowCopyOfExt)
                 .map(imp -> impAdjuster.adjust(imp, bidder, bidderAliases, debugWarnings))
                 .map(imp -> prepareImp(imp, bidder, bidRequest, transmitTid, useFirstPartyData, account, debugWarnings))
                 .toList();
     }
 
+    /**
+     * Copies only top-level fields of imp.ext, nested nodes are shared between bidders and with the incoming request,
+     * so they must be replaced rather than modified in place.
+     */
+    private Imp withShallowCopyOfExt(Imp imp) {
+        final ObjectNode impExt = mapper.mapper().createObjectNode();
+        impExt.setAll(imp.getExt());
+        return imp.toBuilder().ext(impExt).build();
+    }
+
     private Imp prepareImp(Imp imp,
                            String bidder,
                            BidRequest bidRequest,
@@ -965,13 +980,13 @@ public class ExchangeService {
             return null;
         }
 
-        final Iterator<String> fieldsIterator = extImpPrebid.fieldNames();
-        final ObjectNode modifiedExtImpPrebid = extImpPrebid.deepCopy();
+        final Iterator<Map.Entry<String, JsonNode>> fieldsIterator = extImpPrebid.fields();
+        final ObjectNode modifiedExtImpPrebid = mapper.mapper().createObjectNode();
 
         while (fieldsIterator.hasNext()) {
-            final String fieldName = fieldsIterator.next();
-            if (!BIDDER_FIELDS_EXCEPTION_LIST.contains(fieldName)) {
-                modifiedExtImpPrebid.remove(fieldName);
+            final Map.Entry<String, JsonNode> field = fieldsIterator.next();
+            if (BIDDER_FIELDS_EXCEPTION_LIST.contains(field.getKey())) {
+                modifiedExtImpPrebid.set(field.getKey(), field.getValue());
             }
         }
 
@@ -1282,7 +1297,12 @@ public class ExchangeService {
 
         return Future.succeededFuture(bidderRequest.getBidRequest())
                 .map(bidRequest -> adjustTmax(
-                        bidRequest, auctionStartTime, adjustmentFactor, bidderRequestStartTime, bidderTmaxDeductionMs))
+                        bidRequest,
+                        bidderName,
+                        auctionStartTime,
+                        adjustmentFactor,
+                        bidderRequestStartTime,
+                        bidderTmaxDeductionMs))
                 .map(bidRequest -> ortbVersionConversionManager.convertFromAuctionSupportedVersion(
                         bidRequest, bidderRequest.getOrtbVersion()))
                 .map(bidderRequest::with)
@@ -1290,7 +1310,7 @@ public class ExchangeService {
                         bidder,
                         convertedBidderRequest,
                         bidRejectionTracker,
-                        adjustTimeout(timeout, auctionStartTime, bidderRequestStartTime),
+                        adjustTimeout(timeout, bidderName, auctionStartTime, bidderRequestStartTime),
                         requestHeaders,
                         aliases,
                         debugResolver.resolveDebugForBidder(auctionContext, resolvedBidderName)))
@@ -1332,23 +1352,28 @@ public class ExchangeService {
     }
 
     private BidRequest adjustTmax(BidRequest bidRequest,
+                                  String bidder,
                                   long startTime,
                                   int adjustmentFactor,
                                   long currentTime,
                                   long bidderTmaxDeductionMs) {
 
         final long tmax = timeoutResolver.limitToMax(bidRequest.getTmax());
-        final long adjustedTmax = timeoutResolver.adjustForBidder(
-                tmax, adjustmentFactor, currentTime - startTime, bidderTmaxDeductionMs);
+        final long adjustedTmax = adaptiveBidderTimeoutResolver.resolve(bidder, timeoutResolver.adjustForBidder(
+                tmax, adjustmentFactor, currentTime - startTime, bidderTmaxDeductionMs));
 
         return tmax != adjustedTmax
                 ? bidRequest.toBuilder().tmax(adjustedTmax).build()
                 : bidRequest;
     }
 
-    private Timeout adjustTimeout(Timeout timeout, long startTime, long currentTime) {
-        final long adjustedTmax = timeoutResolver.adjustForRequest(
-                timeout.getDeadline() - startTime, currentTime - startTime);
+    private Timeout adjustTimeout(Timeout timeout, String bidder, long startTime, long currentTime) {
+        final long tmax = timeoutResolver.adjustForRequest(timeout.getDeadline() - startTime, currentTime - startTime);
+        final long adjustedTmax = adaptiveBidderTimeoutResolver.resolve(bidder, tmax);
+        if (adjustedTmax < tmax) {
+            metrics.updateAdapterAdaptiveTimeout(bidder, adjustedTmax);
+        }
+
         return timeoutFactory.create(currentTime, adjustedTmax);
     }
 
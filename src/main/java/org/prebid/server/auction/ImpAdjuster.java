@@ -51,11 +51,13 @@ public class ImpAdjuster {
             return originalImp;
         }
 
-        removeExtPrebidBidder(bidderNode);
+        // imp.ext.prebid.imp is shared with the incoming request
+        final JsonNode bidderImpNode = bidderNode.deepCopy();
+        removeExtPrebidBidder(bidderImpNode);
 
         try {
             final JsonNode originalImpNode = jacksonMapper.mapper().valueToTree(originalImp);
-            final JsonNode mergedImpNode = jsonMerger.merge(bidderNode, originalImpNode);
+            final JsonNode mergedImpNode = jsonMerger.merge(bidderImpNode, originalImpNode);
 
             removeImpExtPrebidImp(mergedImpNode.get(IMP_EXT));
 
@@ -116,9 +118,20 @@ public class ImpAdjuster {
                 .ifPresent(ext -> ext.remove(EXT_PREBID_BIDDER));
     }
 
-    private static void removeImpExtPrebidImp(JsonNode impExt) {
-        Optional.ofNullable(impExt.get(EXT_PREBID))
-                .map(ObjectNode.class::cast)
-                .ifPresent(prebid -> prebid.remove(EXT_PREBID_IMP));
+    /**
+     * Replaces imp.ext.prebid with its copy without imp, since imp.ext.prebid might be shared with the incoming
+     * request.
+     */
+    private void removeImpExtPrebidImp(JsonNode impExt) {
+        final JsonNode prebid = impExt.get(EXT_PREBID);
+        if (prebid == null || !prebid.has(EXT_PREBID_IMP)) {
+            return;
+        }
+
+        final ObjectNode updatedPrebid = jacksonMapper.mapper().createObjectNode();
+        updatedPrebid.setAll((ObjectNode) prebid);
+        updatedPrebid.remove(EXT_PREBID_IMP);
+
+        ((ObjectNode) impExt).set(EXT_PREBID, updatedPrebid);
     }
 }
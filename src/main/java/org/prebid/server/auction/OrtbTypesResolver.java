@@ -48,6 +48,11 @@ public class OrtbTypesResolver {
     private static final String CONTEXT = "context";
     private static final String UNKNOWN_REFERER = "unknown referer";
 
+    /**
+     * Top-level bid request fields {@link #normalizeBidRequest} reads or changes.
+     */
+    public static final Set<String> NORMALIZED_BID_REQUEST_FIELDS = Set.of(USER, APP, SITE, EXT);
+
     private static final JsonPointer EXT_PREBID_BIDDER_CONFIG = JsonPointer.valueOf("/ext/prebid/bidderconfig");
     private static final JsonPointer CONFIG_ORTB2 = JsonPointer.valueOf("/config/ortb2");
     private static final JsonPointer APP_BUNDLE = JsonPointer.valueOf("/app/bundle");
@@ -97,7 +102,7 @@ public class OrtbTypesResolver {
             }
         }
 
-        processWarnings(resolverWarnings, warnings, referer, "bidrequest", getOriginalRowContainerNode(bidRequest));
+        processWarnings(resolverWarnings, warnings, referer, "bidrequest", bidRequest);
     }
 
     private void normalizeFpdFields(JsonNode fpdContainerNode, String prefix, List<String> warnings) {
@@ -371,7 +376,7 @@ public class OrtbTypesResolver {
                                  List<String> warnings,
                                  String referer,
                                  String containerName,
-                                 String containerValue) {
+                                 JsonNode containerNode) {
 
         if (CollectionUtils.isNotEmpty(resolverWarnings)) {
             warnings.addAll(updateWithWarningPrefix(resolverWarnings));
@@ -381,7 +386,7 @@ public class OrtbTypesResolver {
                             String.join("\n", resolverWarnings),
                             StringUtils.isNotBlank(referer) ? referer : UNKNOWN_REFERER,
                             containerName,
-                            containerValue),
+                            getOriginalRowContainerNode(containerNode)),
                     logSamplingRate);
         }
     }
@@ -402,6 +407,6 @@ public class OrtbTypesResolver {
     public void normalizeTargeting(JsonNode targeting, List<String> warnings, String referer) {
         final List<String> resolverWarnings = new ArrayList<>();
         normalizeFpdFields(targeting, "targeting.", resolverWarnings);
-        processWarnings(resolverWarnings, warnings, referer, "targeting", getOriginalRowContainerNode(targeting));
+        processWarnings(resolverWarnings, warnings, referer, "targeting", targeting);
     }
 }
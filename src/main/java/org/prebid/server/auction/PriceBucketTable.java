@@ -0,0 +1,200 @@
+package org.prebid.server.auction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * {@link PriceGranularity} compiled into price buckets with integer micro-CPM boundaries and pre-rendered bucket
+ * strings, so price rounding does neither {@link BigDecimal} arithmetic nor number formatting per bid.
+ * <p>
+ * Compiled tables are shared between granularities with the same definition. Granularities which can't be expressed
+ * in micro-CPM, have unordered ranges or too many buckets are not compiled and should be handled by {@link CpmRange}
+ * arithmetic.
+ */
+final class PriceBucketTable {
+
+    private static final int MICROS_SCALE = 6;
+    private static final int DEFAULT_PRECISION = 2;
+    private static final int MAX_TABLE_BUCKETS = 50_000;
+    private static final long MAX_CACHED_BUCKETS = 500_000L;
+
+    static final PriceBucketTable NOT_COMPILED = new PriceBucketTable(null, null, null, null, null, null);
+
+    private static final Cache<Definition, PriceBucketTable> COMPILED_TABLES = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_BUCKETS)
+            .<Definition, PriceBucketTable>weigher((definition, table) -> table.bucketsCount())
+            .build();
+
+    private final BigDecimal rangesMax;
+    private final String rangesMaxBucket;
+    private final long[] rangeMinMicros;
+    private final long[] rangeMaxMicros;
+    private final long[] incrementMicros;
+    private final String[][] buckets;
+
+    private PriceBucketTable(BigDecimal rangesMax,
+                             String rangesMaxBucket,
+                             long[] rangeMinMicros,
+                             long[] rangeMaxMicros,
+                             long[] incrementMicros,
+                             String[][] buckets) {
+
+        this.rangesMax = rangesMax;
+        this.rangesMaxBucket = rangesMaxBucket;
+        this.rangeMinMicros = rangeMinMicros;
+        this.rangeMaxMicros = rangeMaxMicros;
+        this.incrementMicros = incrementMicros;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Returns compiled table for the given {@link PriceGranularity} or {@link #NOT_COMPILED}.
+     */
+    static PriceBucketTable of(PriceGranularity priceGranularity) {
+        final List<ExtGranularityRange> ranges = priceGranularity.getRanges();
+        if (ranges == null || priceGranularity.getRangesMax() == null) {
+            return NOT_COMPILED;
+        }
+
+        return COMPILED_TABLES.get(
+                new Definition(ObjectUtils.defaultIfNull(priceGranularity.getPrecision(), DEFAULT_PRECISION), ranges),
+                PriceBucketTable::compile);
+    }
+
+    private static PriceBucketTable compile(Definition definition) {
+        final List<ExtGranularityRange> ranges = definition.ranges();
+        final int rangesCount = ranges.size();
+
+        final long[] rangeMinMicros = new long[rangesCount];
+        final long[] rangeMaxMicros = new long[rangesCount];
+        final long[] incrementMicros = new long[rangesCount];
+        final String[][] buckets = new String[rangesCount][];
+
+        long min = 0;
+        long bucketsCount = 0;
+        for (int i = 0; i < rangesCount; i++) {
+            final ExtGranularityRange range = ranges.get(i);
+            final long max = range != null ? toMicrosExact(range.getMax()) : -1;
+            final long increment = range != null ? toMicrosExact(range.getIncrement()) : -1;
+            if (max <= min || increment <= 0) {
+                return NOT_COMPILED;
+            }
+
+            final long rangeBuckets = Math.ceilDiv(max - min, increment) + 1;
+            bucketsCount += rangeBuckets;
+            if (bucketsCount > MAX_TABLE_BUCKETS) {
+                return NOT_COMPILED;
+            }
+
+            rangeMinMicros[i] = min;
+            rangeMaxMicros[i] = max;
+            incrementMicros[i] = increment;
+            buckets[i] = renderBuckets(min, increment, (int) rangeBuckets, definition.precision());
+            min = max;
+        }
+
+        final BigDecimal rangesMax = BigDecimal.valueOf(min, MICROS_SCALE);
+        return new PriceBucketTable(
+                rangesMax,
+                CpmRange.format(rangesMax, definition.precision()),
+                rangeMinMicros,
+                rangeMaxMicros,
+                incrementMicros,
+                buckets);
+    }
+
+    private static String[] renderBuckets(long min, long increment, int bucketsCount, int precision) {
+        final String[] rangeBuckets = new String[bucketsCount];
+        for (int i = 0; i < bucketsCount; i++) {
+            rangeBuckets[i] = CpmRange.format(BigDecimal.valueOf(min + i * increment, MICROS_SCALE), precision);
+        }
+        return rangeBuckets;
+    }
+
+    private static long toMicrosExact(BigDecimal value) {
+        if (value == null || value.signum() <= 0) {
+            return -1;
+        }
+
+        try {
+            return value.movePointRight(MICROS_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    boolean isCompiled() {
+        return buckets != null;
+    }
+
+    private int bucketsCount() {
+        if (buckets == null) {
+            return 1;
+        }
+
+        int bucketsCount = 0;
+        for (String[] rangeBuckets : buckets) {
+            bucketsCount += rangeBuckets.length;
+        }
+        return bucketsCount;
+    }
+
+    /**
+     * Returns bucket string for the given CPM rounded within its range with the given {@link RoundingMode}, or
+     * null if CPM doesn't belong to any bucket. Supports {@link RoundingMode#FLOOR}, {@link RoundingMode#CEILING}
+     * and {@link RoundingMode#HALF_UP}.
+     */
+    String bucketFor(BigDecimal cpm, RoundingMode roundingMode) {
+        if (cpm.signum() <= 0) {
+            return null;
+        }
+        if (cpm.compareTo(rangesMax) > 0) {
+            return rangesMaxBucket;
+        }
+
+        // CPM doesn't exceed the largest boundary, so its micros fit into long
+        final long cpmCeilingMicros = toMicros(cpm, RoundingMode.CEILING);
+        final int range = findRange(cpmCeilingMicros);
+        final long min = rangeMinMicros[range];
+        final long increment = incrementMicros[range];
+
+        // boundaries are integer micros, so rounding CPM to micros first doesn't change the bucket
+        final long bucket = switch (roundingMode) {
+            case FLOOR -> Math.floorDiv(toMicros(cpm, RoundingMode.FLOOR) - min, increment);
+            case CEILING -> Math.ceilDiv(cpmCeilingMicros - min, increment);
+            // floor((2 * (cpm - min) + increment) / (2 * increment)) computed in half-micros
+            case HALF_UP -> Math.floorDiv(
+                    toMicros(cpm.add(cpm), RoundingMode.FLOOR) - 2 * min + increment, 2 * increment);
+            default -> throw new IllegalArgumentException("Unsupported rounding mode: " + roundingMode);
+        };
+
+        return buckets[range][(int) bucket];
+    }
+
+    private int findRange(long cpmMicros) {
+        int low = 0;
+        int high = rangeMaxMicros.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (rangeMaxMicros[middle] < cpmMicros) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long toMicros(BigDecimal value, RoundingMode roundingMode) {
+        return value.setScale(MICROS_SCALE, roundingMode).unscaledValue().longValue();
+    }
+
+    private record Definition(int precision, List<ExtGranularityRange> ranges) {
+    }
+}
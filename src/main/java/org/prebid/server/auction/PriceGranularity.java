@@ -47,6 +47,7 @@ public class PriceGranularity {
     private List<ExtGranularityRange> ranges;
     private BigDecimal rangesMax;
     private Integer precision;
+    private volatile PriceBucketTable bucketTable;
 
     private PriceGranularity(List<ExtGranularityRange> ranges, BigDecimal rangesMax, Integer precision) {
         this.ranges = ranges;
@@ -99,6 +100,18 @@ public class PriceGranularity {
         return precision;
     }
 
+    /**
+     * Returns {@link PriceBucketTable} compiled for this {@link PriceGranularity}.
+     */
+    PriceBucketTable getBucketTable() {
+        PriceBucketTable table = bucketTable;
+        if (table == null) {
+            table = PriceBucketTable.of(this);
+            bucketTable = table;
+        }
+        return table;
+    }
+
     /**
      * Creates {@link PriceGranularity} for string representation and puts it to
      * {@link EnumMap<PriceGranularityType, PriceGranularity>}.
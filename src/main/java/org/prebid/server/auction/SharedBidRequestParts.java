@@ -0,0 +1,82 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.BidderRequest;
+import org.prebid.server.json.SharedJsonValues;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds parts of bidder requests which are the same instance for several bidders and attaches them to every
+ * bidder request as auction's {@link SharedJsonValues}, so such part is encoded once per auction instead of once
+ * per bidder.
+ * <p>
+ * Parts are matched by identity only: neither sub-trees are compared, nor bidders get instances they haven't
+ * had before.
+ */
+final class SharedBidRequestParts {
+
+    private SharedBidRequestParts() {
+    }
+
+    static List<AuctionParticipation> share(List<AuctionParticipation> auctionParticipations) {
+        if (auctionParticipations.size() < 2) {
+            return auctionParticipations;
+        }
+
+        final Map<Object, Integer> partUsages = new IdentityHashMap<>();
+        auctionParticipations.stream()
+                .map(SharedBidRequestParts::bidRequest)
+                .filter(Objects::nonNull)
+                .flatMap(SharedBidRequestParts::parts)
+                .forEach(part -> partUsages.merge(part, 1, Integer::sum));
+
+        final List<Object> sharedParts = partUsages.entrySet().stream()
+                .filter(partUsage -> partUsage.getValue() > 1)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (sharedParts.isEmpty()) {
+            return auctionParticipations;
+        }
+
+        final SharedJsonValues sharedJsonValues = SharedJsonValues.of(sharedParts);
+        return auctionParticipations.stream()
+                .map(auctionParticipation -> share(auctionParticipation, sharedJsonValues))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static BidRequest bidRequest(AuctionParticipation auctionParticipation) {
+        final BidderRequest bidderRequest = auctionParticipation.getBidderRequest();
+        return bidderRequest != null ? bidderRequest.getBidRequest() : null;
+    }
+
+    private static Stream<Object> parts(BidRequest bidRequest) {
+        return Stream.of(
+                        bidRequest.getUser(),
+                        bidRequest.getDevice(),
+                        bidRequest.getSite(),
+                        bidRequest.getApp(),
+                        bidRequest.getDooh(),
+                        bidRequest.getSource(),
+                        bidRequest.getRegs())
+                .filter(Objects::nonNull);
+    }
+
+    private static AuctionParticipation share(AuctionParticipation auctionParticipation,
+                                              SharedJsonValues sharedJsonValues) {
+
+        final BidderRequest bidderRequest = auctionParticipation.getBidderRequest();
+        return bidderRequest != null
+                ? auctionParticipation.toBuilder()
+                .bidderRequest(bidderRequest.toBuilder().sharedJsonValues(sharedJsonValues).build())
+                .build()
+                : auctionParticipation;
+    }
+}
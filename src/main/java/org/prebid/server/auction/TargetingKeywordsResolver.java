@@ -2,9 +2,11 @@ package org.prebid.server.auction;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.response.Bid;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
@@ -30,6 +32,7 @@ public class TargetingKeywordsResolver {
 
     private final Map<String, String> staticAndRequestKeywords;
     private final List<ExtRequestPrebidAdservertargetingRule> impRequestRules;
+    private final ImpIndex impIndex;
     private final List<ExtRequestPrebidAdservertargetingRule> responseRules;
 
     private TargetingKeywordsResolver(BidRequest bidRequest, JacksonMapper mapper) {
@@ -39,6 +42,7 @@ public class TargetingKeywordsResolver {
         final Map<Source, List<ExtRequestPrebidAdservertargetingRule>> rulesBySource = rulesBySource();
 
         this.impRequestRules = impRequestRules(rulesBySource);
+        this.impIndex = impRequestRules.isEmpty() ? null : ImpIndex.of(bidRequest.getImp());
         this.responseRules = responseRules(rulesBySource);
         this.staticAndRequestKeywords = resolveStaticAndRequestKeywords(rulesBySource);
     }
@@ -147,11 +151,8 @@ public class TargetingKeywordsResolver {
             return null;
         }
 
-        return bidRequest.getImp().stream()
-                .filter(imp -> Objects.equals(imp.getId(), impid))
-                .findFirst()
-                .<JsonNode>map(imp -> mapper.mapper().valueToTree(imp))
-                .orElse(null);
+        final Imp imp = impIndex.getImp(impid);
+        return imp != null ? mapper.mapper().valueToTree(imp) : null;
     }
 
     private Map<String, String> resolveResponseKeywords(Bid bid, String bidder) {
@@ -2,8 +2,13 @@ package org.prebid.server.auction.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.response.BidResponse;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
 import org.prebid.server.auction.gpp.model.GppContext;
@@ -71,12 +76,46 @@ public class AuctionContext {
 
     CachedDebugLog cachedDebugLog;
 
+    // derived from bid request, so doesn't take part in equality
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    ImpIndex impIndex;
+
+    /**
+     * Returns {@link ImpIndex} of the current bid request imps built by {@link #withImpIndex()}.
+     *
+     * @throws IllegalStateException if index wasn't built or bid request imps were replaced bypassing
+     *                               {@link #with(BidRequest)} after that
+     */
+    public ImpIndex impIndex() {
+        if (impIndex == null || !impIndex.isBuiltFor(bidRequest != null ? bidRequest.getImp() : null)) {
+            throw new IllegalStateException("Imp index is not built for the current bid request imps");
+        }
+
+        return impIndex;
+    }
+
+    public AuctionContext withImpIndex() {
+        return this.toBuilder()
+                .impIndex(ImpIndex.of(bidRequest != null ? bidRequest.getImp() : null))
+                .build();
+    }
+
     public AuctionContext with(Account account) {
         return this.toBuilder().account(account).build();
     }
 
+    /**
+     * Replaces bid request, built {@link ImpIndex} is rebuilt if the imps are replaced as well.
+     */
     public AuctionContext with(BidRequest bidRequest) {
-        return this.toBuilder().bidRequest(bidRequest).build();
+        final List<Imp> imps = bidRequest != null ? bidRequest.getImp() : null;
+        return this.toBuilder()
+                .bidRequest(bidRequest)
+                .impIndex(impIndex == null || impIndex.isBuiltFor(imps) ? impIndex : ImpIndex.of(imps))
+                .build();
     }
 
     public AuctionContext with(BidResponse bidResponse) {
@@ -2,9 +2,12 @@ package org.prebid.server.auction.model;
 
 import com.iab.openrtb.request.BidRequest;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.bidder.model.Price;
+import org.prebid.server.json.SharedJsonValues;
 
 import java.util.Map;
 
@@ -22,6 +25,10 @@ public class BidderRequest {
 
     Map<String, Price> originalPriceFloors;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    SharedJsonValues sharedJsonValues;
+
     public BidderRequest with(BidRequest bidRequest) {
         return toBuilder().bidRequest(bidRequest).build();
     }
@@ -0,0 +1,115 @@
+package org.prebid.server.auction.model;
+
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Video;
+import lombok.Value;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.proto.openrtb.ext.request.ImpMediaType;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable index of request imps by id with attributes commonly needed to process bids for them.
+ * <p>
+ * Replaces linear search of the corresponding imp for each bid. Index is bound to the imps list it was built from,
+ * see {@link #isBuiltFor(List)}.
+ */
+public class ImpIndex {
+
+    private static final ImpIndex EMPTY = new ImpIndex(null, Collections.emptyMap());
+
+    private final List<Imp> imps;
+    private final Map<String, Entry> entries;
+
+    private ImpIndex(List<Imp> imps, Map<String, Entry> entries) {
+        this.imps = imps;
+        this.entries = entries;
+    }
+
+    public static ImpIndex of(List<Imp> imps) {
+        if (imps == null || imps.isEmpty()) {
+            return imps == null ? EMPTY : new ImpIndex(imps, Collections.emptyMap());
+        }
+
+        final Map<String, Entry> entries = new HashMap<>(imps.size() * 2);
+        for (Imp imp : imps) {
+            // first imp wins, as in search of the first matching imp
+            if (imp != null) {
+                entries.putIfAbsent(imp.getId(), Entry.of(imp));
+            }
+        }
+
+        return new ImpIndex(imps, Collections.unmodifiableMap(entries));
+    }
+
+    /**
+     * Returns true if index was built for exactly the given imps list instance.
+     */
+    public boolean isBuiltFor(List<Imp> imps) {
+        return this.imps == imps;
+    }
+
+    public Entry get(String impId) {
+        return entries.get(impId);
+    }
+
+    public Imp getImp(String impId) {
+        final Entry entry = entries.get(impId);
+        return entry != null ? entry.getImp() : null;
+    }
+
+    @Value
+    public static class Entry {
+
+        private static final Format ZERO_SIZE = Format.builder().w(0).h(0).build();
+
+        Imp imp;
+
+        /**
+         * Largest width and height among banner formats, zero if there are no formats.
+         */
+        Format bannerMaxSize;
+
+        /**
+         * {@link ImpMediaType#video_instream} or {@link ImpMediaType#video_outstream} for video bids.
+         */
+        ImpMediaType videoMediaType;
+
+        static Entry of(Imp imp) {
+            final Banner banner = imp.getBanner();
+            final List<Format> bannerFormats = ListUtils.emptyIfNull(banner != null ? banner.getFormat() : null);
+
+            return new Entry(imp, maxSize(bannerFormats), videoMediaType(imp.getVideo()));
+        }
+
+        private static Format maxSize(List<Format> formats) {
+            if (formats.isEmpty()) {
+                return ZERO_SIZE;
+            }
+
+            int maxW = 0;
+            int maxH = 0;
+            for (Format format : formats) {
+                if (format == null) {
+                    continue;
+                }
+                maxW = Math.max(maxW, ObjectUtils.defaultIfNull(format.getW(), 0));
+                maxH = Math.max(maxH, ObjectUtils.defaultIfNull(format.getH(), 0));
+            }
+            return Format.builder().w(maxW).h(maxH).build();
+        }
+
+        private static ImpMediaType videoMediaType(Video video) {
+            return video != null && (Objects.equals(video.getPlacement(), 1) || Objects.equals(video.getPlcmt(), 1))
+                    ? ImpMediaType.video_instream
+                    : ImpMediaType.video_outstream;
+        }
+    }
+}
@@ -1,16 +1,14 @@
 package org.prebid.server.auction.requestfactory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Regs;
 import io.vertx.core.Future;
+import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.RoutingContext;
 import org.prebid.server.auction.DebugResolver;
 import org.prebid.server.auction.GeoLocationServiceWrapper;
 import org.prebid.server.auction.ImplicitParametersExtractor;
 import org.prebid.server.auction.InterstitialProcessor;
-import org.prebid.server.auction.OrtbTypesResolver;
 import org.prebid.server.auction.externalortb.ProfilesProcessor;
 import org.prebid.server.auction.externalortb.StoredRequestProcessor;
 import org.prebid.server.auction.gpp.AuctionGppService;
@@ -21,14 +19,12 @@ import org.prebid.server.auction.versionconverter.BidRequestOrtbVersionConversio
 import org.prebid.server.bidadjustments.BidAdjustmentsEnricher;
 import org.prebid.server.cookie.CookieDeprecationService;
 import org.prebid.server.exception.InvalidRequestException;
-import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.model.Endpoint;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
 import org.prebid.server.settings.model.Account;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -50,8 +46,7 @@ public class AuctionRequestFactory {
     private final InterstitialProcessor interstitialProcessor;
     private final AuctionPrivacyContextFactory auctionPrivacyContextFactory;
     private final DebugResolver debugResolver;
-    private final JacksonMapper mapper;
-    private final OrtbTypesResolver ortbTypesResolver;
+    private final BidRequestDecoder bidRequestDecoder;
     private final GeoLocationServiceWrapper geoLocationServiceWrapper;
     private final BidAdjustmentsEnricher bidAdjustmentsEnricher;
 
@@ -67,10 +62,9 @@ public class AuctionRequestFactory {
                                  ImplicitParametersExtractor paramsExtractor,
                                  Ortb2ImplicitParametersResolver paramsResolver,
                                  InterstitialProcessor interstitialProcessor,
-                                 OrtbTypesResolver ortbTypesResolver,
+                                 BidRequestDecoder bidRequestDecoder,
                                  AuctionPrivacyContextFactory auctionPrivacyContextFactory,
                                  DebugResolver debugResolver,
-                                 JacksonMapper mapper,
                                  GeoLocationServiceWrapper geoLocationServiceWrapper,
                                  BidAdjustmentsEnricher bidAdjustmentsEnricher) {
 
@@ -84,10 +78,9 @@ public class AuctionRequestFactory {
         this.paramsExtractor = Objects.requireNonNull(paramsExtractor);
         this.paramsResolver = Objects.requireNonNull(paramsResolver);
         this.interstitialProcessor = Objects.requireNonNull(interstitialProcessor);
-        this.ortbTypesResolver = Objects.requireNonNull(ortbTypesResolver);
         this.auctionPrivacyContextFactory = Objects.requireNonNull(auctionPrivacyContextFactory);
         this.debugResolver = Objects.requireNonNull(debugResolver);
-        this.mapper = Objects.requireNonNull(mapper);
+        this.bidRequestDecoder = Objects.requireNonNull(bidRequestDecoder);
         this.geoLocationServiceWrapper = Objects.requireNonNull(geoLocationServiceWrapper);
         this.bidAdjustmentsEnricher = Objects.requireNonNull(bidAdjustmentsEnricher);
     }
@@ -161,13 +154,15 @@ public class AuctionRequestFactory {
     }
 
     private String extractAndValidateBody(RoutingContext routingContext) {
-        final String body = routingContext.body().asString();
-        if (body == null) {
-            throw new InvalidRequestException("Incoming request has no body");
+        final RequestBody requestBody = routingContext.body();
+        // size is limited in bytes, so oversized body is rejected before it is decoded to string
+        if (requestBody.length() > maxRequestSize) {
+            throw new InvalidRequestException("Request size exceeded max size of %d bytes.".formatted(maxRequestSize));
         }
 
-        if (body.length() > maxRequestSize) {
-            throw new InvalidRequestException("Request size exceeded max size of %d bytes.".formatted(maxRequestSize));
+        final String body = requestBody.asString();
+        if (body == null) {
+            throw new InvalidRequestException("Incoming request has no body");
         }
 
         return body;
@@ -175,34 +170,15 @@ public class AuctionRequestFactory {
 
     private Future<BidRequest> parseBidRequest(HttpRequestContext httpRequest, List<String> errors) {
         try {
-            final JsonNode bidRequestNode = bodyAsJsonNode(httpRequest.getBody());
-
             final String referer = paramsExtractor.refererFrom(httpRequest);
-            ortbTypesResolver.normalizeBidRequest(bidRequestNode, errors, referer);
+            final BidRequest bidRequest = bidRequestDecoder.decode(httpRequest.getBody(), errors, referer);
 
-            return Future.succeededFuture(jsonNodeAsBidRequest(bidRequestNode))
-                    .map(bidRequest -> fillWithValuesFromHttpRequest(bidRequest, httpRequest));
+            return Future.succeededFuture(fillWithValuesFromHttpRequest(bidRequest, httpRequest));
         } catch (Exception e) {
             return Future.failedFuture(e);
         }
     }
 
-    private JsonNode bodyAsJsonNode(String body) {
-        try {
-            return mapper.mapper().readTree(body);
-        } catch (IOException e) {
-            throw new InvalidRequestException("Error decoding bidRequest: " + e.getMessage());
-        }
-    }
-
-    private BidRequest jsonNodeAsBidRequest(JsonNode bidRequestNode) {
-        try {
-            return mapper.mapper().treeToValue(bidRequestNode, BidRequest.class);
-        } catch (JsonProcessingException e) {
-            throw new InvalidRequestException("Error decoding bidRequest: " + e.getMessage());
-        }
-    }
-
     private BidRequest fillWithValuesFromHttpRequest(BidRequest bidRequest, HttpRequestContext httpRequest) {
         return !containsRegsExtGpc(bidRequest)
                 ? bidRequest.toBuilder()
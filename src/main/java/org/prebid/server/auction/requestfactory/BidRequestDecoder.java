@@ -0,0 +1,85 @@
+package org.prebid.server.auction.requestfactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.auction.OrtbTypesResolver;
+import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.json.JacksonMapper;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decodes incoming {@link BidRequest} with a single pass over the request body.
+ * <p>
+ * Only top-level fields normalized by {@link OrtbTypesResolver} are read as {@link JsonNode}s. All other fields
+ * (imps, etc.) are copied as tokens, so the whole request is never materialized as a tree before it is bound.
+ */
+public class BidRequestDecoder {
+
+    private final OrtbTypesResolver ortbTypesResolver;
+    private final JacksonMapper mapper;
+
+    public BidRequestDecoder(OrtbTypesResolver ortbTypesResolver, JacksonMapper mapper) {
+        this.ortbTypesResolver = Objects.requireNonNull(ortbTypesResolver);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * Throws {@link InvalidRequestException} if body couldn't be deserialized.
+     */
+    public BidRequest decode(String body, List<String> warnings, String referer) {
+        final ObjectMapper objectMapper = mapper.mapper();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            return parser.nextToken() == JsonToken.START_OBJECT
+                    ? decodeObject(parser, objectMapper, warnings, referer)
+                    : objectMapper.readValue(parser, BidRequest.class);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Error decoding bidRequest: " + e.getMessage());
+        }
+    }
+
+    private BidRequest decodeObject(JsonParser parser,
+                                    ObjectMapper objectMapper,
+                                    List<String> warnings,
+                                    String referer) throws IOException {
+
+        final ObjectNode normalizedFields = objectMapper.createObjectNode();
+        final TokenBuffer bidRequestTokens = new TokenBuffer(parser);
+        bidRequestTokens.writeStartObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            parser.nextToken();
+
+            if (OrtbTypesResolver.NORMALIZED_BID_REQUEST_FIELDS.contains(fieldName)) {
+                normalizedFields.set(fieldName, objectMapper.readTree(parser));
+            } else {
+                bidRequestTokens.writeFieldName(fieldName);
+                bidRequestTokens.copyCurrentStructure(parser);
+            }
+        }
+
+        ortbTypesResolver.normalizeBidRequest(normalizedFields, warnings, referer);
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = normalizedFields.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            bidRequestTokens.writeFieldName(field.getKey());
+            objectMapper.writeTree(bidRequestTokens, field.getValue());
+        }
+        bidRequestTokens.writeEndObject();
+
+        try (JsonParser bidRequestParser = bidRequestTokens.asParser(objectMapper)) {
+            return objectMapper.readValue(bidRequestParser, BidRequest.class);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.iab.openrtb.request.video.Pod;
 import com.iab.openrtb.request.video.PodError;
 import com.iab.openrtb.request.video.Podconfig;
 import io.vertx.core.Future;
+import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -172,13 +173,15 @@ public class VideoRequestFactory {
     }
 
     private String extractAndValidateBody(RoutingContext routingContext) {
-        final String body = routingContext.body().asString();
-        if (body == null) {
-            throw new InvalidRequestException("Incoming request has no body");
+        final RequestBody requestBody = routingContext.body();
+        // size is limited in bytes, so oversized body is rejected before it is decoded to string
+        if (requestBody.length() > maxRequestSize) {
+            throw new InvalidRequestException("Request size exceeded max size of %d bytes.".formatted(maxRequestSize));
         }
 
-        if (body.length() > maxRequestSize) {
-            throw new InvalidRequestException("Request size exceeded max size of %d bytes.".formatted(maxRequestSize));
+        final String body = requestBody.asString();
+        if (body == null) {
+            throw new InvalidRequestException("Incoming request has no body");
         }
 
         return body;
@@ -11,6 +11,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.ImpMediaTypeResolver;
 import org.prebid.server.auction.model.AuctionParticipation;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderError;
 import org.prebid.server.bidder.model.BidderSeatBid;
@@ -55,7 +56,8 @@ public class BidAdjustmentsProcessor {
     }
 
     public AuctionParticipation enrichWithAdjustedBids(AuctionParticipation auctionParticipation,
-                                                       BidRequest bidRequest) {
+                                                       BidRequest bidRequest,
+                                                       ImpIndex impIndex) {
 
         if (auctionParticipation.isRequestBlocked()) {
             return auctionParticipation;
@@ -73,7 +75,7 @@ public class BidAdjustmentsProcessor {
         final String bidder = auctionParticipation.getBidder();
 
         final List<BidderBid> updatedBidderBids = bidderBids.stream()
-                .map(bidderBid -> applyBidAdjustments(bidderBid, bidRequest, bidder, errors))
+                .map(bidderBid -> applyBidAdjustments(bidderBid, bidRequest, impIndex, bidder, errors))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
@@ -87,6 +89,7 @@ public class BidAdjustmentsProcessor {
 
     private BidderBid applyBidAdjustments(BidderBid bidderBid,
                                           BidRequest bidRequest,
+                                          ImpIndex impIndex,
                                           String bidder,
                                           List<BidderError> errors) {
         try {
@@ -94,7 +97,7 @@ public class BidAdjustmentsProcessor {
 
             final ImpMediaType mediaType = ImpMediaTypeResolver.resolve(
                     bidderBid.getBid().getImpid(),
-                    bidRequest.getImp(),
+                    impIndex,
                     bidderBid.getType());
 
             final Price priceWithFactorsApplied = applyBidAdjustmentFactors(
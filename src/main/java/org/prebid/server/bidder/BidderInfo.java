@@ -5,9 +5,11 @@ import lombok.Value;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.EndpointFormat;
 import org.prebid.server.spring.config.bidder.model.MediaType;
 
 import java.util.List;
+import java.util.zip.Deflater;
 
 @Value(staticConstructor = "of")
 public class BidderInfo {
@@ -38,6 +40,10 @@ public class BidderInfo {
 
     CompressionType compressionType;
 
+    int compressionLevel;
+
+    EndpointFormat endpointFormat;
+
     Ortb ortb;
 
     long tmaxDeductionMs;
@@ -60,6 +66,48 @@ public class BidderInfo {
                                     org.prebid.server.spring.config.bidder.model.Ortb ortb,
                                     long tmaxDeductionMs) {
 
+        return create(
+                enabled,
+                ortbVersion,
+                debugAllowed,
+                endpoint,
+                aliasOf,
+                maintainerEmail,
+                appMediaTypes,
+                siteMediaTypes,
+                doohMediaTypes,
+                supportedVendors,
+                vendorId,
+                currencyAccepted,
+                ccpaEnforced,
+                modifyingVastXmlAllowed,
+                compressionType,
+                Deflater.DEFAULT_COMPRESSION,
+                EndpointFormat.JSON,
+                ortb,
+                tmaxDeductionMs);
+    }
+
+    public static BidderInfo create(boolean enabled,
+                                    OrtbVersion ortbVersion,
+                                    boolean debugAllowed,
+                                    String endpoint,
+                                    String aliasOf,
+                                    String maintainerEmail,
+                                    List<MediaType> appMediaTypes,
+                                    List<MediaType> siteMediaTypes,
+                                    List<MediaType> doohMediaTypes,
+                                    List<String> supportedVendors,
+                                    int vendorId,
+                                    List<String> currencyAccepted,
+                                    boolean ccpaEnforced,
+                                    boolean modifyingVastXmlAllowed,
+                                    CompressionType compressionType,
+                                    int compressionLevel,
+                                    EndpointFormat endpointFormat,
+                                    org.prebid.server.spring.config.bidder.model.Ortb ortb,
+                                    long tmaxDeductionMs) {
+
         return of(
                 enabled,
                 ortbVersion,
@@ -77,6 +125,8 @@ public class BidderInfo {
                 ccpaEnforced,
                 modifyingVastXmlAllowed,
                 compressionType,
+                compressionLevel,
+                endpointFormat,
                 Ortb.of(ortb.getMultiFormatSupported()),
                 tmaxDeductionMs);
     }
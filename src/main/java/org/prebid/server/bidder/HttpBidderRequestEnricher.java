@@ -13,6 +13,8 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidChannel;
 import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.EndpointFormat;
+import org.prebid.server.util.GzipUtil;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.version.PrebidVersionProvider;
 
@@ -54,6 +56,7 @@ public class HttpBidderRequestEnricher {
         addOriginalRequestHeaders(bidderRequestHeadersCopy, originalRequestHeaders);
         addXPrebidHeader(bidderRequestHeadersCopy, bidRequest);
         addContentEncodingHeader(bidderRequestHeadersCopy, resolveCompressionType(bidderName, aliases));
+        addProtobufHeaders(bidderRequestHeadersCopy, resolveEndpointFormat(bidderName, aliases));
 
         return bidderRequestHeadersCopy;
     }
@@ -112,9 +115,28 @@ public class HttpBidderRequestEnricher {
         }
     }
 
+    private static void addProtobufHeaders(MultiMap bidderHeaders, EndpointFormat endpointFormat) {
+        if (endpointFormat == EndpointFormat.PROTOBUF) {
+            bidderHeaders.set(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+            bidderHeaders.set(HttpUtil.ACCEPT_HEADER, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+        }
+    }
+
     private CompressionType resolveCompressionType(String bidderName, BidderAliases aliases) {
         return Optional.ofNullable(bidderCatalog.bidderInfoByName(aliases.resolveBidder(bidderName)))
                 .map(BidderInfo::getCompressionType)
                 .orElse(CompressionType.NONE);
     }
+
+    private EndpointFormat resolveEndpointFormat(String bidderName, BidderAliases aliases) {
+        return Optional.ofNullable(bidderCatalog.bidderInfoByName(aliases.resolveBidder(bidderName)))
+                .map(BidderInfo::getEndpointFormat)
+                .orElse(EndpointFormat.JSON);
+    }
+
+    int resolveCompressionLevel(String bidderName, BidderAliases aliases) {
+        return Optional.ofNullable(bidderCatalog.bidderInfoByName(aliases.resolveBidder(bidderName)))
+                .map(BidderInfo::getCompressionLevel)
+                .orElse(GzipUtil.DEFAULT_LEVEL);
+    }
 }
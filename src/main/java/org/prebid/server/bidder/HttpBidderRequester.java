@@ -6,8 +6,10 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.auction.AdaptiveBidderTimeoutResolver;
 import org.prebid.server.auction.aliases.BidderAliases;
 import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.model.BidRejectionReason;
@@ -25,6 +27,7 @@ import org.prebid.server.bidder.model.Result;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.SharedJsonValues;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
@@ -32,12 +35,12 @@ import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.proto.openrtb.ext.response.ExtIgi;
 import org.prebid.server.proto.openrtb.ext.response.FledgeAuctionConfig;
+import org.prebid.server.util.GzipUtil;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,7 +52,6 @@ import java.util.Set;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Stream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Implements HTTP communication functionality common for {@link Bidder}'s.
@@ -70,6 +72,9 @@ public class HttpBidderRequester {
     private final BidderErrorNotifier bidderErrorNotifier;
     private final HttpBidderRequestEnricher requestEnricher;
     private final JacksonMapper mapper;
+    private final ProtobufBidderCodec protobufCodec;
+    private final AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver;
+    private final Clock clock;
     private final double logSamplingRate;
 
     public HttpBidderRequester(HttpClient httpClient,
@@ -77,6 +82,9 @@ public class HttpBidderRequester {
                                BidderErrorNotifier bidderErrorNotifier,
                                HttpBidderRequestEnricher requestEnricher,
                                JacksonMapper mapper,
+                               ProtobufBidderCodec protobufCodec,
+                               AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver,
+                               Clock clock,
                                double logSamplingRate) {
 
         this.httpClient = Objects.requireNonNull(httpClient);
@@ -84,6 +92,9 @@ public class HttpBidderRequester {
         this.bidderErrorNotifier = Objects.requireNonNull(bidderErrorNotifier);
         this.requestEnricher = Objects.requireNonNull(requestEnricher);
         this.mapper = Objects.requireNonNull(mapper);
+        this.protobufCodec = Objects.requireNonNull(protobufCodec);
+        this.adaptiveBidderTimeoutResolver = Objects.requireNonNull(adaptiveBidderTimeoutResolver);
+        this.clock = Objects.requireNonNull(clock);
         this.logSamplingRate = logSamplingRate;
     }
 
@@ -101,7 +112,7 @@ public class HttpBidderRequester {
         final String bidderName = bidderRequest.getBidder();
         final BidRequest bidRequest = bidderRequest.getBidRequest();
 
-        final Result<List<HttpRequest<T>>> httpRequestsWithErrors = bidder.makeHttpRequests(bidRequest);
+        final Result<List<HttpRequest<T>>> httpRequestsWithErrors = makeHttpRequests(bidder, bidderRequest);
         final List<BidderError> errors = httpRequestsWithErrors.getErrors();
         final List<HttpRequest<T>> httpRequests = enrichRequests(
                 bidderName, httpRequestsWithErrors.getValue(), requestHeaders, aliases, bidRequest);
@@ -115,14 +126,16 @@ public class HttpBidderRequester {
         final String storedResponse = bidderRequest.getStoredResponse();
 
         // stored response available only for single request interaction for the moment.
+        final int compressionLevel = requestEnricher.resolveCompressionLevel(bidderName, aliases);
         final Stream<Future<BidderCall<T>>> httpCalls = isStoredResponse(httpRequests, storedResponse, bidderName)
                 ? Stream.of(makeStoredHttpCall(httpRequests.getFirst(), storedResponse))
-                : httpRequests.stream().map(httpRequest -> doRequest(httpRequest, timeout));
+                : httpRequests.stream()
+                        .map(httpRequest -> doRequest(bidderName, httpRequest, timeout, compressionLevel));
 
         // httpCalls contains recovered and mapped to succeeded Future<BidderHttpCall> with error inside
         final BidderRequestCompletionTracker completionTracker = completionTrackerFactory.create(bidRequest);
         final ResultBuilder<T> resultBuilder = new ResultBuilder<>(
-                httpRequests, errors, completionTracker, bidRejectionTracker, mapper);
+                httpRequests, errors, completionTracker, bidRejectionTracker, mapper, protobufCodec);
 
         final List<Future<Void>> httpRequestFutures = httpCalls
                 .map(httpCallFuture -> httpCallFuture
@@ -137,6 +150,16 @@ public class HttpBidderRequester {
                 .onSuccess(seatBid -> bidRejectionTracker.restoreFromRejection(seatBid.getBids()));
     }
 
+    private static <T> Result<List<HttpRequest<T>>> makeHttpRequests(Bidder<T> bidder, BidderRequest bidderRequest) {
+        final BidRequest bidRequest = bidderRequest.getBidRequest();
+        final SharedJsonValues sharedJsonValues = bidderRequest.getSharedJsonValues();
+
+        // bidders encode their requests synchronously, so auction's shared values are picked up by the mapper
+        return sharedJsonValues != null
+                ? sharedJsonValues.within(() -> bidder.makeHttpRequests(bidRequest))
+                : bidder.makeHttpRequests(bidRequest);
+    }
+
     private <T> List<HttpRequest<T>> enrichRequests(String bidderName,
                                                     List<HttpRequest<T>> httpRequests,
                                                     CaseInsensitiveMultiMap requestHeaders,
@@ -199,48 +222,79 @@ public class HttpBidderRequester {
     /**
      * Makes an HTTP request and returns {@link Future} that will be eventually completed with success or error result.
      */
-    private <T> Future<BidderCall<T>> doRequest(HttpRequest<T> httpRequest, Timeout timeout) {
+    private <T> Future<BidderCall<T>> doRequest(String bidderName,
+                                                HttpRequest<T> httpRequest,
+                                                Timeout timeout,
+                                                int compressionLevel) {
+
         final long remainingTimeout = timeout.remaining();
         if (remainingTimeout <= 0) {
             return failResponse(new TimeoutException("Timeout has been exceeded"), httpRequest);
         }
 
-        return createRequest(httpRequest, remainingTimeout)
+        return createRequest(bidderName, httpRequest, remainingTimeout, compressionLevel)
                 .compose(response -> processResponse(response, httpRequest))
                 .recover(exception -> failResponse(exception, httpRequest));
     }
 
-    private <T> Future<HttpClientResponse> createRequest(HttpRequest<T> httpRequest, long remainingTimeout) {
+    private <T> Future<HttpClientResponse> createRequest(String bidderName,
+                                                         HttpRequest<T> httpRequest,
+                                                         long remainingTimeout,
+                                                         int compressionLevel) {
+
         final MultiMap requestHeaders = httpRequest.getHeaders();
-        final byte[] preparedBody = compressIfRequired(httpRequest.getBody(), requestHeaders);
 
-        return httpClient.request(
+        final byte[] body;
+        try {
+            body = ProtobufBidderCodec.isProtobuf(requestHeaders.get(HttpUtil.CONTENT_TYPE_HEADER))
+                    ? protobufCodec.encodeBidRequest(httpRequest.getPayload())
+                    : httpRequest.getBody();
+        } catch (RuntimeException e) {
+            return Future.failedFuture(new PreBidException("Failed to encode request : " + e.getMessage()));
+        }
+
+        final String contentEncodingHeader = requestHeaders.get(HttpUtil.CONTENT_ENCODING_HEADER);
+        if (!Objects.equals(contentEncodingHeader, HttpHeaderValues.GZIP.toString())) {
+            final long startTime = clock.millis();
+            return recordResponseTime(bidderName, startTime, httpClient.request(
+                    httpRequest.getMethod(),
+                    httpRequest.getUri(),
+                    requestHeaders,
+                    body,
+                    remainingTimeout));
+        }
+
+        final Buffer compressedBody;
+        try {
+            compressedBody = GzipUtil.gzip(body, compressionLevel);
+        } catch (RuntimeException e) {
+            return Future.failedFuture(new PreBidException("Failed to compress request : " + e.getMessage()));
+        }
+
+        final long startTime = clock.millis();
+        return recordResponseTime(bidderName, startTime, httpClient.request(
                 httpRequest.getMethod(),
                 httpRequest.getUri(),
                 requestHeaders,
-                preparedBody,
-                remainingTimeout);
-    }
-
-    private static byte[] compressIfRequired(byte[] body, MultiMap headers) {
-        final String contentEncodingHeader = headers.get(HttpUtil.CONTENT_ENCODING_HEADER);
-        return Objects.equals(contentEncodingHeader, HttpHeaderValues.GZIP.toString())
-                ? gzip(body)
-                : body;
+                compressedBody,
+                remainingTimeout));
     }
 
-    private static byte[] gzip(byte[] value) {
-        try (
-                ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value);
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("Failed to compress request : " + e.getMessage());
-        }
+    /**
+     * Records response time of the bidder observed on the HTTP exchange. Exchange cut by timeout is recorded as
+     * such, since the bidder's real response time is unknown for it, other failed exchanges are not recorded at all.
+     */
+    private Future<HttpClientResponse> recordResponseTime(String bidderName,
+                                                          long startTime,
+                                                          Future<HttpClientResponse> exchange) {
+
+        return exchange.onComplete(result -> {
+            if (result.succeeded()) {
+                adaptiveBidderTimeoutResolver.recordResponseTime(bidderName, clock.millis() - startTime);
+            } else if (isTimeout(result.cause())) {
+                adaptiveBidderTimeoutResolver.recordTimeout(bidderName);
+            }
+        });
     }
 
     /**
@@ -252,27 +306,41 @@ public class HttpBidderRequester {
         logger.debug("Error occurred while sending HTTP request to a bidder url: {}",
                 exception, httpRequest.getUri());
 
-        final BidderError.Type errorType =
-                exception instanceof TimeoutException || exception instanceof ConnectTimeoutException
-                        ? BidderError.Type.timeout
-                        : BidderError.Type.generic;
+        final BidderError.Type errorType = isTimeout(exception)
+                ? BidderError.Type.timeout
+                : BidderError.Type.generic;
 
         return Future.succeededFuture(
                 BidderCall.failedHttp(httpRequest, BidderError.create(exception.getMessage(), errorType)));
     }
 
+    private static boolean isTimeout(Throwable exception) {
+        return exception instanceof TimeoutException || exception instanceof ConnectTimeoutException;
+    }
+
     /**
      * Produces {@link Future} with {@link BidderCall} containing request, response and possible error description
      * (if status code indicates an error).
+     * <p>
+     * Protobuf response body is decoded to JSON, so {@link Bidder}s and debug output see it the usual way.
      */
-    private static <T> Future<BidderCall<T>> processResponse(HttpClientResponse response,
-                                                             HttpRequest<T> httpRequest) {
-
+    private <T> Future<BidderCall<T>> processResponse(HttpClientResponse response, HttpRequest<T> httpRequest) {
         final int statusCode = response.getStatusCode();
-        final HttpResponse httpResponse = HttpResponse.of(statusCode, response.getHeaders(), response.getBody());
+        final MultiMap headers = response.getHeaders();
+        final Buffer body = isProtobufResponse(statusCode, headers)
+                ? protobufCodec.decodeBidResponse(response.getBodyBuffer())
+                : response.getBodyBuffer();
+
+        final HttpResponse httpResponse = HttpResponse.ofBuffer(statusCode, headers, body);
         return Future.succeededFuture(BidderCall.succeededHttp(httpRequest, httpResponse, errorOrNull(statusCode)));
     }
 
+    private static boolean isProtobufResponse(int statusCode, MultiMap headers) {
+        return statusCode == HttpResponseStatus.OK.code()
+                && headers != null
+                && ProtobufBidderCodec.isProtobuf(headers.get(HttpUtil.CONTENT_TYPE_HEADER));
+    }
+
     /**
      * Returns {@link BidderError} if HTTP status code is not successful, or null otherwise.
      */
@@ -342,6 +410,7 @@ public class HttpBidderRequester {
         private final BidderRequestCompletionTracker completionTracker;
         private final BidRejectionTracker bidRejectionTracker;
         private final JacksonMapper mapper;
+        private final ProtobufBidderCodec protobufCodec;
 
         private final Map<HttpRequest<T>, BidderCall<T>> bidderCallsRecorded = new HashMap<>();
         private final List<BidderBid> bidsRecorded = new ArrayList<>();
@@ -353,13 +422,15 @@ public class HttpBidderRequester {
                       List<BidderError> previousErrors,
                       BidderRequestCompletionTracker completionTracker,
                       BidRejectionTracker bidRejectionTracker,
-                      JacksonMapper mapper) {
+                      JacksonMapper mapper,
+                      ProtobufBidderCodec protobufCodec) {
 
             this.httpRequests = httpRequests;
             this.previousErrors = previousErrors;
             this.completionTracker = completionTracker;
             this.bidRejectionTracker = bidRejectionTracker;
             this.mapper = mapper;
+            this.protobufCodec = protobufCodec;
         }
 
         void addHttpCall(BidderCall<T> bidderCall, CompositeBidderResponse bidderResponse) {
@@ -468,7 +539,7 @@ public class HttpBidderRequester {
             final ExtHttpCall.ExtHttpCallBuilder builder = ExtHttpCall.builder()
                     .uri(request.getUri())
                     .calltype(callType != BidderCallType.HTTP ? callType : null)
-                    .requestbody(mapper.encodeToString(request.getPayload()))
+                    .requestbody(requestBody(request))
                     .requestheaders(HttpUtil.toDebugHeaders(request.getHeaders()));
 
             final HttpResponse response = httpCall.getResponse();
@@ -480,6 +551,22 @@ public class HttpBidderRequester {
             return builder.build();
         }
 
+        /**
+         * Returns request body as it was sent: protobuf requests are shown in protobuf text form, which is also
+         * absent if encoding has failed and nothing was sent.
+         */
+        private String requestBody(HttpRequest<T> request) {
+            if (!ProtobufBidderCodec.isProtobuf(request.getHeaders().get(HttpUtil.CONTENT_TYPE_HEADER))) {
+                return mapper.encodeToString(request.getPayload());
+            }
+
+            try {
+                return protobufCodec.describeBidRequest(request.getPayload());
+            } catch (PreBidException e) {
+                return null;
+            }
+        }
+
         /**
          * Assembles all errors for {@link BidderSeatBid} into the list of {@link BidderError}s.
          */
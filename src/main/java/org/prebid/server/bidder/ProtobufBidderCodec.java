@@ -0,0 +1,188 @@
+package org.prebid.server.bidder;
+
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.TextFormat;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
+import com.iab.openrtb.response.BidResponse;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import io.vertx.core.buffer.Buffer;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.auction.versionconverter.OrtbVersion;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.protobuf.ProtobufMapper;
+import org.prebid.server.protobuf.request.ProtobufRequestUtils;
+import org.prebid.server.protobuf.request.RequestExtensionMappersSpecification;
+import org.prebid.server.protobuf.response.ProtobufBackwardExtensionMapper;
+import org.prebid.server.protobuf.response.ProtobufResponseUtils;
+import org.prebid.server.protobuf.response.ResponseExtensionMappersSpecification;
+import org.prebid.server.spring.config.bidder.model.EndpointFormat;
+import org.prebid.server.util.HttpUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Encodes bidder requests to and decodes bidder responses from OpenRTB protobuf messages.
+ * <p>
+ * Only extensions with mappers in the given specifications are transferred, all other {@code ext} objects are
+ * dropped. Decoded responses are handed to {@link Bidder}s as JSON, so bidders don't need to know about protobuf.
+ * <p>
+ * Privacy signals are never dropped silently: OpenRTB protobuf has no fields for OpenRTB 2.6 privacy fields, so
+ * requests carrying them are refused, and bidders are not allowed to use protobuf at all unless regs, user and source
+ * extensions, where OpenRTB 2.5 keeps these signals, can be encoded.
+ */
+public class ProtobufBidderCodec {
+
+    private final ProtobufMapper<BidRequest, OpenRtb.BidRequest> bidRequestMapper;
+    private final ProtobufMapper<OpenRtb.BidResponse, BidResponse> bidResponseMapper;
+    private final ExtensionRegistry responseExtensionRegistry;
+    private final boolean privacyExtensionsMapped;
+    private final JacksonMapper mapper;
+
+    public ProtobufBidderCodec(RequestExtensionMappersSpecification requestSpecification,
+                               ResponseExtensionMappersSpecification responseSpecification,
+                               JacksonMapper mapper) {
+
+        this.bidRequestMapper = ProtobufRequestUtils.bidRequestMapper(Objects.requireNonNull(requestSpecification));
+        this.bidResponseMapper = ProtobufResponseUtils.bidResponseMapper(Objects.requireNonNull(responseSpecification));
+        this.responseExtensionRegistry = extensionRegistry(responseSpecification);
+        this.privacyExtensionsMapped = requestSpecification.regsExtMapper() != null
+                && requestSpecification.userExtMapper() != null
+                && requestSpecification.sourceExtMapper() != null;
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    private static ExtensionRegistry extensionRegistry(ResponseExtensionMappersSpecification specification) {
+        final ExtensionRegistry extensionRegistry = ExtensionRegistry.newInstance();
+        Stream.<ProtobufBackwardExtensionMapper<?, ?, ?>>of(
+                        specification.bidResponseExtMapper(),
+                        specification.seatBidExtMapper(),
+                        specification.bidExtMapper(),
+                        specification.nativeResponseExtMapper(),
+                        specification.assetExtMapper(),
+                        specification.titleExtMapper(),
+                        specification.videoExtMapper(),
+                        specification.imageExtMapper(),
+                        specification.dataExtMapper(),
+                        specification.linkExtMapper(),
+                        specification.eventTrackerExtMapper())
+                .filter(Objects::nonNull)
+                .forEach(extensionMapper -> extensionRegistry.add(extensionMapper.extensionDescriptor()));
+
+        return extensionRegistry.getUnmodifiable();
+    }
+
+    public static boolean isProtobuf(String contentType) {
+        return StringUtils.startsWithIgnoreCase(contentType, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} if any active bidder uses protobuf endpoint format, while its privacy
+     * signals can't be encoded.
+     */
+    public void validateBidders(BidderCatalog bidderCatalog) {
+        final List<String> invalidBidders = bidderCatalog.names().stream()
+                .filter(bidderCatalog::isActive)
+                .filter(bidder -> !canEncodePrivacySignals(bidderCatalog.bidderInfoByName(bidder)))
+                .sorted()
+                .toList();
+
+        if (!invalidBidders.isEmpty()) {
+            throw new IllegalArgumentException(("Protobuf endpoint format can't carry privacy signals of bidders %s: "
+                    + "it needs OpenRTB 2.5 bidders and protobuf extension mappers for regs, user and source")
+                    .formatted(invalidBidders));
+        }
+    }
+
+    private boolean canEncodePrivacySignals(BidderInfo bidderInfo) {
+        return bidderInfo.getEndpointFormat() != EndpointFormat.PROTOBUF
+                || (privacyExtensionsMapped && bidderInfo.getOrtbVersion() == OrtbVersion.ORTB_2_5);
+    }
+
+    /**
+     * Encodes {@link BidRequest} payload of the bidder request.
+     * <p>
+     * Throws {@link PreBidException} if payload is not a {@link BidRequest} or carries privacy fields which can't be
+     * encoded.
+     */
+    public byte[] encodeBidRequest(Object payload) {
+        return toProtobuf(payload).toByteArray();
+    }
+
+    /**
+     * Returns text form of the protobuf message {@link BidRequest} payload is encoded to, so debug output shows
+     * what is actually sent to the bidder.
+     * <p>
+     * Throws {@link PreBidException} if payload can't be encoded.
+     */
+    public String describeBidRequest(Object payload) {
+        return TextFormat.printer().printToString(toProtobuf(payload));
+    }
+
+    private OpenRtb.BidRequest toProtobuf(Object payload) {
+        if (!(payload instanceof BidRequest bidRequest)) {
+            throw new PreBidException("Request payload of type %s can't be encoded to protobuf"
+                    .formatted(payload != null ? payload.getClass().getSimpleName() : null));
+        }
+
+        final List<String> privacyFields = notEncodablePrivacyFields(bidRequest);
+        if (!privacyFields.isEmpty()) {
+            throw new PreBidException("Privacy fields %s can't be encoded to protobuf".formatted(privacyFields));
+        }
+
+        return bidRequestMapper.map(bidRequest);
+    }
+
+    private static List<String> notEncodablePrivacyFields(BidRequest bidRequest) {
+        final List<String> fields = new ArrayList<>();
+
+        final Regs regs = bidRequest.getRegs();
+        if (regs != null) {
+            addIfPresent(fields, "regs.gdpr", regs.getGdpr());
+            addIfPresent(fields, "regs.us_privacy", regs.getUsPrivacy());
+            addIfPresent(fields, "regs.gpp", regs.getGpp());
+            addIfPresent(fields, "regs.gpp_sid", regs.getGppSid());
+        }
+
+        final User user = bidRequest.getUser();
+        if (user != null) {
+            addIfPresent(fields, "user.consent", user.getConsent());
+        }
+
+        final Source source = bidRequest.getSource();
+        if (source != null) {
+            addIfPresent(fields, "source.schain", source.getSchain());
+        }
+
+        return fields;
+    }
+
+    private static void addIfPresent(List<String> fields, String field, Object value) {
+        if (value != null) {
+            fields.add(field);
+        }
+    }
+
+    /**
+     * Decodes protobuf bidder response and returns it encoded as JSON.
+     * <p>
+     * Throws {@link PreBidException} if body is not a valid protobuf {@link OpenRtb.BidResponse}.
+     */
+    public Buffer decodeBidResponse(Buffer body) {
+        final OpenRtb.BidResponse bidResponse;
+        try {
+            bidResponse = OpenRtb.BidResponse.parseFrom(body.getBytes(), responseExtensionRegistry);
+        } catch (InvalidProtocolBufferException e) {
+            throw new PreBidException("Failed to decode protobuf bid response: " + e.getMessage());
+        }
+
+        return mapper.encodeToBuffer(bidResponseMapper.map(bidResponse));
+    }
+}
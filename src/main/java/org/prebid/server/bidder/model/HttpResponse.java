@@ -1,17 +1,52 @@
 package org.prebid.server.bidder.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * Packages together information from the server's http response.
+ * <p>
+ * Bidders may decode {@link #getBodyBuffer()} directly to skip building {@link String} body. When created by
+ * {@link #ofBuffer}, {@link #getBody()} decodes the raw body on the first call only.
  */
-@Value(staticConstructor = "of")
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class HttpResponse {
 
     int statusCode;
 
     MultiMap headers;
 
-    String body;
+    Buffer bodyBuffer;
+
+    // decoded lazily from bodyBuffer, racing decodes are harmless as they produce equal strings
+    @NonFinal
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient String body;
+
+    public static HttpResponse of(int statusCode, MultiMap headers, String body) {
+        final Buffer bodyBuffer = body != null ? Buffer.buffer(body, StandardCharsets.UTF_8.name()) : null;
+        return new HttpResponse(statusCode, headers, bodyBuffer, body);
+    }
+
+    public static HttpResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return new HttpResponse(statusCode, headers, body, null);
+    }
+
+    public String getBody() {
+        if (body == null && bodyBuffer != null) {
+            body = bodyBuffer.toString(StandardCharsets.UTF_8);
+        }
+
+        return body;
+    }
 }
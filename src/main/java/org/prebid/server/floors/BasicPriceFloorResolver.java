@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.App;
 import com.iab.openrtb.request.Banner;
 import com.iab.openrtb.request.BidRequest;
@@ -46,22 +48,17 @@ import org.prebid.server.proto.openrtb.ext.request.ImpMediaType;
 import org.prebid.server.util.BidderUtil;
 import org.prebid.server.util.IterableUtil;
 import org.prebid.server.util.ObjectUtil;
-import org.prebid.server.util.dsl.config.PrebidConfigMatchingStrategy;
 import org.prebid.server.util.dsl.config.PrebidConfigParameter;
 import org.prebid.server.util.dsl.config.PrebidConfigParameters;
-import org.prebid.server.util.dsl.config.PrebidConfigSource;
 import org.prebid.server.util.dsl.config.impl.MostAccurateCombinationStrategy;
 import org.prebid.server.util.dsl.config.impl.SimpleDirectParameter;
 import org.prebid.server.util.dsl.config.impl.SimpleParameters;
-import org.prebid.server.util.dsl.config.impl.SimpleSource;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -72,8 +69,6 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
     private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
 
     private static final String DEFAULT_RULES_CURRENCY = "USD";
-    private static final String SCHEMA_DEFAULT_DELIMITER = "|";
-    private static final String WILDCARD_CATCH_ALL = "*";
 
     private static final String VIDEO_ALIAS = "video-instream";
 
@@ -94,7 +89,8 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
     private final Metrics metrics;
     private final JacksonMapper mapper;
 
-    private final PrebidConfigMatchingStrategy matchingStrategy;
+    private final MostAccurateCombinationStrategy matchingStrategy;
+    private final Cache<PriceFloorModelGroup, PriceFloorRulesIndex> rulesIndexes;
 
     public BasicPriceFloorResolver(CurrencyConversionService currencyConversionService,
                                    CountryCodeMapper countryCodeMapper,
@@ -107,6 +103,8 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
         this.mapper = Objects.requireNonNull(mapper);
 
         matchingStrategy = new MostAccurateCombinationStrategy();
+        // weak keys are compared by identity, so index lives as long as fetched or request floors data does
+        rulesIndexes = Caffeine.newBuilder().weakKeys().build();
     }
 
     @Override
@@ -137,15 +135,11 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
             return null;
         }
 
-        final Map<String, BigDecimal> values = keysToLowerCase(modelGroup.getValues());
-        final PrebidConfigSource source = SimpleSource.of(
-                WILDCARD_CATCH_ALL,
-                ObjectUtils.defaultIfNull(schema.getDelimiter(), SCHEMA_DEFAULT_DELIMITER),
-                values.keySet());
+        final PriceFloorRulesIndex rulesIndex = rulesIndex(modelGroup);
         final PrebidConfigParameters parameters = createParameters(schema, bidRequest, imp, mediaType, format, bidder);
 
-        final String rule = matchingStrategy.match(source, parameters);
-        final BigDecimal floorForRule = rule != null ? values.get(rule) : null;
+        final String rule = matchingStrategy.match(rulesIndex, parameters, rulesIndex::contains);
+        final BigDecimal floorForRule = rule != null ? rulesIndex.get(rule) : null;
         final BigDecimal floor = floorForRule != null ? floorForRule : modelGroup.getDefaultFloor();
         final String modelGroupCurrency = modelGroup.getCurrency();
         final String floorCurrency = StringUtils.isNotEmpty(modelGroupCurrency)
@@ -168,6 +162,10 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
         return null;
     }
 
+    PriceFloorRulesIndex rulesIndex(PriceFloorModelGroup modelGroup) {
+        return rulesIndexes.get(modelGroup, PriceFloorRulesIndex::of);
+    }
+
     private static boolean isPriceFloorsDisabledForRequest(BidRequest bidRequest) {
         final PriceFloorRules requestFloors = extractRequestFloors(bidRequest);
         final Boolean enabled = ObjectUtil.getIfNotNull(requestFloors, PriceFloorRules::getEnabled);
@@ -188,14 +186,6 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
         return CollectionUtils.isNotEmpty(modelGroups) ? modelGroups.getFirst() : null;
     }
 
-    private static <V> Map<String, V> keysToLowerCase(Map<String, V> map) {
-        return map.entrySet().stream()
-                .collect(
-                        HashMap::new,
-                        (hashMap, entry) -> hashMap.put(entry.getKey().toLowerCase(), entry.getValue()),
-                        HashMap::putAll);
-    }
-
     private PrebidConfigParameters createParameters(PriceFloorSchema schema,
                                                     BidRequest bidRequest,
                                                     Imp imp,
@@ -260,7 +250,7 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
             case adUnitCode -> adUnitCodeFromImp(imp);
             case country -> countryFromRequest(bidRequest);
             case deviceType -> resolveDeviceTypeFromRequest(bidRequest);
-            case bidder -> SimpleDirectParameter.of(bidder);
+            case bidder -> SimpleDirectParameter.of(StringUtils.lowerCase(bidder));
         };
     }
 
@@ -0,0 +1,61 @@
+package org.prebid.server.floors;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.floors.model.PriceFloorModelGroup;
+import org.prebid.server.util.dsl.config.PrebidConfigSchema;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rules of {@link PriceFloorModelGroup} compiled to the form suitable for matching.
+ * <p>
+ * Built once per model group instance and shared between all resolutions against it,
+ * so rules are not copied and lowercased for every imp, media type and bidder.
+ * <p>
+ * Rules, including separator, are kept lowercased, so lookups expect rules built from lowercased parameter values
+ * and don't convert every candidate rule.
+ */
+class PriceFloorRulesIndex implements PrebidConfigSchema {
+
+    private static final String SCHEMA_DEFAULT_DELIMITER = "|";
+    private static final String WILDCARD_CATCH_ALL = "*";
+
+    private final String separator;
+    private final Map<String, BigDecimal> values;
+
+    private PriceFloorRulesIndex(String separator, Map<String, BigDecimal> values) {
+        this.separator = separator;
+        this.values = values;
+    }
+
+    static PriceFloorRulesIndex of(PriceFloorModelGroup modelGroup) {
+        final Map<String, BigDecimal> values = new HashMap<>();
+        modelGroup.getValues().forEach((rule, value) -> values.put(rule.toLowerCase(), value));
+
+        final String separator = ObjectUtils.defaultIfNull(
+                modelGroup.getSchema().getDelimiter(), SCHEMA_DEFAULT_DELIMITER);
+
+        return new PriceFloorRulesIndex(separator.toLowerCase(), Collections.unmodifiableMap(values));
+    }
+
+    @Override
+    public String wildcard() {
+        return WILDCARD_CATCH_ALL;
+    }
+
+    @Override
+    public String separator() {
+        return separator;
+    }
+
+    boolean contains(String rule) {
+        return values.containsKey(rule);
+    }
+
+    BigDecimal get(String rule) {
+        return values.get(rule);
+    }
+}
@@ -1,40 +1,178 @@
 package org.prebid.server.geolocation;
 
+import inet.ipaddr.IPAddress;
+import inet.ipaddr.IPAddressString;
 import io.vertx.core.Future;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.geolocation.model.GeoInfoConfiguration;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Resolves {@link GeoInfo} from configurations by address pattern, which is either a prefix of the IP string
+ * (e.g. {@code 192.168.}) or a network in CIDR notation (e.g. {@code 192.168.0.0/16}).
+ * <p>
+ * Patterns are indexed in prefix tries, so lookup doesn't depend on the number of configurations.
+ * As before, the first matching configuration in configured order wins.
+ */
 public class ConfigurationGeoLocationService implements GeoLocationService {
 
     public static final String VENDOR = "configuration";
 
-    private final List<GeoInfoConfiguration> configurations;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final List<GeoInfo> geoInfos = new ArrayList<>();
+    private final PrefixTrie addressPrefixes = new PrefixTrie();
+    private final NetworkTrie ipv4Networks = new NetworkTrie();
+    private final NetworkTrie ipv6Networks = new NetworkTrie();
 
     public ConfigurationGeoLocationService(List<GeoInfoConfiguration> configurations) {
-        this.configurations = Objects.requireNonNull(configurations);
+        Objects.requireNonNull(configurations);
+
+        for (int index = 0; index < configurations.size(); index++) {
+            final GeoInfoConfiguration configuration = configurations.get(index);
+            geoInfos.add(specifyVendor(configuration.getGeoInfo()));
+
+            final String addressPattern = configuration.getAddressPattern();
+            if (addressPattern == null) {
+                continue;
+            }
+
+            if (StringUtils.contains(addressPattern, '/')) {
+                addNetwork(addressPattern, index);
+            } else {
+                addressPrefixes.add(addressPattern, index);
+            }
+        }
+    }
+
+    private void addNetwork(String addressPattern, int index) {
+        final IPAddress network = new IPAddressString(addressPattern).getAddress();
+        final Integer prefixLength = network != null ? network.getNetworkPrefixLength() : null;
+        if (prefixLength == null) {
+            throw new IllegalArgumentException("Invalid geo location address pattern: " + addressPattern);
+        }
+
+        networkTrie(network).add(network.getBytes(), prefixLength, index);
+    }
+
+    private NetworkTrie networkTrie(IPAddress address) {
+        return address.isIPv4() ? ipv4Networks : ipv6Networks;
     }
 
     @Override
     public Future<GeoInfo> lookup(String ip, Timeout timeout) {
-        return configurations.stream()
-                .filter(config -> matches(config, ip))
-                .findFirst()
-                .map(GeoInfoConfiguration::getGeoInfo)
-                .map(ConfigurationGeoLocationService::specifyVendor)
-                .map(Future::succeededFuture)
-                .orElse(Future.failedFuture(
-                        ConfigurationGeoLocationService.class.getSimpleName() + ": Geo location lookup failed."));
+        final int index = ip != null ? Math.min(addressPrefixes.firstMatch(ip), firstMatchingNetwork(ip)) : NO_MATCH;
+        final GeoInfo geoInfo = index != NO_MATCH ? geoInfos.get(index) : null;
+
+        return geoInfo != null
+                ? Future.succeededFuture(geoInfo)
+                : Future.failedFuture(
+                        ConfigurationGeoLocationService.class.getSimpleName() + ": Geo location lookup failed.");
     }
 
-    private static boolean matches(GeoInfoConfiguration configuration, String ip) {
-        return ip != null && ip.startsWith(configuration.getAddressPattern());
+    private int firstMatchingNetwork(String ip) {
+        if (ipv4Networks.isEmpty() && ipv6Networks.isEmpty()) {
+            return NO_MATCH;
+        }
+
+        final IPAddress address = new IPAddressString(ip).getAddress();
+        return address != null ? networkTrie(address).firstMatch(address.getBytes()) : NO_MATCH;
     }
 
     private static GeoInfo specifyVendor(GeoInfo geoInfo) {
         return geoInfo != null ? geoInfo.toBuilder().vendor(VENDOR).build() : null;
     }
+
+    /**
+     * Trie of IP string prefixes. Returns the lowest configuration index among prefixes of the given value.
+     */
+    private static class PrefixTrie {
+
+        private final Node root = new Node();
+
+        void add(String prefix, int index) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), ignored -> new Node());
+            }
+            node.index = Math.min(node.index, index);
+        }
+
+        int firstMatch(String value) {
+            Node node = root;
+            int result = root.index;
+            for (int i = 0; i < value.length() && node != null; i++) {
+                node = node.children.get(value.charAt(i));
+                if (node != null) {
+                    result = Math.min(result, node.index);
+                }
+            }
+            return result;
+        }
+
+        private static class Node {
+
+            private final Map<Character, Node> children = new HashMap<>();
+
+            private int index = NO_MATCH;
+        }
+    }
+
+    /**
+     * Binary trie of networks by address bits. Returns the lowest configuration index among networks containing
+     * the given address.
+     */
+    private static class NetworkTrie {
+
+        private final Node root = new Node();
+
+        private boolean empty = true;
+
+        boolean isEmpty() {
+            return empty;
+        }
+
+        void add(byte[] address, int prefixLength, int index) {
+            Node node = root;
+            for (int bit = 0; bit < prefixLength; bit++) {
+                final int value = bitAt(address, bit);
+                if (node.children[value] == null) {
+                    node.children[value] = new Node();
+                }
+                node = node.children[value];
+            }
+            node.index = Math.min(node.index, index);
+            empty = false;
+        }
+
+        int firstMatch(byte[] address) {
+            Node node = root;
+            int result = root.index;
+            for (int bit = 0; bit < address.length * Byte.SIZE && node != null; bit++) {
+                node = node.children[bitAt(address, bit)];
+                if (node != null) {
+                    result = Math.min(result, node.index);
+                }
+            }
+            return result;
+        }
+
+        private static int bitAt(byte[] address, int bit) {
+            return (address[bit / Byte.SIZE] >> (Byte.SIZE - 1 - bit % Byte.SIZE)) & 1;
+        }
+
+        private static class Node {
+
+            private final Node[] children = new Node[2];
+
+            private int index = NO_MATCH;
+        }
+    }
 }
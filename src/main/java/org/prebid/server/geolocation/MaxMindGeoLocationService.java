@@ -1,7 +1,12 @@
 package org.prebid.server.geolocation;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Network;
 import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.City;
@@ -9,6 +14,7 @@ import com.maxmind.geoip2.record.Continent;
 import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
+import com.maxmind.geoip2.record.Traits;
 import io.vertx.core.Future;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
@@ -17,76 +23,218 @@ import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.execution.file.FileProcessor;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of the {@link GeoLocationService}
  * backed by <a href="https://dev.maxmind.com/geoip/geoip2/geolite2/">MaxMind free database</a>
+ * <p>
+ * Database file is extracted from the archive once per update and opened memory-mapped, so it stays off the heap.
+ * Lookup results are cached per database: for the whole /24 (IPv4) or /48 (IPv6) prefix if the matched network
+ * covers it, otherwise per IP. Addresses missing in the database are cached per IP as well.
  */
 public class MaxMindGeoLocationService implements GeoLocationService, FileProcessor {
 
+    private static final Logger logger = LoggerFactory.getLogger(MaxMindGeoLocationService.class);
+
     private static final String VENDOR = "maxmind";
 
     private static final String DATABASE_FILE_NAME = "GeoLite2-City.mmdb";
 
-    private DatabaseReader databaseReader;
+    private static final int IPV4_CACHE_PREFIX_LENGTH = 24;
+    private static final int IPV6_CACHE_PREFIX_LENGTH = 48;
+
+    private final int cacheSize;
+
+    private volatile Database database;
+
+    public MaxMindGeoLocationService(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
 
     public Future<?> setDataPath(String dataFilePath) {
+        if (database == null) {
+            // files left by the previous run are not used by anyone anymore
+            deleteStaleDatabaseFiles(Path.of(dataFilePath).toAbsolutePath());
+        }
+
+        final Path databaseFile;
+        try {
+            databaseFile = extractDatabaseFile(dataFilePath);
+        } catch (IOException e) {
+            return Future.failedFuture(
+                    "IO Exception occurred while trying to read an archive/db file: " + e.getMessage());
+        }
+
+        if (databaseFile == null) {
+            return Future.failedFuture("Database file %s not found in %s archive"
+                    .formatted(DATABASE_FILE_NAME, dataFilePath));
+        }
+
+        try {
+            setDatabase(new DatabaseReader.Builder(databaseFile.toFile())
+                            .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                            .withCache(new CHMCache())
+                            .build(),
+                    databaseFile);
+            return Future.succeededFuture();
+        } catch (IOException e) {
+            deleteDatabaseFile(databaseFile);
+            return Future.failedFuture("IO Exception occurred while trying to open a db file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Extracts database file next to the archive under unique name, so the file of the database in use
+     * is never overwritten. Returns null if archive has no database file.
+     */
+    private static Path extractDatabaseFile(String dataFilePath) throws IOException {
         try (TarArchiveInputStream tarInput = new TarArchiveInputStream(new GZIPInputStream(
                 new FileInputStream(dataFilePath)))) {
 
             TarArchiveEntry currentEntry;
-            boolean hasDatabaseFile = false;
             while ((currentEntry = tarInput.getNextEntry()) != null) {
                 if (currentEntry.getName().contains(DATABASE_FILE_NAME)) {
-                    hasDatabaseFile = true;
-                    break;
+                    final Path archiveDirectory = Path.of(dataFilePath).toAbsolutePath().getParent();
+                    final Path databaseFile = Files.createTempFile(archiveDirectory, DATABASE_FILE_NAME + ".", null);
+                    try {
+                        Files.copy(tarInput, databaseFile, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        deleteDatabaseFile(databaseFile);
+                        throw e;
+                    }
+                    return databaseFile;
                 }
             }
-            if (!hasDatabaseFile) {
-                return Future.failedFuture("Database file %s not found in %s archive"
-                        .formatted(DATABASE_FILE_NAME, dataFilePath));
+            return null;
+        }
+    }
+
+    /**
+     * Deletes database files extracted next to the archive before, skipping the archive itself.
+     */
+    private static void deleteStaleDatabaseFiles(Path archive) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archive.getParent(), DATABASE_FILE_NAME + ".*")) {
+            for (Path file : files) {
+                if (!file.equals(archive)) {
+                    deleteDatabaseFile(file);
+                }
             }
+        } catch (IOException | DirectoryIteratorException e) {
+            logger.warn("Can't delete stale geo location database files next to {}: {}", archive, e.getMessage());
+        }
+    }
 
-            databaseReader = new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
-            return Future.succeededFuture();
+    /**
+     * Swaps database in use together with its lookup cache.
+     * <p>
+     * Previous reader is not closed as lookups in flight may still use it, its mapping is released once it is
+     * garbage collected. The file can be deleted right away, mapped content stays available until then.
+     */
+    void setDatabase(DatabaseReader databaseReader, Path databaseFile) {
+        final Database previousDatabase = database;
+        database = new Database(databaseReader, databaseFile, cacheSize);
+
+        if (previousDatabase != null) {
+            deleteDatabaseFile(previousDatabase.file());
+        }
+    }
+
+    private static void deleteDatabaseFile(Path databaseFile) {
+        if (databaseFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(databaseFile);
         } catch (IOException e) {
-            return Future.failedFuture(
-                    "IO Exception occurred while trying to read an archive/db file: " + e.getMessage());
+            logger.warn("Can't delete geo location database file {}: {}", databaseFile, e.getMessage());
         }
     }
 
     @Override
     public Future<GeoInfo> lookup(String ip, Timeout timeout) {
-        if (databaseReader == null) {
+        final Database currentDatabase = database;
+        if (currentDatabase == null) {
             return Future.failedFuture("Geo location database file hasn't been downloaded yet, try again later");
         }
 
+        final Cache<String, Future<GeoInfo>> cache = currentDatabase.cache();
+        final Future<GeoInfo> cachedByIp = cache.getIfPresent(ip);
+        if (cachedByIp != null) {
+            return cachedByIp;
+        }
+
         try {
             final InetAddress inetAddress = InetAddress.getByName(ip);
-            final CityResponse cityResponse = databaseReader.city(inetAddress);
-            final Location location = cityResponse != null ? cityResponse.getLocation() : null;
-
-            return Future.succeededFuture(GeoInfo.builder()
-                    .vendor(VENDOR)
-                    .continent(resolveContinent(cityResponse))
-                    .country(resolveCountry(cityResponse))
-                    .region(resolveRegion(cityResponse))
-                    // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
-                    .city(resolveCity(cityResponse))
-                    .lat(resolveLatitude(location))
-                    .lon(resolveLongitude(location))
-                    .build());
+            final String prefixKey = prefixKey(inetAddress);
+            final Future<GeoInfo> cachedByPrefix = cache.getIfPresent(prefixKey);
+            if (cachedByPrefix != null) {
+                return cachedByPrefix;
+            }
+
+            final CityResponse cityResponse = currentDatabase.reader().city(inetAddress);
+            final Future<GeoInfo> result = Future.succeededFuture(toGeoInfo(cityResponse));
+            cache.put(coversPrefix(cityResponse, inetAddress) ? prefixKey : ip, result);
+
+            return result;
+        } catch (AddressNotFoundException e) {
+            final Future<GeoInfo> result = Future.failedFuture(e);
+            cache.put(ip, result);
+
+            return result;
         } catch (IOException | GeoIp2Exception e) {
             return Future.failedFuture(e);
         }
     }
 
+    private static int cachePrefixLength(InetAddress inetAddress) {
+        return inetAddress instanceof Inet4Address ? IPV4_CACHE_PREFIX_LENGTH : IPV6_CACHE_PREFIX_LENGTH;
+    }
+
+    private static String prefixKey(InetAddress inetAddress) {
+        final int prefixLength = cachePrefixLength(inetAddress);
+        return new Network(inetAddress, prefixLength).getNetworkAddress().getHostAddress() + "/" + prefixLength;
+    }
+
+    /**
+     * Checks if network the address was found in covers the whole cache prefix, so the result is the same
+     * for any address of this prefix.
+     */
+    private static boolean coversPrefix(CityResponse cityResponse, InetAddress inetAddress) {
+        final Traits traits = cityResponse != null ? cityResponse.getTraits() : null;
+        final Network network = traits != null ? traits.getNetwork() : null;
+        return network != null && network.getPrefixLength() <= cachePrefixLength(inetAddress);
+    }
+
+    private static GeoInfo toGeoInfo(CityResponse cityResponse) {
+        final Location location = cityResponse != null ? cityResponse.getLocation() : null;
+
+        return GeoInfo.builder()
+                .vendor(VENDOR)
+                .continent(resolveContinent(cityResponse))
+                .country(resolveCountry(cityResponse))
+                .region(resolveRegion(cityResponse))
+                // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
+                .city(resolveCity(cityResponse))
+                .lat(resolveLatitude(location))
+                .lon(resolveLongitude(location))
+                .build();
+    }
+
     private static String resolveContinent(CityResponse cityResponse) {
         final Continent continent = cityResponse != null ? cityResponse.getContinent() : null;
         final String code = continent != null ? continent.getCode() : null;
@@ -119,4 +267,11 @@ public class MaxMindGeoLocationService implements GeoLocationService, FileProces
         final Double longitude = location != null ? location.getLongitude() : null;
         return longitude != null ? longitude.floatValue() : null;
     }
+
+    private record Database(DatabaseReader reader, Path file, Cache<String, Future<GeoInfo>> cache) {
+
+        Database(DatabaseReader reader, Path file, int cacheSize) {
+            this(reader, file, Caffeine.newBuilder().maximumSize(cacheSize).<String, Future<GeoInfo>>build());
+        }
+    }
 }
@@ -13,6 +13,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
@@ -39,6 +40,7 @@ import org.prebid.server.exception.PreBidException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.exitpoint.EncodedExitpointPayload;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.HttpInteractionLogger;
@@ -195,7 +197,7 @@ public class AmpHandler implements ApplicationResource {
         return prepareAmpResponse(auctionContext, routingContext)
                 .map(result -> addToEvent(result.getLeft().getTargeting(), ampEventBuilder::targeting, result))
                 .map(result -> RawResponseContext.builder()
-                        .responseBody(mapper.encodeToString(result.getLeft()))
+                        .responseBody(mapper.encodeToBuffer(result.getLeft()))
                         .responseHeaders(responseHeaders)
                         .auctionContext(auctionContext)
                         .build());
@@ -215,7 +217,7 @@ public class AmpHandler implements ApplicationResource {
                         .map(context -> RawResponseContext.builder()
                                 .auctionContext(context)
                                 .responseHeaders(payload.responseHeaders())
-                                .responseBody(payload.responseBody())
+                                .responseBody(EncodedExitpointPayload.encodedResponseBody(payload))
                                 .build()));
     }
 
@@ -336,7 +338,7 @@ public class AmpHandler implements ApplicationResource {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final HttpResponseStatus status;
-        final String body;
+        final Buffer body;
 
         final String origin = originFrom(routingContext);
         ampEventBuilder.origin(origin);
@@ -373,7 +375,7 @@ public class AmpHandler implements ApplicationResource {
                         100);
 
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String message = exception.getMessage();
@@ -382,7 +384,7 @@ public class AmpHandler implements ApplicationResource {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.UNAUTHORIZED;
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof BlocklistedAppException
                     || exception instanceof BlocklistedAccountException) {
                 metricRequestStatus = exception instanceof BlocklistedAccountException
@@ -393,7 +395,7 @@ public class AmpHandler implements ApplicationResource {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.FORBIDDEN;
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof InvalidAccountConfigException) {
                 metricRequestStatus = MetricName.bad_requests;
                 final String message = exception.getMessage();
@@ -401,7 +403,7 @@ public class AmpHandler implements ApplicationResource {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = "Invalid account configuration: " + message;
+                body = Buffer.buffer("Invalid account configuration: " + message);
             } else {
                 final String message = exception.getMessage();
 
@@ -410,7 +412,7 @@ public class AmpHandler implements ApplicationResource {
                 logger.error("Critical error while running the auction", exception);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR;
-                body = "Critical error while running the auction: " + message;
+                body = Buffer.buffer("Critical error while running the auction: " + message);
             }
         }
 
@@ -440,7 +442,7 @@ public class AmpHandler implements ApplicationResource {
 
     private void respondWith(RoutingContext routingContext,
                              HttpResponseStatus status,
-                             String body,
+                             Buffer body,
                              long startTime,
                              MetricName metricRequestStatus,
                              AmpEvent event,
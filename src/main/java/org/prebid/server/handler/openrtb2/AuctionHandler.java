@@ -7,6 +7,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
@@ -27,6 +28,7 @@ import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.exitpoint.EncodedExitpointPayload;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.HttpInteractionLogger;
@@ -167,7 +169,7 @@ public class AuctionHandler implements ApplicationResource {
                 .add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
 
         return RawResponseContext.builder()
-                .responseBody(mapper.encodeToString(auctionContext.getBidResponse()))
+                .responseBody(mapper.encodeToBuffer(auctionContext.getBidResponse()))
                 .responseHeaders(responseHeaders)
                 .auctionContext(auctionContext)
                 .build();
@@ -194,7 +196,7 @@ public class AuctionHandler implements ApplicationResource {
                         .map(context -> RawResponseContext.builder()
                                 .auctionContext(context)
                                 .responseHeaders(payload.responseHeaders())
-                                .responseBody(payload.responseBody())
+                                .responseBody(EncodedExitpointPayload.encodedResponseBody(payload))
                                 .build()));
     }
 
@@ -217,7 +219,7 @@ public class AuctionHandler implements ApplicationResource {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final HttpResponseStatus status;
-        final String body;
+        final Buffer body;
 
         final HttpServerResponse response = routingContext.response();
         final MultiMap responseHeaders = response.headers();
@@ -248,7 +250,7 @@ public class AuctionHandler implements ApplicationResource {
                 conditionalLogger.info("%s, Referer: %s".formatted(message, referer), logSamplingRate);
 
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String message = exception.getMessage();
@@ -257,7 +259,7 @@ public class AuctionHandler implements ApplicationResource {
 
                 status = HttpResponseStatus.UNAUTHORIZED;
 
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof BlocklistedAppException
                     || exception instanceof BlocklistedAccountException) {
                 metricRequestStatus = exception instanceof BlocklistedAccountException
@@ -268,7 +270,7 @@ public class AuctionHandler implements ApplicationResource {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.FORBIDDEN;
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof InvalidAccountConfigException) {
                 metricRequestStatus = MetricName.bad_requests;
                 final String message = exception.getMessage();
@@ -276,7 +278,7 @@ public class AuctionHandler implements ApplicationResource {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = message;
+                body = Buffer.buffer(message);
             } else {
                 metricRequestStatus = MetricName.err;
                 logger.error("Critical error while running the auction", exception);
@@ -285,7 +287,7 @@ public class AuctionHandler implements ApplicationResource {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR;
-                body = "Critical error while running the auction: " + message;
+                body = Buffer.buffer("Critical error while running the auction: " + message);
             }
         }
 
@@ -310,7 +312,7 @@ public class AuctionHandler implements ApplicationResource {
 
     private boolean respondWith(RoutingContext routingContext,
                                 HttpResponseStatus status,
-                                String body,
+                                Buffer body,
                                 MetricName requestType) {
 
         return HttpUtil.executeSafely(
@@ -6,6 +6,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
@@ -25,6 +26,7 @@ import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.exitpoint.EncodedExitpointPayload;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
@@ -142,7 +144,7 @@ public class VideoHandler implements ApplicationResource {
         return toVideoResponse(auctionContext, context.getPodErrors())
                 .map(videoResponse -> addToEvent(videoResponse, videoEventBuilder::bidResponse, videoResponse))
                 .map(videoResponse -> RawResponseContext.builder()
-                        .responseBody(mapper.encodeToString(videoResponse))
+                        .responseBody(mapper.encodeToBuffer(videoResponse))
                         .responseHeaders(responseHeaders)
                         .auctionContext(auctionContext)
                         .build());
@@ -167,7 +169,7 @@ public class VideoHandler implements ApplicationResource {
                         .map(context -> RawResponseContext.builder()
                                 .auctionContext(context)
                                 .responseHeaders(payload.responseHeaders())
-                                .responseBody(payload.responseBody())
+                                .responseBody(EncodedExitpointPayload.encodedResponseBody(payload))
                                 .build()));
     }
 
@@ -185,7 +187,7 @@ public class VideoHandler implements ApplicationResource {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final HttpResponseStatus status;
-        final String body;
+        final Buffer body;
         final RawResponseContext rawResponseContext = responseSucceeded ? responseResult.result() : null;
 
         final HttpServerResponse response = routingContext.response();
@@ -212,9 +214,9 @@ public class VideoHandler implements ApplicationResource {
                 logger.info("Invalid request format: {}", errorMessages);
 
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = errorMessages.stream()
+                body = Buffer.buffer(errorMessages.stream()
                         .map(msg -> "Invalid request format: " + msg)
-                        .collect(Collectors.joining("\n"));
+                        .collect(Collectors.joining("\n")));
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String errorMessage = exception.getMessage();
@@ -222,7 +224,7 @@ public class VideoHandler implements ApplicationResource {
                 errorMessages = Collections.singletonList(errorMessage);
 
                 status = HttpResponseStatus.UNAUTHORIZED;
-                body = "Unauthorised: " + errorMessage;
+                body = Buffer.buffer("Unauthorised: " + errorMessage);
             } else {
                 metricRequestStatus = MetricName.err;
                 logger.error("Critical error while running the auction", exception);
@@ -231,7 +233,7 @@ public class VideoHandler implements ApplicationResource {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR;
-                body = "Critical error while running the auction: " + message;
+                body = Buffer.buffer("Critical error while running the auction: " + message);
             }
         }
 
@@ -276,7 +278,7 @@ public class VideoHandler implements ApplicationResource {
 
     private void respondWith(RoutingContext routingContext,
                              HttpResponseStatus status,
-                             String body,
+                             Buffer body,
                              long startTime,
                              MetricName metricRequestStatus,
                              VideoEvent event,
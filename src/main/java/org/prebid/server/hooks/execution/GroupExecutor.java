@@ -17,6 +17,13 @@ import java.util.Map;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
+/**
+ * Executes hooks of the execution group.
+ * <p>
+ * All hooks of the group are dispatched at once with the initial payload of the group, each under the group
+ * timeout, so the group takes as long as its slowest hook. Their results are applied to the payload strictly
+ * in the declared order, and each hook execution time is taken when that hook completes.
+ */
 class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
     private final Vertx vertx;
@@ -90,9 +97,11 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
             final long startTime = clock.millis();
             final Future<InvocationResult<PAYLOAD>> invocationResult = hookFuture
                     .compose(hook -> executeHook(hook, group.getTimeout(), initialGroupResult, hookId));
+            final Future<Long> executionTime = invocationResult
+                    .transform(ignored -> Future.succeededFuture(executionTime(startTime)));
 
-            groupFuture = groupFuture.compose(groupResult ->
-                    applyInvocationResult(invocationResult, hookId, startTime, groupResult));
+            groupFuture = groupFuture.compose(groupResult -> executionTime.compose(time ->
+                    applyInvocationResult(invocationResult, hookId, time, groupResult)));
         }
 
         return groupFuture.recover(GroupExecutor::restoreResultFromRejection);
@@ -158,15 +167,15 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private Future<GroupResult<PAYLOAD>> applyInvocationResult(
             Future<InvocationResult<PAYLOAD>> invocationResult,
             HookId hookId,
-            long startTime,
+            long executionTime,
             GroupResult<PAYLOAD> groupResult) {
 
         return invocationResult
                 .map(result -> {
                     saveModuleContext(hookId, result);
-                    return groupResult.applyInvocationResult(result, hookId, executionTime(startTime));
+                    return groupResult.applyInvocationResult(result, hookId, executionTime);
                 })
-                .otherwise(throwable -> groupResult.applyFailure(throwable, hookId, executionTime(startTime)))
+                .otherwise(throwable -> groupResult.applyFailure(throwable, hookId, executionTime))
                 .compose(this::propagateRejection);
     }
 
@@ -7,6 +7,7 @@ import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -42,6 +43,7 @@ import org.prebid.server.hooks.execution.v1.bidder.BidderInvocationContextImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
 import org.prebid.server.hooks.execution.v1.entrypoint.EntrypointPayloadImpl;
+import org.prebid.server.hooks.execution.v1.exitpoint.EncodedExitpointPayload;
 import org.prebid.server.hooks.execution.v1.exitpoint.ExitpointPayloadImpl;
 import org.prebid.server.hooks.v1.Hook;
 import org.prebid.server.hooks.v1.InvocationContext;
@@ -343,13 +345,29 @@ public class HookStageExecutor {
                                                                                     String responseBody,
                                                                                     AuctionContext auctionContext) {
 
+        return executeExitpointStage(ExitpointPayloadImpl.of(responseHeaders, responseBody), auctionContext);
+    }
+
+    /**
+     * Runs exitpoint stage over already encoded response body, which is decoded only if some hook reads it.
+     */
+    public Future<HookStageExecutionResult<ExitpointPayload>> executeExitpointStage(MultiMap responseHeaders,
+                                                                                    Buffer responseBody,
+                                                                                    AuctionContext auctionContext) {
+
+        return executeExitpointStage(EncodedExitpointPayload.of(responseHeaders, responseBody), auctionContext);
+    }
+
+    private Future<HookStageExecutionResult<ExitpointPayload>> executeExitpointStage(ExitpointPayload initialPayload,
+                                                                                     AuctionContext auctionContext) {
+
         final Account account = ObjectUtils.defaultIfNull(auctionContext.getAccount(), EMPTY_ACCOUNT);
         final HookExecutionContext context = auctionContext.getHookExecutionContext();
 
         final Endpoint endpoint = context.getEndpoint();
 
         return stageExecutor(StageWithHookType.EXITPOINT, ENTITY_HTTP_RESPONSE, context, account, endpoint)
-                .withInitialPayload(ExitpointPayloadImpl.of(responseHeaders, responseBody))
+                .withInitialPayload(initialPayload)
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(false)
                 .execute();
@@ -0,0 +1,51 @@
+package org.prebid.server.hooks.execution.v1.exitpoint;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import org.prebid.server.hooks.v1.exitpoint.ExitpointPayload;
+
+import java.util.Objects;
+
+/**
+ * {@link ExitpointPayload} holding already encoded response body, which is decoded to {@link String} only
+ * if some hook asks for it.
+ */
+public class EncodedExitpointPayload implements ExitpointPayload {
+
+    private final MultiMap responseHeaders;
+
+    private final Buffer encodedResponseBody;
+
+    private String responseBody;
+
+    private EncodedExitpointPayload(MultiMap responseHeaders, Buffer encodedResponseBody) {
+        this.responseHeaders = responseHeaders;
+        this.encodedResponseBody = Objects.requireNonNull(encodedResponseBody);
+    }
+
+    public static EncodedExitpointPayload of(MultiMap responseHeaders, Buffer encodedResponseBody) {
+        return new EncodedExitpointPayload(responseHeaders, encodedResponseBody);
+    }
+
+    /**
+     * Returns response body of the given payload, reusing encoded one when payload was not replaced by hooks.
+     */
+    public static Buffer encodedResponseBody(ExitpointPayload payload) {
+        return payload instanceof EncodedExitpointPayload encodedPayload
+                ? encodedPayload.encodedResponseBody
+                : Buffer.buffer(payload.responseBody());
+    }
+
+    @Override
+    public MultiMap responseHeaders() {
+        return responseHeaders;
+    }
+
+    @Override
+    public String responseBody() {
+        if (responseBody == null) {
+            responseBody = encodedResponseBody.toString();
+        }
+        return responseBody;
+    }
+}
@@ -3,12 +3,16 @@ package org.prebid.server.json;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
 import org.prebid.server.proto.openrtb.ext.FlexibleExtension;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Objects;
 
 public class JacksonMapper {
@@ -40,6 +44,19 @@ public class JacksonMapper {
         }
     }
 
+    /**
+     * Encodes value straight into the buffer bytes, so no intermediate {@link String} or byte array copy is made.
+     */
+    public <T> Buffer encodeToBuffer(T obj) throws EncodeException {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        try (OutputStream outputStream = new ByteBufOutputStream(byteBuf)) {
+            mapper.writeValue(outputStream, obj);
+        } catch (IOException e) {
+            throw new EncodeException("Failed to encode to buffer: " + e.getMessage());
+        }
+        return Buffer.buffer(byteBuf);
+    }
+
     public <T> T decodeValue(String str, Class<T> clazz) throws DecodeException {
         try {
             return mapper.readValue(str, clazz);
@@ -64,9 +81,17 @@ public class JacksonMapper {
         }
     }
 
+    /**
+     * Decodes value straight from the buffer bytes: heap buffers are parsed in place, others are streamed,
+     * so no intermediate {@link String} or byte array copy is made.
+     */
     public <T> T decodeValue(Buffer buf, Class<T> clazz) throws DecodeException {
         try {
-            return mapper.readValue((InputStream) new ByteBufInputStream(buf.getByteBuf()), clazz);
+            final ByteBuf byteBuf = buf.getByteBuf();
+            return byteBuf.hasArray()
+                    ? mapper.readValue(
+                    byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes(), clazz)
+                    : mapper.readValue((InputStream) new ByteBufInputStream(byteBuf), clazz);
         } catch (IOException e) {
             throw new DecodeException(FAILED_TO_DECODE.formatted(e.getMessage()), e);
         }
@@ -74,7 +99,11 @@ public class JacksonMapper {
 
     public <T> T decodeValue(Buffer buf, TypeReference<T> type) throws DecodeException {
         try {
-            return mapper.readValue(new ByteBufInputStream(buf.getByteBuf()), type);
+            final ByteBuf byteBuf = buf.getByteBuf();
+            return byteBuf.hasArray()
+                    ? mapper.readValue(
+                    byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes(), type)
+                    : mapper.readValue((InputStream) new ByteBufInputStream(byteBuf), type);
         } catch (IOException e) {
             throw new DecodeException(FAILED_TO_DECODE.formatted(e.getMessage()), e);
         }
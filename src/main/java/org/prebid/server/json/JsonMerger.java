@@ -2,20 +2,46 @@ package org.prebid.server.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.fge.jsonpatch.JsonPatchException;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.json.merge.JsonMergePatch;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 
 public class JsonMerger {
 
     private final JacksonMapper mapper;
+    private final Map<String, JsonNode> parsedStoredDataCache;
 
     public JsonMerger(JacksonMapper mapper) {
+        this(mapper, 0);
+    }
+
+    /**
+     * Creates merger which keeps up to {@code parsedStoredDataCacheSize} parsed trees of stored data.
+     * <p>
+     * Cache keys are compared by identity and held weakly, so an entry lives only as long as the raw stored data
+     * string is referenced by the settings cache it was taken from.
+     */
+    public JsonMerger(JacksonMapper mapper, int parsedStoredDataCacheSize) {
+        if (parsedStoredDataCacheSize < 0) {
+            throw new IllegalArgumentException("parsedStoredDataCacheSize must be non-negative");
+        }
+
         this.mapper = Objects.requireNonNull(mapper);
+        this.parsedStoredDataCache = parsedStoredDataCacheSize > 0
+                ? Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(parsedStoredDataCacheSize)
+                .<String, JsonNode>build()
+                .asMap()
+                : null;
     }
 
     /**
@@ -25,20 +51,11 @@ public class JsonMerger {
      */
     public <T> T merge(T originalObject, String storedData, String id, Class<T> classToCast) {
         final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
-        final JsonNode storedRequestJsonNode;
-        try {
-            storedRequestJsonNode = mapper.mapper().readTree(storedData);
-        } catch (IOException e) {
-            throw new InvalidRequestException("Can't parse Json for stored request with id " + id);
-        }
+        final JsonNode storedRequestJsonNode = parseStoredData(storedData, id);
         try {
             // Http request fields have higher priority and will override fields from stored requests
             // in case they have different values
-            return mapper.mapper().treeToValue(JsonMergePatch.fromJson(originJsonNode).apply(storedRequestJsonNode),
-                    classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(
-                    "Couldn't create merge patch from origin object node for id %s: %s".formatted(id, e.getMessage()));
+            return mapper.mapper().treeToValue(mergePatch(originJsonNode, storedRequestJsonNode), classToCast);
         } catch (JsonProcessingException e) {
             throw new InvalidRequestException(
                     "Can't convert merging result for id %s: %s".formatted(id, e.getMessage()));
@@ -53,11 +70,7 @@ public class JsonMerger {
         final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         final JsonNode mergingObjectJsonNode = mapper.mapper().valueToTree(mergingObject);
         try {
-            final JsonNode mergedNode = JsonMergePatch.fromJson(originJsonNode).apply(mergingObjectJsonNode);
-            return mapper.mapper().treeToValue(mergedNode, classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(
-                    "Couldn't create merge patch for objects with class " + classToCast.getName());
+            return mapper.mapper().treeToValue(mergePatch(originJsonNode, mergingObjectJsonNode), classToCast);
         } catch (JsonProcessingException e) {
             throw new InvalidRequestException("Can't convert merging result class " + classToCast.getName());
         }
@@ -75,4 +88,60 @@ public class JsonMerger {
             throw new InvalidRequestException("Couldn't create merge patch for json nodes");
         }
     }
+
+    private JsonNode parseStoredData(String storedData, String id) {
+        if (parsedStoredDataCache == null || storedData == null) {
+            return readTree(storedData, id);
+        }
+
+        final JsonNode cachedNode = parsedStoredDataCache.get(storedData);
+        if (cachedNode != null) {
+            return cachedNode;
+        }
+
+        final JsonNode parsedNode = readTree(storedData, id);
+        parsedStoredDataCache.put(storedData, parsedNode);
+        return parsedNode;
+    }
+
+    private JsonNode readTree(String storedData, String id) {
+        try {
+            return mapper.mapper().readTree(storedData);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Can't parse Json for stored request with id " + id);
+        }
+    }
+
+    /**
+     * Applies RFC 7396 merge patch to the target without materializing {@link JsonMergePatch}.
+     * <p>
+     * Only objects on the patched paths are copied, untouched subtrees of the target are shared with the result,
+     * so target is never modified and can be safely reused (e.g. when it comes from the parsed stored data cache).
+     * Result is expected to be bound to POJO right away and must not be modified by the caller.
+     */
+    private static JsonNode mergePatch(JsonNode patch, JsonNode target) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        final ObjectNode result = ((ObjectNode) patch).objectNode();
+        if (target != null && target.isObject()) {
+            result.setAll((ObjectNode) target);
+        }
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String key = field.getKey();
+            final JsonNode value = field.getValue();
+
+            if (value.isNull()) {
+                result.remove(key);
+            } else {
+                result.set(key, mergePatch(value, result.get(key)));
+            }
+        }
+
+        return result;
+    }
 }
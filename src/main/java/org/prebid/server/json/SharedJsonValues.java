@@ -0,0 +1,73 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializationConfig;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Values of a single auction which are encoded to JSON only once and written as is by all following serializations
+ * made {@link #within} this instance.
+ * <p>
+ * Per-bidder copies of the auction request often carry the very same user, device, site etc. instances. Encoding
+ * bidder requests within such values lets every bidder reuse their encoded form instead of encoding the whole
+ * sub-tree again. Values are matched by identity, encoded forms are kept per serialization config, so mappers
+ * configured differently never get each other's output. Only types handled by {@link SharedJsonValuesModule}
+ * are taken into account.
+ */
+public final class SharedJsonValues {
+
+    private static final ThreadLocal<SharedJsonValues> CURRENT = new ThreadLocal<>();
+
+    // filled once on creation, so can be read concurrently
+    private final Map<Object, EncodedValue> values;
+
+    private SharedJsonValues(Map<Object, EncodedValue> values) {
+        this.values = values;
+    }
+
+    public static SharedJsonValues of(Collection<?> values) {
+        final Map<Object, EncodedValue> encodedValues = new IdentityHashMap<>(values.size());
+        values.forEach(value -> encodedValues.put(value, new EncodedValue()));
+        return new SharedJsonValues(encodedValues);
+    }
+
+    /**
+     * Runs given action, serializations made by it on the calling thread reuse encoded forms of these values.
+     */
+    public <T> T within(Supplier<T> action) {
+        final SharedJsonValues previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static EncodedValue current(Object value) {
+        final SharedJsonValues current = CURRENT.get();
+        return current != null ? current.values.get(value) : null;
+    }
+
+    static class EncodedValue {
+
+        private final Map<SerializationConfig, SerializableString> encoded = new ConcurrentHashMap<>(1);
+
+        SerializableString encoded(SerializationConfig config) {
+            return encoded.get(config);
+        }
+
+        void encoded(SerializationConfig config, SerializableString value) {
+            encoded.put(config, value);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Dooh;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+
+/**
+ * Writes values of the current {@link SharedJsonValues} from their once encoded form.
+ * <p>
+ * Only plain JSON output is affected: token buffers used by value conversions, filtering and pretty printing
+ * generators, as well as serializations with an active view, always get values serialized as usual.
+ */
+class SharedJsonValuesModule extends SimpleModule {
+
+    private static final Set<Class<?>> SHAREABLE_TYPES = Set.of(
+            User.class, Device.class, Site.class, App.class, Dooh.class, Source.class, Regs.class);
+
+    SharedJsonValuesModule() {
+        setSerializerModifier(new BeanSerializerModifier() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config,
+                                                      BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+
+                return SHAREABLE_TYPES.contains(beanDesc.getBeanClass())
+                        ? new SharedValueSerializer((JsonSerializer<Object>) serializer)
+                        : serializer;
+            }
+        });
+    }
+
+    private static class SharedValueSerializer extends JsonSerializer<Object>
+            implements ResolvableSerializer, ContextualSerializer {
+
+        private final JsonSerializer<Object> delegate;
+
+        SharedValueSerializer(JsonSerializer<Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            final SharedJsonValues.EncodedValue sharedValue = isPlainOutput(generator, provider)
+                    ? SharedJsonValues.current(value)
+                    : null;
+
+            if (sharedValue == null) {
+                delegate.serialize(value, generator, provider);
+                return;
+            }
+
+            final SerializationConfig config = provider.getConfig();
+            SerializableString encoded = sharedValue.encoded(config);
+            if (encoded == null) {
+                encoded = encode(value, generator.getCodec(), provider);
+                sharedValue.encoded(config, encoded);
+            }
+            generator.writeRawValue(encoded);
+        }
+
+        private static boolean isPlainOutput(JsonGenerator generator, SerializerProvider provider) {
+            return generator instanceof JsonGeneratorImpl
+                    && provider.getActiveView() == null
+                    && generator.getPrettyPrinter() == null
+                    && generator.getCodec() != null;
+        }
+
+        private SerializableString encode(Object value, ObjectCodec codec, SerializerProvider provider)
+                throws IOException {
+
+            final StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = codec.getFactory().createGenerator(writer)) {
+                provider.getConfig().initialize(generator);
+                delegate.serialize(value, generator, provider);
+            }
+            return new SerializedString(writer.toString());
+        }
+
+        @Override
+        public void serializeWithType(Object value,
+                                      JsonGenerator generator,
+                                      SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+
+            delegate.serializeWithType(value, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvableSerializer) {
+                resolvableSerializer.resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+
+            if (!(delegate instanceof ContextualSerializer contextualSerializer)) {
+                return this;
+            }
+
+            final JsonSerializer<?> contextual = contextualSerializer.createContextual(provider, property);
+            return contextual == delegate ? this : new SharedValueSerializer((JsonSerializer<Object>) contextual);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.RoutingContext;
 import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
@@ -41,7 +42,7 @@ public class HttpInteractionLogger {
     public void maybeLogOpenrtb2Auction(AuctionContext auctionContext,
                                         RoutingContext routingContext,
                                         int statusCode,
-                                        String responseBody) {
+                                        Buffer responseBody) {
 
         if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.auction, statusCode, auctionContext)) {
             logger.info(
@@ -66,7 +67,7 @@ public class HttpInteractionLogger {
     public void maybeLogOpenrtb2Amp(AuctionContext auctionContext,
                                     RoutingContext routingContext,
                                     int statusCode,
-                                    String responseBody) {
+                                    Buffer responseBody) {
 
         if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.amp, statusCode, auctionContext)) {
             logger.info(
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -21,7 +21,7 @@ class AnalyticsReporterMetrics extends UpdatableMetrics {
 
         eventTypeMetricsCreator = eventType ->
                 new EventTypeMetrics(metricRegistry, counterType, createAdapterPrefix(analyticCode), eventType);
-        eventTypeMetrics = new HashMap<>();
+        eventTypeMetrics = new ConcurrentHashMap<>();
     }
 
     private static String createAdapterPrefix(String reporterName) {
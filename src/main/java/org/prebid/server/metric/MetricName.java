@@ -29,6 +29,7 @@ public enum MetricName {
     app_requests,
     no_cookie_requests,
     request_time,
+    adaptive_timeout,
     prices,
     imps_requested,
     imps_dropped,
@@ -134,11 +135,20 @@ public enum MetricName {
     // settings cache
     stored_request("stored-request"),
     amp_stored_request("amp-stored-request"),
+    video_stored_request("video-stored-request"),
+    profile,
     account,
+    category,
     initialize,
     update,
     hit,
     miss,
+    coalesced,
+    refresh_ahead("refresh-ahead"),
+    decode_cache_hit("decode-cache-hit"),
+    decode_cache_miss("decode-cache-miss"),
+    items,
+    page_query_time,
 
     // hooks
     call,
@@ -159,7 +169,10 @@ public enum MetricName {
     processed_rules_count("processedrules.count"),
 
     // profiles
-    limit_exceeded;
+    limit_exceeded,
+
+    // analytics
+    events_dropped;
 
     private final String name;
 
@@ -0,0 +1,51 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.LockFreeExponentiallyDecayingReservoir;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.codahale.metrics.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link MetricRegistry} creating timers and histograms backed by the configured {@link Reservoir}.
+ * <p>
+ * Default {@link ExponentiallyDecayingReservoir} takes a lock on every update and periodic rescale, which
+ * shows up under load as all event loops update the same request timers. Lock-free variant keeps the same
+ * semantics (1028 samples, alpha 0.015) without contention, sliding time window keeps all values of
+ * the last minute in arrays and suits low cardinality, high throughput timers.
+ */
+public class PrebidMetricRegistry extends MetricRegistry {
+
+    private static final long SLIDING_WINDOW_SECONDS = 60;
+
+    private final Supplier<Reservoir> reservoirFactory;
+
+    public PrebidMetricRegistry(ReservoirType reservoirType) {
+        reservoirFactory = reservoirFactory(Objects.requireNonNull(reservoirType));
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return timer(name, () -> new Timer(reservoirFactory.get()));
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histogram(name, () -> new Histogram(reservoirFactory.get()));
+    }
+
+    private static Supplier<Reservoir> reservoirFactory(ReservoirType reservoirType) {
+        return switch (reservoirType) {
+            case exponentiallyDecaying -> ExponentiallyDecayingReservoir::new;
+            case lockFreeExponentiallyDecaying -> () -> LockFreeExponentiallyDecayingReservoir.builder().build();
+            case slidingTimeWindow -> () -> new SlidingTimeWindowArrayReservoir(
+                    SLIDING_WINDOW_SECONDS, TimeUnit.SECONDS);
+        };
+    }
+}
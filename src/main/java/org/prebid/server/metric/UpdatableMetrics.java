@@ -1,35 +1,46 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 
 class UpdatableMetrics {
 
+    private static final int METRIC_NAMES_COUNT = MetricName.values().length;
+
     private final MetricRegistry metricRegistry;
     private final Function<MetricName, String> nameCreator;
-    private final MetricIncrementer incrementer;
+    private final Function<String, Metric> counterResolver;
     private final CounterType counterType;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
+    // metrics resolved from registry are kept by metric name ordinal, so that each update is a plain array read
+    // instead of building metric name and looking it up in registry. Concurrent resolution of the same metric is
+    // harmless since registry always returns the same instance for the given name.
+    private final AtomicReferenceArray<Metric> metrics;
+    // not thread-safe map is intentionally used here because it's harmless in this particular case - names are
+    // needed only on metric resolution and creating the same name twice has no side effects
     private final Map<MetricName, String> metricNames;
 
     UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, Function<MetricName, String> nameCreator) {
         this.metricRegistry = metricRegistry;
         this.counterType = counterType;
         this.nameCreator = nameCreator;
+        metrics = new AtomicReferenceArray<>(METRIC_NAMES_COUNT);
         metricNames = new EnumMap<>(MetricName.class);
 
-        incrementer = switch (counterType) {
-            case flushingCounter -> (registry, metricName, value) ->
-                    registry.counter(metricName, ResettingCounter::new).inc(value);
-            case counter -> (registry, metricName, value) -> registry.counter(metricName).inc(value);
-            case meter -> (registry, metricName, value) -> registry.meter(metricName).mark(value);
+        counterResolver = switch (counterType) {
+            case flushingCounter -> name -> metricRegistry.counter(name, ResettingCounter::new);
+            case counter -> metricRegistry::counter;
+            case meter -> metricRegistry::meter;
         };
     }
 
@@ -42,24 +53,33 @@ class UpdatableMetrics {
 
     /**
      * Increments metric's counter on a given value.
+     * <p>
+     * Both {@link Counter} and {@link Meter} are backed by striped {@link java.util.concurrent.atomic.LongAdder},
+     * so concurrent increments from different event loops do not contend.
      */
     void incCounter(MetricName metricName, long value) {
-        incrementer.accept(metricRegistry, name(metricName), value);
+        final Metric counter = resolve(metricName, counterResolver);
+        if (counter instanceof Meter meter) {
+            meter.mark(value);
+        } else {
+            ((Counter) counter).inc(value);
+        }
     }
 
     /**
      * Updates metric's timer with a given value.
      */
     void updateTimer(MetricName metricName, long millis) {
-        metricRegistry.timer(name(metricName)).update(millis, TimeUnit.MILLISECONDS);
+        this.<Timer>resolve(metricName, metricRegistry::timer).update(millis, TimeUnit.MILLISECONDS);
     }
 
     /**
      * Updates metric's histogram with a given value.
      */
     void updateHistogram(MetricName metricName, long value) {
-        // by default histograms with exponentially decaying reservoir (size=1028, alpha=0.015) are created
-        metricRegistry.histogram(name(metricName)).update(value);
+        // reservoir is defined by registry, by default histograms with exponentially decaying reservoir
+        // (size=1028, alpha=0.015) are created
+        this.<Histogram>resolve(metricName, metricRegistry::histogram).update(value);
     }
 
     void createGauge(MetricName metricName, LongSupplier supplier) {
@@ -67,9 +87,23 @@ class UpdatableMetrics {
     }
 
     void removeMetric(MetricName metricName) {
+        metrics.set(metricName.ordinal(), null);
         metricRegistry.remove(name(metricName));
     }
 
+    @SuppressWarnings("unchecked")
+    private <M extends Metric> M resolve(MetricName metricName, Function<String, ? extends Metric> resolver) {
+        final int index = metricName.ordinal();
+
+        Metric metric = metrics.get(index);
+        if (metric == null) {
+            metric = resolver.apply(name(metricName));
+            metrics.set(index, metric);
+        }
+
+        return (M) metric;
+    }
+
     private String name(MetricName metricName) {
         return metricNames.computeIfAbsent(metricName, key -> nameCreator.apply(metricName));
     }
@@ -77,9 +111,4 @@ class UpdatableMetrics {
     public CounterType getCounterType() {
         return counterType;
     }
-
-    @FunctionalInterface
-    private interface MetricIncrementer {
-        void accept(MetricRegistry metricRegistry, String metricName, long value);
-    }
 }
@@ -0,0 +1,75 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iabtcf.decoder.TCString;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Objects;
+
+/**
+ * Decodes TC strings, keeping results for recently seen strings.
+ * <p>
+ * A small number of CMP-generated consent strings repeats across requests, so both decoded {@link TCString}s and
+ * decoding errors are cached by the raw string. {@link TCString}s are decoded eagerly and therefore can be shared
+ * between requests. Strings longer than maxCachedLength are always decoded, so that hostile input can't occupy
+ * the cache.
+ */
+public class TcStringDecoder {
+
+    private final Cache<String, DecodingResult> cache;
+    private final int maxCachedLength;
+    private final Metrics metrics;
+
+    public TcStringDecoder(int cacheSize, int maxCachedLength, Metrics metrics) {
+        this.cache = cacheSize > 0 && maxCachedLength > 0
+                ? Caffeine.newBuilder().maximumSize(cacheSize).build()
+                : null;
+        this.maxCachedLength = maxCachedLength;
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Returns decoded {@link TCString} or throws {@link PreBidException} with the reason of decoding failure.
+     */
+    public TCString decode(String consentString) {
+        final DecodingResult result = resolve(consentString);
+        if (result.tcString() == null) {
+            throw new PreBidException(result.error());
+        }
+
+        return result.tcString();
+    }
+
+    public boolean isValid(String consentString) {
+        return resolve(consentString).tcString() != null;
+    }
+
+    private DecodingResult resolve(String consentString) {
+        if (cache == null || consentString == null || consentString.length() > maxCachedLength) {
+            return doDecode(consentString);
+        }
+
+        final DecodingResult cachedResult = cache.getIfPresent(consentString);
+        metrics.updatePrivacyTcfDecodeCacheMetric(cachedResult != null);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        final DecodingResult result = doDecode(consentString);
+        cache.put(consentString, result);
+        return result;
+    }
+
+    private static DecodingResult doDecode(String consentString) {
+        try {
+            return new DecodingResult(TCString.decode(consentString), null);
+        } catch (RuntimeException e) {
+            return new DecodingResult(null, e.getMessage());
+        }
+    }
+
+    private record DecodingResult(TCString tcString, String error) {
+    }
+}
@@ -61,6 +61,7 @@ public class TcfDefinerService {
     private final String gdprDefaultValue;
     private final boolean consentStringMeansInScope;
     private final Tcf2Service tcf2Service;
+    private final TcStringDecoder tcStringDecoder;
     private final Set<String> eeaCountries;
     private final GeoLocationServiceWrapper geoLocationServiceWrapper;
     private final BidderCatalog bidderCatalog;
@@ -71,6 +72,7 @@ public class TcfDefinerService {
     public TcfDefinerService(GdprConfig gdprConfig,
                              Set<String> eeaCountries,
                              Tcf2Service tcf2Service,
+                             TcStringDecoder tcStringDecoder,
                              GeoLocationServiceWrapper geoLocationServiceWrapper,
                              BidderCatalog bidderCatalog,
                              IpAddressHelper ipAddressHelper,
@@ -82,6 +84,7 @@ public class TcfDefinerService {
         this.consentStringMeansInScope = gdprConfig != null
                 && BooleanUtils.isTrue(gdprConfig.getConsentStringMeansInScope());
         this.tcf2Service = Objects.requireNonNull(tcf2Service);
+        this.tcStringDecoder = Objects.requireNonNull(tcStringDecoder);
         this.eeaCountries = Objects.requireNonNull(eeaCountries);
         this.geoLocationServiceWrapper = Objects.requireNonNull(geoLocationServiceWrapper);
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
@@ -378,7 +381,7 @@ public class TcfDefinerService {
 
     private TCString decodeTcString(String consentString, RequestLogInfo requestLogInfo, List<String> warnings) {
         try {
-            return TCString.decode(consentString);
+            return tcStringDecoder.decode(consentString);
         } catch (Exception e) {
             logWarn(consentString, e.getMessage(), requestLogInfo);
             warnings.add("Parsing consent string:\"%s\" - failed. %s".formatted(consentString, e.getMessage()));
@@ -417,15 +420,6 @@ public class TcfDefinerService {
         return consent != null && !(consent instanceof TCStringEmpty);
     }
 
-    public static boolean isConsentStringValid(String consentString) {
-        try {
-            TCString.decode(consentString);
-            return true;
-        } catch (RuntimeException e) {
-            return false;
-        }
-    }
-
     @Value(staticConstructor = "of")
     private static class TCStringParsingResult {
 
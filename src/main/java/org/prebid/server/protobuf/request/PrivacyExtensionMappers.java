@@ -0,0 +1,134 @@
+package org.prebid.server.protobuf.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.Extension;
+import com.google.protobuf.Message;
+import com.iab.openrtb.request.SupplyChain;
+import com.iab.openrtb.request.SupplyChainNode;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import org.prebid.server.openrtb.v2.OpenRtbPrivacy;
+import org.prebid.server.proto.openrtb.ext.request.ConsentedProvidersSettings;
+import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.proto.openrtb.ext.request.ExtSource;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Extension mappers carrying privacy signals OpenRTB 2.5 keeps in {@code regs.ext}, {@code user.ext} and
+ * {@code source.ext} as extensions defined in {@code prebid-openrtb-privacy.proto}.
+ */
+public class PrivacyExtensionMappers {
+
+    private PrivacyExtensionMappers() {
+    }
+
+    /**
+     * Returns specification builder with privacy extension mappers set, other extension mappers can be added to it.
+     */
+    public static RequestExtensionMappersSpecification.RequestExtensionMappersSpecificationBuilder specificationBuilder(
+            ObjectMapper objectMapper) {
+
+        return RequestExtensionMappersSpecification.builder(objectMapper)
+                .regsExtMapper(regsExtMapper())
+                .userExtMapper(userExtMapper())
+                .sourceExtMapper(sourceExtMapper());
+    }
+
+    public static ProtobufForwardExtensionMapper<OpenRtb.BidRequest.Regs, ExtRegs, OpenRtbPrivacy.RegsExt>
+            regsExtMapper() {
+
+        return new ExtensionMapper<>(PrivacyExtensionMappers::regsExt, OpenRtbPrivacy.regs);
+    }
+
+    public static ProtobufForwardExtensionMapper<OpenRtb.BidRequest.User, ExtUser, OpenRtbPrivacy.UserExt>
+            userExtMapper() {
+
+        return new ExtensionMapper<>(PrivacyExtensionMappers::userExt, OpenRtbPrivacy.user);
+    }
+
+    public static ProtobufForwardExtensionMapper<OpenRtb.BidRequest.Source, ExtSource, OpenRtbPrivacy.SourceExt>
+            sourceExtMapper() {
+
+        return new ExtensionMapper<>(PrivacyExtensionMappers::sourceExt, OpenRtbPrivacy.source);
+    }
+
+    private static OpenRtbPrivacy.RegsExt regsExt(ExtRegs extRegs) {
+        final OpenRtbPrivacy.RegsExt.Builder resultBuilder = OpenRtbPrivacy.RegsExt.newBuilder();
+
+        setNotNull(extRegs.getGdpr(), resultBuilder::setGdpr);
+        setNotNull(extRegs.getUsPrivacy(), resultBuilder::setUsPrivacy);
+        setNotNull(extRegs.getGpc(), resultBuilder::setGpc);
+
+        return nullIfEmpty(resultBuilder.build());
+    }
+
+    private static OpenRtbPrivacy.UserExt userExt(ExtUser extUser) {
+        final OpenRtbPrivacy.UserExt.Builder resultBuilder = OpenRtbPrivacy.UserExt.newBuilder();
+
+        final ConsentedProvidersSettings consentedProvidersSettings = extUser.getConsentedProvidersSettings();
+        setNotNull(extUser.getConsent(), resultBuilder::setConsent);
+        setNotNull(consentedProvidersSettings != null ? consentedProvidersSettings.getConsentedProviders() : null,
+                resultBuilder::setConsentedProviders);
+
+        return nullIfEmpty(resultBuilder.build());
+    }
+
+    private static OpenRtbPrivacy.SourceExt sourceExt(ExtSource extSource) {
+        final SupplyChain supplyChain = extSource.getSchain();
+        return supplyChain != null
+                ? OpenRtbPrivacy.SourceExt.newBuilder().setSchain(supplyChain(supplyChain)).build()
+                : null;
+    }
+
+    private static OpenRtbPrivacy.SupplyChain supplyChain(SupplyChain supplyChain) {
+        final OpenRtbPrivacy.SupplyChain.Builder resultBuilder = OpenRtbPrivacy.SupplyChain.newBuilder();
+
+        setNotNull(supplyChain.getComplete(), resultBuilder::setComplete);
+        setNotNull(mapList(supplyChain.getNodes(), PrivacyExtensionMappers::supplyChainNode),
+                resultBuilder::addAllNodes);
+        setNotNull(supplyChain.getVer(), resultBuilder::setVer);
+
+        return resultBuilder.build();
+    }
+
+    private static OpenRtbPrivacy.SupplyChainNode supplyChainNode(SupplyChainNode node) {
+        final OpenRtbPrivacy.SupplyChainNode.Builder resultBuilder = OpenRtbPrivacy.SupplyChainNode.newBuilder();
+
+        setNotNull(node.getAsi(), resultBuilder::setAsi);
+        setNotNull(node.getSid(), resultBuilder::setSid);
+        setNotNull(node.getRid(), resultBuilder::setRid);
+        setNotNull(node.getName(), resultBuilder::setName);
+        setNotNull(node.getDomain(), resultBuilder::setDomain);
+        setNotNull(node.getHp(), resultBuilder::setHp);
+
+        return resultBuilder.build();
+    }
+
+    private static <T extends Message> T nullIfEmpty(T message) {
+        return message.equals(message.getDefaultInstanceForType()) ? null : message;
+    }
+
+    private static <T> void setNotNull(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private static <T, U> List<U> mapList(List<T> values, Function<T, U> mapper) {
+        return values != null ? values.stream().map(mapper).toList() : null;
+    }
+
+    private record ExtensionMapper<ContainingType extends Message, FromType, ToType>(
+            Function<FromType, ToType> mapper,
+            Extension<ContainingType, ToType> extensionDescriptor)
+            implements ProtobufForwardExtensionMapper<ContainingType, FromType, ToType> {
+
+        @Override
+        public ToType map(FromType ext) {
+            return mapper.apply(ext);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package org.prebid.server.settings;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.Value;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.MetricName;
@@ -21,25 +27,46 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
-
+import java.util.function.Supplier;
+
+/**
+ * Caches settings fetched by delegate.
+ * <p>
+ * Concurrent misses of the same key share a single delegate call, so an expired popular account or a cold cache
+ * after deploy leads to one backend call per key instead of one per auction. Each caller waits for the shared call
+ * within its own timeout and gets the result on its own Vert.x context. Accounts and categories which are
+ * requested while less than refresh-ahead period is left before their expiration are reloaded in background
+ * within refresh-ahead timeout, while the cached value is still served.
+ */
 public class CachingApplicationSettings implements ApplicationSettings {
 
     private static final Logger logger = LoggerFactory.getLogger(CachingApplicationSettings.class);
 
     private final ApplicationSettings delegate;
 
-    private final Map<String, Account> accountCache;
+    private final Cache<String, Account> accountCache;
     private final Map<String, String> accountToErrorCache;
     private final Map<String, String> adServerPublisherToErrorCache;
-    private final Map<String, Map<String, String>> categoryConfigCache;
+    private final Cache<String, Map<String, String>> categoryConfigCache;
     private final SettingsCache<String> cache;
     private final SettingsCache<String> ampCache;
     private final SettingsCache<String> videoCache;
     private final SettingsCache<Profile> profileCache;
     private final Metrics metrics;
+    private final long refreshAheadNanos;
+    private final long refreshAheadTimeoutMs;
+    private final TimeoutFactory timeoutFactory;
+
+    private final Map<String, Future<Account>> accountFetches = new ConcurrentHashMap<>();
+    private final Map<String, Future<Map<String, String>>> categoryFetches = new ConcurrentHashMap<>();
+    private final Map<StoredDataFetchKey, Future<StoredDataResult<?>>> storedDataFetches = new ConcurrentHashMap<>();
 
     public CachingApplicationSettings(ApplicationSettings delegate,
                                       SettingsCache<String> cache,
@@ -49,7 +76,10 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                       Metrics metrics,
                                       int ttl,
                                       int size,
-                                      int jitter) {
+                                      int jitter,
+                                      int refreshAhead,
+                                      long refreshAheadTimeoutMs,
+                                      TimeoutFactory timeoutFactory) {
 
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
@@ -57,17 +87,27 @@ public class CachingApplicationSettings implements ApplicationSettings {
         if (jitter < 0 || jitter >= ttl) {
             throw new IllegalArgumentException("jitter must match the inequality: 0 <= jitter < ttl");
         }
+        if (refreshAhead < 0 || refreshAhead >= ttl - jitter) {
+            throw new IllegalArgumentException(
+                    "refresh ahead must match the inequality: 0 <= refresh ahead < ttl - jitter");
+        }
+        if (refreshAheadTimeoutMs <= 0) {
+            throw new IllegalArgumentException("refresh ahead timeout must be positive");
+        }
 
         this.delegate = Objects.requireNonNull(delegate);
-        this.accountCache = SettingsCache.createCache(ttl, size, jitter);
+        this.accountCache = SettingsCache.buildCache(ttl, size, jitter);
         this.accountToErrorCache = SettingsCache.createCache(ttl, size, jitter);
         this.adServerPublisherToErrorCache = SettingsCache.createCache(ttl, size, jitter);
-        this.categoryConfigCache = SettingsCache.createCache(ttl, size, jitter);
+        this.categoryConfigCache = SettingsCache.buildCache(ttl, size, jitter);
         this.cache = Objects.requireNonNull(cache);
         this.ampCache = Objects.requireNonNull(ampCache);
         this.videoCache = Objects.requireNonNull(videoCache);
         this.profileCache = Objects.requireNonNull(profileCache);
         this.metrics = Objects.requireNonNull(metrics);
+        this.refreshAheadNanos = TimeUnit.SECONDS.toNanos(refreshAhead);
+        this.refreshAheadTimeoutMs = refreshAheadTimeoutMs;
+        this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
     }
 
     @Override
@@ -75,23 +115,36 @@ public class CachingApplicationSettings implements ApplicationSettings {
         return getFromCacheOrDelegate(
                 accountCache,
                 accountToErrorCache,
+                accountFetches,
                 StringUtils.isBlank(accountId) ? StringUtils.EMPTY : accountId,
                 timeout,
                 delegate::getAccountById,
                 event -> metrics.updateSettingsCacheEventMetric(MetricName.account, event));
     }
 
-    private static <T> Future<T> getFromCacheOrDelegate(Map<String, T> cache,
-                                                        Map<String, String> accountToErrorCache,
-                                                        String key,
-                                                        Timeout timeout,
-                                                        BiFunction<String, Timeout, Future<T>> retriever,
-                                                        Consumer<MetricName> metricUpdater) {
+    private <T> Future<T> getFromCacheOrDelegate(Cache<String, T> cache,
+                                                 Map<String, String> accountToErrorCache,
+                                                 Map<String, Future<T>> fetches,
+                                                 String key,
+                                                 Timeout timeout,
+                                                 BiFunction<String, Timeout, Future<T>> retriever,
+                                                 Consumer<MetricName> metricUpdater) {
 
-        final T cachedValue = cache.get(key);
+        final T cachedValue = cache.getIfPresent(key);
         if (cachedValue != null) {
             metricUpdater.accept(MetricName.hit);
 
+            if (shouldRefreshAhead(cache, key) && !fetches.containsKey(key)) {
+                metricUpdater.accept(MetricName.refresh_ahead);
+                // background reload isn't bound to the request which happened to trigger it
+                final Timeout refreshTimeout = timeoutFactory.create(refreshAheadTimeoutMs);
+                sharedFetch(
+                        fetches,
+                        key,
+                        () -> retriever.apply(key, refreshTimeout).onSuccess(value -> cache.put(key, value)),
+                        CachingApplicationSettings::noOp);
+            }
+
             return Future.succeededFuture(cachedValue);
         }
 
@@ -102,12 +155,91 @@ public class CachingApplicationSettings implements ApplicationSettings {
             return Future.failedFuture(new PreBidException(preBidExceptionMessage));
         }
 
-        return retriever.apply(key, timeout)
+        return fetch(fetches, key, timeout, () -> retriever.apply(key, timeout)
                 .map(value -> {
                     cache.put(key, value);
                     return value;
                 })
-                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache));
+                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache)),
+                metricUpdater);
+    }
+
+    private boolean shouldRefreshAhead(Cache<String, ?> cache, String key) {
+        return refreshAheadNanos > 0 && cache.policy().expireVariably()
+                .map(expiration -> expiration.getExpiresAfter(key, TimeUnit.NANOSECONDS))
+                .filter(OptionalLong::isPresent)
+                .map(expiresAfter -> expiresAfter.getAsLong() <= refreshAheadNanos)
+                .orElse(false);
+    }
+
+    /**
+     * Waits for in-flight fetch of the given key if there is one, otherwise starts a new fetch which is shared with
+     * concurrent callers until completion. The fetch is awaited within the given timeout of the caller.
+     */
+    private static <K, T> Future<T> fetch(Map<K, Future<T>> fetches,
+                                          K key,
+                                          Timeout timeout,
+                                          Supplier<Future<T>> fetcher,
+                                          Consumer<MetricName> metricUpdater) {
+
+        return awaitOnCallerContext(sharedFetch(fetches, key, fetcher, metricUpdater), timeout);
+    }
+
+    /**
+     * Returns in-flight fetch of the given key if there is one, otherwise starts a new fetch which is shared with
+     * concurrent callers until completion. The returned future completes wherever the delegate completes it.
+     */
+    private static <K, T> Future<T> sharedFetch(Map<K, Future<T>> fetches,
+                                                K key,
+                                                Supplier<Future<T>> fetcher,
+                                                Consumer<MetricName> metricUpdater) {
+
+        final Promise<T> promise = Promise.promise();
+        final Future<T> inFlightFetch = fetches.putIfAbsent(key, promise.future());
+        if (inFlightFetch != null) {
+            metricUpdater.accept(MetricName.coalesced);
+            return inFlightFetch;
+        }
+
+        Future<T> fetch;
+        try {
+            fetch = fetcher.get();
+        } catch (Exception e) {
+            fetch = Future.failedFuture(e);
+        }
+
+        fetch.onComplete(result -> {
+            fetches.remove(key, promise.future());
+            promise.handle(result);
+        });
+
+        return promise.future();
+    }
+
+    private static <T> Future<T> awaitOnCallerContext(Future<T> fetch, Timeout timeout) {
+        final Context context = Vertx.currentContext();
+        if (context == null) {
+            return fetch;
+        }
+
+        final Promise<T> promise = Promise.promise();
+        final Vertx vertx = context.owner();
+        final long timerId = vertx.setTimer(Math.max(timeout.remaining(), 1L), ignored -> promise.tryFail(
+                new TimeoutException("Timed out while waiting for settings fetch")));
+
+        fetch.onComplete(result -> {
+            if (Vertx.currentContext() == context) {
+                vertx.cancelTimer(timerId);
+                promise.tryHandle(result);
+            } else {
+                context.runOnContext(ignored -> {
+                    vertx.cancelTimer(timerId);
+                    promise.tryHandle(result);
+                });
+            }
+        });
+
+        return promise.future();
     }
 
     private static <T> Future<T> cacheAndReturnFailedFuture(Throwable throwable,
@@ -127,7 +259,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                           Set<String> impIds,
                                                           Timeout timeout) {
 
-        return getStoredDataFromCacheOrDelegate(cache, accountId, requestIds, impIds, timeout, delegate::getStoredData);
+        return getStoredDataFromCacheOrDelegate(
+                cache, MetricName.stored_request, accountId, requestIds, impIds, timeout, delegate::getStoredData);
     }
 
     @Override
@@ -137,7 +270,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                              Timeout timeout) {
 
         return getStoredDataFromCacheOrDelegate(
-                ampCache, accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
+                ampCache, MetricName.amp_stored_request, accountId, requestIds, impIds, timeout,
+                delegate::getAmpStoredData);
     }
 
     @Override
@@ -147,7 +281,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                                Timeout timeout) {
 
         return getStoredDataFromCacheOrDelegate(
-                videoCache, accountId, requestIds, impIds, timeout, delegate::getVideoStoredData);
+                videoCache, MetricName.video_stored_request, accountId, requestIds, impIds, timeout,
+                delegate::getVideoStoredData);
     }
 
     @Override
@@ -157,15 +292,16 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                          Timeout timeout) {
 
         return getStoredDataFromCacheOrDelegate(
-                profileCache, accountId, requestIds, impIds, timeout, delegate::getProfiles);
+                profileCache, MetricName.profile, accountId, requestIds, impIds, timeout, delegate::getProfiles);
     }
 
-    private static <T> Future<StoredDataResult<T>> getStoredDataFromCacheOrDelegate(SettingsCache<T> cache,
-                                                                                    String accountId,
-                                                                                    Set<String> requestIds,
-                                                                                    Set<String> impIds,
-                                                                                    Timeout timeout,
-                                                                                    StoredDataFetcher<T> retriever) {
+    private <T> Future<StoredDataResult<T>> getStoredDataFromCacheOrDelegate(SettingsCache<T> cache,
+                                                                             MetricName cacheType,
+                                                                             String accountId,
+                                                                             Set<String> requestIds,
+                                                                             Set<String> impIds,
+                                                                             Timeout timeout,
+                                                                             StoredDataFetcher<T> retriever) {
 
         // empty string account ID doesn't make sense
         final String normalizedAccountId = StringUtils.stripToNull(accountId);
@@ -189,24 +325,40 @@ public class CachingApplicationSettings implements ApplicationSettings {
                             Collections.emptyList()));
         }
 
-        return retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout).map(result -> {
-            final Map<String, T> storedIdToRequestFromDelegate = result.getStoredIdToRequest();
-            storedIdToRequest.putAll(storedIdToRequestFromDelegate);
-            for (Map.Entry<String, T> entry : storedIdToRequestFromDelegate.entrySet()) {
-                cache.saveRequestCache(normalizedAccountId, entry.getKey(), entry.getValue());
-            }
+        return fetchStoredData(
+                cache,
+                StoredDataFetchKey.of(cache, normalizedAccountId, missedRequestIds, missedImpIds),
+                timeout,
+                () -> retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout),
+                event -> metrics.updateSettingsCacheEventMetric(cacheType, event))
+                .map(result -> {
+                    storedIdToRequest.putAll(result.getStoredIdToRequest());
+                    storedIdToImp.putAll(result.getStoredIdToImp());
 
-            final Map<String, T> storedIdToImpFromDelegate = result.getStoredIdToImp();
-            storedIdToImp.putAll(storedIdToImpFromDelegate);
-            for (Map.Entry<String, T> entry : storedIdToImpFromDelegate.entrySet()) {
-                cache.saveImpCache(normalizedAccountId, entry.getKey(), entry.getValue());
-            }
+                    return StoredDataResult.of(
+                            Collections.unmodifiableMap(storedIdToRequest),
+                            Collections.unmodifiableMap(storedIdToImp),
+                            result.getErrors());
+                });
+    }
 
-            return StoredDataResult.of(
-                    Collections.unmodifiableMap(storedIdToRequest),
-                    Collections.unmodifiableMap(storedIdToImp),
-                    result.getErrors());
-        });
+    @SuppressWarnings("unchecked")
+    private <T> Future<StoredDataResult<T>> fetchStoredData(SettingsCache<T> cache,
+                                                            StoredDataFetchKey key,
+                                                            Timeout timeout,
+                                                            Supplier<Future<StoredDataResult<T>>> fetcher,
+                                                            Consumer<MetricName> metricUpdater) {
+
+        // keys are bound to the cache instance, so all fetches of the same key have the same type of data
+        final Map<StoredDataFetchKey, Future<StoredDataResult<T>>> fetches =
+                (Map<StoredDataFetchKey, Future<StoredDataResult<T>>>) (Map<?, ?>) storedDataFetches;
+
+        return fetch(fetches, key, timeout, () -> fetcher.get().map(result -> {
+            final String accountId = key.getAccountId();
+            result.getStoredIdToRequest().forEach((id, value) -> cache.saveRequestCache(accountId, id, value));
+            result.getStoredIdToImp().forEach((id, value) -> cache.saveImpCache(accountId, id, value));
+            return result;
+        }), metricUpdater);
     }
 
     private static <T> Map<String, T> getFromCacheOrAddMissedIds(String accountId,
@@ -242,18 +394,31 @@ public class CachingApplicationSettings implements ApplicationSettings {
         return getFromCacheOrDelegate(
                 categoryConfigCache,
                 adServerPublisherToErrorCache,
+                categoryFetches,
                 compoundKey,
                 timeout,
-                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeout),
-                CachingApplicationSettings::noOp);
+                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeoutParam),
+                event -> metrics.updateSettingsCacheEventMetric(MetricName.category, event));
     }
 
     public void invalidateAccountCache(String accountId) {
-        accountCache.remove(accountId);
+        accountCache.invalidate(accountId);
         accountToErrorCache.remove(accountId);
         logger.debug("Account with id {} was invalidated", accountId);
     }
 
     private static <ANY> void noOp(ANY any) {
     }
+
+    @Value(staticConstructor = "of")
+    private static class StoredDataFetchKey {
+
+        SettingsCache<?> cache;
+
+        String accountId;
+
+        Set<String> requestIds;
+
+        Set<String> impIds;
+    }
 }
@@ -1,5 +1,6 @@
 package org.prebid.server.settings;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
 import org.apache.commons.collections4.MapUtils;
@@ -35,6 +36,10 @@ public class SettingsCache<T> implements CacheNotificationListener<T> {
     }
 
     public static <T> Map<String, T> createCache(int ttlSeconds, int size, int jitterSeconds) {
+        return SettingsCache.<T>buildCache(ttlSeconds, size, jitterSeconds).asMap();
+    }
+
+    static <T> Cache<String, T> buildCache(int ttlSeconds, int size, int jitterSeconds) {
         final long expireAfterNanos = (long) (ttlSeconds * 1e9);
         final long jitterNanos = jitterSeconds == 0 ? 0L : (long) (jitterSeconds * 1e9);
 
@@ -43,8 +48,7 @@ public class SettingsCache<T> implements CacheNotificationListener<T> {
                         ? new StaticExpiry<>(expireAfterNanos)
                         : new ExpiryWithJitter<>(expireAfterNanos, jitterNanos))
                 .maximumSize(size)
-                .<String, T>build()
-                .asMap();
+                .<String, T>build();
     }
 
     Map<String, Set<StoredItem<T>>> getRequestCache() {
@@ -3,6 +3,8 @@ package org.prebid.server.settings.service;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.execution.timeout.TimeoutFactory;
@@ -18,6 +20,7 @@ import org.prebid.server.vertx.database.DatabaseClient;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -41,6 +44,16 @@ import java.util.stream.Collectors;
  * If data is empty or the JSON "null", then the ID will be invalidated (e.g. a deletion).
  * If data is not empty, depending on TYPE, it should be put to corresponding map with ID as a key and DATA as value.
  * </p>
+ *
+ * <p>
+ * If initPageSize is positive, the initial load is split into pages fetched one after another with keyset
+ * pagination, and each page is saved to the cache as soon as it arrives. Changes made while the pages are being
+ * loaded are picked up by the first update, because updates start from the moment the initial load has started.
+ * </p>
+ *
+ * <p>
+ * Failed initial load is retried on the next refresh, paged one is continued from the last fetched row.
+ * </p>
  */
 public class DatabasePeriodicRefreshService implements Initializable {
 
@@ -53,6 +66,25 @@ public class DatabasePeriodicRefreshService implements Initializable {
      * FROM stored_requests;
      * <pre>
      * This query will be run once on startup to fetch _all_ known Stored Request data from the database.
+     * <p>
+     * Example of paged initialize query:
+     * <pre>
+     * SELECT accountId, id, requestData, type
+     * FROM stored_requests
+     * WHERE (type, id) > (?, ?)
+     * ORDER BY type, id
+     * LIMIT ?;
+     * <pre>
+     * or for Postgresql:
+     * <pre>
+     * SELECT accountId, id, requestData, type
+     * FROM stored_requests
+     * WHERE (type, id) > ($1, $2)
+     * ORDER BY type, id
+     * LIMIT $3;
+     * <pre>
+     * If initPageSize is positive, wildcards "?" ("$1", "$2" and "$3" for Postgresql) would be used to pass type and
+     * id of the last fetched row (both are empty strings for the first page) and the page size.
      */
     private final String initQuery;
     /**
@@ -66,6 +98,7 @@ public class DatabasePeriodicRefreshService implements Initializable {
      * Wildcard "?" would be used to pass last update date automatically.
      */
     private final String updateQuery;
+    private final int initPageSize;
     private final long refreshPeriod;
     private final long timeout;
     private final MetricName cacheType;
@@ -77,9 +110,14 @@ public class DatabasePeriodicRefreshService implements Initializable {
     private final Clock clock;
 
     private Instant lastUpdate;
+    private Instant initialLoadTime;
+    private boolean initialLoadInProgress;
+    private String lastLoadedType = StringUtils.EMPTY;
+    private String lastLoadedId = StringUtils.EMPTY;
 
     public DatabasePeriodicRefreshService(String initQuery,
                                           String updateQuery,
+                                          int initPageSize,
                                           long refreshPeriod,
                                           long timeout,
                                           MetricName cacheType,
@@ -92,6 +130,7 @@ public class DatabasePeriodicRefreshService implements Initializable {
 
         this.initQuery = Objects.requireNonNull(StringUtils.stripToNull(initQuery));
         this.updateQuery = Objects.requireNonNull(StringUtils.stripToNull(updateQuery));
+        this.initPageSize = initPageSize;
         this.refreshPeriod = refreshPeriod;
         this.timeout = timeout;
         this.cacheType = Objects.requireNonNull(cacheType);
@@ -113,26 +152,98 @@ public class DatabasePeriodicRefreshService implements Initializable {
     }
 
     private void getAll() {
+        initialLoadInProgress = true;
+        // retried load continues from the last fetched row, so updates should start from its first attempt
+        if (initialLoadTime == null) {
+            initialLoadTime = Instant.now(clock);
+        }
+        final Instant updateTime = initialLoadTime;
         final long startTime = clock.millis();
 
-        databaseClient.executeQuery(
+        final Future<Void> loadFuture = initPageSize > 0 ? loadPages() : loadAll();
+        loadFuture
+                .map(ignored -> handleResult(updateTime, startTime, MetricName.initialize))
+                .recover(exception -> handleFailure(exception, startTime, MetricName.initialize))
+                .onComplete(ignored -> initialLoadInProgress = false);
+    }
+
+    private Future<Void> loadAll() {
+        return databaseClient.executeQuery(
                         initQuery,
                         Collections.emptyList(),
                         DatabaseStoredDataResultMapper::map,
                         createTimeout())
-                .map(storedDataResult ->
-                        handleResult(storedDataResult, Instant.now(clock), startTime, MetricName.initialize))
-                .recover(exception -> handleFailure(exception, startTime, MetricName.initialize));
+                .map(storedDataResult -> save(storedDataResult, MetricName.initialize));
     }
 
-    private Void handleResult(StoredDataResult<String> storedDataResult,
-                              Instant updateTime,
-                              long startTime,
-                              MetricName refreshType) {
+    private Future<Void> loadPages() {
+        final Promise<Void> loadPromise = Promise.promise();
+        loadPage(lastLoadedType, lastLoadedId, loadPromise);
+        return loadPromise.future();
+    }
 
-        cacheNotificationListener.save(storedDataResult.getStoredIdToRequest(), storedDataResult.getStoredIdToImp());
-        lastUpdate = updateTime;
+    /**
+     * Pages are chained through the promise rather than through nested futures,
+     * so the number of pages doesn't affect the depth of completion callbacks.
+     */
+    private void loadPage(String lastType, String lastId, Promise<Void> loadPromise) {
+        final long pageStartTime = clock.millis();
 
+        databaseClient.executeQuery(
+                        initQuery,
+                        Arrays.asList(lastType, lastId, initPageSize),
+                        DatabasePeriodicRefreshService::mapPage,
+                        createTimeout())
+                .onFailure(loadPromise::fail)
+                .onSuccess(page -> {
+                    metrics.updateSettingsCacheRefreshPageTime(
+                            cacheType, MetricName.initialize, clock.millis() - pageStartTime);
+                    save(page.result(), MetricName.initialize);
+
+                    if (page.size() < initPageSize || page.lastId() == null) {
+                        loadPromise.complete();
+                    } else {
+                        // failed load is continued from the last saved page
+                        lastLoadedType = page.lastType();
+                        lastLoadedId = page.lastId();
+                        loadPage(lastLoadedType, lastLoadedId, loadPromise);
+                    }
+                });
+    }
+
+    private static Page mapPage(RowSet<Row> rowSet) {
+        final StoredDataResult<String> storedDataResult = DatabaseStoredDataResultMapper.map(rowSet);
+
+        Row lastRow = null;
+        if (rowSet != null) {
+            for (Row row : rowSet) {
+                lastRow = row;
+            }
+        }
+
+        if (lastRow == null || lastRow.size() < 4) {
+            return new Page(storedDataResult, 0, null, null);
+        }
+
+        return new Page(
+                storedDataResult,
+                rowSet.size(),
+                Objects.toString(lastRow.getValue(3), null),
+                Objects.toString(lastRow.getValue(1), null));
+    }
+
+    private Void save(StoredDataResult<String> storedDataResult, MetricName refreshType) {
+        final Map<String, String> requests = storedDataResult.getStoredIdToRequest();
+        final Map<String, String> imps = storedDataResult.getStoredIdToImp();
+
+        cacheNotificationListener.save(requests, imps);
+        metrics.updateSettingsCacheRefreshItemsMetric(cacheType, refreshType, requests.size() + imps.size());
+
+        return null;
+    }
+
+    private Void handleResult(Instant updateTime, long startTime, MetricName refreshType) {
+        lastUpdate = updateTime;
         metrics.updateSettingsCacheRefreshTime(cacheType, refreshType, clock.millis() - startTime);
 
         return null;
@@ -148,6 +259,14 @@ public class DatabasePeriodicRefreshService implements Initializable {
     }
 
     private void refresh() {
+        // nothing to update until initial load has succeeded
+        if (lastUpdate == null) {
+            if (!initialLoadInProgress) {
+                getAll();
+            }
+            return;
+        }
+
         final Instant updateTime = Instant.now(clock);
         final long startTime = clock.millis();
 
@@ -156,8 +275,8 @@ public class DatabasePeriodicRefreshService implements Initializable {
                         Collections.singletonList(Date.from(lastUpdate)),
                         DatabaseStoredDataResultMapper::map,
                         createTimeout())
-                .map(storedDataResult ->
-                        handleResult(invalidate(storedDataResult), updateTime, startTime, MetricName.update))
+                .map(storedDataResult -> save(invalidate(storedDataResult), MetricName.update))
+                .map(ignored -> handleResult(updateTime, startTime, MetricName.update))
                 .recover(exception -> handleFailure(exception, startTime, MetricName.update));
     }
 
@@ -193,4 +312,7 @@ public class DatabasePeriodicRefreshService implements Initializable {
     private Timeout createTimeout() {
         return timeoutFactory.create(timeout);
     }
+
+    private record Page(StoredDataResult<String> result, int size, String lastType, String lastId) {
+    }
 }
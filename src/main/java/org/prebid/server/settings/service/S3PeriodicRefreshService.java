@@ -1,40 +1,58 @@
 package org.prebid.server.settings.service;
 
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import org.prebid.server.auction.model.Tuple2;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.CacheNotificationListener;
-import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.vertx.Initializable;
+import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
  * Service that periodically calls s3 for stored request updates.
  * If refreshRate is negative, then the data will never be refreshed.
  * <p>
- * Fetches all files from the specified folders/prefixes in s3 and downloads all files.
+ * Lists all files from the specified folders/prefixes in s3 and downloads only files which are new or whose ETag
+ * has changed since the previous successful fetch, so refresh cost depends on the number of changed files rather
+ * than on the total number of files. Content of unchanged files is kept from their last download and saved again on
+ * each refresh, so they don't expire from the cache while they stay in s3. Files which disappeared from the listing
+ * are invalidated in the cache.
+ * If the listing doesn't provide an ETag, the file is requested conditionally with the ETag of its last download.
+ * At most maxConcurrentDownloads files are downloaded at the same time.
  */
 public class S3PeriodicRefreshService implements Initializable {
 
     private static final String JSON_SUFFIX = ".json";
+    private static final int NOT_MODIFIED_STATUS = 304;
 
     private static final Logger logger = LoggerFactory.getLogger(S3PeriodicRefreshService.class);
 
@@ -43,17 +61,24 @@ public class S3PeriodicRefreshService implements Initializable {
     private final String storedRequestsDirectory;
     private final String storedImpressionsDirectory;
     private final long refreshPeriod;
+    private final int maxConcurrentDownloads;
     private final CacheNotificationListener<String> cacheNotificationListener;
     private final MetricName cacheType;
     private final Clock clock;
     private final Metrics metrics;
     private final Vertx vertx;
 
+    /**
+     * Successfully cached files by their keys, per directory.
+     */
+    private final Map<String, Map<String, StoredFile>> directoryToFiles;
+
     public S3PeriodicRefreshService(S3AsyncClient asyncClient,
                                     String bucket,
                                     String storedRequestsDirectory,
                                     String storedImpressionsDirectory,
                                     long refreshPeriod,
+                                    int maxConcurrentDownloads,
                                     CacheNotificationListener<String> cacheNotificationListener,
                                     MetricName cacheType,
                                     Clock clock,
@@ -65,65 +90,184 @@ public class S3PeriodicRefreshService implements Initializable {
         this.storedRequestsDirectory = Objects.requireNonNull(storedRequestsDirectory);
         this.storedImpressionsDirectory = Objects.requireNonNull(storedImpressionsDirectory);
         this.refreshPeriod = refreshPeriod;
+        this.maxConcurrentDownloads = Math.max(maxConcurrentDownloads, 1);
         this.cacheNotificationListener = Objects.requireNonNull(cacheNotificationListener);
         this.cacheType = Objects.requireNonNull(cacheType);
         this.clock = Objects.requireNonNull(clock);
         this.metrics = Objects.requireNonNull(metrics);
         this.vertx = Objects.requireNonNull(vertx);
+
+        directoryToFiles = new ConcurrentHashMap<>();
     }
 
     @Override
     public void initialize(Promise<Void> initializePromise) {
-        fetchStoredDataResult(clock.millis(), MetricName.initialize)
+        fetchStoredDataChanges(clock.millis(), MetricName.initialize)
                 .<Void>mapEmpty()
                 .onComplete(initializePromise);
 
         if (refreshPeriod > 0) {
             logger.info("Starting s3 periodic refresh for " + cacheType + " every " + refreshPeriod + " s");
-            vertx.setPeriodic(refreshPeriod, ignored -> fetchStoredDataResult(clock.millis(), MetricName.update));
+            vertx.setPeriodic(refreshPeriod, ignored -> fetchStoredDataChanges(clock.millis(), MetricName.update));
         }
     }
 
-    private Future<StoredDataResult<String>> fetchStoredDataResult(long startTime, MetricName metricName) {
-        return Future.all(
-                        getFileContentsForDirectory(storedRequestsDirectory),
-                        getFileContentsForDirectory(storedImpressionsDirectory))
-                .map(CompositeFuture::<Map<String, String>>list)
-                .map(results -> StoredDataResult.of(results.getFirst(), results.get(1), Collections.emptyList()))
-                .onSuccess(storedDataResult -> handleResult(storedDataResult, startTime, metricName))
+    private Future<CompositeFuture> fetchStoredDataChanges(long startTime, MetricName metricName) {
+        // all callbacks of one fetch are run on the same context, so its intermediate state isn't shared
+        final Context context = vertx.getOrCreateContext();
+
+        final Future<DirectoryChanges> requestChanges = getDirectoryChanges(storedRequestsDirectory, context);
+        final Future<DirectoryChanges> impChanges = getDirectoryChanges(storedImpressionsDirectory, context);
+
+        return Future.all(requestChanges, impChanges)
+                .onSuccess(ignored -> handleResult(requestChanges.result(), impChanges.result(), startTime, metricName))
                 .onFailure(exception -> handleFailure(exception, startTime, metricName));
     }
 
-    private Future<Map<String, String>> getFileContentsForDirectory(String directory) {
-        return listFiles(directory)
-                .map(files -> files.stream().map(this::downloadFile).toList())
-                .compose(Future::all)
-                .map(CompositeFuture::<Tuple2<String, String>>list)
-                .map(fileNameToContent -> fileNameToContent.stream()
-                        .collect(Collectors.toMap(
-                                entry -> stripFileName(directory, entry.getLeft()),
-                                Tuple2::getRight)));
+    private Future<DirectoryChanges> getDirectoryChanges(String directory, Context context) {
+        final Map<String, StoredFile> previousFiles = directoryToFiles.getOrDefault(directory, Collections.emptyMap());
+
+        return listFiles(directory, context)
+                .compose(files -> downloadChangedFiles(directory, files, previousFiles, context));
     }
 
-    private Future<List<String>> listFiles(String prefix) {
+    private Future<List<S3Object>> listFiles(String prefix, Context context) {
+        final List<S3Object> files = new ArrayList<>();
+        final Promise<List<S3Object>> promise = Promise.promise();
+        listFiles(prefix, null, files, promise, context);
+        return promise.future();
+    }
+
+    /**
+     * Single listing returns at most 1000 keys, so the listing is continued while it's truncated.
+     */
+    private void listFiles(String prefix,
+                           String marker,
+                           List<S3Object> files,
+                           Promise<List<S3Object>> promise,
+                           Context context) {
+
         final ListObjectsRequest listObjectsRequest = ListObjectsRequest.builder()
                 .bucket(bucket)
                 .prefix(prefix)
+                .marker(marker)
                 .build();
 
-        return Future.fromCompletionStage(asyncClient.listObjects(listObjectsRequest), vertx.getOrCreateContext())
-                .map(response -> response.contents().stream()
-                        .map(S3Object::key)
-                        .collect(Collectors.toList()));
+        Future.fromCompletionStage(asyncClient.listObjects(listObjectsRequest), context)
+                .onFailure(promise::tryFail)
+                .onSuccess(response -> {
+                    files.addAll(response.contents());
+
+                    final String nextMarker = nextMarker(response);
+                    if (nextMarker != null) {
+                        listFiles(prefix, nextMarker, files, promise, context);
+                    } else {
+                        promise.tryComplete(files);
+                    }
+                });
+    }
+
+    private static String nextMarker(ListObjectsResponse response) {
+        if (!Boolean.TRUE.equals(response.isTruncated()) || response.contents().isEmpty()) {
+            return null;
+        }
+
+        return StringUtils.defaultIfEmpty(response.nextMarker(), response.contents().getLast().key());
     }
 
-    private Future<Tuple2<String, String>> downloadFile(String key) {
-        final GetObjectRequest request = GetObjectRequest.builder().bucket(bucket).key(key).build();
+    private Future<DirectoryChanges> downloadChangedFiles(String directory,
+                                                          List<S3Object> files,
+                                                          Map<String, StoredFile> previousFiles,
+                                                          Context context) {
+
+        final Map<String, StoredFile> storedFiles = new HashMap<>();
+        final Set<String> keys = new HashSet<>();
+        final List<S3Object> changedFiles = new ArrayList<>();
+        for (S3Object file : files) {
+            keys.add(file.key());
+            final StoredFile previousFile = previousFiles.get(file.key());
+            if (previousFile != null && file.eTag() != null && file.eTag().equals(previousFile.eTag())) {
+                storedFiles.put(file.key(), previousFile);
+            } else {
+                changedFiles.add(file);
+            }
+        }
+
+        final List<String> removedIds = previousFiles.keySet().stream()
+                .filter(key -> !keys.contains(key))
+                .map(key -> stripFileName(directory, key))
+                .toList();
+
+        final Iterator<S3Object> changedFilesIterator = changedFiles.iterator();
 
-        return Future.fromCompletionStage(
-                        asyncClient.getObject(request, AsyncResponseTransformer.toBytes()),
-                        vertx.getOrCreateContext())
-                .map(content -> Tuple2.of(key, content.asUtf8String()));
+        final List<Future<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxConcurrentDownloads, changedFiles.size()); i++) {
+            final Promise<Void> workerPromise = Promise.promise();
+            downloadNext(changedFilesIterator, previousFiles, storedFiles, workerPromise, context);
+            workers.add(workerPromise.future());
+        }
+
+        return Future.all(workers)
+                .map(ignored -> new DirectoryChanges(
+                        directory, toIdToContent(directory, storedFiles), removedIds, storedFiles));
+    }
+
+    /**
+     * Each worker downloads files one by one until there are no more files to download, which bounds the number of
+     * concurrent downloads by the number of workers.
+     */
+    private void downloadNext(Iterator<S3Object> files,
+                              Map<String, StoredFile> previousFiles,
+                              Map<String, StoredFile> storedFiles,
+                              Promise<Void> workerPromise,
+                              Context context) {
+
+        if (!files.hasNext()) {
+            workerPromise.tryComplete();
+            return;
+        }
+
+        final S3Object file = files.next();
+        final StoredFile previousFile = previousFiles.get(file.key());
+
+        downloadFile(file.key(), previousFile != null ? previousFile.eTag() : null, context)
+                .onFailure(workerPromise::tryFail)
+                .onSuccess(response -> {
+                    storedFiles.put(file.key(), response != null
+                            ? new StoredFile(
+                                    ObjectUtils.firstNonNull(response.response().eTag(), file.eTag()),
+                                    response.asUtf8String())
+                            : previousFile);
+
+                    downloadNext(files, previousFiles, storedFiles, workerPromise, context);
+                });
+    }
+
+    /**
+     * Returns null if the file has not been modified since it was downloaded with the given ETag.
+     */
+    private Future<ResponseBytes<GetObjectResponse>> downloadFile(String key, String previousETag, Context context) {
+        final GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .ifNoneMatch(previousETag)
+                .build();
+
+        return Future.fromCompletionStage(asyncClient.getObject(request, AsyncResponseTransformer.toBytes()), context)
+                .recover(exception -> isNotModified(exception)
+                        ? Future.succeededFuture()
+                        : Future.failedFuture(exception));
+    }
+
+    private static boolean isNotModified(Throwable exception) {
+        final Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+        return cause instanceof S3Exception s3Exception && s3Exception.statusCode() == NOT_MODIFIED_STATUS;
+    }
+
+    private static Map<String, String> toIdToContent(String directory, Map<String, StoredFile> storedFiles) {
+        final Map<String, String> idToContent = new HashMap<>();
+        storedFiles.forEach((key, storedFile) -> idToContent.put(stripFileName(directory, key), storedFile.content()));
+        return idToContent;
     }
 
     private static String stripFileName(String directory, String name) {
@@ -132,8 +276,22 @@ public class S3PeriodicRefreshService implements Initializable {
                 .replace(JSON_SUFFIX, "");
     }
 
-    private void handleResult(StoredDataResult<String> storedDataResult, long startTime, MetricName refreshType) {
-        cacheNotificationListener.save(storedDataResult.getStoredIdToRequest(), storedDataResult.getStoredIdToImp());
+    private void handleResult(DirectoryChanges requestChanges,
+                              DirectoryChanges impChanges,
+                              long startTime,
+                              MetricName refreshType) {
+
+        if (!requestChanges.removedIds().isEmpty() || !impChanges.removedIds().isEmpty()) {
+            cacheNotificationListener.invalidate(requestChanges.removedIds(), impChanges.removedIds());
+        }
+        cacheNotificationListener.save(requestChanges.idToContent(), impChanges.idToContent());
+
+        // files are committed only after they are cached, so failed fetch is fully retried on the next refresh
+        directoryToFiles.put(requestChanges.directory(), requestChanges.storedFiles());
+        directoryToFiles.put(impChanges.directory(), impChanges.storedFiles());
+
+        metrics.updateSettingsCacheRefreshItemsMetric(
+                cacheType, refreshType, requestChanges.idToContent().size() + impChanges.idToContent().size());
         metrics.updateSettingsCacheRefreshTime(cacheType, refreshType, clock.millis() - startTime);
     }
 
@@ -143,4 +301,13 @@ public class S3PeriodicRefreshService implements Initializable {
         metrics.updateSettingsCacheRefreshTime(cacheType, refreshType, clock.millis() - startTime);
         metrics.updateSettingsCacheRefreshErrorMetric(cacheType, refreshType);
     }
+
+    private record DirectoryChanges(String directory,
+                                    Map<String, String> idToContent,
+                                    List<String> removedIds,
+                                    Map<String, StoredFile> storedFiles) {
+    }
+
+    private record StoredFile(String eTag, String content) {
+    }
 }
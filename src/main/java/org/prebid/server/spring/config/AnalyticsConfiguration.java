@@ -78,6 +78,7 @@ public class AnalyticsConfiguration {
                                                     HttpClient httpClient,
                                                     Clock clock,
                                                     PrebidVersionProvider prebidVersionProvider,
+                                                    Metrics metrics,
                                                     Vertx vertx) {
 
             return new AgmaAnalyticsReporter(
@@ -86,6 +87,7 @@ public class AnalyticsConfiguration {
                     jacksonMapper,
                     clock,
                     httpClient,
+                    metrics,
                     vertx);
         }
 
@@ -121,6 +123,7 @@ public class AnalyticsConfiguration {
                         .gzip(BooleanUtils.isTrue(endpoint.getGzip()))
                         .bufferSize(buffers.getSizeBytes())
                         .maxEventsCount(buffers.getCount())
+                        .maxPendingBatches(buffers.getMaxPendingBatches())
                         .bufferTimeoutMs(buffers.getTimeoutMs())
                         .httpTimeoutMs(endpoint.getTimeoutMs())
                         .accounts(accountsByPublisherId)
@@ -161,6 +164,8 @@ public class AnalyticsConfiguration {
 
                 @NotNull
                 private Long timeoutMs;
+
+                private Integer maxPendingBatches;
             }
 
             @NoArgsConstructor
@@ -237,12 +242,14 @@ public class AnalyticsConfiguration {
                 PubstackAnalyticsConfiguratinProperties pubstackAnalyticsConfiguratinProperties,
                 HttpClient httpClient,
                 JacksonMapper jacksonMapper,
+                Metrics metrics,
                 Vertx vertx) {
 
             return new PubstackAnalyticsReporter(
                     pubstackAnalyticsConfiguratinProperties.toComponentProperties(),
                     httpClient,
                     jacksonMapper,
+                    metrics,
                     vertx);
         }
 
@@ -282,6 +289,7 @@ public class AnalyticsConfiguration {
                         .configurationRefreshDelayMs(getConfigurationRefreshDelayMs())
                         .sizeBytes(getBuffers().getSizeBytes())
                         .count(getBuffers().getCount())
+                        .maxPendingBatches(getBuffers().getMaxPendingBatches())
                         .timeoutMs(getTimeoutMs())
                         .reportTtlMs(getBuffers().getReportTtlMs())
                         .build();
@@ -300,6 +308,8 @@ public class AnalyticsConfiguration {
 
             @NotNull
             Long reportTtlMs;
+
+            Integer maxPendingBatches;
         }
     }
 }
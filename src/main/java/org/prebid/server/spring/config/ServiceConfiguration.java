@@ -11,6 +11,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.ActivitiesConfigResolver;
 import org.prebid.server.activity.infrastructure.creator.ActivityInfrastructureCreator;
+import org.prebid.server.auction.AdaptiveBidderTimeoutResolver;
 import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.BidResponseCreator;
 import org.prebid.server.auction.BidResponsePostProcessor;
@@ -60,6 +61,7 @@ import org.prebid.server.auction.privacy.enforcement.PrivacyEnforcement;
 import org.prebid.server.auction.privacy.enforcement.PrivacyEnforcementService;
 import org.prebid.server.auction.requestfactory.AmpRequestFactory;
 import org.prebid.server.auction.requestfactory.AuctionRequestFactory;
+import org.prebid.server.auction.requestfactory.BidRequestDecoder;
 import org.prebid.server.auction.requestfactory.Ortb2ImplicitParametersResolver;
 import org.prebid.server.auction.requestfactory.Ortb2RequestFactory;
 import org.prebid.server.auction.requestfactory.VideoRequestFactory;
@@ -76,6 +78,7 @@ import org.prebid.server.bidder.BidderErrorNotifier;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.HttpBidderRequestEnricher;
 import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.ProtobufBidderCodec;
 import org.prebid.server.cache.BasicPbcStorageService;
 import org.prebid.server.cache.CoreCacheService;
 import org.prebid.server.cache.PbcStorageService;
@@ -108,7 +111,11 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.HostVendorTcfDefinerService;
 import org.prebid.server.privacy.PrivacyExtractor;
+import org.prebid.server.privacy.gdpr.TcStringDecoder;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
+import org.prebid.server.protobuf.request.PrivacyExtensionMappers;
+import org.prebid.server.protobuf.request.RequestExtensionMappersSpecification;
+import org.prebid.server.protobuf.response.ResponseExtensionMappersSpecification;
 import org.prebid.server.settings.ApplicationSettings;
 import org.prebid.server.settings.model.BidValidationEnforcement;
 import org.prebid.server.spring.config.model.CacheDefaultTtlProperties;
@@ -130,6 +137,7 @@ import org.prebid.server.vertx.httpclient.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -311,6 +319,11 @@ public class ServiceConfiguration {
         return new OrtbTypesResolver(logSamplingRate, jacksonMapper, jsonMerger);
     }
 
+    @Bean
+    BidRequestDecoder bidRequestDecoder(OrtbTypesResolver ortbTypesResolver, JacksonMapper jacksonMapper) {
+        return new BidRequestDecoder(ortbTypesResolver, jacksonMapper);
+    }
+
     @Bean
     SupplyChainResolver schainResolver(
             @Value("${auction.host-schain-node}") String globalSchainNode,
@@ -328,6 +341,21 @@ public class ServiceConfiguration {
         return new TimeoutResolver(minTimeout, maxTimeout, upstreamResponseTime);
     }
 
+    @Bean
+    AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver(
+            @Value("${auction.biddertmax.adaptive.enabled:false}") boolean enabled,
+            @Value("${auction.biddertmax.adaptive.percentile:99}") double percentile,
+            @Value("${auction.biddertmax.adaptive.headroom-ms:20}") long headroomMs,
+            @Value("${auction.biddertmax.adaptive.window-size:1000}") int windowSize,
+            @Value("${auction.biddertmax.adaptive.min-samples:100}") int minSamples,
+            @Value("${auction.biddertmax.adaptive.refresh-period-ms:1000}") long refreshPeriodMs,
+            @Value("${auction.biddertmax.min}") long minTimeout,
+            Clock clock) {
+
+        return new AdaptiveBidderTimeoutResolver(
+                enabled, percentile, headroomMs, windowSize, minSamples, refreshPeriodMs, minTimeout, clock);
+    }
+
     @Bean
     DebugResolver debugResolver(@Value("${debug.override-token:#{null}}") String debugOverrideToken,
                                 BidderCatalog bidderCatalog) {
@@ -472,10 +500,9 @@ public class ServiceConfiguration {
             CookieDeprecationService cookieDeprecationService,
             ImplicitParametersExtractor implicitParametersExtractor,
             Ortb2ImplicitParametersResolver ortb2ImplicitParametersResolver,
-            OrtbTypesResolver ortbTypesResolver,
+            BidRequestDecoder bidRequestDecoder,
             AuctionPrivacyContextFactory auctionPrivacyContextFactory,
             DebugResolver debugResolver,
-            JacksonMapper mapper,
             GeoLocationServiceWrapper geoLocationServiceWrapper,
             BidAdjustmentsEnricher bidAdjustmentsEnricher) {
 
@@ -490,10 +517,9 @@ public class ServiceConfiguration {
                 implicitParametersExtractor,
                 ortb2ImplicitParametersResolver,
                 new InterstitialProcessor(),
-                ortbTypesResolver,
+                bidRequestDecoder,
                 auctionPrivacyContextFactory,
                 debugResolver,
-                mapper,
                 geoLocationServiceWrapper,
                 bidAdjustmentsEnricher);
     }
@@ -528,7 +554,8 @@ public class ServiceConfiguration {
                                         AmpPrivacyContextFactory ampPrivacyContextFactory,
                                         DebugResolver debugResolver,
                                         JacksonMapper mapper,
-                                        GeoLocationServiceWrapper geoLocationServiceWrapper) {
+                                        GeoLocationServiceWrapper geoLocationServiceWrapper,
+                                        TcStringDecoder tcStringDecoder) {
 
         return new AmpRequestFactory(
                 ortb2RequestFactory,
@@ -543,7 +570,8 @@ public class ServiceConfiguration {
                 ampPrivacyContextFactory,
                 debugResolver,
                 mapper,
-                geoLocationServiceWrapper);
+                geoLocationServiceWrapper,
+                tcStringDecoder);
     }
 
     @Bean
@@ -809,7 +837,10 @@ public class ServiceConfiguration {
             @Autowired(required = false) BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory,
             BidderErrorNotifier bidderErrorNotifier,
             HttpBidderRequestEnricher requestEnricher,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            ProtobufBidderCodec protobufBidderCodec,
+            AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver,
+            Clock clock) {
 
         return new HttpBidderRequester(
                 httpClient,
@@ -817,9 +848,38 @@ public class ServiceConfiguration {
                 bidderErrorNotifier,
                 requestEnricher,
                 mapper,
+                protobufBidderCodec,
+                adaptiveBidderTimeoutResolver,
+                clock,
                 logSamplingRate);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    RequestExtensionMappersSpecification requestExtensionMappersSpecification(JacksonMapper mapper) {
+        return PrivacyExtensionMappers.specificationBuilder(mapper.mapper()).build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    ResponseExtensionMappersSpecification responseExtensionMappersSpecification(JacksonMapper mapper) {
+        return ResponseExtensionMappersSpecification.builder(mapper.mapper()).build();
+    }
+
+    @Bean
+    ProtobufBidderCodec protobufBidderCodec(RequestExtensionMappersSpecification requestExtensionMappersSpecification,
+                                            ResponseExtensionMappersSpecification responseExtensionMappersSpecification,
+                                            JacksonMapper mapper,
+                                            BidderCatalog bidderCatalog) {
+
+        final ProtobufBidderCodec protobufBidderCodec = new ProtobufBidderCodec(
+                requestExtensionMappersSpecification,
+                responseExtensionMappersSpecification,
+                mapper);
+        protobufBidderCodec.validateBidders(bidderCatalog);
+        return protobufBidderCodec;
+    }
+
     @Bean
     PrebidVersionProvider prebidVersionProvider(VersionInfo versionInfo) {
         return new PrebidVersionProvider(versionInfo.getVersion());
@@ -915,6 +975,7 @@ public class ServiceConfiguration {
             CompositeMediaTypeProcessor mediaTypeProcessor,
             UidUpdater uidUpdater,
             TimeoutResolver timeoutResolver,
+            AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver,
             TimeoutFactory timeoutFactory,
             BidRequestOrtbVersionConversionManager bidRequestOrtbVersionConversionManager,
             HttpBidderRequester httpBidderRequester,
@@ -943,6 +1004,7 @@ public class ServiceConfiguration {
                 mediaTypeProcessor,
                 uidUpdater,
                 timeoutResolver,
+                adaptiveBidderTimeoutResolver,
                 timeoutFactory,
                 bidRequestOrtbVersionConversionManager,
                 httpBidderRequester,
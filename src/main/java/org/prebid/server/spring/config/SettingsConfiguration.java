@@ -197,6 +197,9 @@ public class SettingsConfiguration {
         @Value("${settings.in-memory-cache.database-update.timeout}")
         long timeout;
 
+        @Value("${settings.in-memory-cache.database-update.init-page-size:0}")
+        int initPageSize;
+
         @Autowired
         Vertx vertx;
 
@@ -221,6 +224,7 @@ public class SettingsConfiguration {
             return new DatabasePeriodicRefreshService(
                     initQuery,
                     updateQuery,
+                    initPageSize,
                     refreshPeriod,
                     timeout,
                     MetricName.stored_request,
@@ -241,6 +245,7 @@ public class SettingsConfiguration {
             return new DatabasePeriodicRefreshService(
                     ampInitQuery,
                     ampUpdateQuery,
+                    initPageSize,
                     refreshPeriod,
                     timeout,
                     MetricName.amp_stored_request,
@@ -366,6 +371,7 @@ public class SettingsConfiguration {
                 S3AsyncClient s3AsyncClient,
                 S3SettingsConfiguration.S3ConfigurationProperties s3ConfigurationProperties,
                 @Value("${settings.in-memory-cache.s3-update.refresh-rate}") long refreshPeriod,
+                @Value("${settings.in-memory-cache.s3-update.max-concurrent-downloads:16}") int maxConcurrentDownloads,
                 SettingsCache<String> settingsCache,
                 Clock clock,
                 Metrics metrics,
@@ -377,6 +383,7 @@ public class SettingsConfiguration {
                     s3ConfigurationProperties.getStoredRequestsDir(),
                     s3ConfigurationProperties.getStoredImpsDir(),
                     refreshPeriod,
+                    maxConcurrentDownloads,
                     settingsCache,
                     MetricName.stored_request,
                     clock,
@@ -446,7 +453,8 @@ public class SettingsConfiguration {
                 @Qualifier("ampSettingsCache") SettingsCache<String> ampCache,
                 @Qualifier("videoSettingCache") SettingsCache<String> videoCache,
                 @Qualifier("profileSettingCache") SettingsCache<Profile> profilesCache,
-                Metrics metrics) {
+                Metrics metrics,
+                TimeoutFactory timeoutFactory) {
 
             return new CachingApplicationSettings(
                     enrichingApplicationSettings,
@@ -457,7 +465,10 @@ public class SettingsConfiguration {
                     metrics,
                     cacheProperties.getTtlSeconds(),
                     cacheProperties.getCacheSize(),
-                    cacheProperties.getJitterSeconds());
+                    cacheProperties.getJitterSeconds(),
+                    cacheProperties.getRefreshAheadSeconds(),
+                    cacheProperties.getRefreshAheadTimeoutMs(),
+                    timeoutFactory);
         }
     }
 
@@ -529,5 +540,9 @@ public class SettingsConfiguration {
         private Integer cacheSize;
         @Min(0)
         private int jitterSeconds;
+        @Min(0)
+        private int refreshAheadSeconds;
+        @Min(1)
+        private long refreshAheadTimeoutMs = 1000L;
     }
 }
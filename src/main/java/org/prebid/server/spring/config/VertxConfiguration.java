@@ -15,6 +15,7 @@ import org.prebid.server.vertx.ContextRunner;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 
 @Configuration
 public class VertxConfiguration {
@@ -22,6 +23,8 @@ public class VertxConfiguration {
     private static final Logger logger = LoggerFactory.getLogger(VertxConfiguration.class);
 
     @Bean
+    // shared metric registry must be created by application before Vert.x looks it up by name
+    @DependsOn("metricRegistry")
     Vertx vertx(@Value("${vertx.worker-pool-size}") int workerPoolSize,
                 @Value("${vertx.enable-per-client-endpoint-metrics}") boolean enablePerClientEndpointMetrics,
                 @Value("${metrics.jmx.enabled}") boolean jmxEnabled,
@@ -32,6 +32,8 @@ public class BidderInfoCreator {
                 configurationProperties.getPbsEnforcesCcpa(),
                 configurationProperties.getModifyingVastXmlAllowed(),
                 configurationProperties.getEndpointCompression(),
+                configurationProperties.getEndpointCompressionLevel(),
+                configurationProperties.getEndpointFormat(),
                 configurationProperties.getOrtb(),
                 configurationProperties.getTmaxDeductionMs());
     }
@@ -0,0 +1,147 @@
+package org.prebid.server.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip compression over reusable {@link Deflater}s.
+ * <p>
+ * Each thread (i.e. each Vert.x event loop or worker) keeps its own {@link Deflater} per compression level,
+ * which is reset after every use instead of allocating a new native zlib stream for each payload.
+ * Compressed output is written straight into Netty buffers, pooled ones are used when the result is copied out.
+ * <p>
+ * Produces exactly the same bytes as {@link java.util.zip.GZIPOutputStream} for the same compression level.
+ */
+public class GzipUtil {
+
+    public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    // the same header GZIPOutputStream writes: magic, deflate method, no flags and mtime, unknown OS
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int TRAILER_SIZE = 8;
+    private static final int MIN_WRITABLE_BYTES = 512;
+
+    private static final ThreadLocal<Deflater[]> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater[Deflater.BEST_COMPRESSION + 2]);
+
+    private GzipUtil() {
+    }
+
+    /**
+     * Compresses given bytes straight into the {@link Buffer} that is going to be sent, without intermediate copy.
+     * <p>
+     * Returned buffer is not pooled: it may stay queued in the connection after the request has been completed
+     * (e.g. by timeout), so nothing but GC can safely reclaim it.
+     */
+    public static Buffer gzip(byte[] value, int level) {
+        return Buffer.buffer(gzip(value, level, Unpooled.buffer(initialCapacity(value))));
+    }
+
+    /**
+     * Compresses given chunks joined with delimiter and enclosed in prefix and suffix (e.g. JSON array of encoded
+     * objects) without building the joined value in memory.
+     */
+    public static byte[] gzip(Iterable<byte[]> values, byte[] prefix, byte[] delimiter, byte[] suffix) {
+        final ByteBuf output = PooledByteBufAllocator.DEFAULT.heapBuffer();
+        final Deflater deflater = deflater(DEFAULT_LEVEL);
+        final CRC32 crc = new CRC32();
+        try {
+            output.writeBytes(HEADER);
+
+            long totalLength = deflate(deflater, crc, prefix, output);
+            boolean first = true;
+            for (byte[] value : values) {
+                if (!first) {
+                    totalLength += deflate(deflater, crc, delimiter, output);
+                }
+                totalLength += deflate(deflater, crc, value, output);
+                first = false;
+            }
+            totalLength += deflate(deflater, crc, suffix, output);
+
+            finish(deflater, crc, totalLength, output);
+            return toBytes(output);
+        } catch (RuntimeException e) {
+            output.release();
+            throw e;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private static ByteBuf gzip(byte[] value, int level, ByteBuf output) {
+        final Deflater deflater = deflater(level);
+        final CRC32 crc = new CRC32();
+        try {
+            output.writeBytes(HEADER);
+            finish(deflater, crc, deflate(deflater, crc, value, output), output);
+            return output;
+        } catch (RuntimeException e) {
+            output.release();
+            throw e;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private static int deflate(Deflater deflater, CRC32 crc, byte[] chunk, ByteBuf output) {
+        crc.update(chunk);
+        deflater.setInput(chunk);
+        while (!deflater.needsInput()) {
+            drain(deflater, output);
+        }
+        return chunk.length;
+    }
+
+    private static void finish(Deflater deflater, CRC32 crc, long totalLength, ByteBuf output) {
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain(deflater, output);
+        }
+
+        output.ensureWritable(TRAILER_SIZE);
+        output.writeIntLE((int) crc.getValue());
+        output.writeIntLE((int) totalLength);
+    }
+
+    private static void drain(Deflater deflater, ByteBuf output) {
+        output.ensureWritable(MIN_WRITABLE_BYTES);
+
+        final ByteBuffer target = output.nioBuffer(output.writerIndex(), output.writableBytes());
+        final int written = deflater.deflate(target);
+        output.writerIndex(output.writerIndex() + written);
+    }
+
+    private static Deflater deflater(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        final Deflater[] deflaters = DEFLATERS.get();
+        final int index = level + 1;
+        if (deflaters[index] == null) {
+            deflaters[index] = new Deflater(level, true);
+        }
+        return deflaters[index];
+    }
+
+    private static int initialCapacity(byte[] value) {
+        // usual payloads compress well, so start with a half of input and let buffer grow if needed
+        return HEADER.length + (value.length >> 1) + TRAILER_SIZE + MIN_WRITABLE_BYTES;
+    }
+
+    private static byte[] toBytes(ByteBuf output) {
+        try {
+            return ByteBufUtil.getBytes(output);
+        } finally {
+            output.release();
+        }
+    }
+}
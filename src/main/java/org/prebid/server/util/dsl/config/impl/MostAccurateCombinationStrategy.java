@@ -18,6 +18,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 /**
  * Priority order for four column rule sets:
@@ -44,12 +45,21 @@ public class MostAccurateCombinationStrategy implements PrebidConfigMatchingStra
 
     @Override
     public String match(PrebidConfigSource source, PrebidConfigParameters parameters) {
-        final Set<String> configuredRules = toSet(source.rules());
+        return match(source, parameters, toSet(source.rules())::contains);
+    }
+
+    /**
+     * Matches against rules already compiled by caller, sparing per call copy of all configured rules.
+     * Given predicate is expected to compare rules in the same case the caller normalized parameter values to.
+     */
+    public String match(PrebidConfigSchema schema,
+                        PrebidConfigParameters parameters,
+                        Predicate<String> configuredRules) {
 
-        final Iterator<String> iterator = new RuleIterator(source, parameters.get());
+        final Iterator<String> iterator = new RuleIterator(schema, parameters.get());
         while (iterator.hasNext()) {
             final String generatedRule = iterator.next();
-            if (configuredRules.contains(generatedRule)) {
+            if (configuredRules.test(generatedRule)) {
                 return generatedRule;
             }
         }
@@ -1,12 +1,10 @@
 package org.prebid.server.validation;
 
-import com.iab.openrtb.request.Banner;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Format;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Site;
 import com.iab.openrtb.response.Bid;
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.aliases.BidderAliases;
@@ -14,6 +12,7 @@ import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidRejectionReason;
 import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidRejection;
+import org.prebid.server.auction.model.ImpIndex;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.Logger;
@@ -87,7 +86,7 @@ public class ResponseBidValidator {
             validateCurrency(bidderBid.getBidCurrency());
             validateSeat(bidderBid, bidder, account, bidRejectionTracker, aliases);
 
-            final Imp correspondingImp = findCorrespondingImp(bid, bidRequest);
+            final ImpIndex.Entry correspondingImp = findCorrespondingImp(bid, auctionContext.impIndex());
             if (bidderBid.getType() == BidType.banner) {
                 warnings.addAll(validateBannerFields(
                         bidderBid,
@@ -104,7 +103,7 @@ public class ResponseBidValidator {
                     bidder,
                     bidRequest,
                     account,
-                    correspondingImp,
+                    correspondingImp.getImp(),
                     aliases,
                     bidRejectionTracker));
 
@@ -173,12 +172,13 @@ public class ResponseBidValidator {
         }
     }
 
-    private Imp findCorrespondingImp(Bid bid, BidRequest bidRequest) throws ValidationException {
-        return bidRequest.getImp().stream()
-                .filter(imp -> Objects.equals(imp.getId(), bid.getImpid()))
-                .findFirst()
-                .orElseThrow(() -> exceptionAndLogOnePercent(
-                        "Bid \"%s\" has no corresponding imp in request".formatted(bid.getId())));
+    private ImpIndex.Entry findCorrespondingImp(Bid bid, ImpIndex impIndex) throws ValidationException {
+        final ImpIndex.Entry correspondingImp = impIndex.get(bid.getImpid());
+        if (correspondingImp == null) {
+            throw exceptionAndLogOnePercent(
+                    "Bid \"%s\" has no corresponding imp in request".formatted(bid.getId()));
+        }
+        return correspondingImp;
     }
 
     private ValidationException exceptionAndLogOnePercent(String message) {
@@ -190,13 +190,13 @@ public class ResponseBidValidator {
                                               String bidder,
                                               BidRequest bidRequest,
                                               Account account,
-                                              Imp correspondingImp,
+                                              ImpIndex.Entry correspondingImp,
                                               BidderAliases aliases,
                                               BidRejectionTracker bidRejectionTracker) throws ValidationException {
 
         final BidValidationEnforcement bannerMaxSizeEnforcement = effectiveBannerMaxSizeEnforcement(account);
         if (bannerMaxSizeEnforcement != BidValidationEnforcement.skip) {
-            final Format maxSize = maxSizeForBanner(correspondingImp);
+            final Format maxSize = correspondingImp.getBannerMaxSize();
             final Bid bid = bidderBid.getBid();
             if (bannerSizeIsNotValid(bid, maxSize)) {
                 final String accountId = account.getId();
@@ -238,22 +238,6 @@ public class ResponseBidValidator {
         return ObjectUtils.defaultIfNull(accountBannerMaxSizeEnforcement, bannerMaxSizeEnforcement);
     }
 
-    private static Format maxSizeForBanner(Imp imp) {
-        int maxW = 0;
-        int maxH = 0;
-        for (final Format size : bannerFormats(imp)) {
-            maxW = Math.max(maxW, size.getW());
-            maxH = Math.max(maxH, size.getH());
-        }
-        return Format.builder().w(maxW).h(maxH).build();
-    }
-
-    private static List<Format> bannerFormats(Imp imp) {
-        final Banner banner = imp.getBanner();
-        final List<Format> formats = banner != null ? banner.getFormat() : null;
-        return ListUtils.emptyIfNull(formats);
-    }
-
     private static boolean bannerSizeIsNotValid(Bid bid, Format maxSize) {
         final Integer bidW = bid.getW();
         final Integer bidH = bid.getH();
@@ -14,7 +14,6 @@ import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.TimeoutException;
 
@@ -35,18 +34,25 @@ public class BasicHttpClient implements HttpClient {
     public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
                                               String body, long timeoutMs, long maxResponseSize) {
 
-        return request(method, url, headers, timeoutMs, maxResponseSize, body != null ? body.getBytes() : null);
+        return request(method, url, headers, timeoutMs, maxResponseSize, body != null ? Buffer.buffer(body) : null);
     }
 
     @Override
     public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
                                               byte[] body, long timeoutMs, long maxResponseSize) {
 
+        return request(method, url, headers, timeoutMs, maxResponseSize, body != null ? Buffer.buffer(body) : null);
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              Buffer body, long timeoutMs, long maxResponseSize) {
+
         return request(method, url, headers, timeoutMs, maxResponseSize, body);
     }
 
     private Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
-                                               long timeoutMs, long maxResponseSize, byte[] body) {
+                                               long timeoutMs, long maxResponseSize, Buffer body) {
 
         if (timeoutMs <= 0) {
             return Future.failedFuture(new TimeoutException("Timeout has been exceeded"));
@@ -74,7 +80,7 @@ public class BasicHttpClient implements HttpClient {
         final Future<HttpClientRequest> requestFuture = makeRequest(options);
 
         requestFuture
-                .compose(request -> body != null ? request.send(Buffer.buffer(body)) : request.send())
+                .compose(request -> body != null ? request.send(body) : request.send())
                 .compose(response -> toInternalResponse(response, maxResponseSize))
                 .onSuccess(responsePromise::tryComplete)
                 .onFailure(responsePromise::tryFail);
@@ -103,10 +109,7 @@ public class BasicHttpClient implements HttpClient {
         }
 
         return response.body()
-                .map(body -> HttpClientResponse.of(
-                        response.statusCode(),
-                        response.headers(),
-                        body.toString(StandardCharsets.UTF_8)));
+                .map(body -> HttpClientResponse.ofBuffer(response.statusCode(), response.headers(), body));
 
     }
 }
@@ -3,6 +3,7 @@ package org.prebid.server.vertx.httpclient;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import org.prebid.server.exception.PreBidException;
@@ -87,6 +88,19 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
                                 .onComplete(promise));
     }
 
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method,
+                                              String url,
+                                              MultiMap headers,
+                                              Buffer body,
+                                              long timeoutMs,
+                                              long maxResponseSize) {
+        return circuitBreakerByName.computeIfAbsent(nameFrom(url), circuitBreakerCreator)
+                .execute(promise ->
+                        httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize)
+                                .onComplete(promise));
+    }
+
     private CircuitBreaker createCircuitBreaker(String name,
                                                 Vertx vertx,
                                                 int openingThreshold,
@@ -1,19 +1,54 @@
 package org.prebid.server.vertx.httpclient.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * Holds Http client response data.
  * <p>
  * Should be created in "bodyHandler(...) after response has been read."
+ * <p>
+ * The body is kept as {@link Buffer}: when created by {@link #ofBuffer}, the raw body is kept as is and
+ * {@link #getBody()} decodes it on the first call only.
  */
-@Value(staticConstructor = "of")
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class HttpClientResponse {
 
     int statusCode;
 
     MultiMap headers;
 
-    String body;
+    Buffer bodyBuffer;
+
+    // decoded lazily from bodyBuffer, racing decodes are harmless as they produce equal strings
+    @NonFinal
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient String body;
+
+    public static HttpClientResponse of(int statusCode, MultiMap headers, String body) {
+        final Buffer bodyBuffer = body != null ? Buffer.buffer(body, StandardCharsets.UTF_8.name()) : null;
+        return new HttpClientResponse(statusCode, headers, bodyBuffer, body);
+    }
+
+    public static HttpClientResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return new HttpClientResponse(statusCode, headers, body, null);
+    }
+
+    public String getBody() {
+        if (body == null && bodyBuffer != null) {
+            body = bodyBuffer.toString(StandardCharsets.UTF_8);
+        }
+
+        return body;
+    }
 }
@@ -37,6 +37,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.prebid.server.activity.infrastructure.privacy.PrivacyModuleQualifier.US_NAT;
 
@@ -107,6 +108,29 @@ public class ActivityInfrastructureCreatorTest {
         verify(metrics).updateAlertsMetrics(eq(MetricName.general));
     }
 
+    @Test
+    public void parseShouldResolvePrivacyModulesConfigsOncePerAccountConfig() {
+        // given
+        final Account account = Account.builder()
+                .privacy(AccountPrivacyConfig.builder()
+                        .activities(Map.of(Activity.SYNC_USER, AccountActivityConfiguration.of(
+                                null, singletonList(AccountActivityConditionsRuleConfig.of(null, null)))))
+                        .modules(asList(
+                                AccountUSNatModuleConfig.of(null, 0, null),
+                                AccountUSNatModuleConfig.of(null, 0, null)))
+                        .build())
+                .build();
+
+        // when
+        creator.parse(account, null, debug);
+        creator.parse(account, null, debug);
+
+        // then
+        verify(activityRuleFactory, times(2))
+                .from(any(), argThat(arg -> arg.getPrivacyModulesConfigs().size() == 1));
+        verify(metrics).updateAlertsMetrics(eq(MetricName.general));
+    }
+
     @Test
     public void parseShouldPopulateSkipConfigForModules() {
         // given
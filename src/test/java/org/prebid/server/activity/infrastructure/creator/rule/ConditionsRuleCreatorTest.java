@@ -77,6 +77,30 @@ public class ConditionsRuleCreatorTest {
         assertThat(rule.proceed(payload4)).isEqualTo(Rule.Result.DISALLOW);
     }
 
+    @Test
+    public void fromShouldReuseRuleCompiledForTheSameConfiguration() {
+        // given
+        final AccountActivityConditionsRuleConfig config = AccountActivityConditionsRuleConfig.of(
+                AccountActivityConditionsRuleConfig.Condition.of(
+                        singletonList(ComponentType.BIDDER), singletonList("name"), asList(1, 2), null, null),
+                false);
+        final GppContext matchingGppContext = GppContextCreator.from(null, asList(2, 3)).build().getGppContext();
+        final GppContext notMatchingGppContext = GppContextCreator.from(null, asList(3, 4)).build().getGppContext();
+
+        // when
+        final Rule firstRule = target.from(config, creationContext(matchingGppContext));
+        final Rule secondRule = target.from(config, creationContext(matchingGppContext));
+        final Rule thirdRule = target.from(config, creationContext(notMatchingGppContext));
+
+        // then
+        assertThat(secondRule).isSameAs(firstRule);
+        assertThat(thirdRule).isNotSameAs(firstRule);
+
+        final ActivityInvocationPayload payload = ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "name");
+        assertThat(firstRule.proceed(payload)).isEqualTo(Rule.Result.DISALLOW);
+        assertThat(thirdRule.proceed(payload)).isEqualTo(Rule.Result.ABSTAIN);
+    }
+
     private static BidRequest givenBidRequest(String country, String region, String gpc) {
         return BidRequest.builder()
                 .device(Device.builder().geo(Geo.builder().country(country).region(region).build()).build())
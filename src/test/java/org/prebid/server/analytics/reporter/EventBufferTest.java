@@ -0,0 +1,127 @@
+package org.prebid.server.analytics.reporter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class EventBufferTest {
+
+    @Test
+    public void pollToFlushShouldReturnEventsToFlushWhenMaxEventsExceeded() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(1, 999, 1);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollToFlush()).containsExactly("test");
+    }
+
+    @Test
+    public void pollToFlushShouldReturnEventsToFlushWhenMaxBytesExceeded() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 1, 1);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollToFlush()).containsExactly("test");
+    }
+
+    @Test
+    public void pollToFlushShouldNotReturnAnyEventsWhenLimitsAreNotExceeded() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999, 1);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollToFlush()).isEmpty();
+    }
+
+    @Test
+    public void pollAllShouldReturnAllEvents() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999, 1);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollAll()).containsExactly("test");
+    }
+
+    @Test
+    public void pollAllShouldResetSizes() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999, 1);
+        target.put("test1", 5);
+        target.put("test2", 5);
+
+        // when
+        final List<String> result = target.pollAll();
+
+        // then
+        assertThat(result).containsExactly("test1", "test2");
+        assertThat(target.size()).isZero();
+        assertThat(target.byteSize()).isZero();
+        assertThat(target.pollAll()).isEmpty();
+    }
+
+    @Test
+    public void pollAllShouldNotReturnEventsWhileMaxPendingBatchesAreNotCompleted() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999, 1);
+        target.put("test1", 5);
+        target.pollAll();
+        target.put("test2", 5);
+
+        // when and then
+        assertThat(target.pollAll()).isEmpty();
+        assertThat(target.pendingBatches()).isOne();
+
+        target.batchCompleted();
+        assertThat(target.pollAll()).containsExactly("test2");
+    }
+
+    @Test
+    public void pollAllShouldNotStartBatchIfNothingWasPolled() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999, 1);
+
+        // when
+        final List<String> result = target.pollAll();
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(target.pendingBatches()).isZero();
+    }
+
+    @Test
+    public void putShouldRejectEventsWhenCapacityIsReached() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(1, 999, 1);
+
+        // when and then
+        assertThat(target.put("test1", 5)).isTrue();
+        assertThat(target.put("test2", 5)).isTrue();
+        assertThat(target.put("test3", 5)).isFalse();
+        assertThat(target.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void putShouldRejectEventsWhenByteCapacityIsReached() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 5, 1);
+
+        // when and then
+        assertThat(target.put("test1", 5)).isTrue();
+        assertThat(target.put("test2", 6)).isFalse();
+        assertThat(target.byteSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxPendingBatches() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new EventBuffer<>(1, 1, 0))
+                .withMessage("Max pending batches should be positive: 0");
+    }
+}
@@ -9,6 +9,7 @@ import com.iab.openrtb.request.User;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,7 @@ import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.model.PrivacyContext;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.version.PrebidVersionProvider;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
@@ -41,6 +43,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.zip.GZIPOutputStream;
 
 import static io.vertx.core.http.HttpMethod.POST;
@@ -48,12 +51,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class AgmaAnalyticsReporterTest extends VertxTest {
@@ -76,6 +81,9 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
     @Mock
     private PrebidVersionProvider versionProvider;
 
+    @Mock
+    private Metrics metrics;
+
     @Captor
     private ArgumentCaptor<MultiMap> headersCaptor;
 
@@ -84,6 +92,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
     private AgmaAnalyticsReporter target;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     public void setUp() {
         final AgmaAnalyticsProperties properties = AgmaAnalyticsProperties.builder()
                 .url("http://endpoint.com")
@@ -101,12 +110,13 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
 
         given(versionProvider.getNameVersionRecord()).willReturn("pbs_version");
         given(vertx.setTimer(anyLong(), any())).willReturn(1L, 2L);
-        given(httpClient.request(eq(POST), anyString(), any(), anyString(), anyLong())).willReturn(
-                Future.succeededFuture(HttpClientResponse.of(200, MultiMap.caseInsensitiveMultiMap(), "")));
+        given(vertx.executeBlocking(any(Callable.class), anyBoolean()))
+                .willAnswer(invocation -> Future.succeededFuture(invocation.<Callable<?>>getArgument(0).call()));
         given(httpClient.request(eq(POST), anyString(), any(), any(byte[].class), anyLong())).willReturn(
                 Future.succeededFuture(HttpClientResponse.of(200, MultiMap.caseInsensitiveMultiMap(), "")));
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, metrics, vertx);
     }
 
     @Test
@@ -168,7 +178,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -224,7 +234,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -280,7 +290,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -347,7 +357,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(result.succeeded()).isTrue();
@@ -402,7 +412,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("unknown_publisherId", "anotherCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, metrics, vertx);
 
         // given
         final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
@@ -436,7 +447,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("publisherId_bundleId", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, metrics, vertx);
 
         // given
         final App givenApp = App.builder().bundle("bundleId")
@@ -479,7 +491,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
     }
 
@@ -496,7 +508,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("_mySite", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, metrics, vertx);
 
         // given
         final Site givenSite = Site.builder().id("mySite").build();
@@ -537,7 +550,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
     }
 
@@ -554,7 +567,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("publisherId", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, metrics, vertx);
 
         final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
 
@@ -597,6 +611,49 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
         assertThat(result.succeeded()).isTrue();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processEventShouldDropEventsWhenBufferIsFullAndBatchesArePending() {
+        // given
+        final AgmaAnalyticsProperties properties = AgmaAnalyticsProperties.builder()
+                .url("http://endpoint.com")
+                .gzip(false)
+                .bufferSize(100000)
+                .bufferTimeoutMs(10000L)
+                .maxEventsCount(1)
+                .maxPendingBatches(1)
+                .httpTimeoutMs(1000L)
+                .accounts(Map.of("publisherId", "accountCode"))
+                .build();
+
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, metrics, vertx);
+
+        given(vertx.executeBlocking(any(Callable.class), anyBoolean())).willReturn(Promise.promise().future());
+
+        final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
+        final AuctionEvent auctionEvent = AuctionEvent.builder()
+                .auctionContext(AuctionContext.builder()
+                        .privacyContext(PrivacyContext.of(
+                                null, TcfContext.builder().consent(PARSED_VALID_CONSENT).build()))
+                        .timeoutContext(TimeoutContext.of(clock.millis(), null, 1))
+                        .bidRequest(BidRequest.builder().site(givenSite).build())
+                        .build())
+                .build();
+
+        // when
+        target.processEvent(auctionEvent);
+        target.processEvent(auctionEvent);
+        target.processEvent(auctionEvent);
+        target.processEvent(auctionEvent);
+
+        // then
+        verify(vertx).executeBlocking(any(Callable.class), anyBoolean());
+        verify(metrics).updateAnalyticDroppedEventsMetric("agmaAnalytics");
+        verifyNoMoreInteractions(metrics);
+        verifyNoInteractions(httpClient);
+    }
+
     private static byte[] gzip(String value) {
         try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
                 GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
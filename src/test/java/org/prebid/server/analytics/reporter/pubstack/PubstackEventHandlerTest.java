@@ -3,6 +3,7 @@ package org.prebid.server.analytics.reporter.pubstack;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,22 +13,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
+import org.prebid.server.analytics.reporter.EventBuffer;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -35,6 +37,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class PubstackEventHandlerTest extends VertxTest {
@@ -45,6 +48,9 @@ public class PubstackEventHandlerTest extends VertxTest {
     @Mock
     private HttpClient httpClient;
 
+    @Mock
+    private Metrics metrics;
+
     private PubstackEventHandler pubstackEventHandler;
 
     @BeforeEach
@@ -59,7 +65,7 @@ public class PubstackEventHandlerTest extends VertxTest {
                 .timeoutMs(5000L)
                 .build();
         pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+                httpClient, metrics, vertx);
     }
 
     @Test
@@ -74,16 +80,13 @@ public class PubstackEventHandlerTest extends VertxTest {
                 .timeoutMs(5000L)
                 .build();
         pubstackEventHandler = new PubstackEventHandler(properties, false, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+                httpClient, metrics, vertx);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
 
         // then
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
-        assertThat(events.get()).isEmpty();
+        assertThat(buffer().size()).isZero();
         verifyNoInteractions(httpClient);
     }
 
@@ -94,16 +97,12 @@ public class PubstackEventHandlerTest extends VertxTest {
         pubstackEventHandler.handle(setuidEvent);
 
         // then
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
         final ObjectNode eventJsonNode = mapper.valueToTree(setuidEvent);
         eventJsonNode.put("scope", "scopeId");
-        final String eventJsonRow = mapper.writeValueAsString(eventJsonNode);
-        assertThat(byteSize.get()).isEqualTo(eventJsonRow.getBytes().length);
-        assertThat(events.get()).hasSize(1)
-                .containsOnly(eventJsonRow);
+        final byte[] eventJsonRow = mapper.writeValueAsBytes(eventJsonNode);
+        final EventBuffer<byte[]> buffer = buffer();
+        assertThat(buffer.byteSize()).isEqualTo(eventJsonRow.length);
+        assertThat(buffer.pollAll()).containsExactly(eventJsonRow);
     }
 
     @Test
@@ -118,7 +117,10 @@ public class PubstackEventHandlerTest extends VertxTest {
                 .timeoutMs(5000L)
                 .build();
         pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+                httpClient, metrics, vertx);
+
+        givenExecuteBlockingRunsImmediately();
+        givenHttpClientRespondsOk();
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
@@ -139,7 +141,10 @@ public class PubstackEventHandlerTest extends VertxTest {
                 .timeoutMs(5000L)
                 .build();
         pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+                httpClient, metrics, vertx);
+
+        givenExecuteBlockingRunsImmediately();
+        givenHttpClientRespondsOk();
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
@@ -167,8 +172,8 @@ public class PubstackEventHandlerTest extends VertxTest {
     @Test
     public void sendEventsShouldSendEventsAndResetSendConditionParameters() {
         // given
-        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
-                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        givenExecuteBlockingRunsImmediately();
+        givenHttpClientRespondsOk();
 
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
 
@@ -179,13 +184,43 @@ public class PubstackEventHandlerTest extends VertxTest {
         verify(vertx).cancelTimer(anyLong());
         // one time in constructor and second after the send request
         verify(vertx, times(2)).setTimer(anyLong(), any());
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        assertThat(byteSize.get()).isEqualTo(0);
+        assertThat(buffer().byteSize()).isEqualTo(0);
         final Long currentTimerId = (Long) ReflectionTestUtils.getField(pubstackEventHandler,
                 "reportTimerId");
         assertThat(currentTimerId).isEqualTo(2);
     }
 
+    @Test
+    public void sendEventsShouldNotSendMoreThanMaxPendingBatches() {
+        // given
+        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
+                .endpoint("http://endpoint.com")
+                .scopeId("scopeId")
+                .sizeBytes(20000)
+                .count(1)
+                .maxPendingBatches(1)
+                .reportTtlMs(10000L)
+                .timeoutMs(5000L)
+                .build();
+        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
+                httpClient, metrics, vertx);
+
+        given(vertx.executeBlocking(any(Callable.class), anyBoolean())).willReturn(Promise.promise().future());
+
+        // when
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder2").build());
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder3").build());
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder4").build());
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder5").build());
+
+        // then
+        verify(vertx).executeBlocking(any(Callable.class), anyBoolean());
+        verify(metrics).updateAnalyticDroppedEventsMetric("pubstack");
+        verifyNoMoreInteractions(metrics);
+        assertThat(buffer().size()).isEqualTo(2);
+    }
+
     @Test
     public void updateConfigShouldSetNewValuesToEndpointScopeIdAndEnabledConfigs() {
         // given and when
@@ -221,4 +256,20 @@ public class PubstackEventHandlerTest extends VertxTest {
         verify(vertx, times(2)).setTimer(anyLong(), any());
         verify(vertx).cancelTimer(anyLong());
     }
+
+    @SuppressWarnings("unchecked")
+    private void givenExecuteBlockingRunsImmediately() {
+        given(vertx.executeBlocking(any(Callable.class), anyBoolean()))
+                .willAnswer(invocation -> Future.succeededFuture(invocation.<Callable<?>>getArgument(0).call()));
+    }
+
+    private void givenHttpClientRespondsOk() {
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, (String) null)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private EventBuffer<byte[]> buffer() {
+        return (EventBuffer<byte[]>) ReflectionTestUtils.getField(pubstackEventHandler, "buffer");
+    }
 }
@@ -0,0 +1,122 @@
+package org.prebid.server.auction;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class AdaptiveBidderTimeoutResolverTest {
+
+    private static final long MIN_TIMEOUT = 50L;
+
+    private final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+
+    @Test
+    public void creationShouldFailIfPercentileIsOutOfRange() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdaptiveBidderTimeoutResolver(true, 0, 20L, 100, 100, 0L, MIN_TIMEOUT, clock))
+                .withMessage("Percentile should be in range (0, 100]: 0.0");
+    }
+
+    @Test
+    public void resolveShouldNotLimitTimeoutIfDisabled() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = givenResolver(false, 0L);
+        givenResponseTimes(target, "bidder", 1L, 100L);
+
+        // when and then
+        assertThat(target.resolve("bidder", 500L)).isEqualTo(500L);
+    }
+
+    @Test
+    public void resolveShouldNotLimitTimeoutUntilEnoughResponseTimesRecorded() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = givenResolver(true, 0L);
+        givenResponseTimes(target, "bidder", 1L, 99L);
+
+        // when and then
+        assertThat(target.resolve("bidder", 500L)).isEqualTo(500L);
+        assertThat(target.resolve("anotherBidder", 500L)).isEqualTo(500L);
+    }
+
+    @Test
+    public void resolveShouldLimitTimeoutByResponseTimePercentileWithHeadroom() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = givenResolver(true, 0L);
+        givenResponseTimes(target, "bidder", 1L, 100L);
+
+        // when and then
+        assertThat(target.resolve("bidder", 500L)).isEqualTo(120L);
+        assertThat(target.resolve("anotherBidder", 500L)).isEqualTo(500L);
+    }
+
+    @Test
+    public void resolveShouldNotIncreaseTimeout() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = givenResolver(true, 0L);
+        givenResponseTimes(target, "bidder", 1L, 100L);
+
+        // when and then
+        assertThat(target.resolve("bidder", 100L)).isEqualTo(100L);
+    }
+
+    @Test
+    public void resolveShouldNotLimitTimeoutBelowMinTimeout() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = givenResolver(true, 0L);
+        LongStream.rangeClosed(1L, 100L).forEach(ignored -> target.recordResponseTime("bidder", 10L));
+
+        // when and then
+        assertThat(target.resolve("bidder", 500L)).isEqualTo(MIN_TIMEOUT);
+    }
+
+    @Test
+    public void resolveShouldNotLimitTimeoutIfPercentileFallsOnTimedOutCalls() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = givenResolver(true, 0L);
+        givenResponseTimes(target, "bidder", 1L, 98L);
+        target.recordTimeout("bidder");
+        target.recordTimeout("bidder");
+
+        // when and then
+        assertThat(target.resolve("bidder", 500L)).isEqualTo(500L);
+    }
+
+    @Test
+    public void resolveShouldLimitTimeoutIfPercentileFallsOnAnsweredCalls() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = new AdaptiveBidderTimeoutResolver(
+                true, 90, 20L, 100, 100, 0L, MIN_TIMEOUT, clock);
+        givenResponseTimes(target, "bidder", 1L, 95L);
+        LongStream.rangeClosed(1L, 5L).forEach(ignored -> target.recordTimeout("bidder"));
+
+        // when and then
+        assertThat(target.resolve("bidder", 500L)).isEqualTo(111L);
+    }
+
+    @Test
+    public void resolveShouldNotRecalculateLimitBeforeRefreshPeriodPassed() {
+        // given
+        final AdaptiveBidderTimeoutResolver target = givenResolver(true, 1000L);
+        givenResponseTimes(target, "bidder", 1L, 100L);
+        target.resolve("bidder", 500L);
+
+        LongStream.rangeClosed(1L, 100L).forEach(ignored -> target.recordResponseTime("bidder", 10L));
+
+        // when and then
+        assertThat(target.resolve("bidder", 500L)).isEqualTo(120L);
+    }
+
+    private AdaptiveBidderTimeoutResolver givenResolver(boolean enabled, long refreshPeriodMs) {
+        return new AdaptiveBidderTimeoutResolver(enabled, 99, 20L, 100, 100, refreshPeriodMs, MIN_TIMEOUT, clock);
+    }
+
+    private static void givenResponseTimes(AdaptiveBidderTimeoutResolver target, String bidder, long from, long to) {
+        LongStream.rangeClosed(from, to).forEach(responseTime -> target.recordResponseTime(bidder, responseTime));
+    }
+}
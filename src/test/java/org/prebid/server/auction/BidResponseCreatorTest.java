@@ -5634,7 +5634,7 @@ public class BidResponseCreatorTest extends VertxTest {
                 .bidRejectionTrackers(new HashMap<>())
                 .prebidErrors(new ArrayList<>());
 
-        return contextCustomizer.apply(auctionContextBuilder).build();
+        return contextCustomizer.apply(auctionContextBuilder).build().withImpIndex();
     }
 
     private AuctionContext givenAuctionContext(BidRequest bidRequest) {
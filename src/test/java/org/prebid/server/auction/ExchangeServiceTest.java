@@ -245,6 +245,9 @@ public class ExchangeServiceTest extends VertxTest {
     @Mock(strictness = LENIENT)
     private TimeoutResolver timeoutResolver;
 
+    @Mock(strictness = LENIENT)
+    private AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver;
+
     @Mock(strictness = LENIENT)
     private TimeoutFactory timeoutFactory;
 
@@ -398,6 +401,9 @@ public class ExchangeServiceTest extends VertxTest {
         given(timeoutResolver.adjustForRequest(anyLong(), anyLong()))
                 .willAnswer(invocation -> invocation.getArgument(0));
 
+        given(adaptiveBidderTimeoutResolver.resolve(anyString(), anyLong()))
+                .willAnswer(invocation -> invocation.getArgument(1));
+
         given(timeoutFactory.create(anyLong()))
                 .willReturn(timeout);
 
@@ -3883,6 +3889,45 @@ public class ExchangeServiceTest extends VertxTest {
                         "bidder", Map.of("test-host", "unknownHost", "publisher_id", "ps4"))));
     }
 
+    @Test
+    public void shouldNotModifyIncomingImpExtWhenPreparingImpExtForBidders() {
+        // given
+        final ObjectNode impExt = mapper.valueToTree(Map.of(
+                "prebid", Map.of(
+                        "bidder", Map.of("someBidder", Map.of("param", 1), "anotherBidder", Map.of("param", 2)),
+                        "adunitcode", "adCodeValue",
+                        "floors", Map.of("floorRule", "rule")),
+                "tid", "tidValue",
+                "context", Map.of("data", Map.of("key", "value"))));
+        final ObjectNode originalImpExt = impExt.deepCopy();
+
+        final BidRequest bidRequest = givenBidRequest(
+                singletonList(Imp.builder().id("impId").ext(impExt).build()),
+                identity());
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), any(), anyBoolean()))
+                .willReturn(Future.succeededFuture(givenSeatBid(emptyList())));
+
+        // when
+        target.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        assertThat(impExt).isEqualTo(originalImpExt);
+
+        final ArgumentCaptor<BidderRequest> bidderRequestCaptor = ArgumentCaptor.forClass(BidderRequest.class);
+        verify(httpBidderRequester, times(2))
+                .requestBids(any(), bidderRequestCaptor.capture(), any(), any(), any(), any(), anyBoolean());
+        assertThat(bidderRequestCaptor.getAllValues())
+                .extracting(BidderRequest::getBidRequest)
+                .flatExtracting(BidRequest::getImp)
+                .extracting(Imp::getExt)
+                .extracting(ext -> ext.get("bidder"), ext -> ext.get("prebid"))
+                .containsOnly(
+                        tuple(mapper.valueToTree(Map.of("param", 1)),
+                                mapper.valueToTree(Map.of("adunitcode", "adCodeValue"))),
+                        tuple(mapper.valueToTree(Map.of("param", 2)),
+                                mapper.valueToTree(Map.of("adunitcode", "adCodeValue"))));
+    }
+
     @Test
     public void shouldReturnsSourceWithCorrespondingRequestExtPrebidSchainsIfSchainIsNotNull() {
         // given
@@ -4180,6 +4225,35 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(timeoutCaptor.getAllValues()).containsExactly(450L);
     }
 
+    @Test
+    public void shouldLimitBidderTimeoutsByObservedResponseTimes() {
+        // given
+        given(timeoutResolver.adjustForBidder(anyLong(), anyInt(), anyLong(), anyLong())).willReturn(400L);
+        given(timeoutResolver.adjustForRequest(anyLong(), anyLong())).willReturn(450L);
+        given(adaptiveBidderTimeoutResolver.resolve(eq("bidderName"), anyLong())).willReturn(300L);
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), any(), anyBoolean()))
+                .willReturn(Future.succeededFuture(givenSeatBid(emptyList())));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidderName", 1)), identity());
+
+        // when
+        target.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ArgumentCaptor<BidderRequest> bidderRequestCaptor = ArgumentCaptor.forClass(BidderRequest.class);
+        verify(httpBidderRequester).requestBids(
+                any(),
+                bidderRequestCaptor.capture(),
+                any(),
+                any(),
+                any(),
+                any(),
+                anyBoolean());
+        assertThat(bidderRequestCaptor.getValue().getBidRequest().getTmax()).isEqualTo(300L);
+        verify(timeoutFactory).create(anyLong(), eq(300L));
+        verify(metrics).updateAdapterAdaptiveTimeout("bidderName", 300L);
+    }
+
     @Test
     public void shouldDropBidsWithInvalidPrice() {
         // given
@@ -4252,6 +4326,7 @@ public class ExchangeServiceTest extends VertxTest {
                 mediaTypeProcessor,
                 uidUpdater,
                 timeoutResolver,
+                adaptiveBidderTimeoutResolver,
                 timeoutFactory,
                 ortbVersionConversionManager,
                 httpBidderRequester,
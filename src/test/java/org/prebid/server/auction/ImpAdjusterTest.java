@@ -172,6 +172,27 @@ public class ImpAdjusterTest extends VertxTest {
         assertThat(debugMessages).isEmpty();
     }
 
+    @Test
+    public void adjustShouldNotModifyImpExtPrebidSharedWithOriginalImp() {
+        // given
+        final ObjectNode bidderImp = mapper.createObjectNode().set("ext", mapper.createObjectNode()
+                .set("prebid", mapper.createObjectNode().put("bidder", "bidderValue")));
+        final ObjectNode impExtPrebid = mapper.createObjectNode()
+                .set("imp", mapper.createObjectNode().set("someBidder", bidderImp));
+        final ObjectNode originalImpExtPrebid = impExtPrebid.deepCopy();
+
+        final Imp givenImp = Imp.builder()
+                .ext(mapper.createObjectNode().set("prebid", impExtPrebid))
+                .build();
+
+        // when
+        target.adjust(givenImp, "someBidder", bidderAliases, new ArrayList<>());
+        target.adjust(givenImp, "anotherBidder", bidderAliases, new ArrayList<>());
+
+        // then
+        assertThat(impExtPrebid).isEqualTo(originalImpExtPrebid);
+    }
+
     @Test
     public void resolveImpShouldMergeBidderSpecificImpIntoOriginalImp() throws ValidationException {
         // given
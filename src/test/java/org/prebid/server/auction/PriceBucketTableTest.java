@@ -0,0 +1,119 @@
+package org.prebid.server.auction;
+
+import org.junit.jupiter.api.Test;
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceBucketTableTest {
+
+    @Test
+    public void ofShouldReturnSameTableForGranularitiesWithSameDefinition() {
+        // given
+        final PriceGranularity first = PriceGranularity.createFromRanges(2, givenRanges());
+        final PriceGranularity second = PriceGranularity.createFromRanges(2, givenRanges());
+
+        // when and then
+        assertThat(PriceBucketTable.of(first)).isSameAs(PriceBucketTable.of(second));
+    }
+
+    @Test
+    public void ofShouldNotCompileRangesNotExpressibleInMicros() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromRanges(2, singletonList(
+                ExtGranularityRange.of(BigDecimal.valueOf(10), new BigDecimal("0.0000001"))));
+
+        // when and then
+        assertThat(PriceBucketTable.of(priceGranularity)).isSameAs(PriceBucketTable.NOT_COMPILED);
+    }
+
+    @Test
+    public void ofShouldNotCompileUnorderedRanges() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromRanges(2, asList(
+                ExtGranularityRange.of(BigDecimal.valueOf(10), BigDecimal.valueOf(0.1)),
+                ExtGranularityRange.of(BigDecimal.valueOf(5), BigDecimal.valueOf(0.05))));
+
+        // when and then
+        assertThat(PriceBucketTable.of(priceGranularity)).isSameAs(PriceBucketTable.NOT_COMPILED);
+    }
+
+    @Test
+    public void ofShouldNotCompileTooManyBuckets() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromRanges(3, singletonList(
+                ExtGranularityRange.of(BigDecimal.valueOf(1000), BigDecimal.valueOf(0.001))));
+
+        // when and then
+        assertThat(PriceBucketTable.of(priceGranularity)).isSameAs(PriceBucketTable.NOT_COMPILED);
+    }
+
+    @Test
+    public void bucketForShouldMatchArithmeticRoundingForAllNamedGranularities() {
+        for (String name : List.of("low", "med", "high", "auto", "dense")) {
+            final PriceGranularity priceGranularity = PriceGranularity.createFromString(name);
+            final PriceBucketTable table = PriceBucketTable.of(priceGranularity);
+            assertThat(table.isCompiled()).isTrue();
+
+            for (int cents = 1; cents <= 2200; cents += 7) {
+                for (BigDecimal cpm : List.of(
+                        BigDecimal.valueOf(cents, 2),
+                        BigDecimal.valueOf(cents * 1000L + 5, 5),
+                        BigDecimal.valueOf(cents * 10000000L + 1, 9))) {
+
+                    for (RoundingMode roundingMode
+                            : List.of(RoundingMode.FLOOR, RoundingMode.CEILING, RoundingMode.HALF_UP)) {
+
+                        assertThat(table.bucketFor(cpm, roundingMode))
+                                .describedAs("%s %s %s", name, cpm, roundingMode)
+                                .isEqualTo(expectedBucket(cpm, priceGranularity, roundingMode));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bucketForShouldReturnNullForNonPositiveCpm() {
+        // given
+        final PriceBucketTable table = PriceBucketTable.of(PriceGranularity.DEFAULT);
+
+        // when and then
+        assertThat(table.bucketFor(BigDecimal.ZERO, RoundingMode.FLOOR)).isNull();
+        assertThat(table.bucketFor(BigDecimal.valueOf(-1), RoundingMode.FLOOR)).isNull();
+    }
+
+    private static String expectedBucket(BigDecimal cpm,
+                                         PriceGranularity priceGranularity,
+                                         RoundingMode roundingMode) {
+
+        if (cpm.compareTo(priceGranularity.getRangesMax()) > 0) {
+            return CpmRange.format(priceGranularity.getRangesMax(), priceGranularity.getPrecision());
+        }
+
+        BigDecimal min = BigDecimal.ZERO;
+        for (ExtGranularityRange range : priceGranularity.getRanges()) {
+            if (cpm.compareTo(range.getMax()) <= 0) {
+                final BigDecimal value = cpm.subtract(min)
+                        .divide(range.getIncrement(), 0, roundingMode)
+                        .multiply(range.getIncrement())
+                        .add(min);
+                return CpmRange.format(value, priceGranularity.getPrecision());
+            }
+            min = range.getMax();
+        }
+        return null;
+    }
+
+    private static List<ExtGranularityRange> givenRanges() {
+        return asList(
+                ExtGranularityRange.of(BigDecimal.valueOf(5), BigDecimal.valueOf(0.05)),
+                ExtGranularityRange.of(BigDecimal.valueOf(10), BigDecimal.valueOf(0.1)));
+    }
+}
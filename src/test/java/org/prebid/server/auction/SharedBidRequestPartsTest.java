@@ -0,0 +1,113 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.BidderRequest;
+import org.prebid.server.json.SharedJsonValues;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedBidRequestPartsTest {
+
+    @Test
+    public void shareShouldAttachSameSharedValuesToAllBidderRequests() {
+        // given
+        final Device device = Device.builder().ua("userAgent").build();
+        final List<AuctionParticipation> auctionParticipations = List.of(
+                givenAuctionParticipation("bidder1", givenBidRequest(device, "buyerUid1")),
+                givenAuctionParticipation("bidder2", givenBidRequest(device, "buyerUid2")));
+
+        // when
+        final List<AuctionParticipation> result = SharedBidRequestParts.share(auctionParticipations);
+
+        // then
+        final SharedJsonValues sharedJsonValues = result.getFirst().getBidderRequest().getSharedJsonValues();
+        assertThat(sharedJsonValues).isNotNull();
+        assertThat(result)
+                .extracting(AuctionParticipation::getBidderRequest)
+                .extracting(BidderRequest::getSharedJsonValues)
+                .containsOnly(sharedJsonValues);
+        assertThat(result).extracting(AuctionParticipation::getBidder).containsExactly("bidder1", "bidder2");
+    }
+
+    @Test
+    public void shareShouldNotReplaceBidRequestParts() {
+        // given
+        final Device device = Device.builder().ua("userAgent").build();
+        final List<AuctionParticipation> auctionParticipations = List.of(
+                givenAuctionParticipation("bidder1", givenBidRequest(device, "buyerUid")),
+                givenAuctionParticipation("bidder2", givenBidRequest(device, "buyerUid")));
+
+        // when
+        final List<AuctionParticipation> result = SharedBidRequestParts.share(auctionParticipations);
+
+        // then
+        assertThat(result)
+                .extracting(AuctionParticipation::getBidderRequest)
+                .extracting(BidderRequest::getBidRequest)
+                .containsExactly(
+                        auctionParticipations.get(0).getBidderRequest().getBidRequest(),
+                        auctionParticipations.get(1).getBidderRequest().getBidRequest());
+        final BidRequest first = result.get(0).getBidderRequest().getBidRequest();
+        final BidRequest second = result.get(1).getBidderRequest().getBidRequest();
+        assertThat(second.getUser()).isNotSameAs(first.getUser());
+        assertThat(second.getSite()).isNotSameAs(first.getSite());
+    }
+
+    @Test
+    public void shareShouldKeepAuctionParticipationsWhenNoPartIsSameInstance() {
+        // given
+        final List<AuctionParticipation> auctionParticipations = List.of(
+                givenAuctionParticipation("bidder1", givenBidRequest(Device.builder().ua("ua").build(), "buyerUid")),
+                givenAuctionParticipation("bidder2", givenBidRequest(Device.builder().ua("ua").build(), "buyerUid")));
+
+        // when
+        final List<AuctionParticipation> result = SharedBidRequestParts.share(auctionParticipations);
+
+        // then
+        assertThat(result).isSameAs(auctionParticipations);
+    }
+
+    @Test
+    public void shareShouldSkipBlockedAuctionParticipations() {
+        // given
+        final Device device = Device.builder().ua("userAgent").build();
+        final AuctionParticipation blocked = AuctionParticipation.builder()
+                .bidder("bidder3")
+                .requestBlocked(true)
+                .build();
+        final List<AuctionParticipation> auctionParticipations = List.of(
+                givenAuctionParticipation("bidder1", givenBidRequest(device, "buyerUid")),
+                givenAuctionParticipation("bidder2", givenBidRequest(device, "buyerUid")),
+                blocked);
+
+        // when
+        final List<AuctionParticipation> result = SharedBidRequestParts.share(auctionParticipations);
+
+        // then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(2)).isSameAs(blocked);
+    }
+
+    private static AuctionParticipation givenAuctionParticipation(String bidder, BidRequest bidRequest) {
+        return AuctionParticipation.builder()
+                .bidder(bidder)
+                .bidderRequest(BidderRequest.builder().bidder(bidder).bidRequest(bidRequest).build())
+                .build();
+    }
+
+    private static BidRequest givenBidRequest(Device device, String buyerUid) {
+        return BidRequest.builder()
+                .id("requestId")
+                .user(User.builder().id("userId").buyeruid(buyerUid).build())
+                .device(device)
+                .site(Site.builder().domain("domain.com").build())
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package org.prebid.server.auction.model;
+
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Video;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.proto.openrtb.ext.request.ImpMediaType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class ImpIndexTest {
+
+    @Test
+    public void getShouldReturnFirstImpWithGivenId() {
+        // given
+        final Imp first = Imp.builder().id("impId").secure(1).build();
+        final Imp second = Imp.builder().id("impId").secure(0).build();
+
+        // when
+        final ImpIndex impIndex = ImpIndex.of(List.of(first, second));
+
+        // then
+        assertThat(impIndex.getImp("impId")).isSameAs(first);
+        assertThat(impIndex.getImp("unknown")).isNull();
+    }
+
+    @Test
+    public void getShouldReturnPrecomputedImpAttributes() {
+        // given
+        final Imp imp = Imp.builder()
+                .id("impId")
+                .banner(Banner.builder()
+                        .format(List.of(
+                                Format.builder().w(300).h(250).build(),
+                                Format.builder().w(728).h(90).build()))
+                        .build())
+                .video(Video.builder().plcmt(1).build())
+                .build();
+
+        // when
+        final ImpIndex.Entry entry = ImpIndex.of(List.of(imp)).get("impId");
+
+        // then
+        assertThat(entry.getBannerMaxSize()).isEqualTo(Format.builder().w(728).h(250).build());
+        assertThat(entry.getVideoMediaType()).isEqualTo(ImpMediaType.video_instream);
+    }
+
+    @Test
+    public void getShouldReturnZeroBannerMaxSizeAndOutstreamVideoForImpWithoutThem() {
+        // when
+        final ImpIndex.Entry entry = ImpIndex.of(List.of(Imp.builder().id("impId").build())).get("impId");
+
+        // then
+        assertThat(entry.getBannerMaxSize()).isEqualTo(Format.builder().w(0).h(0).build());
+        assertThat(entry.getVideoMediaType()).isEqualTo(ImpMediaType.video_outstream);
+    }
+
+    @Test
+    public void auctionContextShouldReuseIndexWhileImpsAreNotReplaced() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().imp(List.of(Imp.builder().id("impId").build())).build();
+        final AuctionContext auctionContext = AuctionContext.builder().bidRequest(bidRequest).build().withImpIndex();
+
+        // when and then
+        assertThat(auctionContext.impIndex()).isSameAs(auctionContext.impIndex());
+        assertThat(auctionContext.with(bidRequest.toBuilder().id("id").build()).impIndex())
+                .isSameAs(auctionContext.impIndex());
+    }
+
+    @Test
+    public void auctionContextShouldRebuildIndexWhenBidRequestWithOtherImpsIsSet() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().imp(List.of(Imp.builder().id("impId").build())).build();
+        final AuctionContext auctionContext = AuctionContext.builder().bidRequest(bidRequest).build().withImpIndex();
+        final Imp updatedImp = Imp.builder().id("impId").secure(1).build();
+
+        // when
+        final ImpIndex impIndex = auctionContext.with(bidRequest.toBuilder().imp(List.of(updatedImp)).build())
+                .impIndex();
+
+        // then
+        assertThat(impIndex.getImp("impId")).isSameAs(updatedImp);
+    }
+
+    @Test
+    public void auctionContextShouldFailWhenIndexIsNotBuilt() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().imp(List.of(Imp.builder().id("impId").build())).build();
+        final AuctionContext auctionContext = AuctionContext.builder().bidRequest(bidRequest).build();
+
+        // when and then
+        assertThatIllegalStateException()
+                .isThrownBy(auctionContext::impIndex)
+                .withMessage("Imp index is not built for the current bid request imps");
+    }
+
+    @Test
+    public void auctionContextShouldFailWhenImpsAreReplacedBypassingIndex() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().imp(List.of(Imp.builder().id("impId").build())).build();
+        final AuctionContext auctionContext = AuctionContext.builder().bidRequest(bidRequest).build().withImpIndex()
+                .toBuilder()
+                .bidRequest(bidRequest.toBuilder().imp(List.of(Imp.builder().id("impId").build())).build())
+                .build();
+
+        // when and then
+        assertThatIllegalStateException().isThrownBy(auctionContext::impIndex);
+    }
+}
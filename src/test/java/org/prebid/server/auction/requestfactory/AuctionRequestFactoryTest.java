@@ -220,10 +220,9 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 paramsExtractor,
                 paramsResolver,
                 interstitialProcessor,
-                ortbTypesResolver,
+                new BidRequestDecoder(ortbTypesResolver, jacksonMapper),
                 auctionPrivacyContextFactory,
                 debugResolver,
-                jacksonMapper,
                 geoLocationServiceWrapper,
                 bidAdjustmentsEnricher);
     }
@@ -257,14 +256,13 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 paramsExtractor,
                 paramsResolver,
                 interstitialProcessor,
-                ortbTypesResolver,
+                new BidRequestDecoder(ortbTypesResolver, jacksonMapper),
                 auctionPrivacyContextFactory,
                 debugResolver,
-                jacksonMapper,
                 geoLocationServiceWrapper,
                 bidAdjustmentsEnricher);
 
-        given(requestBody.asString()).willReturn("body");
+        given(requestBody.length()).willReturn(4);
 
         // when
         final Future<?> future = target.parseRequest(routingContext, 0L);
@@ -0,0 +1,90 @@
+package org.prebid.server.auction.requestfactory;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.OrtbTypesResolver;
+import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.json.JsonMerger;
+import org.prebid.server.proto.openrtb.ext.request.ExtSite;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BidRequestDecoderTest extends VertxTest {
+
+    private final BidRequestDecoder target = new BidRequestDecoder(
+            new OrtbTypesResolver(0.01, jacksonMapper, new JsonMerger(jacksonMapper)),
+            jacksonMapper);
+
+    @Test
+    public void decodeShouldNormalizeFirstPartyDataAndKeepOtherFields() {
+        // given
+        final String body = """
+                {
+                  "id": "requestId",
+                  "imp": [{"id": "impId", "bidfloor": 1.25}],
+                  "user": {"gender": ["male", "female"]},
+                  "site": {"page": "page", "data": {"key": "value"}},
+                  "tmax": 500
+                }""";
+        final List<String> warnings = new ArrayList<>();
+
+        // when
+        final BidRequest result = target.decode(body, warnings, "referer");
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder()
+                .id("requestId")
+                .imp(singletonList(Imp.builder().id("impId").bidfloor(new BigDecimal("1.25")).build()))
+                .user(User.builder().gender("male").build())
+                .site(Site.builder()
+                        .page("page")
+                        .ext(ExtSite.of(null, mapper.createObjectNode().put("key", "value")))
+                        .build())
+                .tmax(500L)
+                .build());
+        assertThat(warnings).containsExactly("""
+                WARNING: Incorrect type for first party data field bidrequest.user.gender, \
+                expected is string, but was an array of strings. Converted to string by \
+                taking first element of array.""");
+    }
+
+    @Test
+    public void decodeShouldDropFirstPartyDataFieldOfIncorrectType() {
+        // given
+        final List<String> warnings = new ArrayList<>();
+
+        // when
+        final BidRequest result = target.decode("{\"id\": \"requestId\", \"app\": 1}", warnings, "referer");
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder().id("requestId").build());
+        assertThat(warnings).containsExactly(
+                "WARNING: bidrequest.app field ignored. Expected type is object, but was `NUMBER`.");
+    }
+
+    @Test
+    public void decodeShouldFailIfBodyIsNotValidJson() {
+        // when and then
+        assertThatExceptionOfType(InvalidRequestException.class)
+                .isThrownBy(() -> target.decode("body", new ArrayList<>(), "referer"))
+                .withMessageStartingWith("Error decoding bidRequest: Unrecognized token 'body'");
+    }
+
+    @Test
+    public void decodeShouldFailIfBodyIsNotObject() {
+        // when and then
+        assertThatExceptionOfType(InvalidRequestException.class)
+                .isThrownBy(() -> target.decode("[1]", new ArrayList<>(), "referer"))
+                .withMessageStartingWith("Error decoding bidRequest: Cannot deserialize value");
+    }
+}
@@ -16,6 +16,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebidChannel;
 import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.EndpointFormat;
 import org.prebid.server.spring.config.bidder.model.Ortb;
 import org.prebid.server.version.PrebidVersionProvider;
 
@@ -232,6 +233,49 @@ public class HttpBidderRequestEnricherTest {
         assertThat(resultHeaders.get("Content-Encoding")).isEqualTo("gzip");
     }
 
+    @Test
+    public void shouldReplaceContentTypeAndAcceptHeadersIfBidderEndpointFormatIsProtobuf() {
+        // given
+        when(bidderAliases.resolveBidder(BIDDER_NAME)).thenReturn(BIDDER_NAME);
+        when(bidderCatalog.bidderInfoByName(eq(BIDDER_NAME))).thenReturn(BidderInfo.create(
+                true,
+                null,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                0,
+                null,
+                false,
+                false,
+                CompressionType.NONE,
+                -1,
+                EndpointFormat.PROTOBUF,
+                Ortb.of(false),
+                0L));
+
+        final MultiMap bidderHeaders = MultiMap.caseInsensitiveMultiMap()
+                .add("Content-Type", "application/json;charset=utf-8")
+                .add("Accept", "application/json");
+
+        // when
+        final MultiMap resultHeaders = target
+                .enrichHeaders(
+                        BIDDER_NAME,
+                        bidderHeaders,
+                        CaseInsensitiveMultiMap.builder().build(),
+                        bidderAliases,
+                        BidRequest.builder().build());
+
+        // then
+        assertThat(resultHeaders.getAll("Content-Type")).containsExactly("application/x-protobuf");
+        assertThat(resultHeaders.getAll("Accept")).containsExactly("application/x-protobuf");
+    }
+
     private static boolean isEqualsMultiMaps(MultiMap left, MultiMap right) {
         return left.size() == right.size() && left.entries().stream()
                 .allMatch(entry -> right.contains(entry.getKey(), entry.getValue(), true));
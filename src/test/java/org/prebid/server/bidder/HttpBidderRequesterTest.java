@@ -6,10 +6,14 @@ import com.iab.openrtb.request.Deal;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Pmp;
 import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import com.iabtechlab.openrtb.v2.OpenRtb;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RoutingContext;
@@ -21,6 +25,7 @@ import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
+import org.prebid.server.auction.AdaptiveBidderTimeoutResolver;
 import org.prebid.server.auction.aliases.BidderAliases;
 import org.prebid.server.auction.model.BidRejectionReason;
 import org.prebid.server.auction.model.BidRejectionTracker;
@@ -41,10 +46,15 @@ import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.proto.openrtb.ext.response.ExtIgi;
 import org.prebid.server.proto.openrtb.ext.response.ExtIgiIgs;
 import org.prebid.server.proto.openrtb.ext.response.FledgeAuctionConfig;
+import org.prebid.server.protobuf.request.RequestExtensionMappersSpecification;
+import org.prebid.server.protobuf.response.ResponseExtensionMappersSpecification;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -54,6 +64,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -63,6 +74,7 @@ import static java.util.Collections.singletonMap;
 import static java.util.function.UnaryOperator.identity;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
@@ -100,9 +112,14 @@ public class HttpBidderRequesterTest extends VertxTest {
     private RoutingContext routingContext;
     @Mock(strictness = LENIENT)
     private HttpServerRequest httpServerRequest;
+    @Mock
+    private AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver;
+
+    private ProtobufBidderCodec protobufCodec;
 
     private HttpBidderRequester target;
 
+    private Clock clock;
     private Timeout timeout;
     private Timeout expiredTimeout;
 
@@ -114,13 +131,26 @@ public class HttpBidderRequesterTest extends VertxTest {
         given(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any()))
                 .willReturn(MultiMap.caseInsensitiveMultiMap());
 
-        final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
         final TimeoutFactory timeoutFactory = new TimeoutFactory(clock);
         timeout = timeoutFactory.create(500L);
         expiredTimeout = timeoutFactory.create(clock.instant().minusMillis(1500L).toEpochMilli(), 1000L);
 
+        protobufCodec = new ProtobufBidderCodec(
+                RequestExtensionMappersSpecification.builder(mapper).build(),
+                ResponseExtensionMappersSpecification.builder(mapper).build(),
+                jacksonMapper);
+
         target = new HttpBidderRequester(
-                httpClient, null, bidderErrorNotifier, requestEnricher, jacksonMapper, 0.0);
+                httpClient,
+                null,
+                bidderErrorNotifier,
+                requestEnricher,
+                jacksonMapper,
+                protobufCodec,
+                adaptiveBidderTimeoutResolver,
+                clock,
+                0.0);
         given(bidder.makeBidderResponse(any(BidderCall.class), any(BidRequest.class))).willCallRealMethod();
     }
 
@@ -228,6 +258,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                 .extracting(HttpResponse::getBody)
                 .isEqualTo("storedResponse");
         assertThat(bidderSeatBid.getBids()).hasSameElementsAs(bids);
+        verifyNoInteractions(adaptiveBidderTimeoutResolver);
 
         verify(bidRejectionTracker, never()).reject(any(Rejection.class));
         verify(bidRejectionTracker, never()).rejectImps(anyList(), any());
@@ -499,7 +530,7 @@ public class HttpBidderRequesterTest extends VertxTest {
     }
 
     @Test
-    public void shouldCompressRequestBodyIfContentEncodingHeaderIsGzip() {
+    public void shouldCompressRequestBodyIfContentEncodingHeaderIsGzip() throws IOException {
         // given
         final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
                 .add(HttpUtil.CONTENT_ENCODING_HEADER, HttpHeaderValues.GZIP);
@@ -508,7 +539,9 @@ public class HttpBidderRequesterTest extends VertxTest {
                 emptyList()));
 
         given(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any())).willReturn(headers);
-        givenHttpClientResponse(200, "responseBody");
+        given(requestEnricher.resolveCompressionLevel(anyString(), any())).willReturn(9);
+        given(httpClient.request(any(), anyString(), any(), any(Buffer.class), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, "responseBody")));
         final BidderRequest bidderRequest = BidderRequest.builder()
                 .bidder("bidder")
                 .bidRequest(BidRequest.builder().build())
@@ -526,14 +559,201 @@ public class HttpBidderRequesterTest extends VertxTest {
                 .result();
 
         // then
-        final ArgumentCaptor<byte[]> actualRequestBody = ArgumentCaptor.forClass(byte[].class);
+        final ArgumentCaptor<Buffer> actualRequestBody = ArgumentCaptor.forClass(Buffer.class);
         verify(httpClient).request(any(), anyString(), any(), actualRequestBody.capture(), anyLong());
-        assertThat(actualRequestBody.getValue()).isNotSameAs(EMPTY_BYTE_BODY);
+        assertThat(gunzip(actualRequestBody.getValue().getBytes())).isEqualTo(EMPTY_BYTE_BODY);
 
         verify(bidRejectionTracker, never()).reject(any(Rejection.class));
         verify(bidRejectionTracker, never()).rejectImps(anyList(), any());
     }
 
+    @Test
+    public void shouldEncodeRequestBodyToProtobufIfContentTypeHeaderIsProtobuf() throws IOException {
+        // given
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+        final BidRequest bidRequest = BidRequest.builder().id("requestId").tmax(500L).build();
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(builder -> builder.payload(bidRequest))),
+                emptyList()));
+
+        given(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any())).willReturn(headers);
+        givenHttpClientResponse(204, EMPTY);
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(bidRequest)
+                .build();
+
+        // when
+        target.requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        final ArgumentCaptor<byte[]> actualRequestBody = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient).request(any(), anyString(), any(), actualRequestBody.capture(), anyLong());
+        assertThat(OpenRtb.BidRequest.parseFrom(actualRequestBody.getValue()))
+                .isEqualTo(OpenRtb.BidRequest.newBuilder().setId("requestId").setTmax(500).build());
+    }
+
+    @Test
+    public void shouldReturnProtobufRequestInTextFormInDebugInfo() {
+        // given
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+        final BidRequest bidRequest = BidRequest.builder().id("requestId").tmax(500L).build();
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(builder -> builder.payload(bidRequest))),
+                emptyList()));
+
+        given(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any())).willReturn(headers);
+        givenHttpClientResponse(204, EMPTY);
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(bidRequest)
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid = target.requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        true)
+                .result();
+
+        // then
+        assertThat(bidderSeatBid.getHttpCalls())
+                .extracting(ExtHttpCall::getRequestbody)
+                .containsExactly(OpenRtb.BidRequest.newBuilder().setId("requestId").setTmax(500).build().toString());
+    }
+
+    @Test
+    public void shouldReturnErrorIfRequestPayloadCannotBeEncodedToProtobuf() {
+        // given
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(identity())),
+                emptyList()));
+        given(requestEnricher.enrichHeaders(anyString(), any(), any(), any(), any())).willReturn(headers);
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid = target
+                .requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        verifyNoInteractions(httpClient);
+        assertThat(bidderSeatBid.getErrors()).containsExactly(BidderError.generic(
+                "Failed to encode request : Request payload of type null can't be encoded to protobuf"));
+    }
+
+    @Test
+    public void shouldDecodeProtobufResponseBodyToJsonBeforePassingItToBidder() {
+        // given
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(identity())),
+                emptyList()));
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+        final byte[] protobufResponse = OpenRtb.BidResponse.newBuilder()
+                .setId("responseId")
+                .addSeatbid(OpenRtb.BidResponse.SeatBid.newBuilder()
+                        .setSeat("seat")
+                        .addBid(OpenRtb.BidResponse.SeatBid.Bid.newBuilder()
+                                .setId("bidId")
+                                .setImpid("impId")
+                                .setPrice(1.5)))
+                .build()
+                .toByteArray();
+        givenHttpClientReturnsResponses(HttpClientResponse.ofBuffer(200, headers, Buffer.buffer(protobufResponse)));
+        given(bidder.makeBidderResponse(any(), any())).willReturn(CompositeBidderResponse.empty());
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        final ArgumentCaptor<BidderCall<BidRequest>> httpCallArgumentCaptor =
+                ArgumentCaptor.forClass(BidderCall.class);
+        verify(bidder).makeBidderResponse(httpCallArgumentCaptor.capture(), any());
+        final BidResponse bidResponse = jacksonMapper.decodeValue(
+                httpCallArgumentCaptor.getValue().getResponse().getBodyBuffer(), BidResponse.class);
+        assertThat(bidResponse.getId()).isEqualTo("responseId");
+        assertThat(bidResponse.getSeatbid())
+                .flatExtracting(SeatBid::getBid)
+                .extracting(Bid::getId, Bid::getImpid, Bid::getPrice)
+                .containsExactly(tuple("bidId", "impId", BigDecimal.valueOf(1.5)));
+    }
+
+    @Test
+    public void shouldReturnErrorIfProtobufResponseBodyCannotBeDecoded() {
+        // given
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(identity())),
+                emptyList()));
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_PROTOBUF_CONTENT_TYPE);
+        givenHttpClientReturnsResponses(HttpClientResponse.ofBuffer(200, headers, Buffer.buffer("invalid")));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid = target
+                .requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        verify(bidder, never()).makeBidderResponse(any(), any());
+        assertThat(bidderSeatBid.getErrors())
+                .extracting(BidderError::getMessage)
+                .singleElement()
+                .asString()
+                .startsWith("Failed to decode protobuf bid response: ");
+    }
+
     @Test
     public void shouldNotWaitForResponsesWhenAllDealsIsGathered() throws JsonProcessingException {
         // given
@@ -559,6 +779,9 @@ public class HttpBidderRequesterTest extends VertxTest {
                 bidderErrorNotifier,
                 requestEnricher,
                 jacksonMapper,
+                protobufCodec,
+                adaptiveBidderTimeoutResolver,
+                clock,
                 0.0);
 
         final BidRequest bidRequest = bidRequestWithDeals("deal1", "deal2");
@@ -1092,6 +1315,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                 .extracting(BidderError::getMessage)
                 .containsOnly("Timeout has been exceeded");
         verifyNoInteractions(httpClient);
+        verifyNoInteractions(adaptiveBidderTimeoutResolver);
 
         verify(bidRejectionTracker).rejectImps(singleton("impId"), BidRejectionReason.ERROR_TIMED_OUT);
     }
@@ -1127,6 +1351,84 @@ public class HttpBidderRequesterTest extends VertxTest {
         verify(bidderErrorNotifier).processTimeout(any(), same(bidder));
     }
 
+    @Test
+    public void shouldRecordResponseTimeOfAnsweredHttpCall() {
+        // given
+        givenSuccessfulBidderMakeHttpRequests();
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                bidder,
+                bidderRequest,
+                bidRejectionTracker,
+                timeout,
+                CaseInsensitiveMultiMap.empty(),
+                bidderAliases,
+                false);
+
+        // then
+        verify(adaptiveBidderTimeoutResolver).recordResponseTime("bidder", 0L);
+        verify(adaptiveBidderTimeoutResolver, never()).recordTimeout(any());
+    }
+
+    @Test
+    public void shouldRecordTimeoutOfHttpCallCutByTimeout() {
+        // given
+        given(bidder.makeHttpRequests(any())).willReturn(
+                Result.of(singletonList(givenSimpleHttpRequest(identity())), emptyList()));
+        givenHttpClientProducesException(new TimeoutException("Timeout exception"));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                bidder,
+                bidderRequest,
+                bidRejectionTracker,
+                timeout,
+                CaseInsensitiveMultiMap.empty(),
+                bidderAliases,
+                false);
+
+        // then
+        verify(adaptiveBidderTimeoutResolver).recordTimeout("bidder");
+        verify(adaptiveBidderTimeoutResolver, never()).recordResponseTime(any(), anyLong());
+    }
+
+    @Test
+    public void shouldNotRecordResponseTimeOfFailedHttpCall() {
+        // given
+        given(bidder.makeHttpRequests(any())).willReturn(
+                Result.of(singletonList(givenSimpleHttpRequest(identity())), emptyList()));
+        givenHttpClientProducesException(new RuntimeException("Connection refused"));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                bidder,
+                bidderRequest,
+                bidRejectionTracker,
+                timeout,
+                CaseInsensitiveMultiMap.empty(),
+                bidderAliases,
+                false);
+
+        // then
+        verifyNoInteractions(adaptiveBidderTimeoutResolver);
+    }
+
     @Test
     public void shouldTolerateMultipleErrors() {
         // given
@@ -1293,6 +1595,12 @@ public class HttpBidderRequesterTest extends VertxTest {
         givenHttpClientResponse(200, "responseBody");
     }
 
+    private static byte[] gunzip(byte[] value) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(value))) {
+            return gzip.readAllBytes();
+        }
+    }
+
     private void givenHttpClientResponse(int statusCode, String response) {
         given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
                 .willReturn(Future.succeededFuture(HttpClientResponse.of(statusCode, null, response)));
@@ -0,0 +1,322 @@
+package org.prebid.server.bidder;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.Extension;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.Message;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.SupplyChain;
+import com.iab.openrtb.request.SupplyChainNode;
+import com.iab.openrtb.request.User;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.versionconverter.OrtbVersion;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.openrtb.v2.OpenRtbPrivacy;
+import org.prebid.server.openrtb.v2.OpenRtbTest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.proto.openrtb.ext.request.ExtSource;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.protobuf.request.PrivacyExtensionMappers;
+import org.prebid.server.protobuf.request.ProtobufForwardExtensionMapper;
+import org.prebid.server.protobuf.request.RequestExtensionMappersSpecification;
+import org.prebid.server.protobuf.response.ProtobufJsonExtensionMapper;
+import org.prebid.server.protobuf.response.ResponseExtensionMappersSpecification;
+import org.prebid.server.spring.config.bidder.model.CompressionType;
+import org.prebid.server.spring.config.bidder.model.EndpointFormat;
+import org.prebid.server.spring.config.bidder.model.Ortb;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ProtobufBidderCodecTest extends VertxTest {
+
+    private final ProtobufBidderCodec target = new ProtobufBidderCodec(
+            RequestExtensionMappersSpecification.builder(mapper).build(),
+            ResponseExtensionMappersSpecification.builder(mapper)
+                    .bidExtMapper(givenExtensionJsonMapper(OpenRtbTest.bid))
+                    .build(),
+            jacksonMapper);
+
+    @Test
+    public void isProtobufShouldReturnTrueForProtobufContentType() {
+        // when and then
+        assertThat(ProtobufBidderCodec.isProtobuf("application/x-protobuf")).isTrue();
+        assertThat(ProtobufBidderCodec.isProtobuf("Application/X-Protobuf; charset=binary")).isTrue();
+        assertThat(ProtobufBidderCodec.isProtobuf("application/json")).isFalse();
+        assertThat(ProtobufBidderCodec.isProtobuf(null)).isFalse();
+    }
+
+    @Test
+    public void encodeBidRequestShouldEncodeBidRequest() throws Exception {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("requestId")
+                .imp(singletonList(Imp.builder().id("impId").bidfloor(BigDecimal.ONE).build()))
+                .build();
+
+        // when
+        final byte[] result = target.encodeBidRequest(bidRequest);
+
+        // then
+        assertThat(OpenRtb.BidRequest.parseFrom(result)).isEqualTo(OpenRtb.BidRequest.newBuilder()
+                .setId("requestId")
+                .addImp(OpenRtb.BidRequest.Imp.newBuilder().setId("impId").setBidfloor(1.0))
+                .build());
+    }
+
+    @Test
+    public void validateBiddersShouldFailIfProtobufBidderPrivacyExtensionsCanNotBeEncoded() {
+        // given
+        final BidderCatalog bidderCatalog = givenBidderCatalog(
+                givenBidderInfo(EndpointFormat.PROTOBUF, OrtbVersion.ORTB_2_5));
+
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> target.validateBidders(bidderCatalog))
+                .withMessage("Protobuf endpoint format can't carry privacy signals of bidders [bidder]: "
+                        + "it needs OpenRTB 2.5 bidders and protobuf extension mappers for regs, user and source");
+    }
+
+    @Test
+    public void validateBiddersShouldFailIfProtobufBidderUsesOrtb26() {
+        // given
+        final BidderCatalog bidderCatalog = givenBidderCatalog(
+                givenBidderInfo(EndpointFormat.PROTOBUF, OrtbVersion.ORTB_2_6));
+
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> givenPrivacyExtensionsCodec().validateBidders(bidderCatalog))
+                .withMessageStartingWith("Protobuf endpoint format can't carry privacy signals of bidders [bidder]");
+    }
+
+    @Test
+    public void validateBiddersShouldAcceptProtobufBidderWhosePrivacySignalsCanBeEncoded() {
+        // given
+        final BidderCatalog bidderCatalog = givenBidderCatalog(
+                givenBidderInfo(EndpointFormat.PROTOBUF, OrtbVersion.ORTB_2_5));
+
+        // when and then
+        assertThatCode(() -> givenPrivacyExtensionsCodec().validateBidders(bidderCatalog))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void encodeBidRequestShouldEncodePrivacyExtensionsWithDefaultMappers() throws Exception {
+        // given
+        final ProtobufBidderCodec codec = new ProtobufBidderCodec(
+                PrivacyExtensionMappers.specificationBuilder(mapper).build(),
+                ResponseExtensionMappersSpecification.builder(mapper).build(),
+                jacksonMapper);
+        codec.validateBidders(givenBidderCatalog(givenBidderInfo(EndpointFormat.PROTOBUF, OrtbVersion.ORTB_2_5)));
+
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("requestId")
+                .regs(Regs.builder().ext(ExtRegs.of(1, "1YNN", null, null)).build())
+                .user(User.builder().ext(ExtUser.builder().consent("consent").build()).build())
+                .source(Source.builder()
+                        .ext(ExtSource.of(SupplyChain.of(1, singletonList(
+                                SupplyChainNode.of("asi", "sid", null, null, null, 1, null)), "1.0", null)))
+                        .build())
+                .build();
+
+        // when
+        final byte[] result = codec.encodeBidRequest(bidRequest);
+
+        // then
+        final ExtensionRegistry extensionRegistry = ExtensionRegistry.newInstance();
+        OpenRtbPrivacy.registerAllExtensions(extensionRegistry);
+        final OpenRtb.BidRequest encodedBidRequest = OpenRtb.BidRequest.parseFrom(result, extensionRegistry);
+
+        assertThat(encodedBidRequest.getRegs().getExtension(OpenRtbPrivacy.regs))
+                .isEqualTo(OpenRtbPrivacy.RegsExt.newBuilder().setGdpr(1).setUsPrivacy("1YNN").build());
+        assertThat(encodedBidRequest.getUser().getExtension(OpenRtbPrivacy.user))
+                .isEqualTo(OpenRtbPrivacy.UserExt.newBuilder().setConsent("consent").build());
+        assertThat(encodedBidRequest.getSource().getExtension(OpenRtbPrivacy.source).getSchain().getNodesList())
+                .containsExactly(OpenRtbPrivacy.SupplyChainNode.newBuilder().setAsi("asi").setSid("sid").setHp(1)
+                        .build());
+    }
+
+    @Test
+    public void validateBiddersShouldAcceptJsonBidders() {
+        // given
+        final BidderCatalog bidderCatalog = givenBidderCatalog(
+                givenBidderInfo(EndpointFormat.JSON, OrtbVersion.ORTB_2_6));
+
+        // when and then
+        assertThatCode(() -> target.validateBidders(bidderCatalog)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void encodeBidRequestShouldFailIfBidRequestHasPrivacyFieldsWithoutProtobufFields() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .regs(Regs.builder().coppa(1).gdpr(1).gpp("gpp").build())
+                .user(User.builder().consent("consent").build())
+                .build();
+
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.encodeBidRequest(bidRequest))
+                .withMessage("Privacy fields [regs.gdpr, regs.gpp, user.consent] can't be encoded to protobuf");
+    }
+
+    @Test
+    public void describeBidRequestShouldReturnTextFormOfEncodedBidRequest() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("requestId")
+                .imp(singletonList(Imp.builder().id("impId").bidfloor(BigDecimal.ONE).build()))
+                .build();
+
+        // when
+        final String result = target.describeBidRequest(bidRequest);
+
+        // then
+        assertThat(result).isEqualTo(OpenRtb.BidRequest.newBuilder()
+                .setId("requestId")
+                .addImp(OpenRtb.BidRequest.Imp.newBuilder().setId("impId").setBidfloor(1.0))
+                .build()
+                .toString());
+    }
+
+    @Test
+    public void encodeBidRequestShouldFailIfPayloadIsNotBidRequest() {
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.encodeBidRequest("payload"))
+                .withMessage("Request payload of type String can't be encoded to protobuf");
+    }
+
+    @Test
+    public void decodeBidResponseShouldDecodeBidResponseWithRegisteredExtensions() {
+        // given
+        final OpenRtb.BidResponse bidResponse = OpenRtb.BidResponse.newBuilder()
+                .setId("responseId")
+                .addSeatbid(OpenRtb.BidResponse.SeatBid.newBuilder()
+                        .addBid(OpenRtb.BidResponse.SeatBid.Bid.newBuilder()
+                                .setId("bidId")
+                                .setImpid("impId")
+                                .setPrice(2.5)
+                                .setAdm("adm")
+                                .setExtension(OpenRtbTest.bid, OpenRtbTest.TestExt.newBuilder()
+                                        .setField("value")
+                                        .build())))
+                .build();
+
+        // when
+        final Buffer result = target.decodeBidResponse(Buffer.buffer(bidResponse.toByteArray()));
+
+        // then
+        final BidResponse decodedBidResponse = jacksonMapper.decodeValue(result, BidResponse.class);
+        assertThat(decodedBidResponse.getId()).isEqualTo("responseId");
+        assertThat(decodedBidResponse.getSeatbid())
+                .flatExtracting(SeatBid::getBid)
+                .singleElement()
+                .satisfies(bid -> {
+                    assertThat(bid.getId()).isEqualTo("bidId");
+                    assertThat(bid.getAdm()).isEqualTo("adm");
+                    assertThat(bid.getPrice()).isEqualByComparingTo("2.5");
+                    assertThat(bid.getExt()).isEqualTo(mapper.createObjectNode().put("field", "value"));
+                });
+    }
+
+    @Test
+    public void decodeBidResponseShouldFailIfBodyIsNotValidProtobuf() {
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.decodeBidResponse(Buffer.buffer("invalid")))
+                .withMessageStartingWith("Failed to decode protobuf bid response: ");
+    }
+
+    private static ProtobufBidderCodec givenPrivacyExtensionsCodec() {
+        return new ProtobufBidderCodec(
+                RequestExtensionMappersSpecification.builder(mapper)
+                        .regsExtMapper(givenForwardExtensionMapper(OpenRtbTest.regs))
+                        .userExtMapper(givenForwardExtensionMapper(OpenRtbTest.user))
+                        .sourceExtMapper(givenForwardExtensionMapper(OpenRtbTest.source))
+                        .build(),
+                ResponseExtensionMappersSpecification.builder(mapper).build(),
+                jacksonMapper);
+    }
+
+    private static BidderCatalog givenBidderCatalog(BidderInfo bidderInfo) {
+        final BidderCatalog bidderCatalog = mock(BidderCatalog.class);
+        given(bidderCatalog.names()).willReturn(Set.of("bidder"));
+        given(bidderCatalog.isActive("bidder")).willReturn(true);
+        given(bidderCatalog.bidderInfoByName("bidder")).willReturn(bidderInfo);
+        return bidderCatalog;
+    }
+
+    private static BidderInfo givenBidderInfo(EndpointFormat endpointFormat, OrtbVersion ortbVersion) {
+        return BidderInfo.create(
+                true,
+                ortbVersion,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                0,
+                null,
+                false,
+                false,
+                CompressionType.NONE,
+                -1,
+                endpointFormat,
+                Ortb.of(false),
+                0L);
+    }
+
+    private static <ContainingType extends Message, FromType>
+            ProtobufForwardExtensionMapper<ContainingType, FromType, OpenRtbTest.TestExt> givenForwardExtensionMapper(
+            Extension<ContainingType, OpenRtbTest.TestExt> extensionDescriptor) {
+
+        return new ProtobufForwardExtensionMapper<>() {
+            @Override
+            public OpenRtbTest.TestExt map(FromType ext) {
+                return OpenRtbTest.TestExt.newBuilder().setField("value").build();
+            }
+
+            @Override
+            public Extension<ContainingType, OpenRtbTest.TestExt> extensionDescriptor() {
+                return extensionDescriptor;
+            }
+        };
+    }
+
+    private static <ContainingType extends Message>
+            ProtobufJsonExtensionMapper<ContainingType, OpenRtbTest.TestExt> givenExtensionJsonMapper(
+            Extension<ContainingType, OpenRtbTest.TestExt> extensionDescriptor) {
+
+        return new ProtobufJsonExtensionMapper<>() {
+            @Override
+            public ObjectNode map(OpenRtbTest.TestExt ext) {
+                return mapper.createObjectNode().put("field", ext.getField());
+            }
+
+            @Override
+            public Extension<ContainingType, OpenRtbTest.TestExt> extensionDescriptor() {
+                return extensionDescriptor;
+            }
+        };
+    }
+}
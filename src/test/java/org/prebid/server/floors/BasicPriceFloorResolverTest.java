@@ -1573,6 +1573,38 @@ public class BasicPriceFloorResolverTest extends VertxTest {
                 .isEqualTo(BigDecimal.TEN);
     }
 
+    @Test
+    public void resolveShouldMatchBidderCaseInsensitively() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().build();
+
+        // when and then
+        assertThat(target.resolve(bidRequest,
+                givenRules(PriceFloorModelGroup.builder()
+                        .schema(PriceFloorSchema.of("|", singletonList(PriceFloorField.bidder)))
+                        .value("BIDDER", BigDecimal.TEN)
+                        .build()),
+                givenImp(identity()), "Bidder", null).getFloorValue())
+                .isEqualTo(BigDecimal.TEN);
+    }
+
+    @Test
+    public void rulesIndexShouldBeBuiltOncePerModelGroupInstance() {
+        // given
+        final PriceFloorModelGroup.PriceFloorModelGroupBuilder modelGroupBuilder = PriceFloorModelGroup.builder()
+                .schema(PriceFloorSchema.of("|", singletonList(PriceFloorField.bidder)))
+                .value("bidder", BigDecimal.TEN);
+        final PriceFloorModelGroup modelGroup = modelGroupBuilder.build();
+        final PriceFloorModelGroup equalModelGroup = modelGroupBuilder.build();
+
+        // when
+        final PriceFloorRulesIndex rulesIndex = target.rulesIndex(modelGroup);
+
+        // then
+        assertThat(target.rulesIndex(modelGroup)).isSameAs(rulesIndex);
+        assertThat(target.rulesIndex(equalModelGroup)).isNotSameAs(rulesIndex);
+    }
+
     private static PriceFloorRules givenRules(PriceFloorModelGroup modelGroup) {
 
         return PriceFloorRules.builder()
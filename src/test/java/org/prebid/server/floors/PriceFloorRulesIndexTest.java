@@ -0,0 +1,64 @@
+package org.prebid.server.floors;
+
+import org.junit.jupiter.api.Test;
+import org.prebid.server.floors.model.PriceFloorField;
+import org.prebid.server.floors.model.PriceFloorModelGroup;
+import org.prebid.server.floors.model.PriceFloorSchema;
+
+import java.math.BigDecimal;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceFloorRulesIndexTest {
+
+    @Test
+    public void ofShouldLowercaseRules() {
+        // given
+        final PriceFloorModelGroup modelGroup = PriceFloorModelGroup.builder()
+                .schema(PriceFloorSchema.of("|", asList(PriceFloorField.mediaType, PriceFloorField.bidder)))
+                .value("Banner|BIDDER", BigDecimal.ONE)
+                .value("video|*", BigDecimal.TEN)
+                .build();
+
+        // when
+        final PriceFloorRulesIndex target = PriceFloorRulesIndex.of(modelGroup);
+
+        // then
+        assertThat(target.contains("banner|bidder")).isTrue();
+        assertThat(target.contains("video|*")).isTrue();
+        assertThat(target.contains("Banner|BIDDER")).isFalse();
+        assertThat(target.contains("audio|*")).isFalse();
+        assertThat(target.get("banner|bidder")).isEqualTo(BigDecimal.ONE);
+        assertThat(target.get("video|*")).isEqualTo(BigDecimal.TEN);
+    }
+
+    @Test
+    public void ofShouldUseSchemaDelimiterAsSeparator() {
+        // given
+        final PriceFloorModelGroup modelGroup = PriceFloorModelGroup.builder()
+                .schema(PriceFloorSchema.of("X", asList(PriceFloorField.mediaType, PriceFloorField.bidder)))
+                .value("bannerXbidder", BigDecimal.ONE)
+                .build();
+
+        // when
+        final PriceFloorRulesIndex target = PriceFloorRulesIndex.of(modelGroup);
+
+        // then
+        assertThat(target.separator()).isEqualTo("x");
+        assertThat(target.wildcard()).isEqualTo("*");
+        assertThat(target.contains("bannerxbidder")).isTrue();
+    }
+
+    @Test
+    public void ofShouldUseDefaultSeparatorIfDelimiterIsMissing() {
+        // given
+        final PriceFloorModelGroup modelGroup = PriceFloorModelGroup.builder()
+                .schema(PriceFloorSchema.of(null, asList(PriceFloorField.mediaType, PriceFloorField.bidder)))
+                .value("banner|bidder", BigDecimal.ONE)
+                .build();
+
+        // when and then
+        assertThat(PriceFloorRulesIndex.of(modelGroup).separator()).isEqualTo("|");
+    }
+}
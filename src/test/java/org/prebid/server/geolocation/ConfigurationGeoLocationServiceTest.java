@@ -12,9 +12,11 @@ import org.prebid.server.geolocation.model.GeoInfoConfiguration;
 
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 @ExtendWith(MockitoExtension.class)
 public class ConfigurationGeoLocationServiceTest {
@@ -57,4 +59,69 @@ public class ConfigurationGeoLocationServiceTest {
         assertThat(geoInfoFuture.cause()).satisfies(e -> assertThat(e.getMessage())
                 .isEqualTo(ConfigurationGeoLocationService.class.getSimpleName() + ": Geo location lookup failed."));
     }
+
+    @Test
+    public void lookupShouldReturnFirstMatchingConfiguration() {
+        // given
+        final List<GeoInfoConfiguration> configs = asList(
+                GeoInfoConfiguration.of("10.", givenGeoInfo("first")),
+                GeoInfoConfiguration.of("192.168.", givenGeoInfo("second")),
+                GeoInfoConfiguration.of("192.", givenGeoInfo("third")));
+
+        final GeoLocationService target = new ConfigurationGeoLocationService(configs);
+
+        // when and then
+        assertThat(target.lookup("192.168.0.1", timeout).result())
+                .extracting(GeoInfo::getCountry)
+                .isEqualTo("second");
+        assertThat(target.lookup("192.169.0.1", timeout).result())
+                .extracting(GeoInfo::getCountry)
+                .isEqualTo("third");
+    }
+
+    @Test
+    public void lookupShouldMatchNetworksInCidrNotation() {
+        // given
+        final List<GeoInfoConfiguration> configs = asList(
+                GeoInfoConfiguration.of("192.168.1.0/24", givenGeoInfo("first")),
+                GeoInfoConfiguration.of("192.168.0.0/16", givenGeoInfo("second")),
+                GeoInfoConfiguration.of("192.", givenGeoInfo("third")),
+                GeoInfoConfiguration.of("2001:db8::/32", givenGeoInfo("fourth")));
+
+        final GeoLocationService target = new ConfigurationGeoLocationService(configs);
+
+        // when and then
+        assertThat(target.lookup("192.168.1.1", timeout).result())
+                .extracting(GeoInfo::getCountry)
+                .isEqualTo("first");
+        assertThat(target.lookup("192.168.2.1", timeout).result())
+                .extracting(GeoInfo::getCountry)
+                .isEqualTo("second");
+        assertThat(target.lookup("192.169.0.1", timeout).result())
+                .extracting(GeoInfo::getCountry)
+                .isEqualTo("third");
+        assertThat(target.lookup("2001:db8::1", timeout).result())
+                .extracting(GeoInfo::getCountry)
+                .isEqualTo("fourth");
+        assertThat(target.lookup("2001:db9::1", timeout).failed()).isTrue();
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidNetwork() {
+        // given
+        final List<GeoInfoConfiguration> configs = singletonList(
+                GeoInfoConfiguration.of("invalid/24", givenGeoInfo("country")));
+
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new ConfigurationGeoLocationService(configs))
+                .withMessage("Invalid geo location address pattern: invalid/24");
+    }
+
+    private static GeoInfo givenGeoInfo(String country) {
+        return GeoInfo.builder()
+                .vendor(StringUtils.EMPTY)
+                .country(country)
+                .build();
+    }
 }
@@ -1,6 +1,8 @@
 package org.prebid.server.geolocation;
 
+import com.maxmind.db.Network;
 import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.City;
@@ -8,14 +10,21 @@ import com.maxmind.geoip2.record.Continent;
 import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
+import com.maxmind.geoip2.record.Traits;
 import io.vertx.core.Future;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
-import org.mockito.internal.util.reflection.ReflectionMemberAccessor;
 import org.prebid.server.geolocation.model.GeoInfo;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -23,16 +32,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class MaxMindGeoLocationServiceTest {
 
     private static final String TEST_IP = "80.215.195.122";
 
+    @TempDir
+    Path tempDir;
+
     private MaxMindGeoLocationService maxMindGeoLocationService;
 
     @BeforeEach
     public void setUp() {
-        maxMindGeoLocationService = new MaxMindGeoLocationService();
+        maxMindGeoLocationService = new MaxMindGeoLocationService(100);
     }
 
     @Test
@@ -58,8 +72,62 @@ public class MaxMindGeoLocationServiceTest {
     }
 
     @Test
-    public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws NoSuchFieldException, IOException,
-            GeoIp2Exception, IllegalAccessException {
+    public void setDatabaseReaderShouldReturnFailedFutureIfArchiveHasNoDatabaseFile() throws IOException {
+        // given
+        final Path archive = tempDir.resolve("GeoLite2-City.tar.gz");
+        try (TarArchiveOutputStream tarOutput = new TarArchiveOutputStream(new GZIPOutputStream(
+                Files.newOutputStream(archive)))) {
+
+            final byte[] content = "content".getBytes();
+            final TarArchiveEntry entry = new TarArchiveEntry("README.txt");
+            entry.setSize(content.length);
+            tarOutput.putArchiveEntry(entry);
+            tarOutput.write(content);
+            tarOutput.closeArchiveEntry();
+        }
+
+        // when
+        final Future<?> result = maxMindGeoLocationService.setDataPath(archive.toString());
+
+        // then
+        assertTrue(result.failed());
+        assertThat(result.cause())
+                .hasMessage("Database file GeoLite2-City.mmdb not found in %s archive".formatted(archive));
+    }
+
+    @Test
+    public void setDataPathShouldDeleteDatabaseFilesLeftByPreviousRun() throws IOException {
+        // given
+        final Path staleDatabaseFile = Files.createFile(tempDir.resolve("GeoLite2-City.mmdb.123.tmp"));
+        final Path otherFile = Files.createFile(tempDir.resolve("other.mmdb"));
+        final Path archive = Files.createFile(tempDir.resolve("GeoLite2-City.mmdb.tar.gz"));
+
+        // when
+        maxMindGeoLocationService.setDataPath(archive.toString());
+
+        // then
+        assertThat(staleDatabaseFile).doesNotExist();
+        assertThat(otherFile).exists();
+        assertThat(archive).exists();
+    }
+
+    @Test
+    public void setDatabaseShouldDeletePreviousDatabaseFile() throws IOException {
+        // given
+        final Path previousDatabaseFile = Files.createFile(tempDir.resolve("previous.mmdb"));
+        final Path databaseFile = Files.createFile(tempDir.resolve("current.mmdb"));
+        maxMindGeoLocationService.setDatabase(Mockito.mock(DatabaseReader.class), previousDatabaseFile);
+
+        // when
+        maxMindGeoLocationService.setDatabase(Mockito.mock(DatabaseReader.class), databaseFile);
+
+        // then
+        assertThat(previousDatabaseFile).doesNotExist();
+        assertThat(databaseFile).exists();
+    }
+
+    @Test
+    public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws IOException, GeoIp2Exception {
         // given
         final Country country = Mockito.mock(Country.class);
         Mockito.when(country.getIsoCode()).thenReturn("fr");
@@ -88,10 +156,7 @@ public class MaxMindGeoLocationServiceTest {
         final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
         given(databaseReader.city(any())).willReturn(cityResponse);
 
-        new ReflectionMemberAccessor().set(
-                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"),
-                maxMindGeoLocationService,
-                databaseReader);
+        maxMindGeoLocationService.setDatabase(databaseReader, null);
 
         // when
         final Future<GeoInfo> future = maxMindGeoLocationService.lookup(TEST_IP, null);
@@ -111,14 +176,12 @@ public class MaxMindGeoLocationServiceTest {
     }
 
     @Test
-    public void lookupShouldTolerateMissingGeoInfo() throws IOException, GeoIp2Exception, NoSuchFieldException,
-            IllegalAccessException {
+    public void lookupShouldTolerateMissingGeoInfo() throws IOException, GeoIp2Exception {
         // given
         final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
         given(databaseReader.city(any())).willReturn(null);
 
-        new ReflectionMemberAccessor().set(maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"),
-                maxMindGeoLocationService, databaseReader);
+        maxMindGeoLocationService.setDatabase(databaseReader, null);
 
         // when
         final Future<GeoInfo> future = maxMindGeoLocationService.lookup(TEST_IP, null);
@@ -127,4 +190,89 @@ public class MaxMindGeoLocationServiceTest {
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result()).isEqualTo(GeoInfo.builder().vendor("maxmind").build());
     }
+
+    @Test
+    public void lookupShouldCacheResultPerIpIfNetworkIsNarrowerThanPrefix() throws IOException, GeoIp2Exception {
+        // given
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        final CityResponse cityResponse = givenCityResponseForNetwork("80.215.195.120", 30);
+        given(databaseReader.city(any())).willReturn(cityResponse);
+        maxMindGeoLocationService.setDatabase(databaseReader, null);
+
+        // when
+        maxMindGeoLocationService.lookup(TEST_IP, null);
+        maxMindGeoLocationService.lookup(TEST_IP, null);
+        maxMindGeoLocationService.lookup("80.215.195.1", null);
+
+        // then
+        verify(databaseReader, times(2)).city(any());
+    }
+
+    @Test
+    public void lookupShouldCacheResultPerPrefixIfNetworkCoversIt() throws IOException, GeoIp2Exception {
+        // given
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        final CityResponse cityResponse = givenCityResponseForNetwork("80.215.0.0", 16);
+        given(databaseReader.city(any())).willReturn(cityResponse);
+        maxMindGeoLocationService.setDatabase(databaseReader, null);
+
+        // when
+        final Future<GeoInfo> first = maxMindGeoLocationService.lookup(TEST_IP, null);
+        final Future<GeoInfo> second = maxMindGeoLocationService.lookup("80.215.195.1", null);
+        maxMindGeoLocationService.lookup("80.215.194.1", null);
+
+        // then
+        assertThat(second.result()).isSameAs(first.result());
+        verify(databaseReader, times(2)).city(any());
+    }
+
+    @Test
+    public void lookupShouldCacheAddressNotFoundPerIp() throws IOException, GeoIp2Exception {
+        // given
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willThrow(new AddressNotFoundException("Address not found"));
+        maxMindGeoLocationService.setDatabase(databaseReader, null);
+
+        // when
+        final Future<GeoInfo> first = maxMindGeoLocationService.lookup(TEST_IP, null);
+        final Future<GeoInfo> second = maxMindGeoLocationService.lookup(TEST_IP, null);
+        maxMindGeoLocationService.lookup("80.215.195.1", null);
+
+        // then
+        assertThat(first.cause()).isInstanceOf(AddressNotFoundException.class);
+        assertThat(second.cause()).isSameAs(first.cause());
+        verify(databaseReader, times(2)).city(any());
+    }
+
+    @Test
+    public void lookupShouldNotUseCacheOfPreviousDatabase() throws IOException, GeoIp2Exception {
+        // given
+        final DatabaseReader previousDatabaseReader = Mockito.mock(DatabaseReader.class);
+        given(previousDatabaseReader.city(any())).willReturn(null);
+        maxMindGeoLocationService.setDatabase(previousDatabaseReader, null);
+        maxMindGeoLocationService.lookup(TEST_IP, null);
+
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willReturn(null);
+        maxMindGeoLocationService.setDatabase(databaseReader, null);
+
+        // when
+        maxMindGeoLocationService.lookup(TEST_IP, null);
+
+        // then
+        verify(previousDatabaseReader).city(any());
+        verify(databaseReader).city(any());
+    }
+
+    private static CityResponse givenCityResponseForNetwork(String networkAddress, int prefixLength)
+            throws IOException {
+
+        final Traits traits = Mockito.mock(Traits.class);
+        Mockito.when(traits.getNetwork()).thenReturn(
+                new Network(InetAddress.getByName(networkAddress), prefixLength));
+
+        final CityResponse cityResponse = Mockito.mock(CityResponse.class);
+        Mockito.when(cityResponse.getTraits()).thenReturn(traits);
+        return cityResponse;
+    }
 }
@@ -8,6 +8,7 @@ import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
@@ -50,6 +51,7 @@ import org.prebid.server.hooks.execution.v1.analytics.ActivityImpl;
 import org.prebid.server.hooks.execution.v1.analytics.AppliedToImpl;
 import org.prebid.server.hooks.execution.v1.analytics.ResultImpl;
 import org.prebid.server.hooks.execution.v1.analytics.TagsImpl;
+import org.prebid.server.hooks.execution.v1.exitpoint.EncodedExitpointPayload;
 import org.prebid.server.hooks.execution.v1.exitpoint.ExitpointPayloadImpl;
 import org.prebid.server.log.HttpInteractionLogger;
 import org.prebid.server.metric.MetricName;
@@ -102,7 +104,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
@@ -166,9 +167,9 @@ public class AuctionHandlerTest extends VertxTest {
 
         given(prebidVersionProvider.getNameVersionRecord()).willReturn("pbs-java/1.00");
 
-        given(hookStageExecutor.executeExitpointStage(any(), any(), any()))
+        given(hookStageExecutor.executeExitpointStage(any(), any(Buffer.class), any()))
                 .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.success(
-                        ExitpointPayloadImpl.of(invocation.getArgument(0), invocation.getArgument(1)))));
+                        EncodedExitpointPayload.of(invocation.getArgument(0), invocation.getArgument(1)))));
 
         given(hooksMetricsService.updateHooksMetrics(any())).willAnswer(invocation -> invocation.getArgument(0));
 
@@ -314,7 +315,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(403));
-        verify(httpResponse).end(eq("Blocklisted: Blocklisted account"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blocklisted: Blocklisted account")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.blocklisted_account));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
@@ -333,7 +334,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(400));
-        verify(httpResponse).end(eq("Invalid config"));
+        verify(httpResponse).end(eq(Buffer.buffer("Invalid config")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.bad_requests));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
@@ -352,7 +353,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(403));
-        verify(httpResponse).end(eq("Blocklisted: Blocklisted app"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blocklisted: Blocklisted app")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.blocklisted_app));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
@@ -371,7 +372,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(400));
-        verify(httpResponse).end(eq("Invalid request format: Request is invalid"));
+        verify(httpResponse).end(eq(Buffer.buffer("Invalid request format: Request is invalid")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.badinput));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
@@ -391,7 +392,7 @@ public class AuctionHandlerTest extends VertxTest {
         // then
         verifyNoInteractions(exchangeService);
         verify(httpResponse).setStatusCode(eq(401));
-        verify(httpResponse).end(eq("Account id is not provided"));
+        verify(httpResponse).end(eq(Buffer.buffer("Account id is not provided")));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
     }
 
@@ -411,7 +412,7 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(500));
-        verify(httpResponse).end(eq("Critical error while running the auction: Unexpected exception"));
+        verify(httpResponse).end(eq(Buffer.buffer("Critical error while running the auction: Unexpected exception")));
 
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.err));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
@@ -431,7 +432,7 @@ public class AuctionHandlerTest extends VertxTest {
         target.handle(routingContext);
 
         // then
-        verify(httpResponse, never()).end(anyString());
+        verify(httpResponse, never()).end(any(Buffer.class));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
     }
 
@@ -457,12 +458,12 @@ public class AuctionHandlerTest extends VertxTest {
                         tuple("Content-Type", "application/json"),
                         tuple("x-prebid", "pbs-java/1.00"));
 
-        verify(httpResponse).end(eq("{}"));
+        verify(httpResponse).end(eq(Buffer.buffer("{}")));
 
         final ArgumentCaptor<MultiMap> responseHeadersCaptor = ArgumentCaptor.forClass(MultiMap.class);
         verify(hookStageExecutor).executeExitpointStage(
                 responseHeadersCaptor.capture(),
-                eq("{}"),
+                eq(Buffer.buffer("{}")),
                 any());
 
         assertThat(responseHeadersCaptor.getValue()).hasSize(2)
@@ -484,7 +485,7 @@ public class AuctionHandlerTest extends VertxTest {
                 .willAnswer(invocation -> Future.succeededFuture(invocation.getArgument(0)));
         given(exchangeService.holdAuction(any()))
                 .willReturn(Future.succeededFuture(auctionContext.with(BidResponse.builder().build())));
-        given(hookStageExecutor.executeExitpointStage(any(), any(), any()))
+        given(hookStageExecutor.executeExitpointStage(any(), any(Buffer.class), any()))
                 .willReturn(Future.succeededFuture(HookStageExecutionResult.success(
                         ExitpointPayloadImpl.of(
                                 MultiMap.caseInsensitiveMultiMap().add("New-Header", "New-Header-Value"),
@@ -499,12 +500,12 @@ public class AuctionHandlerTest extends VertxTest {
                 .extracting(Map.Entry::getKey, Map.Entry::getValue)
                 .containsExactlyInAnyOrder(tuple("New-Header", "New-Header-Value"));
 
-        verify(httpResponse).end(eq("{\"response\":{}}"));
+        verify(httpResponse).end(eq(Buffer.buffer("{\"response\":{}}")));
 
         final ArgumentCaptor<MultiMap> responseHeadersCaptor = ArgumentCaptor.forClass(MultiMap.class);
         verify(hookStageExecutor).executeExitpointStage(
                 responseHeadersCaptor.capture(),
-                eq("{}"),
+                eq(Buffer.buffer("{}")),
                 any());
 
         assertThat(responseHeadersCaptor.getValue()).hasSize(2)
@@ -549,15 +550,15 @@ public class AuctionHandlerTest extends VertxTest {
 
         // then
         verify(exchangeService).holdAuction(any());
-        verify(httpResponse).end(eq("{\"ext\":{\"debug\":{\"resolvedrequest\":{\"ext\":{\"prebid\":"
+        verify(httpResponse).end(eq(Buffer.buffer("{\"ext\":{\"debug\":{\"resolvedrequest\":{\"ext\":{\"prebid\":"
                 + "{\"targeting\":{\"mediatypepricegranularity\":{\"banner\":{\"precision\":1,\"ranges\":"
-                + "[{\"max\":10,\"increment\":1}]},\"native\":{}}},\"auctiontimestamp\":0}}}}}}"));
+                + "[{\"max\":10,\"increment\":1}]},\"native\":{}}},\"auctiontimestamp\":0}}}}}}")));
 
         verify(hookStageExecutor).executeExitpointStage(
                 any(),
-                eq("{\"ext\":{\"debug\":{\"resolvedrequest\":{\"ext\":{\"prebid\":"
+                eq(Buffer.buffer("{\"ext\":{\"debug\":{\"resolvedrequest\":{\"ext\":{\"prebid\":"
                         + "{\"targeting\":{\"mediatypepricegranularity\":{\"banner\":{\"precision\":1,\"ranges\":"
-                        + "[{\"max\":10,\"increment\":1}]},\"native\":{}}},\"auctiontimestamp\":0}}}}}}"),
+                        + "[{\"max\":10,\"increment\":1}]},\"native\":{}}},\"auctiontimestamp\":0}}}}}}")),
                 any());
 
         verify(hooksMetricsService).updateHooksMetrics(any());
@@ -875,7 +876,7 @@ public class AuctionHandlerTest extends VertxTest {
         final ArgumentCaptor<MultiMap> responseHeadersCaptor = ArgumentCaptor.forClass(MultiMap.class);
         verify(hookStageExecutor).executeExitpointStage(
                 responseHeadersCaptor.capture(),
-                eq("{}"),
+                eq(Buffer.buffer("{}")),
                 any());
 
         assertThat(responseHeadersCaptor.getValue()).hasSize(2)
@@ -895,7 +896,7 @@ public class AuctionHandlerTest extends VertxTest {
                 .willReturn(Future.succeededFuture(auctionContext));
         given(auctionRequestFactory.enrichAuctionContext(any()))
                 .willAnswer(invocation -> Future.succeededFuture(invocation.getArgument(0)));
-        given(hookStageExecutor.executeExitpointStage(any(), any(), any()))
+        given(hookStageExecutor.executeExitpointStage(any(), any(Buffer.class), any()))
                 .willReturn(Future.succeededFuture(HookStageExecutionResult.success(
                         ExitpointPayloadImpl.of(
                                 MultiMap.caseInsensitiveMultiMap().add("New-Header", "New-Header-Value"),
@@ -917,7 +918,7 @@ public class AuctionHandlerTest extends VertxTest {
         final ArgumentCaptor<MultiMap> responseHeadersCaptor = ArgumentCaptor.forClass(MultiMap.class);
         verify(hookStageExecutor).executeExitpointStage(
                 responseHeadersCaptor.capture(),
-                eq("{}"),
+                eq(Buffer.buffer("{}")),
                 any());
 
         assertThat(responseHeadersCaptor.getValue()).hasSize(2)
@@ -997,7 +998,7 @@ public class AuctionHandlerTest extends VertxTest {
         verifyNoInteractions(exchangeService, analyticsReporterDelegator, hookStageExecutor);
         verify(hooksMetricsService).updateHooksMetrics(any());
         verify(httpResponse).setStatusCode(eq(200));
-        verify(httpResponse).end("{}");
+        verify(httpResponse).end(Buffer.buffer("{}"));
     }
 
     @Test
@@ -1014,7 +1015,7 @@ public class AuctionHandlerTest extends VertxTest {
         given(auctionRequestFactory.enrichAuctionContext(any()))
                 .willAnswer(invocation -> Future.succeededFuture(invocation.getArgument(0)));
 
-        given(hookStageExecutor.executeExitpointStage(any(), any(), any()))
+        given(hookStageExecutor.executeExitpointStage(any(), any(Buffer.class), any()))
                 .willAnswer(invocation -> {
                     final AuctionContext context = invocation.getArgument(2, AuctionContext.class);
                     final HookExecutionContext hookExecutionContext = context.getHookExecutionContext();
@@ -1040,7 +1041,7 @@ public class AuctionHandlerTest extends VertxTest {
                                                                             givenAppliedToImpl()))))))
                                                     .build()))))));
                     return Future.succeededFuture(HookStageExecutionResult.success(
-                            ExitpointPayloadImpl.of(invocation.getArgument(0), invocation.getArgument(1))));
+                            EncodedExitpointPayload.of(invocation.getArgument(0), invocation.getArgument(1))));
                 });
 
         givenHoldAuction(BidResponse.builder().build());
@@ -1130,7 +1131,7 @@ public class AuctionHandlerTest extends VertxTest {
         given(auctionRequestFactory.enrichAuctionContext(any()))
                 .willAnswer(invocation -> Future.succeededFuture(invocation.getArgument(0)));
 
-        given(hookStageExecutor.executeExitpointStage(any(), any(), any()))
+        given(hookStageExecutor.executeExitpointStage(any(), any(Buffer.class), any()))
                 .willAnswer(invocation -> {
                     final AuctionContext context = invocation.getArgument(2, AuctionContext.class);
                     final HookExecutionContext hookExecutionContext = context.getHookExecutionContext();
@@ -1156,7 +1157,7 @@ public class AuctionHandlerTest extends VertxTest {
                                                                             givenAppliedToImpl()))))))
                                                     .build()))))));
                     return Future.succeededFuture(HookStageExecutionResult.success(
-                            ExitpointPayloadImpl.of(invocation.getArgument(0), invocation.getArgument(1))));
+                            EncodedExitpointPayload.of(invocation.getArgument(0), invocation.getArgument(1))));
                 });
 
         givenHoldAuction(BidResponse.builder().build());
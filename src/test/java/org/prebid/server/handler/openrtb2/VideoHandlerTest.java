@@ -5,6 +5,7 @@ import com.iab.openrtb.request.video.PodError;
 import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
@@ -36,6 +37,7 @@ import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.exitpoint.EncodedExitpointPayload;
 import org.prebid.server.hooks.execution.v1.exitpoint.ExitpointPayloadImpl;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.Endpoint;
@@ -59,7 +61,6 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
@@ -120,9 +121,9 @@ public class VideoHandlerTest extends VertxTest {
 
         given(prebidVersionProvider.getNameVersionRecord()).willReturn("pbs-java/1.00");
 
-        given(hookStageExecutor.executeExitpointStage(any(), any(), any()))
+        given(hookStageExecutor.executeExitpointStage(any(), any(Buffer.class), any()))
                 .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.success(
-                        ExitpointPayloadImpl.of(invocation.getArgument(0), invocation.getArgument(1)))));
+                        EncodedExitpointPayload.of(invocation.getArgument(0), invocation.getArgument(1)))));
 
         given(hooksMetricsService.updateHooksMetrics(any())).willAnswer(invocation -> invocation.getArgument(0));
 
@@ -239,7 +240,7 @@ public class VideoHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(400));
-        verify(httpResponse).end(eq("Invalid request format: Request is invalid"));
+        verify(httpResponse).end(eq(Buffer.buffer("Invalid request format: Request is invalid")));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
     }
 
@@ -255,7 +256,7 @@ public class VideoHandlerTest extends VertxTest {
         // then
         verifyNoInteractions(exchangeService);
         verify(httpResponse).setStatusCode(eq(401));
-        verify(httpResponse).end(eq("Unauthorised: Account id is not provided"));
+        verify(httpResponse).end(eq(Buffer.buffer("Unauthorised: Account id is not provided")));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
     }
 
@@ -273,7 +274,7 @@ public class VideoHandlerTest extends VertxTest {
 
         // then
         verify(httpResponse).setStatusCode(eq(500));
-        verify(httpResponse).end(eq("Critical error while running the auction: Unexpected exception"));
+        verify(httpResponse).end(eq(Buffer.buffer("Critical error while running the auction: Unexpected exception")));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
     }
 
@@ -289,7 +290,7 @@ public class VideoHandlerTest extends VertxTest {
         target.handle(routingContext);
 
         // then
-        verify(httpResponse, never()).end(anyString());
+        verify(httpResponse, never()).end(any(Buffer.class));
         verifyNoInteractions(hooksMetricsService, hookStageExecutor);
     }
 
@@ -315,12 +316,12 @@ public class VideoHandlerTest extends VertxTest {
                 .containsExactlyInAnyOrder(
                         tuple("Content-Type", "application/json"),
                         tuple("x-prebid", "pbs-java/1.00"));
-        verify(httpResponse).end(eq("{\"adPods\":[]}"));
+        verify(httpResponse).end(eq(Buffer.buffer("{\"adPods\":[]}")));
 
         final ArgumentCaptor<MultiMap> responseHeadersCaptor = ArgumentCaptor.forClass(MultiMap.class);
         verify(hookStageExecutor).executeExitpointStage(
                 responseHeadersCaptor.capture(),
-                eq("{\"adPods\":[]}"),
+                eq(Buffer.buffer("{\"adPods\":[]}")),
                 any());
 
         assertThat(responseHeadersCaptor.getValue()).hasSize(2)
@@ -343,7 +344,7 @@ public class VideoHandlerTest extends VertxTest {
         given(videoResponseFactory.toVideoResponse(any(), any(), any()))
                 .willReturn(VideoResponse.of(emptyList(), null));
 
-        given(hookStageExecutor.executeExitpointStage(any(), any(), any()))
+        given(hookStageExecutor.executeExitpointStage(any(), any(Buffer.class), any()))
                 .willReturn(Future.succeededFuture(HookStageExecutionResult.success(
                         ExitpointPayloadImpl.of(
                                 MultiMap.caseInsensitiveMultiMap().add("New-Header", "New-Header-Value"),
@@ -358,12 +359,12 @@ public class VideoHandlerTest extends VertxTest {
         assertThat(httpResponse.headers()).hasSize(1)
                 .extracting(Map.Entry::getKey, Map.Entry::getValue)
                 .containsExactlyInAnyOrder(tuple("New-Header", "New-Header-Value"));
-        verify(httpResponse).end(eq("{\"adPods\":[{\"something\":1}]}"));
+        verify(httpResponse).end(eq(Buffer.buffer("{\"adPods\":[{\"something\":1}]}")));
 
         final ArgumentCaptor<MultiMap> responseHeadersCaptor = ArgumentCaptor.forClass(MultiMap.class);
         verify(hookStageExecutor).executeExitpointStage(
                 responseHeadersCaptor.capture(),
-                eq("{\"adPods\":[]}"),
+                eq(Buffer.buffer("{\"adPods\":[]}")),
                 any());
 
         assertThat(responseHeadersCaptor.getValue()).hasSize(2)
@@ -0,0 +1,56 @@
+package org.prebid.server.it;
+
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.google.protobuf.ExtensionRegistry;
+import com.iabtechlab.openrtb.v2.OpenRtb;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.model.Endpoint;
+import org.prebid.server.openrtb.v2.OpenRtbPrivacy;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenericProtobufTest extends IntegrationTest {
+
+    @Test
+    public void openrtb2AuctionShouldSendPrivacySignalsToProtobufBidder() throws IOException {
+        // given
+        WIRE_MOCK_RULE.stubFor(post(urlPathEqualTo("/genericProtobuf-exchange"))
+                .willReturn(aResponse().withStatus(204)));
+
+        // when
+        responseFor("openrtb2/genericprotobuf/test-auction-generic-protobuf-request.json",
+                Endpoint.openrtb2_auction);
+
+        // then
+        final List<LoggedRequest> bidderRequests = WIRE_MOCK_RULE.findAll(
+                postRequestedFor(urlPathEqualTo("/genericProtobuf-exchange")));
+        assertThat(bidderRequests).hasSize(1);
+
+        final ExtensionRegistry extensionRegistry = ExtensionRegistry.newInstance();
+        OpenRtbPrivacy.registerAllExtensions(extensionRegistry);
+        final OpenRtb.BidRequest bidRequest = OpenRtb.BidRequest.parseFrom(
+                bidderRequests.getFirst().getBody(), extensionRegistry);
+
+        assertThat(bidRequest.getRegs().getExtension(OpenRtbPrivacy.regs)).isEqualTo(
+                OpenRtbPrivacy.RegsExt.newBuilder().setGdpr(0).setUsPrivacy("1YNN").build());
+        assertThat(bidRequest.getUser().getExtension(OpenRtbPrivacy.user).getConsent())
+                .isEqualTo("CPaYLJBPaYLJBIPAAAENCSCgAPAAAAAAAAAAGsQAQGsAAAAA.YAAAAAAAAAA");
+        assertThat(bidRequest.getSource().getExtension(OpenRtbPrivacy.source)).isEqualTo(
+                OpenRtbPrivacy.SourceExt.newBuilder()
+                        .setSchain(OpenRtbPrivacy.SupplyChain.newBuilder()
+                                .setComplete(1)
+                                .addNodes(OpenRtbPrivacy.SupplyChainNode.newBuilder()
+                                        .setAsi("example.com")
+                                        .setSid("sellerId")
+                                        .setHp(1))
+                                .setVer("1.0"))
+                        .build());
+    }
+}
@@ -3,16 +3,19 @@ package org.prebid.server.json;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.App;
 import com.iab.openrtb.request.Dooh;
+import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Publisher;
 import com.iab.openrtb.request.Site;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.prebid.server.VertxTest;
+import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidderConfigOrtb;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class JsonMergerTest extends VertxTest {
 
@@ -95,4 +98,64 @@ public class JsonMergerTest extends VertxTest {
         assertThat(result).isEqualTo(site);
     }
 
+    @Test
+    public void mergeShouldMergeObjectWithStoredData() {
+        // given
+        final Imp imp = Imp.builder()
+                .id("impId")
+                .ext(mapper.createObjectNode().set("data", mapper.createObjectNode().put("key", "value")))
+                .build();
+        final String storedData = """
+                {"id":"storedId","tagid":"tagId","ext":{"data":{"key":"stored","other":"other"},"tid":"tid"}}""";
+
+        // when
+        final Imp result = target.merge(imp, storedData, "storedId", Imp.class);
+
+        // then
+        assertThat(result).isEqualTo(Imp.builder()
+                .id("impId")
+                .tagid("tagId")
+                .ext(mapper.createObjectNode()
+                        .put("tid", "tid")
+                        .set("data", mapper.createObjectNode().put("key", "value").put("other", "other")))
+                .build());
+    }
+
+    @Test
+    public void mergeShouldNotModifyCachedStoredDataBetweenMerges() {
+        // given
+        target = new JsonMerger(jacksonMapper, 10);
+        final String storedData = """
+                {"tagid":"tagId","ext":{"data":{"key":"stored"}}}""";
+
+        final Imp firstImp = Imp.builder()
+                .id("firstImpId")
+                .ext(mapper.createObjectNode().set("data", mapper.createObjectNode().put("key", "first")))
+                .build();
+        final Imp secondImp = Imp.builder().id("secondImpId").build();
+
+        // when
+        final Imp firstResult = target.merge(firstImp, storedData, "storedId", Imp.class);
+        final Imp secondResult = target.merge(secondImp, storedData, "storedId", Imp.class);
+
+        // then
+        assertThat(firstResult.getExt()).isEqualTo(
+                mapper.createObjectNode().set("data", mapper.createObjectNode().put("key", "first")));
+        assertThat(secondResult).isEqualTo(Imp.builder()
+                .id("secondImpId")
+                .tagid("tagId")
+                .ext(mapper.createObjectNode().set("data", mapper.createObjectNode().put("key", "stored")))
+                .build());
+    }
+
+    @Test
+    public void mergeShouldThrowExceptionWhenStoredDataIsNotValidJson() {
+        // given
+        target = new JsonMerger(jacksonMapper, 10);
+
+        // when and then
+        assertThatExceptionOfType(InvalidRequestException.class)
+                .isThrownBy(() -> target.merge(Imp.builder().build(), "{invalid", "storedId", Imp.class))
+                .withMessage("Can't parse Json for stored request with id storedId");
+    }
 }
@@ -0,0 +1,99 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedJsonValuesModuleTest {
+
+    private static final ObjectMapper MAPPER = ObjectMapperProvider.mapper();
+
+    @Test
+    public void shouldEncodeSharedValueSameAsNotShared() {
+        // given
+        final Device sharedDevice = givenDevice();
+        final SharedJsonValues sharedJsonValues = SharedJsonValues.of(List.of(sharedDevice));
+
+        // when
+        final String shared = sharedJsonValues.within(() -> encode(MAPPER, sharedDevice));
+        final String sharedAgain = sharedJsonValues.within(() -> encode(MAPPER, sharedDevice));
+
+        // then
+        final String notShared = encode(MAPPER, givenDevice());
+        assertThat(shared).isEqualTo(notShared);
+        assertThat(sharedAgain).isEqualTo(notShared);
+    }
+
+    @Test
+    public void shouldEncodeSharedValueAsUsualOutsideOfSharedValues() {
+        // given
+        final Device sharedDevice = givenDevice();
+        final SharedJsonValues sharedJsonValues = SharedJsonValues.of(List.of(sharedDevice));
+        final String encoded = sharedJsonValues.within(() -> encode(MAPPER, sharedDevice));
+
+        // when
+        sharedDevice.getExt().addProperty("changed", TextNode.valueOf("value"));
+
+        // then
+        final String result = encode(MAPPER, sharedDevice);
+        assertThat(result).isNotEqualTo(encoded).contains("changed");
+    }
+
+    @Test
+    public void shouldNotReuseEncodedSharedValueOfOtherMapperConfig() {
+        // given
+        final Device sharedDevice = givenDevice();
+        final SharedJsonValues sharedJsonValues = SharedJsonValues.of(List.of(sharedDevice));
+        final ObjectMapper otherMapper = MAPPER.copy().setSerializationInclusion(JsonInclude.Include.ALWAYS);
+        final String encoded = sharedJsonValues.within(() -> encode(MAPPER, sharedDevice));
+
+        // when
+        final String result = sharedJsonValues.within(() -> encode(otherMapper, sharedDevice));
+
+        // then
+        assertThat(result).isNotEqualTo(encoded).isEqualTo(encode(otherMapper, givenDevice()));
+        assertThat(sharedJsonValues.within(() -> encode(MAPPER, sharedDevice))).isEqualTo(encoded);
+    }
+
+    @Test
+    public void shouldNotAffectValueConversion() {
+        // given
+        final Device sharedDevice = givenDevice();
+        final SharedJsonValues sharedJsonValues = SharedJsonValues.of(List.of(sharedDevice));
+
+        // when
+        final JsonNode result = sharedJsonValues.within(() -> MAPPER.valueToTree(givenBidRequest(sharedDevice)));
+
+        // then
+        assertThat(result.get("device").isObject()).isTrue();
+        assertThat(result.at("/device/ua").asText()).isEqualTo("userAgent");
+    }
+
+    private static String encode(ObjectMapper mapper, Device device) {
+        try {
+            return mapper.writeValueAsString(givenBidRequest(device));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BidRequest givenBidRequest(Device device) {
+        return BidRequest.builder().id("requestId").device(device).build();
+    }
+
+    private static Device givenDevice() {
+        final ExtDevice extDevice = ExtDevice.empty();
+        extDevice.addProperty("property", TextNode.valueOf("value"));
+        return Device.builder().ua("userAgent").ip("127.0.0.1").ext(extDevice).build();
+    }
+}
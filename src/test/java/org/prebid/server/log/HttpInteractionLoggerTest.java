@@ -3,6 +3,7 @@ package org.prebid.server.log;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.RoutingContext;
@@ -65,7 +66,7 @@ public class HttpInteractionLoggerTest extends VertxTest {
 
         // when
         target.setSpec(givenSpec);
-        target.maybeLogOpenrtb2Auction(givenAuctionContext, routingContext, 200, "responseBody");
+        target.maybeLogOpenrtb2Auction(givenAuctionContext, routingContext, 200, Buffer.buffer("responseBody"));
 
         // then
         verify(logger)
@@ -73,7 +74,7 @@ public class HttpInteractionLoggerTest extends VertxTest {
                         "example.com",
                         "{}",
                         200,
-                        "responseBody");
+                        Buffer.buffer("responseBody"));
     }
 
     @Test
@@ -195,14 +196,14 @@ public class HttpInteractionLoggerTest extends VertxTest {
 
         // when
         target.setSpec(givenSpec);
-        target.maybeLogOpenrtb2Amp(givenAuctionContext, routingContext, 200, "responseBody");
+        target.maybeLogOpenrtb2Amp(givenAuctionContext, routingContext, 200, Buffer.buffer("responseBody"));
 
         // then
         verify(logger)
                 .info("Requested URL: \"{}\", response status: \"{}\", response body: \"{}\"",
                         "example.com",
                         200,
-                        "responseBody");
+                        Buffer.buffer("responseBody"));
     }
 
     @Test
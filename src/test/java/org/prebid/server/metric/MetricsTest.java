@@ -490,6 +490,16 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("analytics.analyticCode.setuid.badinput").getCount()).isOne();
     }
 
+    @Test
+    public void updateAnalyticDroppedEventsMetricShouldIncrementMetric() {
+        // when
+        metrics.updateAnalyticDroppedEventsMetric(ANALYTIC_CODE);
+        metrics.updateAnalyticDroppedEventsMetric(ANALYTIC_CODE);
+
+        // then
+        assertThat(metricRegistry.counter("analytics.analyticCode.events_dropped").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void updateFetchWithFetchResultShouldCreateMetricsAsExpected() {
         // when
@@ -548,6 +558,18 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("account.accountId.adapter.conversant.request_time").getCount()).isEqualTo(2);
     }
 
+    @Test
+    public void updateAdapterAdaptiveTimeoutShouldUpdateMetrics() {
+        // when
+        metrics.updateAdapterAdaptiveTimeout(RUBICON, 100L);
+        metrics.updateAdapterAdaptiveTimeout(CONVERSANT, 100L);
+        metrics.updateAdapterAdaptiveTimeout(CONVERSANT, 200L);
+
+        // then
+        assertThat(metricRegistry.histogram("adapter.rubicon.adaptive_timeout").getCount()).isOne();
+        assertThat(metricRegistry.histogram("adapter.conversant.adaptive_timeout").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void updateAdapterRequestBuyerUidScrubbedMetricsShouldIncrementMetrics() {
         // when
@@ -937,6 +959,17 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("privacy.tcf.missing").getCount()).isOne();
     }
 
+    @Test
+    public void updatePrivacyTcfDecodeCacheMetricShouldIncrementHitAndMissMetrics() {
+        // when
+        metrics.updatePrivacyTcfDecodeCacheMetric(true);
+        metrics.updatePrivacyTcfDecodeCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("privacy.tcf.decode-cache-hit").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("privacy.tcf.decode-cache-miss").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updatePrivacyTcfInvalidMetricShouldIncrementMetric() {
         // when
@@ -1286,6 +1319,28 @@ public class MetricsTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void updateSettingsCacheRefreshPageTimeShouldUpdateTimer() {
+        // when
+        metrics.updateSettingsCacheRefreshPageTime(MetricName.stored_request, MetricName.initialize, 123L);
+
+        // then
+        assertThat(metricRegistry
+                .timer("settings.cache.stored-request.refresh.initialize.page_query_time")
+                .getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void updateSettingsCacheRefreshItemsMetricShouldIncrementMetric() {
+        // when
+        metrics.updateSettingsCacheRefreshItemsMetric(MetricName.stored_request, MetricName.initialize, 5);
+
+        // then
+        assertThat(metricRegistry.counter("settings.cache.stored-request.refresh.initialize.items").getCount())
+                .isEqualTo(5);
+    }
+
     @Test
     public void updateSettingsCacheRefreshErrorMetricShouldIncrementMetric() {
         // when
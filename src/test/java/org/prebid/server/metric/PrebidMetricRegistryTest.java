@@ -0,0 +1,40 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrebidMetricRegistryTest {
+
+    @Test
+    public void timerShouldReturnSameTimerForSameName() {
+        // given
+        final PrebidMetricRegistry target = new PrebidMetricRegistry(ReservoirType.lockFreeExponentiallyDecaying);
+
+        // when
+        final Timer timer = target.timer("timer");
+        timer.update(10, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(target.timer("timer")).isSameAs(timer);
+        assertThat(target.getTimers().get("timer").getSnapshot().getValues()).containsOnly(10_000_000L);
+    }
+
+    @Test
+    public void histogramShouldUseConfiguredReservoir() {
+        // given
+        final PrebidMetricRegistry target = new PrebidMetricRegistry(ReservoirType.slidingTimeWindow);
+
+        // when
+        final Histogram histogram = target.histogram("histogram");
+        histogram.update(1);
+        histogram.update(2);
+
+        // then
+        assertThat(histogram.getSnapshot().getValues()).containsExactly(1L, 2L);
+    }
+}
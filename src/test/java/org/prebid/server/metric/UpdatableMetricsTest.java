@@ -184,6 +184,20 @@ public class UpdatableMetricsTest {
         assertThat(metricRegistry.getGauges()).doesNotContainKey("opened");
     }
 
+    @Test
+    public void updateTimerShouldResolveMetricAgainAfterRemoval() {
+        // given
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, MetricName::toString);
+        updatableMetrics.updateTimer(MetricName.request_time, 1000L);
+
+        // when
+        updatableMetrics.removeMetric(MetricName.request_time);
+        updatableMetrics.updateTimer(MetricName.request_time, 1000L);
+
+        // then
+        assertThat(metricRegistry.timer("request_time").getCount()).isEqualTo(1);
+    }
+
     private UpdatableMetrics givenUpdatableMetricsWith(CounterType counterType) {
         return new UpdatableMetrics(metricRegistry, counterType, MetricName::toString);
     }
@@ -0,0 +1,100 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.iabtcf.decoder.TCString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class TcStringDecoderTest {
+
+    private static final String CONSENT_STRING = "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA";
+
+    @Mock
+    private Metrics metrics;
+
+    @Test
+    public void decodeShouldReturnSameInstanceForRepeatedConsentString() {
+        // given
+        final TcStringDecoder target = new TcStringDecoder(10, 100, metrics);
+
+        // when
+        final TCString first = target.decode(CONSENT_STRING);
+        final TCString second = target.decode(CONSENT_STRING);
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(metrics).updatePrivacyTcfDecodeCacheMetric(false);
+        verify(metrics).updatePrivacyTcfDecodeCacheMetric(true);
+    }
+
+    @Test
+    public void decodeShouldThrowExceptionForCachedInvalidConsentString() {
+        // given
+        final TcStringDecoder target = new TcStringDecoder(10, 100, metrics);
+
+        // when and then
+        assertThatExceptionOfType(PreBidException.class).isThrownBy(() -> target.decode("invalid"));
+        assertThatExceptionOfType(PreBidException.class).isThrownBy(() -> target.decode("invalid"));
+        verify(metrics).updatePrivacyTcfDecodeCacheMetric(true);
+    }
+
+    @Test
+    public void decodeShouldNotCacheConsentStringLongerThanLimit() {
+        // given
+        final TcStringDecoder target = new TcStringDecoder(10, 10, metrics);
+
+        // when
+        final TCString first = target.decode(CONSENT_STRING);
+        final TCString second = target.decode(CONSENT_STRING);
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    public void decodeShouldNotCacheWhenCacheIsDisabled() {
+        // given
+        final TcStringDecoder target = new TcStringDecoder(0, 100, metrics);
+
+        // when
+        target.decode(CONSENT_STRING);
+        target.decode(CONSENT_STRING);
+
+        // then
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    public void isValidShouldReturnTrueWhenStringIsValid() {
+        // given
+        final TcStringDecoder target = new TcStringDecoder(10, 100, metrics);
+
+        // when and then
+        assertThat(target.isValid(CONSENT_STRING)).isTrue();
+        assertThat(target.isValid(CONSENT_STRING)).isTrue();
+        verify(metrics, times(1)).updatePrivacyTcfDecodeCacheMetric(true);
+    }
+
+    @Test
+    public void isValidShouldReturnFalseWhenStringIsNull() {
+        // when and then
+        assertThat(new TcStringDecoder(10, 100, metrics).isValid(null)).isFalse();
+    }
+
+    @Test
+    public void isValidShouldReturnFalseWhenStringNotValid() {
+        // when and then
+        assertThat(new TcStringDecoder(10, 100, metrics).isValid("invalid")).isFalse();
+    }
+}
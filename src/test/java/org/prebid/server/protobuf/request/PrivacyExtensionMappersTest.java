@@ -0,0 +1,108 @@
+package org.prebid.server.protobuf.request;
+
+import com.iab.openrtb.request.SupplyChain;
+import com.iab.openrtb.request.SupplyChainNode;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.openrtb.v2.OpenRtbPrivacy;
+import org.prebid.server.proto.openrtb.ext.request.ConsentedProvidersSettings;
+import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.proto.openrtb.ext.request.ExtSource;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrivacyExtensionMappersTest extends VertxTest {
+
+    @Test
+    public void specificationBuilderShouldSetPrivacyExtensionMappers() {
+        // when
+        final RequestExtensionMappersSpecification result = PrivacyExtensionMappers.specificationBuilder(mapper)
+                .build();
+
+        // then
+        assertThat(result.objectMapper()).isSameAs(mapper);
+        assertThat(result.regsExtMapper().extensionDescriptor()).isSameAs(OpenRtbPrivacy.regs);
+        assertThat(result.userExtMapper().extensionDescriptor()).isSameAs(OpenRtbPrivacy.user);
+        assertThat(result.sourceExtMapper().extensionDescriptor()).isSameAs(OpenRtbPrivacy.source);
+    }
+
+    @Test
+    public void regsExtMapperShouldMapPrivacySignals() {
+        // when
+        final OpenRtbPrivacy.RegsExt result = PrivacyExtensionMappers.regsExtMapper()
+                .map(ExtRegs.of(1, "1YNN", "1", null));
+
+        // then
+        assertThat(result).isEqualTo(OpenRtbPrivacy.RegsExt.newBuilder()
+                .setGdpr(1)
+                .setUsPrivacy("1YNN")
+                .setGpc("1")
+                .build());
+    }
+
+    @Test
+    public void regsExtMapperShouldReturnNullIfThereAreNoPrivacySignals() {
+        // when and then
+        assertThat(PrivacyExtensionMappers.regsExtMapper().map(ExtRegs.of(null, null, null, null))).isNull();
+    }
+
+    @Test
+    public void userExtMapperShouldMapPrivacySignals() {
+        // given
+        final ExtUser extUser = ExtUser.builder()
+                .consent("consent")
+                .consentedProvidersSettings(ConsentedProvidersSettings.of("1~2"))
+                .build();
+
+        // when
+        final OpenRtbPrivacy.UserExt result = PrivacyExtensionMappers.userExtMapper().map(extUser);
+
+        // then
+        assertThat(result).isEqualTo(OpenRtbPrivacy.UserExt.newBuilder()
+                .setConsent("consent")
+                .setConsentedProviders("1~2")
+                .build());
+    }
+
+    @Test
+    public void userExtMapperShouldReturnNullIfThereAreNoPrivacySignals() {
+        // when and then
+        assertThat(PrivacyExtensionMappers.userExtMapper().map(ExtUser.builder().build())).isNull();
+    }
+
+    @Test
+    public void sourceExtMapperShouldMapSupplyChain() {
+        // given
+        final SupplyChain supplyChain = SupplyChain.of(
+                1,
+                singletonList(SupplyChainNode.of("asi", "sid", "rid", "name", "domain", 1, null)),
+                "1.0",
+                null);
+
+        // when
+        final OpenRtbPrivacy.SourceExt result = PrivacyExtensionMappers.sourceExtMapper()
+                .map(ExtSource.of(supplyChain));
+
+        // then
+        assertThat(result).isEqualTo(OpenRtbPrivacy.SourceExt.newBuilder()
+                .setSchain(OpenRtbPrivacy.SupplyChain.newBuilder()
+                        .setComplete(1)
+                        .addNodes(OpenRtbPrivacy.SupplyChainNode.newBuilder()
+                                .setAsi("asi")
+                                .setSid("sid")
+                                .setRid("rid")
+                                .setName("name")
+                                .setDomain("domain")
+                                .setHp(1))
+                        .setVer("1.0"))
+                .build());
+    }
+
+    @Test
+    public void sourceExtMapperShouldReturnNullIfThereIsNoSupplyChain() {
+        // when and then
+        assertThat(PrivacyExtensionMappers.sourceExtMapper().map(ExtSource.of(null))).isNull();
+    }
+}
@@ -1,6 +1,10 @@
 package org.prebid.server.settings;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +25,8 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static java.util.Collections.emptyList;
@@ -30,12 +36,16 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -50,11 +60,17 @@ public class CachingApplicationSettingsTest {
 
     private CachingApplicationSettings target;
 
+    private Vertx vertx;
+
+    private TimeoutFactory timeoutFactory;
+
     private Timeout timeout;
 
     @BeforeEach
     public void setUp() {
-        timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500L);
+        vertx = Vertx.vertx();
+        timeoutFactory = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()));
+        timeout = timeoutFactory.create(500L);
 
         target = new CachingApplicationSettings(
                 delegateSettings,
@@ -65,7 +81,15 @@ public class CachingApplicationSettingsTest {
                 metrics,
                 360,
                 100,
-                0);
+                0,
+                0,
+                1000L,
+                timeoutFactory);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
     }
 
     @Test
@@ -350,6 +374,56 @@ public class CachingApplicationSettingsTest {
                 .hasMessage("timeout");
     }
 
+    @Test
+    public void getCategoriesShouldUpdateMetrics() {
+        // given
+        given(delegateSettings.getCategories(eq("adServer"), eq("publisher"), same(timeout)))
+                .willReturn(Future.succeededFuture(singletonMap("iab", "id")));
+
+        // when
+        target.getCategories("adServer", "publisher", timeout);
+        target.getCategories("adServer", "publisher", timeout);
+
+        // then
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.category), eq(MetricName.miss));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.category), eq(MetricName.hit));
+    }
+
+    @Test
+    public void getCategoriesShouldRefreshAheadWithRefreshAheadTimeout() throws InterruptedException {
+        // given
+        target = new CachingApplicationSettings(
+                delegateSettings,
+                new SettingsCache<>(360, 100, 0),
+                new SettingsCache<>(360, 100, 0),
+                new SettingsCache<>(360, 100, 0),
+                new SettingsCache<>(360, 100, 0),
+                metrics,
+                2,
+                100,
+                0,
+                1,
+                1000L,
+                timeoutFactory);
+
+        given(delegateSettings.getCategories(eq("adServer"), eq("publisher"), any()))
+                .willReturn(Future.succeededFuture(singletonMap("iab", "id")));
+        target.getCategories("adServer", "publisher", timeout);
+
+        // entry becomes due for refresh ahead once less than a second is left until its expiry
+        Thread.sleep(1100L);
+
+        // when
+        final Future<Map<String, String>> future = target.getCategories("adServer", "publisher", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(singletonMap("iab", "id"));
+        verify(delegateSettings).getCategories(eq("adServer"), eq("publisher"), same(timeout));
+        verify(delegateSettings).getCategories(
+                eq("adServer"), eq("publisher"), argThat(refreshTimeout -> refreshTimeout.remaining() == 1000L));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.category), eq(MetricName.refresh_ahead));
+    }
+
     @Test
     public void getStoredDataShouldReturnResultOnSuccessiveCalls() {
         // given
@@ -446,4 +520,151 @@ public class CachingApplicationSettingsTest {
                 .isInstanceOf(InvalidRequestException.class)
                 .hasMessage("error");
     }
+
+    @Test
+    public void creationShouldFailOnRefreshAheadNotLessThanTtlMinusJitter() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingApplicationSettings(
+                        delegateSettings,
+                        new SettingsCache<>(360, 100, 0),
+                        new SettingsCache<>(360, 100, 0),
+                        new SettingsCache<>(360, 100, 0),
+                        new SettingsCache<>(360, 100, 0),
+                        metrics,
+                        360,
+                        100,
+                        60,
+                        300,
+                        1000L,
+                        timeoutFactory))
+                .withMessage("refresh ahead must match the inequality: 0 <= refresh ahead < ttl - jitter");
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveRefreshAheadTimeout() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingApplicationSettings(
+                        delegateSettings,
+                        new SettingsCache<>(360, 100, 0),
+                        new SettingsCache<>(360, 100, 0),
+                        new SettingsCache<>(360, 100, 0),
+                        new SettingsCache<>(360, 100, 0),
+                        metrics,
+                        360,
+                        100,
+                        0,
+                        60,
+                        0L,
+                        timeoutFactory))
+                .withMessage("refresh ahead timeout must be positive");
+    }
+
+    @Test
+    public void getAccountByIdShouldCompleteCoalescedCallOnCallerContext() throws Exception {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout))).willReturn(promise.future());
+        target.getAccountById("accountId", timeout);
+
+        final Context context = vertx.getOrCreateContext();
+        final CompletableFuture<Void> called = new CompletableFuture<>();
+        final CompletableFuture<Context> completionContext = new CompletableFuture<>();
+
+        // when
+        context.runOnContext(ignored -> {
+            target.getAccountById("accountId", timeout)
+                    .onComplete(result -> completionContext.complete(Vertx.currentContext()));
+            called.complete(null);
+        });
+        called.get(1, TimeUnit.SECONDS);
+        promise.complete(Account.builder().id("accountId").build());
+
+        // then
+        assertThat(completionContext.get(1, TimeUnit.SECONDS)).isSameAs(context);
+        verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+    }
+
+    @Test
+    public void getAccountByIdShouldFailCoalescedCallAfterItsOwnTimeout() throws Exception {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout))).willReturn(promise.future());
+        final Future<Account> firstFuture = target.getAccountById("accountId", timeout);
+
+        final Timeout shortTimeout = timeoutFactory.create(10L);
+        final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+
+        // when
+        vertx.runOnContext(ignored -> target.getAccountById("accountId", shortTimeout)
+                .onFailure(failure::complete));
+
+        // then
+        assertThat(failure.get(1, TimeUnit.SECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(firstFuture.isComplete()).isFalse();
+
+        final Account account = Account.builder().id("accountId").build();
+        promise.complete(account);
+        assertThat(firstFuture.result()).isSameAs(account);
+    }
+
+    @Test
+    public void getAccountByIdShouldShareInFlightDelegateCallBetweenConcurrentCalls() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout))).willReturn(promise.future());
+
+        // when
+        final Future<Account> firstFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> secondFuture = target.getAccountById("accountId", timeout);
+
+        final Account account = Account.builder().id("accountId").build();
+        promise.complete(account);
+
+        // then
+        assertThat(firstFuture.result()).isSameAs(account);
+        assertThat(secondFuture.result()).isSameAs(account);
+        verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+        verifyNoMoreInteractions(delegateSettings);
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.coalesced));
+    }
+
+    @Test
+    public void getAccountByIdShouldCallDelegateAgainAfterInFlightCallFailed() {
+        // given
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.failedFuture(new TimeoutException("timeout")))
+                .willReturn(Future.failedFuture(new TimeoutException("timeout")));
+
+        // when
+        target.getAccountById("accountId", timeout);
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), same(timeout));
+        verify(metrics, never()).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.coalesced));
+    }
+
+    @Test
+    public void getStoredDataShouldShareInFlightDelegateCallBetweenConcurrentCalls() {
+        // given
+        final Promise<StoredDataResult<String>> promise = Promise.promise();
+        given(delegateSettings.getStoredData(any(), any(), any(), any())).willReturn(promise.future());
+
+        // when
+        final Future<StoredDataResult<String>> firstFuture =
+                target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        final Future<StoredDataResult<String>> secondFuture =
+                target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+
+        promise.complete(StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList()));
+
+        // then
+        assertThat(firstFuture.result().getStoredIdToRequest()).containsOnly(entry("reqid", "json"));
+        assertThat(secondFuture.result().getStoredIdToRequest()).containsOnly(entry("reqid", "json"));
+        verify(delegateSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+        verifyNoMoreInteractions(delegateSettings);
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.stored_request), eq(MetricName.coalesced));
+    }
 }
@@ -4,11 +4,15 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
 import org.mockito.stubbing.Answer;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.metric.MetricName;
@@ -20,22 +24,30 @@ import org.prebid.server.vertx.database.DatabaseClient;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
 @ExtendWith(MockitoExtension.class)
 public class DatabasePeriodicRefreshServiceTest {
@@ -141,11 +153,99 @@ public class DatabasePeriodicRefreshServiceTest {
                 eq(MetricName.stored_request), eq(MetricName.initialize));
     }
 
+    @Test
+    public void initializeShouldSaveEachPageAndRequestNextPageAfterLastFetchedRow() {
+        // given
+        givenInitPage(List.of("", "", 2),
+                givenRow("accountId", "id1", "value1", "request"),
+                givenRow("accountId", "id2", "value2", "request"));
+        givenInitPage(List.of("request", "id2", 2),
+                givenRow("accountId", "id3", "value3", "imp"));
+
+        // when
+        createAndInitService(2, -1);
+
+        // then
+        verify(cacheNotificationListener).save(Map.of("id1", "value1", "id2", "value2"), emptyMap());
+        verify(cacheNotificationListener).save(emptyMap(), singletonMap("id3", "value3"));
+        verify(databaseClient, times(2)).executeQuery(eq("init_query"), anyList(), any(), any());
+        verify(metrics, times(2)).updateSettingsCacheRefreshPageTime(
+                eq(MetricName.stored_request), eq(MetricName.initialize), anyLong());
+        verify(metrics).updateSettingsCacheRefreshItemsMetric(MetricName.stored_request, MetricName.initialize, 2);
+        verify(metrics).updateSettingsCacheRefreshItemsMetric(MetricName.stored_request, MetricName.initialize, 1);
+        verify(metrics).updateSettingsCacheRefreshTime(
+                eq(MetricName.stored_request), eq(MetricName.initialize), anyLong());
+    }
+
+    @Test
+    public void initializeShouldStopPagedLoadOnFirstFailedPage() {
+        // given
+        givenInitPage(List.of("", "", 1), givenRow("accountId", "id1", "value1", "request"));
+        given(databaseClient.executeQuery(eq("init_query"), eq(List.of("request", "id1", 1)), any(), any()))
+                .willReturn(Future.failedFuture("Query error"));
+
+        // when
+        createAndInitService(1, -1);
+
+        // then
+        verify(cacheNotificationListener).save(singletonMap("id1", "value1"), emptyMap());
+        verify(metrics).updateSettingsCacheRefreshErrorMetric(MetricName.stored_request, MetricName.initialize);
+    }
+
+    @Test
+    public void refreshShouldContinueFailedPagedLoadFromLastFetchedRow() {
+        // given
+        givenInitPage(List.of("", "", 1), givenRow("accountId", "id1", "value1", "request"));
+        final Answer<Object> retriedPage = givenPage(givenRow("accountId", "id2", "value2", "imp"));
+        given(databaseClient.executeQuery(eq("init_query"), eq(List.of("request", "id1", 1)), any(), any()))
+                .willReturn(Future.failedFuture("Query error"))
+                .willAnswer(retriedPage);
+        givenInitPage(List.of("imp", "id2", 1));
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L, 2L));
+
+        // when
+        createAndInitService(1, 1000);
+
+        // then
+        verify(databaseClient).executeQuery(eq("init_query"), eq(List.of("", "", 1)), any(), any());
+        verify(databaseClient, times(2)).executeQuery(
+                eq("init_query"), eq(List.of("request", "id1", 1)), any(), any());
+        verify(cacheNotificationListener).save(singletonMap("id1", "value1"), emptyMap());
+        verify(cacheNotificationListener).save(emptyMap(), singletonMap("id2", "value2"));
+        verify(metrics).updateSettingsCacheRefreshErrorMetric(MetricName.stored_request, MetricName.initialize);
+
+        // updates start from the first attempt of initial load
+        verify(databaseClient).executeQuery(
+                eq("update_query"), eq(singletonList(Date.from(clock.instant()))), any(), any());
+    }
+
+    @Test
+    public void refreshShouldNotBeCalledBeforeInitialLoadIsCompleted() {
+        // given
+        given(databaseClient.executeQuery(eq("init_query"), anyList(), any(), any()))
+                .willReturn(Promise.promise().future());
+        given(vertx.setPeriodic(anyLong(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(1L));
+
+        // when
+        createAndInitService(1000);
+
+        // then
+        verify(databaseClient).executeQuery(eq("init_query"), anyList(), any(), any());
+        verify(databaseClient, never()).executeQuery(eq("update_query"), anyList(), any(), any());
+    }
+
     private void createAndInitService(long refresh) {
+        createAndInitService(0, refresh);
+    }
+
+    private void createAndInitService(int initPageSize, long refresh) {
 
         final DatabasePeriodicRefreshService databasePeriodicRefreshService = new DatabasePeriodicRefreshService(
                 "init_query",
                 "update_query",
+                initPageSize,
                 refresh,
                 2000,
                 MetricName.stored_request,
@@ -159,6 +259,44 @@ public class DatabasePeriodicRefreshServiceTest {
         databasePeriodicRefreshService.initialize(Promise.promise());
     }
 
+    private void givenInitPage(List<Object> params, Row... rows) {
+        final Answer<Object> page = givenPage(rows);
+        given(databaseClient.executeQuery(eq("init_query"), eq(params), any(), any()))
+                .willAnswer(page);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<Object> givenPage(Row... rows) {
+        final RowSet<Row> rowSet = mock(RowSet.class);
+        given(rowSet.iterator()).willAnswer(invocation -> givenRowIterator(Arrays.asList(rows).iterator()));
+        given(rowSet.size()).willReturn(rows.length);
+
+        return invocation -> Future.succeededFuture(
+                ((Function<RowSet<Row>, ?>) invocation.getArgument(2)).apply(rowSet));
+    }
+
+    private static Row givenRow(Object... values) {
+        final Row row = mock(Row.class, withSettings().strictness(Strictness.LENIENT));
+        given(row.getValue(anyInt())).willAnswer(invocation -> values[(Integer) invocation.getArgument(0)]);
+        given(row.size()).willReturn(values.length);
+        return row;
+    }
+
+    private static RowIterator<Row> givenRowIterator(Iterator<Row> delegate) {
+        return new RowIterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public Row next() {
+                return delegate.next();
+            }
+        };
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Answer<Object> withSelfAndPassObjectToHandler(T... objects) {
         return inv -> {
@@ -15,6 +15,7 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.CacheNotificationListener;
+import org.prebid.server.settings.SettingsCache;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
@@ -22,13 +23,19 @@ import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.time.Clock;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +44,7 @@ import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -139,6 +147,152 @@ public class S3PeriodicRefreshServiceTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void refreshShouldDownloadOnlyChangedFilesAndInvalidateRemovedOnes(VertxTestContext context) {
+        // given
+        given(s3AsyncClient.listObjects(eq(listObjectsRequest(STORED_REQ_DIR, null))))
+                .willReturn(
+                        listObjectResponse(
+                                givenS3Object(STORED_REQ_DIR + "/id1.json", "etag1"),
+                                givenS3Object(STORED_REQ_DIR + "/id3.json", "etag3")),
+                        listObjectResponse(
+                                givenS3Object(STORED_REQ_DIR + "/id1.json", "etag1"),
+                                givenS3Object(STORED_REQ_DIR + "/id4.json", "etag4")));
+        given(s3AsyncClient.listObjects(eq(listObjectsRequest(STORED_IMP_DIR, null))))
+                .willReturn(listObjectResponse(givenS3Object(STORED_IMP_DIR + "/id2.json", "etag2")));
+        givenObject(STORED_REQ_DIR + "/id3.json", null, getObjectResponse("value3"));
+        givenObject(STORED_REQ_DIR + "/id4.json", null, getObjectResponse("value4"));
+
+        final S3PeriodicRefreshService s3PeriodicRefreshService = createService(-1);
+
+        // when
+        initialize(s3PeriodicRefreshService)
+                .compose(ignored -> initialize(s3PeriodicRefreshService))
+                .onComplete(context.succeeding(ignored -> {
+                    // then
+                    verify(s3AsyncClient).getObject(
+                            eq(getObjectRequest(STORED_REQ_DIR + "/id1.json", null)),
+                            any(AsyncResponseTransformer.class));
+                    verify(s3AsyncClient).getObject(
+                            eq(getObjectRequest(STORED_IMP_DIR + "/id2.json", null)),
+                            any(AsyncResponseTransformer.class));
+                    verify(cacheNotificationListener).invalidate(singletonList("id3"), emptyList());
+                    verify(cacheNotificationListener).save(
+                            Map.of("id1", "value1", "id4", "value4"), singletonMap("id2", "value2"));
+
+                    context.completeNow();
+                }));
+    }
+
+    @Test
+    public void refreshShouldRequestFileConditionallyIfListingHasNoETag(VertxTestContext context) {
+        // given
+        givenObject(STORED_REQ_DIR + "/id1.json", null, CompletableFuture.completedFuture(ResponseBytes.fromByteArray(
+                GetObjectResponse.builder().eTag("etag1").build(),
+                "value1".getBytes())));
+        givenObject(STORED_REQ_DIR + "/id1.json", "etag1", CompletableFuture.failedFuture(
+                S3Exception.builder().statusCode(304).build()));
+
+        final S3PeriodicRefreshService s3PeriodicRefreshService = createService(-1);
+
+        // when
+        initialize(s3PeriodicRefreshService)
+                .compose(ignored -> initialize(s3PeriodicRefreshService))
+                .onComplete(context.succeeding(ignored -> {
+                    // then
+                    verify(s3AsyncClient).getObject(
+                            eq(getObjectRequest(STORED_REQ_DIR + "/id1.json", "etag1")),
+                            any(AsyncResponseTransformer.class));
+                    verify(cacheNotificationListener, times(2))
+                            .save(singletonMap("id1", "value1"), singletonMap("id2", "value2"));
+                    verify(cacheNotificationListener, never()).invalidate(any(), any());
+
+                    context.completeNow();
+                }));
+    }
+
+    @Test
+    public void refreshShouldKeepUnchangedFileCachedAfterCacheEntryTtl(VertxTestContext context) {
+        // given
+        given(s3AsyncClient.listObjects(eq(listObjectsRequest(STORED_REQ_DIR, null))))
+                .willReturn(listObjectResponse(givenS3Object(STORED_REQ_DIR + "/id1.json", "etag1")));
+
+        final Map<String, String> requestCache = SettingsCache.createCache(1, 100, 0);
+        final S3PeriodicRefreshService s3PeriodicRefreshService = createService(-1,
+                new CacheNotificationListener<>() {
+
+                    @Override
+                    public void save(Map<String, String> requests, Map<String, String> imps) {
+                        requestCache.putAll(requests);
+                    }
+
+                    @Override
+                    public void invalidate(List<String> requests, List<String> imps) {
+                        requests.forEach(requestCache::remove);
+                    }
+                });
+
+        // when
+        initialize(s3PeriodicRefreshService)
+                .compose(ignored -> waitFor(1100L))
+                .compose(ignored -> initialize(s3PeriodicRefreshService))
+                .onComplete(context.succeeding(ignored -> {
+                    // then
+                    verify(s3AsyncClient).getObject(
+                            eq(getObjectRequest(STORED_REQ_DIR + "/id1.json", null)),
+                            any(AsyncResponseTransformer.class));
+                    assertThat(requestCache).containsOnly(entry("id1", "value1"));
+
+                    context.completeNow();
+                }));
+    }
+
+    @Test
+    public void initializeShouldContinueListingWhileItIsTruncated(VertxTestContext context) {
+        // given
+        given(s3AsyncClient.listObjects(eq(listObjectsRequest(STORED_REQ_DIR, null))))
+                .willReturn(CompletableFuture.completedFuture(ListObjectsResponse.builder()
+                        .contents(givenS3Object(STORED_REQ_DIR + "/id1.json", null))
+                        .isTruncated(true)
+                        .build()));
+        given(s3AsyncClient.listObjects(eq(listObjectsRequest(STORED_REQ_DIR, STORED_REQ_DIR + "/id1.json"))))
+                .willReturn(listObjectResponse(givenS3Object(STORED_REQ_DIR + "/id3.json", null)));
+        givenObject(STORED_REQ_DIR + "/id3.json", null, getObjectResponse("value3"));
+
+        // when and then
+        createAndInitService(-1).onComplete(context.succeeding(ignored -> {
+            verify(s3AsyncClient).listObjects(eq(listObjectsRequest(STORED_REQ_DIR, STORED_REQ_DIR + "/id1.json")));
+            verify(cacheNotificationListener).save(
+                    Map.of("id1", "value1", "id3", "value3"), singletonMap("id2", "value2"));
+
+            context.completeNow();
+        }));
+    }
+
+    private static ListObjectsRequest listObjectsRequest(String prefix, String marker) {
+        return ListObjectsRequest.builder().bucket(BUCKET).prefix(prefix).marker(marker).build();
+    }
+
+    private static GetObjectRequest getObjectRequest(String key, String ifNoneMatch) {
+        return GetObjectRequest.builder().bucket(BUCKET).key(key).ifNoneMatch(ifNoneMatch).build();
+    }
+
+    private static S3Object givenS3Object(String key, String eTag) {
+        return S3Object.builder().key(key).eTag(eTag).build();
+    }
+
+    private void givenObject(String key,
+                             String ifNoneMatch,
+                             CompletableFuture<ResponseBytes<GetObjectResponse>> response) {
+
+        given(s3AsyncClient.getObject(eq(getObjectRequest(key, ifNoneMatch)), any(AsyncResponseTransformer.class)))
+                .willReturn(response);
+    }
+
+    private CompletableFuture<ListObjectsResponse> listObjectResponse(S3Object... objects) {
+        return CompletableFuture.completedFuture(ListObjectsResponse.builder().contents(List.of(objects)).build());
+    }
+
     private CompletableFuture<ListObjectsResponse> listObjectResponse(String key) {
         return CompletableFuture.completedFuture(
                 ListObjectsResponse
@@ -155,18 +309,37 @@ public class S3PeriodicRefreshServiceTest extends VertxTest {
     }
 
     private Future<Void> createAndInitService(long refreshPeriod) {
-        final S3PeriodicRefreshService s3PeriodicRefreshService = new S3PeriodicRefreshService(
+        return initialize(createService(refreshPeriod));
+    }
+
+    private S3PeriodicRefreshService createService(long refreshPeriod) {
+        return createService(refreshPeriod, cacheNotificationListener);
+    }
+
+    private S3PeriodicRefreshService createService(long refreshPeriod,
+                                                  CacheNotificationListener<String> cacheNotificationListener) {
+
+        return new S3PeriodicRefreshService(
                 s3AsyncClient,
                 BUCKET,
                 STORED_REQ_DIR,
                 STORED_IMP_DIR,
                 refreshPeriod,
+                2,
                 cacheNotificationListener,
                 MetricName.stored_request,
                 clock,
                 metrics,
                 vertx);
+    }
+
+    private Future<Void> waitFor(long delay) {
+        final Promise<Void> promise = Promise.promise();
+        vertx.setTimer(delay, ignored -> promise.complete());
+        return promise.future();
+    }
 
+    private static Future<Void> initialize(S3PeriodicRefreshService s3PeriodicRefreshService) {
         final Promise<Void> init = Promise.promise();
         s3PeriodicRefreshService.initialize(init);
         return init.future();
@@ -0,0 +1,98 @@
+package org.prebid.server.util;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class GzipUtilTest {
+
+    @Test
+    public void gzipShouldProduceSameBytesAsGzipOutputStream() throws IOException {
+        // given
+        final String value = "{\"id\":\"requestId\",\"imp\":[{\"id\":\"impId\"}]}".repeat(100);
+
+        // when
+        final Buffer result = GzipUtil.gzip(bytes(value), GzipUtil.DEFAULT_LEVEL);
+
+        // then
+        assertThat(result.getBytes()).isEqualTo(gzipWithStream(value));
+    }
+
+    @Test
+    public void gzipShouldReuseDeflaterBetweenCalls() throws IOException {
+        // when
+        final Buffer first = GzipUtil.gzip(bytes("first"), GzipUtil.DEFAULT_LEVEL);
+        final Buffer second = GzipUtil.gzip(bytes("second"), GzipUtil.DEFAULT_LEVEL);
+
+        // then
+        assertThat(gunzip(first.getBytes())).isEqualTo("first");
+        assertThat(gunzip(second.getBytes())).isEqualTo("second");
+    }
+
+    @Test
+    public void gzipShouldCompressChunksEnclosedInPrefixAndSuffix() throws IOException {
+        // given
+        final List<byte[]> values = List.of(bytes("{\"a\":1}"), bytes("{\"b\":2}"));
+
+        // when
+        final byte[] result = GzipUtil.gzip(values, bytes("["), bytes(","), bytes("]"));
+
+        // then
+        assertThat(result).isEqualTo(gzipWithStream("[{\"a\":1},{\"b\":2}]"));
+    }
+
+    @Test
+    public void gzipShouldCompressIntoBufferWithGivenLevel() throws IOException {
+        // given
+        final byte[] value = "value".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        // when
+        final Buffer fastest = GzipUtil.gzip(value, Deflater.BEST_SPEED);
+        final Buffer stored = GzipUtil.gzip(value, Deflater.NO_COMPRESSION);
+
+        // then
+        assertThat(gunzip(fastest.getBytes())).isEqualTo("value".repeat(1000));
+        assertThat(gunzip(stored.getBytes())).isEqualTo("value".repeat(1000));
+        assertThat(stored.length()).isGreaterThan(value.length);
+    }
+
+    @Test
+    public void gzipShouldFailOnInvalidLevel() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> GzipUtil.gzip(new byte[0], 10))
+                .withMessage("Invalid compression level: 10");
+    }
+
+    private static byte[] gzipWithStream(String value) throws IOException {
+        try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
+                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
+
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+            gzip.finish();
+
+            return obj.toByteArray();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String gunzip(byte[] value) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(value))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -50,6 +50,24 @@ public class MostAccurateCombinationStrategyTest {
         assertThat(rulesByPriority).containsExactlyElementsOf(rulesByPriority());
     }
 
+    @Test
+    public void matchShouldUseGivenConfiguredRulesPredicate() {
+        // given
+        final PrebidConfigSchema schema = SimpleSource.of("*", "|", null);
+        final PrebidConfigParameters parameters = SimpleParameters.of(asList(
+                SimpleDirectParameter.of(singleton("a")),
+                SimpleDirectParameter.of(singleton("b"))));
+        final Set<String> configuredRules = Set.of("a|*", "*|*");
+
+        final MostAccurateCombinationStrategy target = new MostAccurateCombinationStrategy();
+
+        // when
+        final String result = target.match(schema, parameters, configuredRules::contains);
+
+        // then
+        assertThat(result).isEqualTo("a|*");
+    }
+
     @Test
     public void iteratorShouldBeEmptyIfParametersEmpty() {
         // given
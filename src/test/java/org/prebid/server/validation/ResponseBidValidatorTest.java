@@ -636,7 +636,8 @@ public class ResponseBidValidatorTest extends VertxTest {
                 .bidRejectionTrackers(Map.of("bidder", bidRejectionTracker))
                 .account(account)
                 .bidRequest(bidRequest)
-                .build();
+                .build()
+                .withImpIndex();
     }
 
     private AuctionContext givenAuctionContext(BidRequest bidRequest) {